@@ -0,0 +1,67 @@
+package com.acme.insurance.policy.app.mapper;
+
+import com.acme.insurance.policy.app.dto.PolicyResponseDto;
+import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.support.PolicyFixtures;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Caminho de resposta do GET /policies/{id}: domínio -> DTO (MapStruct) e DTO -> JSON (Jackson com a
+ * mesma configuração de datas do Spring Boot).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiPolicyMapperBenchmark {
+
+    private ApiPolicyMapper mapper;
+    private ObjectWriter writer;
+    private Policy policy;
+    private PolicyResponseDto response;
+
+    @Setup
+    public void setUp() {
+        mapper = Mappers.getMapper(ApiPolicyMapper.class);
+        writer = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writerFor(PolicyResponseDto.class);
+        policy = PolicyFixtures.approved();
+        response = mapper.toResponse(policy);
+    }
+
+    @Benchmark
+    public PolicyResponseDto toResponse() {
+        return mapper.toResponse(policy);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws JsonProcessingException {
+        return writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] toResponseAndSerialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(mapper.toResponse(policy));
+    }
+}
@@ -0,0 +1,121 @@
+package com.acme.insurance.policy.application;
+
+import com.acme.insurance.policy.domain.events.PolicyRequestCreatedEvent;
+import com.acme.insurance.policy.domain.events.PolicyRequestStatusChangedEvent;
+import com.acme.insurance.policy.domain.fraud.FraudClassification;
+import com.acme.insurance.policy.domain.model.PageResult;
+import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.domain.model.PolicyStatus;
+import com.acme.insurance.policy.domain.model.PolicySummary;
+import com.acme.insurance.policy.domain.ports.out.PolicyRepository;
+import com.acme.insurance.policy.domain.ports.out.PolicyRequestPublisher;
+import com.acme.insurance.policy.infra.config.AppProps;
+import com.acme.insurance.policy.infra.memory.InMemoryCorrelationStore;
+import com.acme.insurance.policy.support.PolicyFixtures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/*
+ * Transições do PolicyStateMachine com portas em memória: mede a máquina de estados, a montagem do
+ * histórico e dos eventos, sem I/O.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolicyStateMachineBenchmark {
+
+    private PolicyStateMachine fsm;
+    private InMemoryCorrelationStore correlation;
+    private Policy received;
+    private Blackhole sink;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        sink = blackhole;
+        AppProps props = new Binder(new MapConfigurationPropertySource(Map.of(
+                "app.dynamodb.table", "PolicyRequests",
+                "app.dynamodb.indexes.customer", "gsi_customer")))
+                .bind("app", AppProps.class)
+                .get();
+        correlation = new InMemoryCorrelationStore();
+        fsm = new PolicyStateMachine(new DiscardingRepository(), new DiscardingPublisher(), correlation, props,
+                new SimpleMeterRegistry());
+        received = PolicyFixtures.received();
+    }
+
+    @Benchmark
+    public Policy onFraud_approved() {
+        return fsm.onFraud(received, FraudClassification.REGULAR, received.category(), received.insuredAmount());
+    }
+
+    @Benchmark
+    public Policy onFraud_rejected() {
+        return fsm.onFraud(received, FraudClassification.HIGH_RISK, "LIFE", received.insuredAmount());
+    }
+
+    @Benchmark
+    public Policy fullLifecycle_approved() {
+        Policy pending = fsm.onFraud(received, FraudClassification.REGULAR, received.category(),
+                received.insuredAmount());
+        Instant now = Instant.now();
+        correlation.markPayment(pending.id(), now);
+        correlation.markSubscription(pending.id(), now);
+        return fsm.onPaymentConfirmed(pending);
+    }
+
+    @Benchmark
+    public Policy cancel() {
+        return fsm.cancel(received, "BY_CUSTOMER");
+    }
+
+    private final class DiscardingRepository implements PolicyRepository {
+        @Override public void save(Policy policy) { sink.consume(policy); }
+        @Override public void saveTransition(Policy policy, PolicyStatus expectedStatus) { sink.consume(policy); }
+        @Override public void saveTransition(Policy policy, PolicyStatus expectedStatus,
+                                             List<PolicyRequestStatusChangedEvent> outboxEvents) {
+            sink.consume(policy);
+            sink.consume(outboxEvents);
+        }
+        @Override public Optional<Policy> findById(UUID policyId) { return Optional.empty(); }
+        @Override public List<Policy> findByCustomerId(UUID customerId) { return List.of(); }
+        @Override public PageResult<Policy> findPageByCustomerId(UUID customerId, int limit, String cursor) {
+            return new PageResult<>(List.of(), null);
+        }
+        @Override public Stream<Policy> streamByCustomerId(UUID customerId) { return Stream.empty(); }
+        @Override public Stream<UUID> streamReceivedBefore(Instant cutoff) { return Stream.empty(); }
+        @Override public PageResult<PolicySummary> findSummaryPageByCustomerId(UUID customerId, int limit,
+                                                                              String cursor) {
+            return new PageResult<>(List.of(), null);
+        }
+        @Override public List<Policy> findAllByIds(Collection<UUID> policyIds) { return List.of(); }
+    }
+
+    private final class DiscardingPublisher implements PolicyRequestPublisher {
+        @Override public void publish(PolicyRequestCreatedEvent event) { sink.consume(event); }
+        @Override public void publish(PolicyRequestStatusChangedEvent event) { sink.consume(event); }
+    }
+}
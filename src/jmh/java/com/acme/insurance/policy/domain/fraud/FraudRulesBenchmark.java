@@ -0,0 +1,54 @@
+package com.acme.insurance.policy.domain.fraud;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Avaliação das regras de fraude pela tabela pré-compilada. Com -prof gc o gc.alloc.rate.norm esperado
+ * é ~0 B/op: a categoria é resolvida sem toUpperCase e os limites são BigDecimal pré-construídos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FraudRulesBenchmark {
+
+    @Param({"REGULAR", "HIGH_RISK", "PREFERENTIAL", "NO_INFO"})
+    FraudClassification classification;
+
+    @Param({"AUTO", "residential", "LIFE", "TRAVEL"})
+    String category;
+
+    private BigDecimal insuredAmount;
+    private FraudRuleTable table;
+
+    @Setup
+    public void setUp() {
+        insuredAmount = new BigDecimal("275000.50");
+        table = FraudRules.current();
+    }
+
+    @Benchmark
+    public boolean isApproved() {
+        return FraudRules.isApproved(classification, category, insuredAmount);
+    }
+
+    @Benchmark
+    public int categoryId() {
+        return table.categoryId(category);
+    }
+}
@@ -0,0 +1,80 @@
+package com.acme.insurance.policy.infra.dynamodb;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compara o custo de marshalling do PolicyItem entre o schema por reflexão (fromBean) e o
+ * PolicyItemTableSchema escrito à mão. Rode com -prof gc para ver a alocação por operação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolicyItemSchemaBenchmark {
+
+    private TableSchema<PolicyItem> bean;
+    private TableSchema<PolicyItem> manual;
+    private PolicyItem item;
+    private Map<String, AttributeValue> raw;
+
+    @Setup
+    public void setUp() {
+        bean = TableSchema.fromBean(PolicyItem.class);
+        manual = PolicyItemTableSchema.SCHEMA;
+        item = new PolicyItem();
+        item.setPolicyId("89846cee-c6d5-4320-92e9-16e122d5c672");
+        item.setCustomerId("adc56d77-348c-4bf0-908f-22d402ee715c");
+        item.setProductId("1b2da7cc-b367-4196-8a78-9cfeec21f587");
+        item.setCategory("AUTO");
+        item.setSalesChannel("MOBILE");
+        item.setPaymentMethod("CREDIT_CARD");
+        item.setStatus("APPROVED");
+        item.setCreatedAt("2025-08-01T10:00:00Z");
+        item.setFinishedAt("2025-08-01T10:00:05Z");
+        item.setCoverages(Map.of("Roubo", "100000.25", "Perda Total", "100000.25"));
+        item.setAssistances(List.of("Guincho até 250km", "Troca de Óleo"));
+        item.setTotalMonthlyPremiumAmount("75.25");
+        item.setInsuredAmount("275000.50");
+        item.setHistory(List.of(
+                Map.of("status", "RECEIVED", "timestamp", "2025-08-01T10:00:00Z"),
+                Map.of("status", "APPROVED", "timestamp", "2025-08-01T10:00:05Z")));
+        raw = manual.itemToMap(item, true);
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> putItem_bean() {
+        return bean.itemToMap(item, true);
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> putItem_static() {
+        return manual.itemToMap(item, true);
+    }
+
+    @Benchmark
+    public PolicyItem getItem_bean() {
+        return bean.mapToItem(raw);
+    }
+
+    @Benchmark
+    public PolicyItem getItem_static() {
+        return manual.mapToItem(raw);
+    }
+}
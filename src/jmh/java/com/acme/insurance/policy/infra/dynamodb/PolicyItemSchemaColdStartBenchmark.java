@@ -0,0 +1,33 @@
+package com.acme.insurance.policy.infra.dynamodb;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Primeira construção do schema em uma JVM nova: cada fork mede uma única chamada, sem aquecimento.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class PolicyItemSchemaColdStartBenchmark {
+
+    @Benchmark
+    public TableSchema<PolicyItem> bean() {
+        return TableSchema.fromBean(PolicyItem.class);
+    }
+
+    @Benchmark
+    public TableSchema<PolicyItem> handWritten() {
+        return PolicyItemTableSchema.create();
+    }
+}
@@ -0,0 +1,77 @@
+package com.acme.insurance.policy.infra.dynamodb.mapper;
+
+import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.domain.model.PolicyStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.core.SdkBytes;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Decodificação do histórico de status: lista de mapas com ISO-8601 vs formato binário.
+ * O tamanho de cada formato no item (regras de cálculo do DynamoDB) é impresso no setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolicyHistoryCodecBenchmark {
+
+    @Param({"4", "32", "256"})
+    int transitions;
+
+    private List<Map<String, String>> listForm;
+    private SdkBytes packed;
+
+    @Setup
+    public void setUp() {
+        List<Policy.StatusHistory> history = new ArrayList<>(transitions);
+        OffsetDateTime at = OffsetDateTime.parse("2025-08-01T10:00:00.123Z");
+        PolicyStatus[] statuses = PolicyStatus.values();
+        for (int i = 0; i < transitions; i++) {
+            history.add(new Policy.StatusHistory(statuses[i % statuses.length], at.plusSeconds(i)));
+        }
+        listForm = PolicyMapConverters.toHistoryMap(history);
+        packed = PolicyHistoryCodec.encode(history);
+
+        // Lista: 3 bytes por mapa + 1 por elemento; cada entrada soma nome e valor em UTF-8
+        int listBytes = 3 + listForm.stream()
+                .mapToInt(m -> 3 + 1 + m.entrySet().stream()
+                        .mapToInt(e -> 1 + utf8(e.getKey()) + utf8(e.getValue()))
+                        .sum())
+                .sum();
+        System.out.printf("%n[history] transitions=%d lista=%d bytes binario=%d bytes%n",
+                transitions, "history".length() + listBytes, "historyPacked".length() + packed.asByteArray().length);
+    }
+
+    private static int utf8(String s) {
+        return s.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    @Benchmark
+    public List<Policy.StatusHistory> decode_listOfMaps() {
+        return PolicyMapConverters.fromHistoryMap(listForm);
+    }
+
+    @Benchmark
+    public List<Policy.StatusHistory> decode_packed() {
+        return PolicyHistoryCodec.decode(packed);
+    }
+}
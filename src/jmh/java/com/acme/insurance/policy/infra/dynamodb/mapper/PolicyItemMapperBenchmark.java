@@ -0,0 +1,48 @@
+package com.acme.insurance.policy.infra.dynamodb.mapper;
+
+import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.infra.dynamodb.PolicyItem;
+import com.acme.insurance.policy.support.PolicyFixtures;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolicyItemMapperBenchmark {
+
+    private PolicyItemMapper mapper;
+    private Policy policy;
+    private PolicyItem item;
+
+    @Setup
+    public void setUp() {
+        mapper = Mappers.getMapper(PolicyItemMapper.class);
+        policy = PolicyFixtures.approved();
+        item = mapper.toItem(policy);
+    }
+
+    @Benchmark
+    public PolicyItem toItem() {
+        return mapper.toItem(policy);
+    }
+
+    @Benchmark
+    public Policy toDomain() {
+        return mapper.toDomain(item);
+    }
+}
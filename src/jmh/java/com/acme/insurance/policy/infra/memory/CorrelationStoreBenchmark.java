@@ -0,0 +1,124 @@
+package com.acme.insurance.policy.infra.memory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Consumidores de pagamento e subscrição em alta taxa sobre um conjunto fixo de policies em andamento:
+ * cada operação marca um sinal e consulta bothDone, como os listeners fazem. SampleTime reporta p99;
+ * rode com -prof gc para comparar a alocação por operação com a implementação anterior (EnumSet + record).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class CorrelationStoreBenchmark {
+
+    @Param({"bitmask", "enumset"})
+    String impl;
+
+    @Param({"10000"})
+    int inFlight;
+
+    private Store store;
+    private UUID[] ids;
+    private Instant now;
+
+    interface Store {
+        void markPayment(UUID id, Instant when);
+        void markSubscription(UUID id, Instant when);
+        boolean bothDone(UUID id);
+    }
+
+    @Setup
+    public void setUp() {
+        if ("bitmask".equals(impl)) {
+            var current = new InMemoryCorrelationStore();
+            store = new Store() {
+                @Override public void markPayment(UUID id, Instant when) { current.markPayment(id, when); }
+                @Override public void markSubscription(UUID id, Instant when) { current.markSubscription(id, when); }
+                @Override public boolean bothDone(UUID id) { return current.bothDone(id); }
+            };
+        } else {
+            store = new EnumSetStore();
+        }
+        ids = new UUID[inFlight];
+        for (int i = 0; i < inFlight; i++) {
+            ids[i] = UUID.randomUUID();
+        }
+        now = Instant.now();
+    }
+
+    @Benchmark
+    public boolean paymentSignal() {
+        UUID id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        store.markPayment(id, now);
+        return store.bothDone(id);
+    }
+
+    @Benchmark
+    public boolean subscriptionSignal() {
+        UUID id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        store.markSubscription(id, now);
+        return store.bothDone(id);
+    }
+
+    /* Implementação anterior, mantida aqui só como linha de base */
+    static final class EnumSetStore implements Store {
+        enum Mark { PAYMENT_CONFIRMED, SUBSCRIPTION_AUTHORIZED }
+        record Entry(EnumSet<Mark> marks, Instant lastUpdate) {}
+
+        private final ConcurrentHashMap<UUID, Entry> map = new ConcurrentHashMap<>();
+        private final Duration ttl = Duration.ofMinutes(30);
+
+        @Override
+        public void markPayment(UUID id, Instant when) {
+            map.compute(id, (k, v) -> {
+                var set = v == null ? EnumSet.noneOf(Mark.class) : EnumSet.copyOf(v.marks());
+                set.add(Mark.PAYMENT_CONFIRMED);
+                return new Entry(set, when);
+            });
+        }
+
+        @Override
+        public void markSubscription(UUID id, Instant when) {
+            map.compute(id, (k, v) -> {
+                var set = v == null ? EnumSet.noneOf(Mark.class) : EnumSet.copyOf(v.marks());
+                set.add(Mark.SUBSCRIPTION_AUTHORIZED);
+                return new Entry(set, when);
+            });
+        }
+
+        @Override
+        public boolean bothDone(UUID id) {
+            var v = map.get(id);
+            return v != null && v.marks().containsAll(EnumSet.of(Mark.PAYMENT_CONFIRMED, Mark.SUBSCRIPTION_AUTHORIZED));
+        }
+
+        void evictExpired() {
+            var cutoff = Instant.now().minus(ttl);
+            map.entrySet().removeIf(e -> e.getValue().lastUpdate().isBefore(cutoff));
+        }
+    }
+}
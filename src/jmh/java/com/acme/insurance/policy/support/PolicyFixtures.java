@@ -0,0 +1,50 @@
+package com.acme.insurance.policy.support;
+
+import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.domain.model.PolicyStatus;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public final class PolicyFixtures {
+
+    private PolicyFixtures() {}
+
+    public static Policy received() {
+        OffsetDateTime created = OffsetDateTime.parse("2025-08-01T10:00:00Z");
+        return new Policy(
+                UUID.fromString("89846cee-c6d5-4320-92e9-16e122d5c672"),
+                UUID.fromString("adc56d77-348c-4bf0-908f-22d402ee715c"),
+                UUID.fromString("1b2da7cc-b367-4196-8a78-9cfeec21f587"),
+                "AUTO",
+                "MOBILE",
+                "CREDIT_CARD",
+                PolicyStatus.RECEIVED,
+                created,
+                null,
+                Map.of("Roubo", new BigDecimal("100000.25"),
+                        "Perda Total", new BigDecimal("100000.25"),
+                        "Colisão com Terceiros", new BigDecimal("75000.00")),
+                List.of("Guincho até 250km", "Troca de Óleo", "Chaveiro 24h"),
+                new BigDecimal("75.25"),
+                new BigDecimal("275000.50"),
+                List.of(new Policy.StatusHistory(PolicyStatus.RECEIVED, created)), null
+        );
+    }
+
+    public static Policy approved() {
+        Policy p = received();
+        OffsetDateTime at = p.createdAt();
+        var history = new ArrayList<>(p.history());
+        history.add(new Policy.StatusHistory(PolicyStatus.VALIDATED, at.plusSeconds(1)));
+        history.add(new Policy.StatusHistory(PolicyStatus.PENDING, at.plusSeconds(1)));
+        history.add(new Policy.StatusHistory(PolicyStatus.APPROVED, at.plusSeconds(5)));
+        return new Policy(p.id(), p.customerId(), p.productId(), p.category(), p.salesChannel(),
+                p.paymentMethod(), PolicyStatus.APPROVED, p.createdAt(), at.plusSeconds(5), p.coverages(),
+                p.assistances(), p.totalMonthlyPremiumAmount(), p.insuredAmount(), List.copyOf(history), null);
+    }
+}
@@ -1,18 +1,26 @@
 package com.acme.insurance.policy.app.controller;
 
 import com.acme.insurance.policy.domain.ports.in.*;
+import com.acme.insurance.policy.app.dto.BatchGetPoliciesRequestDto;
+import com.acme.insurance.policy.app.dto.BatchGetPoliciesResponseDto;
+import com.acme.insurance.policy.app.dto.PageResponseDto;
 import com.acme.insurance.policy.app.dto.PolicyRequestDto;
 import com.acme.insurance.policy.app.dto.PolicyResponseDto;
+import com.acme.insurance.policy.app.dto.PolicySummaryDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/policies")
@@ -20,29 +28,57 @@ public class PolicyController {
 
     private static final Logger log = LoggerFactory.getLogger(PolicyController.class);
 
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    static final int SUMMARY_DEFAULT_LIMIT = 100;
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final CreatePolicyUseCase createPolicyUseCase;
     private final GetPolicyByIdQuery getPolicyByIdQuery;
     private final ListPoliciesByCustomerQuery listPoliciesByCustomerQuery;
     private final CancelPolicyUseCase cancelPolicyUseCase;
+    private final ListPoliciesByCustomerPageQuery listPoliciesByCustomerPageQuery;
+    private final StreamPoliciesByCustomerQuery streamPoliciesByCustomerQuery;
+    private final ListPolicySummariesByCustomerQuery listPolicySummariesByCustomerQuery;
+    private final BatchGetPoliciesQuery batchGetPoliciesQuery;
+    private final ObjectMapper objectMapper;
 
     public PolicyController(CreatePolicyUseCase createPolicyUseCase,
                             GetPolicyByIdQuery getPolicyByIdQuery,
                             ListPoliciesByCustomerQuery listPoliciesByCustomerQuery,
-                            CancelPolicyUseCase cancelPolicyUseCase) {
+                            CancelPolicyUseCase cancelPolicyUseCase,
+                            ListPoliciesByCustomerPageQuery listPoliciesByCustomerPageQuery,
+                            StreamPoliciesByCustomerQuery streamPoliciesByCustomerQuery,
+                            ListPolicySummariesByCustomerQuery listPolicySummariesByCustomerQuery,
+                            BatchGetPoliciesQuery batchGetPoliciesQuery,
+                            ObjectMapper objectMapper) {
         this.createPolicyUseCase = createPolicyUseCase;
         this.getPolicyByIdQuery = getPolicyByIdQuery;
         this.listPoliciesByCustomerQuery = listPoliciesByCustomerQuery;
         this.cancelPolicyUseCase = cancelPolicyUseCase;
+        this.listPoliciesByCustomerPageQuery = listPoliciesByCustomerPageQuery;
+        this.streamPoliciesByCustomerQuery = streamPoliciesByCustomerQuery;
+        this.listPolicySummariesByCustomerQuery = listPolicySummariesByCustomerQuery;
+        this.batchGetPoliciesQuery = batchGetPoliciesQuery;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
-    public ResponseEntity<PolicyResponseDto> create(@Valid @RequestBody PolicyRequestDto requestDto) {
-        log.info("[POST] Criando nova policy para customerId={}", requestDto.customerId());
-        PolicyResponseDto created = createPolicyUseCase.execute(requestDto);
+    public ResponseEntity<PolicyResponseDto> create(
+            @Valid @RequestBody PolicyRequestDto requestDto,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        log.info("[POST] Criando nova policy para customerId={} idempotencyKey={}", requestDto.customerId(), idempotencyKey);
+        CreatePolicyUseCase.Result result = idempotencyKey != null
+                ? createPolicyUseCase.execute(requestDto, idempotencyKey)
+                : createPolicyUseCase.execute(requestDto);
+        PolicyResponseDto created = result.policy();
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/{id}")
                 .buildAndExpand(created.id())
                 .toUri();
+        if (result.accepted()) {
+            log.info("[POST] Policy recebida, análise de fraude pendente - policyId={}", created.id());
+            return ResponseEntity.accepted().location(location).body(created);
+        }
         log.info("[POST] Policy criada com sucesso - policyId={}", created.id());
         return ResponseEntity.created(location).body(created);
     }
@@ -55,6 +91,14 @@ public class PolicyController {
         return ResponseEntity.ok(policy);
     }
 
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetPoliciesResponseDto> batchGet(@Valid @RequestBody BatchGetPoliciesRequestDto requestDto) {
+        log.info("[POST] Buscando {} policies em lote", requestDto.ids().size());
+        BatchGetPoliciesResponseDto result = batchGetPoliciesQuery.execute(requestDto.ids());
+        log.info("[POST] Lote concluído - encontradas={} ausentes={}", result.found().size(), result.missing().size());
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping
     public ResponseEntity<List<PolicyResponseDto>> list(@RequestParam UUID customerId) {
         log.info("[GET] Buscando policies para customerId={}", customerId);
@@ -63,6 +107,52 @@ public class PolicyController {
         return ResponseEntity.ok(policies);
     }
 
+    @GetMapping(params = {"limit", "!view"})
+    public ResponseEntity<PageResponseDto<PolicyResponseDto>> listPage(
+            @RequestParam UUID customerId,
+            @RequestParam int limit,
+            @RequestParam(name = "page_token", required = false) String pageToken) {
+        log.info("[GET] Buscando página de policies para customerId={} limit={}", customerId, limit);
+        PageResponseDto<PolicyResponseDto> page = listPoliciesByCustomerPageQuery.execute(customerId, limit, pageToken);
+        log.info("[GET] Página com {} policies para customerId={}", page.items().size(), customerId);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(params = "view=summary")
+    public ResponseEntity<PageResponseDto<PolicySummaryDto>> listSummaries(
+            @RequestParam UUID customerId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(name = "page_token", required = false) String pageToken) {
+        log.info("[GET] Buscando resumo de policies para customerId={} limit={}", customerId, limit);
+        PageResponseDto<PolicySummaryDto> page = listPolicySummariesByCustomerQuery.execute(
+                customerId, limit != null ? limit : SUMMARY_DEFAULT_LIMIT, pageToken);
+        log.info("[GET] Resumo com {} policies para customerId={}", page.items().size(), customerId);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(params = {"stream=true", "!limit"}, produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream(@RequestParam UUID customerId) {
+        log.info("[GET] Streaming de policies para customerId={}", customerId);
+        Stream<PolicyResponseDto> policies = streamPoliciesByCustomerQuery.execute(customerId);
+        StreamingResponseBody body = out -> {
+            try (policies) {
+                var writer = objectMapper.writer();
+                var it = policies.iterator();
+                int count = 0;
+                while (it.hasNext()) {
+                    out.write(writer.writeValueAsBytes(it.next()));
+                    out.write('\n');
+                    out.flush();
+                    count++;
+                }
+                log.info("[GET] Streaming concluído - {} policies para customerId={}", count, customerId);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
     @PatchMapping("/{id}/cancel")
     public ResponseEntity<PolicyResponseDto> cancel(@PathVariable UUID id) {
         log.info("[HTTP] Cancelamento de policy solicitado - id={}", id);
@@ -0,0 +1,17 @@
+package com.acme.insurance.policy.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BatchGetPoliciesRequestDto(
+
+        @NotEmpty
+        @Size(max = 1000)
+        @JsonProperty("ids")
+        List<@NotNull UUID> ids
+) {}
@@ -0,0 +1,13 @@
+package com.acme.insurance.policy.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BatchGetPoliciesResponseDto(
+        @JsonProperty("found")
+        List<PolicyResponseDto> found,
+        @JsonProperty("missing")
+        List<UUID> missing
+) {}
@@ -0,0 +1,12 @@
+package com.acme.insurance.policy.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public record PageResponseDto<T>(
+        @JsonProperty("items")
+        List<T> items,
+        @JsonProperty("next_page_token")
+        String nextPageToken
+) {}
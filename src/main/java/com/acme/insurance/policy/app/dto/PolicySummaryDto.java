@@ -0,0 +1,22 @@
+package com.acme.insurance.policy.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record PolicySummaryDto(
+        @JsonProperty("id")
+        UUID id,
+        @JsonProperty("status")
+        String status,
+        @JsonProperty("category")
+        String category,
+        @JsonProperty("createdAt")
+        OffsetDateTime createdAt,
+        @JsonProperty("total_monthly_premium_amount")
+        BigDecimal totalMonthlyPremiumAmount,
+        @JsonProperty("insured_amount")
+        BigDecimal insuredAmount
+) {}
@@ -1,5 +1,7 @@
 package com.acme.insurance.policy.app.error;
 
+import com.acme.insurance.policy.domain.model.InvalidPageTokenException;
+import com.acme.insurance.policy.domain.model.PolicyWriteConflictException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
@@ -87,6 +89,29 @@ public class GlobalProblemHandler {
         return ResponseEntity.status(ex.getStatusCode()).contentType(PROBLEM).body(pd);
     }
 
+    @ExceptionHandler(InvalidPageTokenException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidPageToken(InvalidPageTokenException ex, HttpServletRequest req) {
+        ProblemDetail pd = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+        pd.setTitle(HttpStatus.BAD_REQUEST.getReasonPhrase());
+        pd.setType(URI.create("https://acme.example/errors/invalid-page-token"));
+        pd.setInstance(URI.create(req.getRequestURI()));
+        pd.setProperty("timestamp", Instant.now());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(PROBLEM).body(pd);
+    }
+
+    @ExceptionHandler(PolicyWriteConflictException.class)
+    public ResponseEntity<ProblemDetail> handleWriteConflict(PolicyWriteConflictException ex, HttpServletRequest req) {
+        ProblemDetail pd = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT,
+                "Policy was modified concurrently, reload and retry");
+        pd.setTitle("Policy write conflict");
+        pd.setType(URI.create("https://api.acme.com/errors/policy-write-conflict"));
+        pd.setInstance(URI.create(req.getRequestURI()));
+        pd.setProperty("policyId", ex.getPolicyId() != null ? ex.getPolicyId().toString() : null);
+        pd.setProperty("expectedStatus", ex.getExpectedStatus() != null ? ex.getExpectedStatus().name() : null);
+        pd.setProperty("timestamp", Instant.now());
+        return ResponseEntity.status(HttpStatus.CONFLICT).contentType(PROBLEM).body(pd);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ProblemDetail> handleGeneric(Exception ex, HttpServletRequest req) {
         ProblemDetail pd = ProblemDetail.forStatusAndDetail(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected error");
@@ -0,0 +1,24 @@
+package com.acme.insurance.policy.app.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponseException;
+
+import java.net.URI;
+
+public class IdempotencyKeyInProgressException extends ErrorResponseException {
+
+    public IdempotencyKeyInProgressException(String idempotencyKey) {
+        super(HttpStatus.CONFLICT, problem(idempotencyKey), null);
+    }
+
+    private static ProblemDetail problem(String idempotencyKey) {
+        var pd = ProblemDetail.forStatusAndDetail(
+                HttpStatus.CONFLICT,
+                "A request with the same Idempotency-Key is still being processed, retry later");
+        pd.setTitle("Idempotency key in progress");
+        pd.setType(URI.create("https://api.acme.com/errors/idempotency-key-in-progress"));
+        pd.setProperty("idempotencyKey", idempotencyKey);
+        return pd;
+    }
+}
@@ -0,0 +1,24 @@
+package com.acme.insurance.policy.app.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.ErrorResponseException;
+
+import java.net.URI;
+
+public class IdempotencyKeyReusedException extends ErrorResponseException {
+
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super(HttpStatus.UNPROCESSABLE_ENTITY, problem(idempotencyKey), null);
+    }
+
+    private static ProblemDetail problem(String idempotencyKey) {
+        var pd = ProblemDetail.forStatusAndDetail(
+                HttpStatus.UNPROCESSABLE_ENTITY,
+                "The Idempotency-Key was already used with a different request body");
+        pd.setTitle("Idempotency key reused");
+        pd.setType(URI.create("https://api.acme.com/errors/idempotency-key-reused"));
+        pd.setProperty("idempotencyKey", idempotencyKey);
+        return pd;
+    }
+}
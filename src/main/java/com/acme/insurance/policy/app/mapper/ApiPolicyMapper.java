@@ -2,7 +2,9 @@ package com.acme.insurance.policy.app.mapper;
 
 import com.acme.insurance.policy.app.dto.PolicyRequestDto;
 import com.acme.insurance.policy.app.dto.PolicyResponseDto;
+import com.acme.insurance.policy.app.dto.PolicySummaryDto;
 import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.domain.model.PolicySummary;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -17,6 +19,9 @@ public interface ApiPolicyMapper {
     @Mapping(target = "createdAt", expression = "java(OffsetDateTime.now())")
     @Mapping(target = "finishedAt", ignore = true)
     @Mapping(target = "history", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "withFinishedAt", ignore = true)
+    @Mapping(target = "withVersion", ignore = true)
     Policy toDomain(PolicyRequestDto dto);
 
     @Mapping(target = "id", source = "id")
@@ -35,6 +40,8 @@ public interface ApiPolicyMapper {
     @Mapping(target = "history", expression = "java(mapHistory(domain.history()))")
     PolicyResponseDto toResponse(Policy domain);
 
+    PolicySummaryDto toSummaryResponse(PolicySummary summary);
+
     default List<PolicyResponseDto.StatusHistoryDto> mapHistory(List<Policy.StatusHistory> history) {
         if (history == null) return List.of();
         return history.stream()
@@ -0,0 +1,51 @@
+package com.acme.insurance.policy.application;
+
+import com.acme.insurance.policy.app.dto.BatchGetPoliciesResponseDto;
+import com.acme.insurance.policy.app.dto.PolicyResponseDto;
+import com.acme.insurance.policy.app.mapper.ApiPolicyMapper;
+import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.domain.ports.in.BatchGetPoliciesQuery;
+import com.acme.insurance.policy.domain.ports.out.PolicyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+public class BatchGetPoliciesService implements BatchGetPoliciesQuery {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchGetPoliciesService.class);
+
+    private final PolicyRepository policyRepository;
+    private final ApiPolicyMapper apiPolicyMapper;
+
+    public BatchGetPoliciesService(PolicyRepository policyRepository, ApiPolicyMapper apiPolicyMapper) {
+        this.policyRepository = policyRepository;
+        this.apiPolicyMapper = apiPolicyMapper;
+    }
+
+    @Override
+    public BatchGetPoliciesResponseDto execute(List<UUID> policyIds) {
+        var requested = new LinkedHashSet<>(policyIds);
+        log.info("[USECASE] Buscando {} policies em lote", requested.size());
+
+        Map<UUID, Policy> byId = new LinkedHashMap<>();
+        policyRepository.findAllByIds(requested).forEach(p -> byId.put(p.id(), p));
+
+        List<PolicyResponseDto> found = requested.stream()
+                .filter(byId::containsKey)
+                .map(id -> apiPolicyMapper.toResponse(byId.get(id)))
+                .toList();
+        List<UUID> missing = requested.stream()
+                .filter(id -> !byId.containsKey(id))
+                .toList();
+
+        log.info("[USECASE] Lote concluído - encontradas={} ausentes={}", found.size(), missing.size());
+        return new BatchGetPoliciesResponseDto(found, missing);
+    }
+}
@@ -7,6 +7,7 @@ import com.acme.insurance.policy.app.mapper.ApiPolicyMapper;
 import com.acme.insurance.policy.domain.model.Policy;
 import com.acme.insurance.policy.domain.ports.in.CancelPolicyUseCase;
 import com.acme.insurance.policy.domain.ports.out.PolicyRepository;
+import com.acme.insurance.policy.infra.config.AppProps;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -21,13 +22,16 @@ public class CancelPolicyService implements CancelPolicyUseCase {
     private final PolicyRepository policyRepository;
     private final PolicyStateMachine policyStateMachine;
     private final ApiPolicyMapper apiPolicyMapper;
+    private final boolean consistentReadAfterWrite;
 
     public CancelPolicyService(PolicyRepository policyRepository,
                                PolicyStateMachine policyStateMachine,
-                               ApiPolicyMapper apiPolicyMapper) {
+                               ApiPolicyMapper apiPolicyMapper,
+                               AppProps props) {
         this.policyRepository = policyRepository;
         this.policyStateMachine = policyStateMachine;
         this.apiPolicyMapper = apiPolicyMapper;
+        this.consistentReadAfterWrite = props.dynamodb().consistentReadAfterWrite();
     }
 
     @Override
@@ -44,7 +48,9 @@ public class CancelPolicyService implements CancelPolicyUseCase {
 
         Policy updated = policyStateMachine.cancel(policy, "BY_CUSTOMER_REQUEST");
 
-        Policy persisted = policyRepository.findById(updated.id()).orElse(updated);
+        Policy persisted = consistentReadAfterWrite
+                ? policyRepository.findByIdConsistent(updated.id()).orElse(updated)
+                : updated;
         log.info("[USECASE] Policy cancelada - id={} status={}", persisted.id(), persisted.status());
         return apiPolicyMapper.toResponse(persisted);
     }
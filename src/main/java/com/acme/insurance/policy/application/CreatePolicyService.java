@@ -1,7 +1,6 @@
 package com.acme.insurance.policy.application;
 
 import com.acme.insurance.policy.app.dto.PolicyRequestDto;
-import com.acme.insurance.policy.app.dto.PolicyResponseDto;
 import com.acme.insurance.policy.app.dto.fraud.FraudAnalysisResponse;
 import com.acme.insurance.policy.app.mapper.ApiPolicyMapper;
 import com.acme.insurance.policy.domain.events.PolicyRequestCreatedEvent;
@@ -12,12 +11,22 @@ import com.acme.insurance.policy.domain.ports.in.CreatePolicyUseCase;
 import com.acme.insurance.policy.domain.ports.out.FraudGateway;
 import com.acme.insurance.policy.domain.ports.out.PolicyRepository;
 import com.acme.insurance.policy.domain.ports.out.PolicyRequestPublisher;
+import com.acme.insurance.policy.infra.config.AppProps;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.TreeMap;
 import java.util.UUID;
 
 @Service
@@ -30,27 +39,50 @@ public class CreatePolicyService implements CreatePolicyUseCase {
     private final FraudGateway fraudGateway;
     private final PolicyStateMachine policyStateMachine;
     private final ApiPolicyMapper apiPolicyMapper;
+    private final FraudEvaluationPipeline fraudEvaluationPipeline;
+    private final IdempotencyGuard idempotencyGuard;
+    private final boolean consistentReadAfterWrite;
 
     public CreatePolicyService(PolicyRepository policyRepository,
                                PolicyRequestPublisher policyRequestPublisher,
                                FraudGateway fraudGateway,
                                PolicyStateMachine policyStateMachine,
-                               ApiPolicyMapper apiPolicyMapper) {
+                               ApiPolicyMapper apiPolicyMapper,
+                               FraudEvaluationPipeline fraudEvaluationPipeline,
+                               IdempotencyGuard idempotencyGuard,
+                               AppProps props) {
         this.policyRepository = policyRepository;
         this.policyRequestPublisher = policyRequestPublisher;
         this.fraudGateway = fraudGateway;
         this.policyStateMachine = policyStateMachine;
         this.apiPolicyMapper = apiPolicyMapper;
+        this.fraudEvaluationPipeline = fraudEvaluationPipeline;
+        this.idempotencyGuard = idempotencyGuard;
+        this.consistentReadAfterWrite = props.dynamodb().consistentReadAfterWrite();
     }
 
     @Override
-    public PolicyResponseDto execute(PolicyRequestDto request) {
+    public Result execute(PolicyRequestDto request) {
+        return create(request, UUID.randomUUID());
+    }
+
+    @Override
+    public Result execute(PolicyRequestDto request, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return execute(request);
+        }
+        return idempotencyGuard.execute(request.customerId(), idempotencyKey, requestHash(request),
+                id -> create(request, id),
+                this::find);
+    }
+
+    private Result create(PolicyRequestDto request, UUID id) {
         log.info("[USECASE] Criando policy para customerId={} productId={}", request.customerId(), request.productId());
 
         Policy base = apiPolicyMapper.toDomain(request);
 
         Policy policy = new Policy(
-                UUID.randomUUID(),
+                id,
                 base.customerId(),
                 base.productId(),
                 base.category(),
@@ -63,7 +95,8 @@ public class CreatePolicyService implements CreatePolicyUseCase {
                 base.assistances(),
                 base.totalMonthlyPremiumAmount(),
                 base.insuredAmount(),
-                List.of(new Policy.StatusHistory(PolicyStatus.RECEIVED, base.createdAt()))
+                List.of(new Policy.StatusHistory(PolicyStatus.RECEIVED, base.createdAt())),
+                1L
         );
 
         policyRepository.save(policy);
@@ -75,13 +108,69 @@ public class CreatePolicyService implements CreatePolicyUseCase {
                 Instant.now()
         ));
 
+        if (fraudEvaluationPipeline.isEnabled()
+                && fraudEvaluationPipeline.submit(policy.id(), () -> evaluateFraud(policy))) {
+            log.info("[USECASE] Policy recebida, análise de fraude em background - id={}", policy.id());
+            return new Result(apiPolicyMapper.toResponse(policy), true);
+        }
+
+        Policy evaluated = evaluateFraud(policy);
+
+        Policy persisted = consistentReadAfterWrite
+                ? policyRepository.findByIdConsistent(evaluated.id()).orElse(evaluated)
+                : evaluated;
+        log.info("[USECASE] Policy processada - id={} status={}", persisted.id(), persisted.status());
+        return new Result(apiPolicyMapper.toResponse(persisted), false);
+    }
+
+    /* Repetição de uma policy ainda em análise continua aceita: o status vai mudar sem nova requisição. */
+    private Optional<Result> find(UUID id) {
+        return policyRepository.findByIdConsistent(id).map(original ->
+                new Result(apiPolicyMapper.toResponse(original), original.status() == PolicyStatus.RECEIVED));
+    }
+
+    /* Reenfileira a análise de uma policy parada em RECEIVED; false quando o pipeline não a aceitou. */
+    boolean resumeFraudEvaluation(Policy policy) {
+        return fraudEvaluationPipeline.submit(policy.id(), () -> evaluateFraud(policy));
+    }
+
+    /* Forma canônica do corpo: valores monetários sem zeros à direita e coverages em ordem de chave. */
+    static String requestHash(PolicyRequestDto request) {
+        var canonical = String.join("|",
+                String.valueOf(request.customerId()),
+                String.valueOf(request.productId()),
+                request.category(),
+                request.salesChannel(),
+                request.paymentMethod(),
+                plain(request.totalMonthlyPremiumAmount()),
+                plain(request.insuredAmount()),
+                coverages(request.coverages()),
+                String.valueOf(request.assistances()));
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String coverages(Map<String, BigDecimal> coverages) {
+        if (coverages == null) {
+            return "null";
+        }
+        var sorted = new StringJoiner(",");
+        new TreeMap<>(coverages).forEach((name, amount) -> sorted.add(name + "=" + plain(amount)));
+        return sorted.toString();
+    }
+
+    private static String plain(BigDecimal value) {
+        return value == null ? "null" : value.stripTrailingZeros().toPlainString();
+    }
+
+    private Policy evaluateFraud(Policy policy) {
         FraudAnalysisResponse fraud = fraudGateway.analyze(policy.id(), policy.customerId());
         FraudClassification classification = FraudClassification.from(fraud.classification());
         log.info("[USECASE] Resultado fraude id={} classification={}", policy.id(), classification);
-        policyStateMachine.onFraud(policy, classification, policy.category(), policy.insuredAmount());
-
-        Policy persisted = policyRepository.findById(policy.id()).orElse(policy);
-        log.info("[USECASE] Policy processada - id={} status={}", persisted.id(), persisted.status());
-        return apiPolicyMapper.toResponse(persisted);
+        return policyStateMachine.onFraud(policy, classification, policy.category(), policy.insuredAmount());
     }
 }
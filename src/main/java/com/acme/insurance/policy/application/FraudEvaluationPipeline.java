@@ -0,0 +1,174 @@
+package com.acme.insurance.policy.application;
+
+import com.acme.insurance.policy.infra.config.AppProps;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class FraudEvaluationPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(FraudEvaluationPipeline.class);
+
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Duration drainTimeout;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService retryScheduler;
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+    private final Timer lag;
+    private final Timer duration;
+    private final Counter rejected;
+    private final Counter retries;
+    private final Counter failures;
+
+    public FraudEvaluationPipeline(AppProps props, MeterRegistry meterRegistry) {
+        var cfg = props.fraud().pipeline();
+        this.enabled = cfg.enabled();
+        this.maxAttempts = Math.max(1, cfg.maxAttempts());
+        this.retryDelay = cfg.retryDelay();
+        this.drainTimeout = cfg.drainTimeout();
+        this.lag = Timer.builder("policy.fraud.pipeline.lag")
+                .description("Tempo entre o enfileiramento e o início da análise de fraude")
+                .register(meterRegistry);
+        this.duration = Timer.builder("policy.fraud.pipeline.duration")
+                .description("Duração da análise de fraude em background")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("policy.fraud.pipeline.rejected")
+                .description("Submissões recusadas por fila cheia (executadas no request)")
+                .register(meterRegistry);
+        this.retries = Counter.builder("policy.fraud.pipeline.retries")
+                .description("Análises reenfileiradas após falha")
+                .register(meterRegistry);
+        this.failures = Counter.builder("policy.fraud.pipeline.failures")
+                .description("Análises que esgotaram as tentativas (policy fica RECEIVED para a varredura)")
+                .register(meterRegistry);
+
+        if (!enabled) {
+            this.executor = null;
+            this.retryScheduler = null;
+            return;
+        }
+
+        int workers = Math.max(1, cfg.workers());
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(Math.max(1, cfg.queueCapacity()));
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS, queue,
+                new CustomizableThreadFactory("fraud-eval-"), new ThreadPoolExecutor.AbortPolicy());
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("fraud-eval-retry-"));
+        Gauge.builder("policy.fraud.pipeline.queue.depth", queue, BlockingQueue::size)
+                .description("Análises de fraude aguardando execução")
+                .register(meterRegistry);
+        log.info("[FRAUD-PIPELINE] Habilitado workers={} queueCapacity={} maxAttempts={}",
+                workers, cfg.queueCapacity(), maxAttempts);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /* Uma policy já enfileirada (ou aguardando retentativa) não entra de novo; conta como aceita. */
+    public boolean submit(UUID policyId, Runnable evaluation) {
+        if (!enabled) {
+            return false;
+        }
+        if (!pending.add(policyId)) {
+            log.debug("[FRAUD-PIPELINE] Análise já pendente id={}", policyId);
+            return true;
+        }
+        if (enqueue(policyId, evaluation, 1)) {
+            log.debug("[FRAUD-PIPELINE] Análise enfileirada id={} depth={}", policyId, executor.getQueue().size());
+            return true;
+        }
+        pending.remove(policyId);
+        rejected.increment();
+        log.warn("[FRAUD-PIPELINE] Fila cheia, análise será feita no request id={}", policyId);
+        return false;
+    }
+
+    private boolean enqueue(UUID policyId, Runnable evaluation, int attempt) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                lag.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                duration.record(() -> run(policyId, evaluation, attempt));
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private void run(UUID policyId, Runnable evaluation, int attempt) {
+        try {
+            evaluation.run();
+            pending.remove(policyId);
+        } catch (RuntimeException e) {
+            if (attempt < maxAttempts && scheduleRetry(policyId, evaluation, attempt + 1)) {
+                retries.increment();
+                log.warn("[FRAUD-PIPELINE] Falha na análise de fraude id={} tentativa {}/{}, reenfileirando em {}",
+                        policyId, attempt, maxAttempts, retryDelay, e);
+                return;
+            }
+            pending.remove(policyId);
+            failures.increment();
+            log.error("[FRAUD-PIPELINE] Falha na análise de fraude id={} após {} tentativa(s) "
+                    + "(policy permanece RECEIVED até a varredura)", policyId, attempt, e);
+        }
+    }
+
+    private boolean scheduleRetry(UUID policyId, Runnable evaluation, int attempt) {
+        try {
+            retryScheduler.schedule(() -> {
+                if (!enqueue(policyId, evaluation, attempt)) {
+                    pending.remove(policyId);
+                    failures.increment();
+                    log.warn("[FRAUD-PIPELINE] Retentativa não enfileirada id={} (fila cheia ou encerrando), "
+                            + "fica para a varredura", policyId);
+                }
+            }, retryDelay.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /*
+     * Para de aceitar submissões e espera a fila esvaziar até drainTimeout. Retentativas ainda agendadas são
+     * descartadas: essas policies, e as que não terminarem no prazo, continuam RECEIVED e a varredura de
+     * policies paradas as retoma em outra réplica ou no próximo start.
+     */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (executor == null) return;
+        retryScheduler.shutdownNow();
+        executor.shutdown();
+        log.info("[FRAUD-PIPELINE] Drenando {} análises pendentes (prazo {})", pending.size(), drainTimeout);
+        if (!executor.awaitTermination(drainTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            executor.shutdownNow();
+        }
+        if (!pending.isEmpty()) {
+            log.warn("[FRAUD-PIPELINE] Encerrando com {} análises não concluídas, permanecem RECEIVED ids={}",
+                    pending.size(), pending);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.acme.insurance.policy.application;
+
+import com.acme.insurance.policy.app.error.IdempotencyKeyInProgressException;
+import com.acme.insurance.policy.app.error.IdempotencyKeyReusedException;
+import com.acme.insurance.policy.app.error.PolicyNotFoundException;
+import com.acme.insurance.policy.domain.ports.out.IdempotencyStore;
+import com.acme.insurance.policy.infra.config.AppProps;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/*
+ * Deduplica criações por Idempotency-Key, com a chave escopada pelo customerId. A primeira requisição reivindica
+ * a chave já com o id da policy que vai criar e executa; repetições de uma chave concluída respondem a partir
+ * da policy gravada, sem salvar, publicar ou reanalisar fraude. Duplicatas que chegam durante a execução
+ * esperam por ela: no mesmo nó pelo future da execução em andamento, entre réplicas relendo a chave até ela
+ * ser concluída. Passado o prazo de espera a resposta é 409. Se a primeira execução falha sem ter gravado a
+ * policy a chave é liberada e o retry seguinte executa de novo; se a policy já foi gravada (a falha veio depois
+ * do save, por exemplo na análise de fraude) a chave fica com o mesmo policyId e a lease vencida, e o retry
+ * responde pela policy gravada. Se quem reivindicou a chave cai sem concluir nem liberar, a lease vence e
+ * a próxima requisição assume a chave com o mesmo policyId: responde pela policy se ela chegou a ser gravada,
+ * senão executa de novo. A chave guarda o hash do corpo, e reusá-la com outro corpo responde 422, inclusive
+ * para a duplicata que chega enquanto a primeira ainda executa no mesmo nó.
+ */
+@Component
+public class IdempotencyGuard {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyGuard.class);
+
+    private final IdempotencyStore store;
+    private final Duration waitTimeout;
+    private final Duration pollInterval;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter coalesced;
+    private final Counter inProgress;
+    private final Counter takenOver;
+    private final Counter mismatched;
+
+    public IdempotencyGuard(IdempotencyStore store, AppProps props, MeterRegistry meterRegistry) {
+        var cfg = props.dynamodb().idempotency();
+        this.store = store;
+        this.waitTimeout = cfg.waitTimeout();
+        this.pollInterval = cfg.pollInterval();
+        this.executed = outcome(meterRegistry, "executed");
+        this.replayed = outcome(meterRegistry, "replayed");
+        this.coalesced = outcome(meterRegistry, "coalesced");
+        this.inProgress = outcome(meterRegistry, "in_progress");
+        this.takenOver = outcome(meterRegistry, "taken_over");
+        this.mismatched = outcome(meterRegistry, "mismatch");
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<Object> future) {}
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("policy.idempotency.requests")
+                .description("Criações com Idempotency-Key por desfecho")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(UUID customerId,
+                         String idempotencyKey,
+                         String requestHash,
+                         Function<UUID, T> create,
+                         Function<UUID, Optional<T>> find) {
+        String key = customerId + ":" + idempotencyKey;
+        var mine = new InFlight(requestHash, new CompletableFuture<>());
+        var running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            if (!Objects.equals(running.requestHash(), requestHash)) {
+                log.warn("[IDEMPOTENCY] Chave em andamento no nó reusada com outro corpo key={}", idempotencyKey);
+                mismatched.increment();
+                throw new IdempotencyKeyReusedException(idempotencyKey);
+            }
+            log.info("[IDEMPOTENCY] Aguardando execução em andamento no nó key={}", idempotencyKey);
+            coalesced.increment();
+            return (T) await(idempotencyKey, running.future());
+        }
+        try {
+            T response = claimAndRun(key, idempotencyKey, requestHash, create, find);
+            mine.future().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            mine.future().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private <T> T claimAndRun(String key,
+                              String idempotencyKey,
+                              String requestHash,
+                              Function<UUID, T> create,
+                              Function<UUID, Optional<T>> find) {
+        UUID candidate = UUID.randomUUID();
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            var existing = store.putIfAbsent(key, candidate, requestHash);
+            if (existing.isEmpty()) {
+                executed.increment();
+                return run(key, idempotencyKey, candidate, create, find);
+            }
+            var entry = existing.get();
+            if (entry.requestHash() != null && !entry.requestHash().equals(requestHash)) {
+                log.warn("[IDEMPOTENCY] Chave reusada com outro corpo key={} policyId={}", idempotencyKey, entry.policyId());
+                mismatched.increment();
+                throw new IdempotencyKeyReusedException(idempotencyKey);
+            }
+            if (entry.completed()) {
+                log.info("[IDEMPOTENCY] Repetição respondida pela policy original key={} policyId={}",
+                        idempotencyKey, entry.policyId());
+                replayed.increment();
+                return find.apply(entry.policyId())
+                        .orElseThrow(() -> new PolicyNotFoundException(entry.policyId()));
+            }
+            if (entry.leaseExpired() && store.takeOver(key, entry.policyId())) {
+                takenOver.increment();
+                return recover(key, idempotencyKey, entry.policyId(), create, find);
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                log.warn("[IDEMPOTENCY] Chave ainda em andamento após {} key={} policyId={}",
+                        waitTimeout, idempotencyKey, entry.policyId());
+                inProgress.increment();
+                throw new IdempotencyKeyInProgressException(idempotencyKey);
+            }
+            sleep(idempotencyKey);
+        }
+    }
+
+    private <T> T recover(String key,
+                          String idempotencyKey,
+                          UUID policyId,
+                          Function<UUID, T> create,
+                          Function<UUID, Optional<T>> find) {
+        var persisted = find.apply(policyId);
+        if (persisted.isPresent()) {
+            log.warn("[IDEMPOTENCY] Lease vencida, policy já gravada pela execução anterior key={} policyId={}",
+                    idempotencyKey, policyId);
+            store.complete(key);
+            return persisted.get();
+        }
+        log.warn("[IDEMPOTENCY] Lease vencida sem policy gravada, executando de novo key={} policyId={}",
+                idempotencyKey, policyId);
+        return run(key, idempotencyKey, policyId, create, find);
+    }
+
+    private <T> T run(String key, String idempotencyKey, UUID policyId,
+                      Function<UUID, T> create, Function<UUID, Optional<T>> find) {
+        T response;
+        try {
+            response = create.apply(policyId);
+        } catch (RuntimeException e) {
+            if (mayBePersisted(policyId, find)) {
+                log.warn("[IDEMPOTENCY] Execução falhou com a policy possivelmente gravada, chave mantida para o "
+                        + "retry key={} policyId={}", idempotencyKey, policyId);
+                store.expireLease(key);
+            } else {
+                log.warn("[IDEMPOTENCY] Execução falhou sem gravar a policy, liberando chave key={} policyId={}",
+                        idempotencyKey, policyId);
+                store.release(key);
+            }
+            throw e;
+        }
+        store.complete(key);
+        return response;
+    }
+
+    /* Na dúvida (a leitura também falhou) a chave é mantida: um replay a mais é melhor que uma policy duplicada. */
+    private <T> boolean mayBePersisted(UUID policyId, Function<UUID, Optional<T>> find) {
+        try {
+            return find.apply(policyId).isPresent();
+        } catch (RuntimeException e) {
+            return true;
+        }
+    }
+
+    private Object await(String idempotencyKey, CompletableFuture<Object> running) {
+        try {
+            return running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            inProgress.increment();
+            throw new IdempotencyKeyInProgressException(idempotencyKey);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException(idempotencyKey);
+        }
+    }
+
+    private void sleep(String idempotencyKey) {
+        try {
+            Thread.sleep(pollInterval.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException(idempotencyKey);
+        }
+    }
+}
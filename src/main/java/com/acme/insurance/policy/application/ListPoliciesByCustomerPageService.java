@@ -0,0 +1,50 @@
+package com.acme.insurance.policy.application;
+
+import com.acme.insurance.policy.app.dto.PageResponseDto;
+import com.acme.insurance.policy.app.dto.PolicyResponseDto;
+import com.acme.insurance.policy.app.error.PolicyNotFoundByIdCustomerException;
+import com.acme.insurance.policy.app.mapper.ApiPolicyMapper;
+import com.acme.insurance.policy.domain.model.PageResult;
+import com.acme.insurance.policy.domain.ports.in.ListPoliciesByCustomerPageQuery;
+import com.acme.insurance.policy.domain.ports.out.PolicyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+@Service
+public class ListPoliciesByCustomerPageService implements ListPoliciesByCustomerPageQuery {
+
+    private static final Logger log = LoggerFactory.getLogger(ListPoliciesByCustomerPageService.class);
+
+    static final int MAX_LIMIT = 100;
+
+    private final PolicyRepository policyRepository;
+    private final ApiPolicyMapper apiPolicyMapper;
+
+    public ListPoliciesByCustomerPageService(PolicyRepository policyRepository,
+                                             ApiPolicyMapper apiPolicyMapper) {
+        this.policyRepository = policyRepository;
+        this.apiPolicyMapper = apiPolicyMapper;
+    }
+
+    @Override
+    public PageResponseDto<PolicyResponseDto> execute(UUID customerId, int limit, String pageToken) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+        log.info("[USECASE] Listando página de policies por customerId={} limit={}", customerId, pageSize);
+
+        PageResult<PolicyResponseDto> page = policyRepository
+                .findPageByCustomerId(customerId, pageSize, pageToken)
+                .map(apiPolicyMapper::toResponse);
+
+        if (page.items().isEmpty() && pageToken == null) {
+            log.warn("[USECASE] Nenhuma policy encontrada para customerId={}", customerId);
+            throw new PolicyNotFoundByIdCustomerException(customerId);
+        }
+
+        log.info("[USECASE] Página com {} policies para customerId={} hasNext={}",
+                page.items().size(), customerId, page.hasNext());
+        return new PageResponseDto<>(page.items(), page.nextCursor());
+    }
+}
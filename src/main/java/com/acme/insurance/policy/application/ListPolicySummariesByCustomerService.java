@@ -0,0 +1,48 @@
+package com.acme.insurance.policy.application;
+
+import com.acme.insurance.policy.app.dto.PageResponseDto;
+import com.acme.insurance.policy.app.dto.PolicySummaryDto;
+import com.acme.insurance.policy.app.error.PolicyNotFoundByIdCustomerException;
+import com.acme.insurance.policy.app.mapper.ApiPolicyMapper;
+import com.acme.insurance.policy.domain.model.PageResult;
+import com.acme.insurance.policy.domain.ports.in.ListPolicySummariesByCustomerQuery;
+import com.acme.insurance.policy.domain.ports.out.PolicyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+@Service
+public class ListPolicySummariesByCustomerService implements ListPolicySummariesByCustomerQuery {
+
+    private static final Logger log = LoggerFactory.getLogger(ListPolicySummariesByCustomerService.class);
+
+    private final PolicyRepository policyRepository;
+    private final ApiPolicyMapper apiPolicyMapper;
+
+    public ListPolicySummariesByCustomerService(PolicyRepository policyRepository,
+                                                ApiPolicyMapper apiPolicyMapper) {
+        this.policyRepository = policyRepository;
+        this.apiPolicyMapper = apiPolicyMapper;
+    }
+
+    @Override
+    public PageResponseDto<PolicySummaryDto> execute(UUID customerId, int limit, String pageToken) {
+        int pageSize = Math.max(1, Math.min(limit, ListPoliciesByCustomerPageService.MAX_LIMIT));
+        log.info("[USECASE] Listando resumo de policies por customerId={} limit={}", customerId, pageSize);
+
+        PageResult<PolicySummaryDto> page = policyRepository
+                .findSummaryPageByCustomerId(customerId, pageSize, pageToken)
+                .map(apiPolicyMapper::toSummaryResponse);
+
+        if (page.items().isEmpty() && pageToken == null) {
+            log.warn("[USECASE] Nenhuma policy encontrada para customerId={}", customerId);
+            throw new PolicyNotFoundByIdCustomerException(customerId);
+        }
+
+        log.info("[USECASE] Resumo com {} policies para customerId={} hasNext={}",
+                page.items().size(), customerId, page.hasNext());
+        return new PageResponseDto<>(page.items(), page.nextCursor());
+    }
+}
@@ -6,9 +6,13 @@ import com.acme.insurance.policy.domain.fraud.FraudClassification;
 import com.acme.insurance.policy.domain.model.Policy;
 import com.acme.insurance.policy.domain.model.PolicyStatus;
 import com.acme.insurance.policy.domain.model.PolicyStatus.TransitionContext;
+import com.acme.insurance.policy.domain.model.PolicyWriteConflictException;
+import com.acme.insurance.policy.domain.ports.out.CorrelationStore;
 import com.acme.insurance.policy.domain.ports.out.PolicyRepository;
 import com.acme.insurance.policy.domain.ports.out.PolicyRequestPublisher;
-import com.acme.insurance.policy.infra.memory.InMemoryCorrelationStore;
+import com.acme.insurance.policy.infra.config.AppProps;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -16,7 +20,11 @@ import org.springframework.stereotype.Component;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.BiConsumer;
 
 @Component
 public class PolicyStateMachine {
@@ -25,93 +33,163 @@ public class PolicyStateMachine {
 
     private final PolicyRepository policyRepository;
     private final PolicyRequestPublisher policyRequestPublisher;
-    private final InMemoryCorrelationStore inMemoryCorrelationStore;
+    private final CorrelationStore correlationStore;
+    private final boolean outboxEnabled;
+    private final int maxWriteAttempts;
+    private final Counter conflictsRetried;
+    private final Counter conflictsExhausted;
 
     public PolicyStateMachine(PolicyRepository policyRepository,
                               PolicyRequestPublisher policyRequestPublisher,
-                              InMemoryCorrelationStore inMemoryCorrelationStore) {
+                              CorrelationStore correlationStore,
+                              AppProps props,
+                              MeterRegistry meterRegistry) {
         this.policyRepository = policyRepository;
         this.policyRequestPublisher = policyRequestPublisher;
-        this.inMemoryCorrelationStore = inMemoryCorrelationStore;
+        this.correlationStore = correlationStore;
+        this.outboxEnabled = props.dynamodb().outbox().enabled();
+        this.maxWriteAttempts = Math.max(1, props.dynamodb().writeConflictMaxAttempts());
+        this.conflictsRetried = conflicts(meterRegistry, "retried");
+        this.conflictsExhausted = conflicts(meterRegistry, "exhausted");
     }
 
-    private TransitionContext ctx(Policy policy) {
-        return new TransitionContext() {
-            private Policy current = policy;
+    private static Counter conflicts(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("policy.fsm.write.conflicts")
+                .description("Escritas de transição rejeitadas por status ou versão divergentes")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 
-            @Override
-            public void moveTo(PolicyStatus next, String reason) {
-                OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
-                log.info("[FSM] {} -> {} (reason={}) id={}", current.status(), next, reason, current.id());
+    private Transition ctx(Policy policy) {
+        return new Transition(policy);
+    }
 
-                if (!current.status().canTransitionTo(next) && !next.isFinal()) {
-                    log.warn("[FSM] Transição não permitida {} -> {} para id={}", current.status(), next, current.id());
+    /*
+     * Aplica o evento e grava; em conflito de escrita relê a policy (leitura consistente) e reaplica o
+     * mesmo evento sobre o estado atual, até maxWriteAttempts. Se a releitura mostra a policy já em estado
+     * final, o conflito é propagado como antes: não há transição a reaplicar sobre um estado terminal.
+     */
+    private Policy apply(Policy policy, BiConsumer<Policy, Transition> event) {
+        Policy attempt = policy;
+        for (int i = 1; ; i++) {
+            Transition t = ctx(attempt);
+            event.accept(attempt, t);
+            try {
+                return t.commit();
+            } catch (PolicyWriteConflictException e) {
+                if (i >= maxWriteAttempts) {
+                    conflictsExhausted.increment();
+                    throw e;
                 }
-
-                current = current.withStatusAndHistory(next, now);
-                policyRepository.save(current);
-                policyRequestPublisher.publish(new PolicyRequestStatusChangedEvent(
-                        current.id(),
-                        current.customerId(),
-                        current.productId(),
-                        current.status().name(),
-                        reason,
-                        now.toInstant()
-                ));
-
-                if (current.isFinalStatus()) {
-                    inMemoryCorrelationStore.clear(current.id());
+                Optional<Policy> fresh = policyRepository.findByIdConsistent(attempt.id());
+                if (fresh.isEmpty() || fresh.get().isFinalStatus()) {
+                    conflictsExhausted.increment();
+                    throw e;
                 }
+                conflictsRetried.increment();
+                log.warn("[FSM] Conflito de escrita id={} tentativa {}/{}; reaplicando sobre status={} versão={}",
+                        attempt.id(), i, maxWriteAttempts, fresh.get().status(), fresh.get().version());
+                attempt = fresh.get();
+            }
+        }
+    }
+
+    private final class Transition implements TransitionContext {
+        private final Policy original;
+        private final List<PolicyRequestStatusChangedEvent> events = new ArrayList<>(2);
+        private Policy current;
+
+        private Transition(Policy policy) {
+            this.original = policy;
+            this.current = policy;
+        }
+
+        @Override
+        public void moveTo(PolicyStatus next, String reason) {
+            OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+            log.info("[FSM] {} -> {} (reason={}) id={}", current.status(), next, reason, current.id());
+
+            if (!current.status().canTransitionTo(next) && !next.isFinal()) {
+                log.warn("[FSM] Transição não permitida {} -> {} para id={}", current.status(), next, current.id());
             }
 
-            @Override
-            public void finish() {
-                OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
-                current = current.withFinishedAt(now);
-                policyRepository.save(current);
-                log.info("[FSM] finishedAt set id={} at={}", current.id(), now);
+            current = current.withStatusAndHistory(next, now);
+            events.add(new PolicyRequestStatusChangedEvent(
+                    current.id(),
+                    current.customerId(),
+                    current.productId(),
+                    current.status().name(),
+                    reason,
+                    now.toInstant()
+            ));
+        }
+
+        @Override
+        public void finish() {
+            OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+            current = current.withFinishedAt(now);
+            log.info("[FSM] finishedAt set id={} at={}", current.id(), now);
+        }
+
+        @Override
+        public boolean bothSignalsArrived() {
+            boolean ok = correlationStore.bothDone(current.id());
+            log.debug("[FSM] bothSignalsArrived? {} id={}", ok, current.id());
+            return ok;
+        }
+
+        private Policy commit() {
+            if (current == original) {
+                return original;
+            }
+            current = current.withVersion(current.nextVersion());
+            if (outboxEnabled) {
+                policyRepository.saveTransition(current, original.status(), List.copyOf(events));
+            } else {
+                policyRepository.saveTransition(current, original.status());
+                policyRequestPublisher.publishAll(List.copyOf(events));
             }
+            log.info("[FSM] Transição gravada id={} {} -> {} eventos={}",
+                    current.id(), original.status(), current.status(), events.size());
 
-            @Override
-            public boolean bothSignalsArrived() {
-                boolean ok = inMemoryCorrelationStore.bothDone(current.id());
-                log.debug("[FSM] bothSignalsArrived? {} id={}", ok, current.id());
-                return ok;
+            if (current.isFinalStatus()) {
+                correlationStore.clear(current.id());
             }
-        };
+            return current;
+        }
     }
 
-    public void onFraud(Policy policy, FraudClassification classification, String category, BigDecimal insuredAmount) {
+    public Policy onFraud(Policy policy, FraudClassification classification, String category, BigDecimal insuredAmount) {
         log.info("[FSM] onFraud id={} status={} classification={}", policy.id(), policy.status(), classification);
-        policy.status().onFraud(ctx(policy), classification, category, insuredAmount);
+        return apply(policy, (p, t) -> p.status().onFraud(t, classification, category, insuredAmount));
     }
 
-    public void onPaymentConfirmed(Policy policy) {
+    public Policy onPaymentConfirmed(Policy policy) {
         log.info("[FSM] onPaymentConfirmed id={} status={}", policy.id(), policy.status());
-        policy.status().onPaymentConfirmed(ctx(policy));
+        return apply(policy, (p, t) -> p.status().onPaymentConfirmed(t));
     }
 
-    public void onPaymentDenied(Policy policy) {
+    public Policy onPaymentDenied(Policy policy) {
         log.info("[FSM] onPaymentDenied id={} status={}", policy.id(), policy.status());
-        policy.status().onPaymentDenied(ctx(policy));
+        return apply(policy, (p, t) -> p.status().onPaymentDenied(t));
     }
 
-    public void onSubscriptionAuthorized(Policy policy) {
+    public Policy onSubscriptionAuthorized(Policy policy) {
         log.info("[FSM] onSubscriptionAuthorized id={} status={}", policy.id(), policy.status());
-        policy.status().onSubscriptionAuthorized(ctx(policy));
+        return apply(policy, (p, t) -> p.status().onSubscriptionAuthorized(t));
     }
 
-    public void onSubscriptionDenied(Policy policy) {
+    public Policy onSubscriptionDenied(Policy policy) {
         log.info("[FSM] onSubscriptionDenied id={} status={}", policy.id(), policy.status());
-        policy.status().onSubscriptionDenied(ctx(policy));
+        return apply(policy, (p, t) -> p.status().onSubscriptionDenied(t));
     }
 
     public Policy cancel(Policy policy, String reason) {
         log.info("[FSM] cancel id={} status={} reason={}", policy.id(), policy.status(), reason);
-        TransitionContext c = ctx(policy);
-        c.moveTo(PolicyStatus.CANCELLED, reason);
-        c.finish();
-        return policyRepository.findById(policy.id()).orElseThrow();
+        return apply(policy, (p, t) -> {
+            t.moveTo(PolicyStatus.CANCELLED, reason);
+            t.finish();
+        });
     }
 
     public void publishCreated(Policy policy) {
@@ -0,0 +1,122 @@
+package com.acme.insurance.policy.application;
+
+import com.acme.insurance.policy.domain.model.PolicyStatus;
+import com.acme.insurance.policy.domain.ports.out.FraudRecoveryLease;
+import com.acme.insurance.policy.domain.ports.out.PolicyRepository;
+import com.acme.insurance.policy.infra.config.AppProps;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/*
+ * Retoma policies que ficaram em RECEIVED além de staleAfter: análises que esgotaram as tentativas, que
+ * estavam na fila quando a réplica caiu ou que não terminaram no drain do shutdown. Só a réplica dona da
+ * FraudRecoveryLease varre. A busca lê só ids de um índice esparso, e cada policy é relida pela chave antes de
+ * ser retomada, descartando as que saíram de RECEIVED nesse meio-tempo. A varredura para quando o pipeline
+ * recusa submissões, para não competir com os requests.
+ */
+@Component
+@ConditionalOnProperty(name = "app.fraud.pipeline.enabled", havingValue = "true")
+public class StaleReceivedPolicySweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(StaleReceivedPolicySweeper.class);
+
+    private final PolicyRepository policyRepository;
+    private final CreatePolicyService createPolicyService;
+    private final FraudRecoveryLease lease;
+    private final Duration staleAfter;
+    private final Duration interval;
+    private final Clock clock;
+    private final Counter resumed;
+    private ScheduledExecutorService executor;
+
+    public StaleReceivedPolicySweeper(PolicyRepository policyRepository,
+                                      CreatePolicyService createPolicyService,
+                                      FraudRecoveryLease lease,
+                                      AppProps props,
+                                      MeterRegistry meterRegistry) {
+        this(policyRepository, createPolicyService, lease, props, meterRegistry, Clock.systemUTC());
+    }
+
+    StaleReceivedPolicySweeper(PolicyRepository policyRepository,
+                               CreatePolicyService createPolicyService,
+                               FraudRecoveryLease lease,
+                               AppProps props,
+                               MeterRegistry meterRegistry,
+                               Clock clock) {
+        var cfg = props.fraud().pipeline();
+        this.policyRepository = policyRepository;
+        this.createPolicyService = createPolicyService;
+        this.lease = lease;
+        this.staleAfter = cfg.staleAfter();
+        this.interval = cfg.recoveryInterval();
+        this.clock = clock;
+        this.resumed = Counter.builder("policy.fraud.pipeline.resumed")
+                .description("Policies paradas em RECEIVED reenfileiradas pela varredura")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("fraud-eval-sweep-"));
+        executor.scheduleWithFixedDelay(this::sweep, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("[FRAUD-PIPELINE] Varredura de policies RECEIVED a cada {} (paradas há mais de {})",
+                interval, staleAfter);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        lease.release();
+    }
+
+    int sweep() {
+        int count = 0;
+        try {
+            if (!lease.holds()) {
+                return 0;
+            }
+            Instant cutoff = clock.instant().minus(staleAfter);
+            try (Stream<UUID> ids = policyRepository.streamReceivedBefore(cutoff)) {
+                var stale = ids.iterator();
+                while (stale.hasNext()) {
+                    var policy = policyRepository.findByIdConsistent(stale.next())
+                            .filter(p -> p.status() == PolicyStatus.RECEIVED);
+                    if (policy.isEmpty()) {
+                        continue;
+                    }
+                    if (!createPolicyService.resumeFraudEvaluation(policy.get())) {
+                        log.warn("[FRAUD-PIPELINE] Pipeline recusou a retomada id={}, varredura interrompida",
+                                policy.get().id());
+                        break;
+                    }
+                    resumed.increment();
+                    count++;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("[FRAUD-PIPELINE] Falha na varredura de policies RECEIVED", e);
+        }
+        if (count > 0) {
+            log.info("[FRAUD-PIPELINE] {} policies paradas em RECEIVED reenfileiradas", count);
+        }
+        return count;
+    }
+}
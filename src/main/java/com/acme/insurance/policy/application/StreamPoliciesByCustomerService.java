@@ -0,0 +1,48 @@
+package com.acme.insurance.policy.application;
+
+import com.acme.insurance.policy.app.dto.PolicyResponseDto;
+import com.acme.insurance.policy.app.error.PolicyNotFoundByIdCustomerException;
+import com.acme.insurance.policy.app.mapper.ApiPolicyMapper;
+import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.domain.ports.in.StreamPoliciesByCustomerQuery;
+import com.acme.insurance.policy.domain.ports.out.PolicyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+@Service
+public class StreamPoliciesByCustomerService implements StreamPoliciesByCustomerQuery {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamPoliciesByCustomerService.class);
+
+    private final PolicyRepository policyRepository;
+    private final ApiPolicyMapper apiPolicyMapper;
+
+    public StreamPoliciesByCustomerService(PolicyRepository policyRepository,
+                                           ApiPolicyMapper apiPolicyMapper) {
+        this.policyRepository = policyRepository;
+        this.apiPolicyMapper = apiPolicyMapper;
+    }
+
+    @Override
+    public Stream<PolicyResponseDto> execute(UUID customerId) {
+        log.info("[USECASE] Streaming de policies por customerId={}", customerId);
+
+        // Antecipa a primeira página para ainda poder responder 404 antes de iniciar o stream.
+        Iterator<Policy> policies = policyRepository.streamByCustomerId(customerId).iterator();
+        if (!policies.hasNext()) {
+            log.warn("[USECASE] Nenhuma policy encontrada para customerId={}", customerId);
+            throw new PolicyNotFoundByIdCustomerException(customerId);
+        }
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(policies, Spliterator.ORDERED), false)
+                .map(apiPolicyMapper::toResponse);
+    }
+}
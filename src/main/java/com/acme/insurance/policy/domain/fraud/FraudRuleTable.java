@@ -0,0 +1,122 @@
+package com.acme.insurance.policy.domain.fraud;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Limites de capital segurado compilados em uma tabela [classificação][categoria]. A categoria é resolvida
+ * para um id por comparação case-insensitive com os nomes conhecidos (sem toUpperCase) e os limites são
+ * BigDecimal pré-construídos, então a avaliação não aloca.
+ */
+public final class FraudRuleTable {
+
+    public static final String DEFAULT_CATEGORY = "DEFAULT";
+
+    private static final FraudClassification[] CLASSIFICATIONS = FraudClassification.values();
+
+    private final String[] categories;
+    private final BigDecimal[][] limits;
+
+    private FraudRuleTable(String[] categories, BigDecimal[][] limits) {
+        this.categories = categories;
+        this.limits = limits;
+    }
+
+    public static FraudRuleTable defaults() {
+        Map<FraudClassification, Map<String, BigDecimal>> limits = new EnumMap<>(FraudClassification.class);
+        limits.put(FraudClassification.REGULAR, limits(
+                "LIFE", "500000", "RESIDENTIAL", "500000", "AUTO", "350000", DEFAULT_CATEGORY, "255000"));
+        limits.put(FraudClassification.HIGH_RISK, limits(
+                "AUTO", "250000", "RESIDENTIAL", "150000", DEFAULT_CATEGORY, "125000"));
+        limits.put(FraudClassification.PREFERENTIAL, limits(
+                "LIFE", "800000", "AUTO", "450000", "RESIDENTIAL", "450000", DEFAULT_CATEGORY, "375000"));
+        limits.put(FraudClassification.NO_INFO, limits(
+                "LIFE", "200000", "RESIDENTIAL", "200000", "AUTO", "75000", DEFAULT_CATEGORY, "55000"));
+        return compile(limits);
+    }
+
+    private static Map<String, BigDecimal> limits(String... pairs) {
+        Map<String, BigDecimal> out = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            out.put(pairs[i], new BigDecimal(pairs[i + 1]));
+        }
+        return out;
+    }
+
+    public static FraudRuleTable compile(Map<FraudClassification, Map<String, BigDecimal>> limitsByClassification) {
+        List<String> names = new ArrayList<>();
+        for (FraudClassification cls : CLASSIFICATIONS) {
+            Map<String, BigDecimal> byCategory = limitsByClassification.get(cls);
+            if (byCategory == null || find(byCategory, DEFAULT_CATEGORY) == null) {
+                throw new IllegalArgumentException("Limite " + DEFAULT_CATEGORY + " obrigatório para a classificação " + cls);
+            }
+            byCategory.forEach((category, limit) -> {
+                if (limit == null || limit.signum() < 0) {
+                    throw new IllegalArgumentException("Limite inválido para " + cls + "/" + category + ": " + limit);
+                }
+            });
+            byCategory.keySet().stream()
+                    .filter(c -> !DEFAULT_CATEGORY.equalsIgnoreCase(c))
+                    .filter(c -> names.stream().noneMatch(c::equalsIgnoreCase))
+                    .forEach(names::add);
+        }
+
+        String[] categories = names.toArray(String[]::new);
+        BigDecimal[][] limits = new BigDecimal[CLASSIFICATIONS.length][categories.length + 1];
+        for (FraudClassification cls : CLASSIFICATIONS) {
+            Map<String, BigDecimal> byCategory = limitsByClassification.get(cls);
+            BigDecimal fallback = find(byCategory, DEFAULT_CATEGORY);
+            BigDecimal[] row = limits[cls.ordinal()];
+            for (int i = 0; i < categories.length; i++) {
+                BigDecimal limit = find(byCategory, categories[i]);
+                row[i] = limit != null ? limit : fallback;
+            }
+            row[categories.length] = fallback;
+        }
+        return new FraudRuleTable(categories, limits);
+    }
+
+    private static BigDecimal find(Map<String, BigDecimal> byCategory, String category) {
+        for (Map.Entry<String, BigDecimal> e : byCategory.entrySet()) {
+            if (e.getKey().equalsIgnoreCase(category)) {
+                return e.getValue();
+            }
+        }
+        return null;
+    }
+
+    public int categoryId(String category) {
+        if (category != null) {
+            for (int i = 0; i < categories.length; i++) {
+                if (categories[i].equalsIgnoreCase(category)) {
+                    return i;
+                }
+            }
+        }
+        return categories.length;
+    }
+
+    public String categoryName(int categoryId) {
+        return categoryId < categories.length ? categories[categoryId] : DEFAULT_CATEGORY;
+    }
+
+    public int categoryCount() {
+        return categories.length + 1;
+    }
+
+    public boolean isApproved(FraudClassification cls, String category, BigDecimal insuredAmount) {
+        return isApproved(cls, categoryId(category), insuredAmount);
+    }
+
+    public boolean isApproved(FraudClassification cls, int categoryId, BigDecimal insuredAmount) {
+        return insuredAmount.compareTo(limits[cls.ordinal()][categoryId]) <= 0;
+    }
+
+    public BigDecimal limit(FraudClassification cls, String category) {
+        return limits[cls.ordinal()][categoryId(category)];
+    }
+}
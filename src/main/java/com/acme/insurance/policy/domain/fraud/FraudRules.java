@@ -1,34 +1,39 @@
 package com.acme.insurance.policy.domain.fraud;
 
 import java.math.BigDecimal;
+import java.util.Objects;
 
 public class FraudRules {
 
+    /* Observa cada avaliação; recebe o id de categoria da tabela com que foi instalado */
+    @FunctionalInterface
+    public interface Observer {
+        Observer NONE = (cls, categoryId, approved) -> {};
+
+        void evaluated(FraudClassification cls, int categoryId, boolean approved);
+    }
+
+    private record Snapshot(FraudRuleTable table, Observer observer) {}
+
+    private static volatile Snapshot snapshot = new Snapshot(FraudRuleTable.defaults(), Observer.NONE);
+
     public static boolean isApproved(FraudClassification cls, String category, BigDecimal insuredAmount) {
+        Snapshot s = snapshot;
+        int categoryId = s.table().categoryId(category);
+        boolean approved = s.table().isApproved(cls, categoryId, insuredAmount);
+        s.observer().evaluated(cls, categoryId, approved);
+        return approved;
+    }
+
+    public static FraudRuleTable current() {
+        return snapshot.table();
+    }
+
+    public static void install(FraudRuleTable rules) {
+        install(rules, Observer.NONE);
+    }
 
-        category = category == null ? "" : category.toUpperCase();
-
-        return switch (cls) {
-            case REGULAR -> switch (category) {
-                case "LIFE", "RESIDENTIAL" -> insuredAmount.compareTo(new BigDecimal("500000")) <= 0;
-                case "AUTO"                -> insuredAmount.compareTo(new BigDecimal("350000")) <= 0;
-                default                    -> insuredAmount.compareTo(new BigDecimal("255000")) <= 0;
-            };
-            case HIGH_RISK -> switch (category) {
-                case "AUTO"        -> insuredAmount.compareTo(new BigDecimal("250000")) <= 0;
-                case "RESIDENTIAL" -> insuredAmount.compareTo(new BigDecimal("150000")) <= 0;
-                default            -> insuredAmount.compareTo(new BigDecimal("125000")) <= 0;
-            };
-            case PREFERENTIAL -> switch (category) {
-                case "LIFE"                     -> insuredAmount.compareTo(new BigDecimal("800000")) <= 0;
-                case "AUTO", "RESIDENTIAL"      -> insuredAmount.compareTo(new BigDecimal("450000")) <= 0;
-                default                         -> insuredAmount.compareTo(new BigDecimal("375000")) <= 0;
-            };
-            case NO_INFO -> switch (category) {
-                case "LIFE", "RESIDENTIAL" -> insuredAmount.compareTo(new BigDecimal("200000")) <= 0;
-                case "AUTO"                -> insuredAmount.compareTo(new BigDecimal("75000"))  <= 0;
-                default                    -> insuredAmount.compareTo(new BigDecimal("55000"))  <= 0;
-            };
-        };
+    public static void install(FraudRuleTable rules, Observer observer) {
+        snapshot = new Snapshot(Objects.requireNonNull(rules), Objects.requireNonNull(observer));
     }
 }
@@ -0,0 +1,12 @@
+package com.acme.insurance.policy.domain.model;
+
+public class InvalidPageTokenException extends RuntimeException {
+
+    public InvalidPageTokenException(String message) {
+        super(message);
+    }
+
+    public InvalidPageTokenException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
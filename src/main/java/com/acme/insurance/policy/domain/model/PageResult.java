@@ -0,0 +1,18 @@
+package com.acme.insurance.policy.domain.model;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record PageResult<T>(
+        List<T> items,
+        String nextCursor
+) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public <R> PageResult<R> map(Function<? super T, ? extends R> fn) {
+        return new PageResult<>(items.stream().<R>map(fn).toList(), nextCursor);
+    }
+}
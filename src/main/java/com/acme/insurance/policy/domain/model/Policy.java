@@ -18,7 +18,8 @@ public record Policy(
         List<String> assistances,
         BigDecimal totalMonthlyPremiumAmount,
         BigDecimal insuredAmount,
-        List<StatusHistory> history
+        List<StatusHistory> history,
+        Long version
 ) {
 
     public record StatusHistory(
@@ -32,7 +33,7 @@ public record Policy(
         return new Policy(
                 id, customerId, productId, category, salesChannel, paymentMethod,
                 newStatus, createdAt, finishedAt, coverages, assistances,
-                totalMonthlyPremiumAmount, insuredAmount, List.copyOf(newHistory)
+                totalMonthlyPremiumAmount, insuredAmount, List.copyOf(newHistory), version
         );
     }
 
@@ -40,7 +41,20 @@ public record Policy(
         return new Policy(
                 id, customerId, productId, category, salesChannel, paymentMethod,
                 status, createdAt, at, coverages, assistances,
-                totalMonthlyPremiumAmount, insuredAmount, history
+                totalMonthlyPremiumAmount, insuredAmount, history, version
+        );
+    }
+
+    /* Versão gravada pela próxima escrita; null significa item anterior ao controle de versão */
+    public long nextVersion() {
+        return version == null ? 1L : version + 1;
+    }
+
+    public Policy withVersion(Long newVersion) {
+        return new Policy(
+                id, customerId, productId, category, salesChannel, paymentMethod,
+                status, createdAt, finishedAt, coverages, assistances,
+                totalMonthlyPremiumAmount, insuredAmount, history, newVersion
         );
     }
 
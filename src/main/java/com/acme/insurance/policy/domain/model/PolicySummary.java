@@ -0,0 +1,14 @@
+package com.acme.insurance.policy.domain.model;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record PolicySummary(
+        UUID id,
+        PolicyStatus status,
+        String category,
+        OffsetDateTime createdAt,
+        BigDecimal totalMonthlyPremiumAmount,
+        BigDecimal insuredAmount
+) {}
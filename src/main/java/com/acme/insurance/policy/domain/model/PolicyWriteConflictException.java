@@ -0,0 +1,38 @@
+package com.acme.insurance.policy.domain.model;
+
+import java.util.UUID;
+
+public class PolicyWriteConflictException extends RuntimeException {
+
+    private final UUID policyId;
+    private final PolicyStatus expectedStatus;
+    private final Long expectedVersion;
+
+    public PolicyWriteConflictException(UUID policyId, PolicyStatus expectedStatus, Throwable cause) {
+        super("Policy " + policyId + " não está mais em " + expectedStatus, cause);
+        this.policyId = policyId;
+        this.expectedStatus = expectedStatus;
+        this.expectedVersion = null;
+    }
+
+    public PolicyWriteConflictException(UUID policyId, PolicyStatus expectedStatus, Long expectedVersion,
+                                        Throwable cause) {
+        super("Policy " + policyId + " foi alterada concorrentemente (status esperado=" + expectedStatus
+                + ", versão esperada=" + expectedVersion + ")", cause);
+        this.policyId = policyId;
+        this.expectedStatus = expectedStatus;
+        this.expectedVersion = expectedVersion;
+    }
+
+    public UUID getPolicyId() {
+        return policyId;
+    }
+
+    public PolicyStatus getExpectedStatus() {
+        return expectedStatus;
+    }
+
+    public Long getExpectedVersion() {
+        return expectedVersion;
+    }
+}
@@ -0,0 +1,10 @@
+package com.acme.insurance.policy.domain.ports.in;
+
+import com.acme.insurance.policy.app.dto.BatchGetPoliciesResponseDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface BatchGetPoliciesQuery {
+    BatchGetPoliciesResponseDto execute(List<UUID> policyIds);
+}
@@ -4,5 +4,10 @@ import com.acme.insurance.policy.app.dto.PolicyRequestDto;
 import com.acme.insurance.policy.app.dto.PolicyResponseDto;
 
 public interface CreatePolicyUseCase {
-    PolicyResponseDto execute(PolicyRequestDto request);
+    Result execute(PolicyRequestDto request);
+
+    Result execute(PolicyRequestDto request, String idempotencyKey);
+
+    /* accepted: a análise de fraude ainda não terminou e a policy vai mudar de status sem nova requisição. */
+    record Result(PolicyResponseDto policy, boolean accepted) {}
 }
@@ -0,0 +1,10 @@
+package com.acme.insurance.policy.domain.ports.in;
+
+import com.acme.insurance.policy.app.dto.PageResponseDto;
+import com.acme.insurance.policy.app.dto.PolicySummaryDto;
+
+import java.util.UUID;
+
+public interface ListPolicySummariesByCustomerQuery {
+    PageResponseDto<PolicySummaryDto> execute(UUID customerId, int limit, String pageToken);
+}
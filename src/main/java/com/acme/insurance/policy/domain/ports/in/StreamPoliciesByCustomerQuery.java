@@ -0,0 +1,10 @@
+package com.acme.insurance.policy.domain.ports.in;
+
+import com.acme.insurance.policy.app.dto.PolicyResponseDto;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface StreamPoliciesByCustomerQuery {
+    Stream<PolicyResponseDto> execute(UUID customerId);
+}
@@ -0,0 +1,17 @@
+package com.acme.insurance.policy.domain.ports.out;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface CorrelationStore {
+
+    enum Mark { PAYMENT_CONFIRMED, SUBSCRIPTION_AUTHORIZED }
+
+    void markPayment(UUID id, Instant when);
+
+    void markSubscription(UUID id, Instant when);
+
+    boolean bothDone(UUID id);
+
+    void clear(UUID id);
+}
@@ -0,0 +1,9 @@
+package com.acme.insurance.policy.domain.ports.out;
+
+/* Garante uma única réplica varrendo policies paradas em RECEIVED. */
+public interface FraudRecoveryLease {
+
+    boolean holds();
+
+    void release();
+}
@@ -0,0 +1,26 @@
+package com.acme.insurance.policy.domain.ports.out;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface IdempotencyStore {
+
+    /* leaseExpired: a chave ainda está em andamento, mas quem a reivindicou parou de renová-la (caiu ou travou). */
+    record Entry(UUID policyId, String requestHash, boolean completed, boolean leaseExpired) {}
+
+    /*
+     * Grava a chave em andamento apontando para policyId, com o hash do corpo e uma lease; vazio quando esta chamada
+     * a criou, senão o registro existente.
+     */
+    Optional<Entry> putIfAbsent(String key, UUID policyId, String requestHash);
+
+    /* Assume uma chave em andamento com a lease vencida, renovando a lease; true quando esta chamada a assumiu. */
+    boolean takeOver(String key, UUID policyId);
+
+    void complete(String key);
+
+    /* Mantém a chave em andamento com o mesmo policyId, mas com a lease vencida: a próxima requisição a assume. */
+    void expireLease(String key);
+
+    void release(String key);
+}
@@ -1,16 +1,42 @@
 package com.acme.insurance.policy.domain.ports.out;
 
+import com.acme.insurance.policy.domain.events.PolicyRequestStatusChangedEvent;
+import com.acme.insurance.policy.domain.model.PageResult;
 import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.domain.model.PolicyStatus;
+import com.acme.insurance.policy.domain.model.PolicySummary;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface PolicyRepository {
 
     void save(Policy policy);
 
+    void saveTransition(Policy policy, PolicyStatus expectedStatus);
+
+    void saveTransition(Policy policy, PolicyStatus expectedStatus, List<PolicyRequestStatusChangedEvent> outboxEvents);
+
     Optional<Policy> findById(UUID policyId);
 
+    default Optional<Policy> findByIdConsistent(UUID policyId) {
+        return findById(policyId);
+    }
+
     List<Policy> findByCustomerId(UUID customerId);
+
+    PageResult<Policy> findPageByCustomerId(UUID customerId, int limit, String cursor);
+
+    Stream<Policy> streamByCustomerId(UUID customerId);
+
+    /* Ids das policies ainda em RECEIVED criadas até cutoff. */
+    Stream<UUID> streamReceivedBefore(Instant cutoff);
+
+    PageResult<PolicySummary> findSummaryPageByCustomerId(UUID customerId, int limit, String cursor);
+
+    List<Policy> findAllByIds(Collection<UUID> policyIds);
 }
@@ -3,8 +3,14 @@ package com.acme.insurance.policy.domain.ports.out;
 import com.acme.insurance.policy.domain.events.PolicyRequestCreatedEvent;
 import com.acme.insurance.policy.domain.events.PolicyRequestStatusChangedEvent;
 
+import java.util.List;
+
 public interface PolicyRequestPublisher {
 
     void publish(PolicyRequestCreatedEvent event);
     void publish(PolicyRequestStatusChangedEvent event);
+
+    default void publishAll(List<PolicyRequestStatusChangedEvent> events) {
+        events.forEach(this::publish);
+    }
 }
@@ -1,8 +1,13 @@
 package com.acme.insurance.policy.infra.config;
 
+import com.acme.insurance.policy.domain.fraud.FraudClassification;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+
 @ConfigurationProperties(prefix = "app")
 public class AppProps {
 
@@ -17,32 +22,140 @@ public class AppProps {
 
     public record Sqs(
             Queues queues,
-            Listener listener
+            Listener listener,
+            @DefaultValue Batching batching,
+            @DefaultValue Ordering ordering
     ) {
         public record Queues(String payments, String subscriptions, String orders) {}
         public record Listener(
                 @DefaultValue("10") Integer maxMessages,
                 @DefaultValue("2s") String pollTimeout,
                 @DefaultValue("30s") String visibilityTimeout,
-                @DefaultValue("2") Integer concurrency
+                @DefaultValue("2") Integer concurrency,
+                @DefaultValue("false") boolean batch
+        ) {}
+        public record Batching(
+                @DefaultValue("false") boolean enabled,
+                @DefaultValue("10") Integer maxBatchSize,
+                @DefaultValue("5ms") Duration linger,
+                @DefaultValue("4") Integer maxInFlight,
+                @DefaultValue("3") Integer maxAttempts,
+                @DefaultValue("20ms") Duration retryBackoff,
+                @DefaultValue("10000") Integer queueCapacity,
+                @DefaultValue("10s") Duration sendTimeout
+        ) {}
+        public record Ordering(
+                @DefaultValue("false") boolean enabled,
+                @DefaultValue("8") Integer lanes
         ) {}
     }
 
     public record Dynamodb(
             String table,
-            Indexes indexes
+            Indexes indexes,
+            @DefaultValue("false") boolean consistentReadAfterWrite,
+            @DefaultValue("false") boolean compactHistory,
+            @DefaultValue("3") Integer writeConflictMaxAttempts,
+            @DefaultValue Cache cache,
+            @DefaultValue BatchGet batchGet,
+            @DefaultValue Outbox outbox,
+            @DefaultValue Correlation correlation,
+            @DefaultValue Idempotency idempotency
+    ) {
+        public record Indexes(String customer, @DefaultValue("gsi_received") String received) {}
+        public record Idempotency(
+                @DefaultValue("false") boolean enabled,
+                @DefaultValue("PolicyIdempotency") String table,
+                @DefaultValue("24h") Duration ttl,
+                @DefaultValue("30s") Duration lease,
+                @DefaultValue("10s") Duration waitTimeout,
+                @DefaultValue("100ms") Duration pollInterval
+        ) {}
+        public record Correlation(
+                @DefaultValue("false") boolean enabled,
+                @DefaultValue("PolicyCorrelation") String table,
+                @DefaultValue("30m") Duration ttl
+        ) {}
+        public record Outbox(
+                @DefaultValue("false") boolean enabled,
+                @DefaultValue("PolicyOutbox") String table,
+                @DefaultValue("4") Integer shards,
+                @DefaultValue("10") Integer batchSize,
+                @DefaultValue("200ms") Duration pollInterval,
+                @DefaultValue("10s") Duration lease
+        ) {}
+        public record BatchGet(
+                @DefaultValue("4") Integer parallelism,
+                @DefaultValue("5") Integer maxAttempts,
+                @DefaultValue("50ms") Duration backoff
+        ) {}
+        public record Cache(
+                @DefaultValue("false") boolean enabled,
+                @DefaultValue("10000") Integer maxSize,
+                @DefaultValue("30s") Duration ttl
+        ) {}
+    }
+
+    public record Fraud(
+            @DefaultValue Pipeline pipeline,
+            @DefaultValue Cache cache,
+            @DefaultValue Resilience resilience,
+            @DefaultValue Rules rules
     ) {
-        public record Indexes(String customer) {}
+        public record Rules(
+                Map<FraudClassification, Map<String, BigDecimal>> limits,
+                String file,
+                @DefaultValue("30s") Duration reloadInterval
+        ) {}
+        public record Pipeline(
+                @DefaultValue("false") boolean enabled,
+                @DefaultValue("4") Integer workers,
+                @DefaultValue("200") Integer queueCapacity,
+                @DefaultValue("3") Integer maxAttempts,
+                @DefaultValue("1s") Duration retryDelay,
+                @DefaultValue("30s") Duration drainTimeout,
+                @DefaultValue("2m") Duration staleAfter,
+                @DefaultValue("1m") Duration recoveryInterval
+        ) {}
+        public record Cache(
+                @DefaultValue("false") boolean enabled,
+                @DefaultValue("10000") Integer maxSize,
+                @DefaultValue("5m") Duration ttl
+        ) {}
+        public record Resilience(
+                @DefaultValue("false") boolean enabled,
+                @DefaultValue("16") Integer maxConcurrentCalls,
+                @DefaultValue("50") Integer failureRateThreshold,
+                @DefaultValue("20") Integer slidingWindowSize,
+                @DefaultValue("10") Integer minimumNumberOfCalls,
+                @DefaultValue("10s") Duration waitInOpenState,
+                @DefaultValue("1s") Duration slowCallThreshold,
+                @DefaultValue("50") Integer slowCallRateThreshold,
+                String fallbackClassification,
+                @DefaultValue Timeout timeout
+        ) {
+            public record Timeout(
+                    @DefaultValue("1s") Duration connect,
+                    @DefaultValue("200ms") Duration min,
+                    @DefaultValue("2s") Duration max,
+                    @DefaultValue("0.99") Double percentile,
+                    @DefaultValue("2.0") Double multiplier,
+                    @DefaultValue("100") Integer window,
+                    @DefaultValue("20") Integer minSamples
+            ) {}
+        }
     }
 
     private final Aws aws;
     private final Sqs sqs;
     private final Dynamodb dynamodb;
+    private final Fraud fraud;
 
-    public AppProps(Aws aws, Sqs sqs, Dynamodb dynamodb) {
+    public AppProps(Aws aws, Sqs sqs, Dynamodb dynamodb, @DefaultValue Fraud fraud) {
         this.aws = aws;
         this.sqs = sqs;
         this.dynamodb = dynamodb;
+        this.fraud = fraud;
     }
 
     public Aws aws() {
@@ -56,4 +169,8 @@ public class AppProps {
     public Dynamodb dynamodb() {
         return dynamodb;
     }
+
+    public Fraud fraud() {
+        return fraud;
+    }
 }
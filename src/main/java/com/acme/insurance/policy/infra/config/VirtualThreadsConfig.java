@@ -0,0 +1,34 @@
+package com.acme.insurance.policy.infra.config;
+
+import io.awspring.cloud.sqs.config.SqsMessageListenerContainerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+// Tomcat e @Scheduled já são cobertos pelo Boot; o Feign roda na thread chamadora (virtual no request).
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    @Bean
+    static BeanPostProcessor sqsListenerVirtualThreadsPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof SqsMessageListenerContainerFactory<?> factory) {
+                    factory.configure(options -> options
+                            .componentsTaskExecutor(new VirtualThreadTaskExecutor("sqs-listener-vt-")));
+                    log.info("[VT] Listeners SQS da factory '{}' executando em virtual threads", beanName);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,131 @@
+package com.acme.insurance.policy.infra.dynamodb;
+
+import com.acme.insurance.policy.domain.events.PolicyRequestStatusChangedEvent;
+import com.acme.insurance.policy.domain.model.PageResult;
+import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.domain.model.PolicyStatus;
+import com.acme.insurance.policy.domain.model.PolicySummary;
+import com.acme.insurance.policy.domain.ports.out.PolicyRepository;
+import com.acme.insurance.policy.infra.config.AppProps;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Primary
+@Component
+@ConditionalOnProperty(name = "app.dynamodb.cache.enabled", havingValue = "true")
+public class CachingPolicyRepository implements PolicyRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingPolicyRepository.class);
+
+    private final PolicyRepository delegate;
+    private final Cache<UUID, Policy> cache;
+
+    public CachingPolicyRepository(PolicyDynamoRepository delegate, AppProps props, MeterRegistry meterRegistry) {
+        var cfg = props.dynamodb().cache();
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cfg.maxSize())
+                .expireAfterWrite(cfg.ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "policies");
+        log.info("[CACHE] Cache de policies habilitado maxSize={} ttl={}", cfg.maxSize(), cfg.ttl());
+    }
+
+    @Override
+    public void save(Policy policy) {
+        try {
+            delegate.save(policy);
+        } catch (RuntimeException e) {
+            cache.invalidate(policy.id());
+            throw e;
+        }
+        cache.put(policy.id(), policy);
+    }
+
+    @Override
+    public void saveTransition(Policy policy, PolicyStatus expectedStatus) {
+        try {
+            delegate.saveTransition(policy, expectedStatus);
+        } catch (RuntimeException e) {
+            log.debug("[CACHE] Invalidando policy após falha de escrita id={}", policy.id());
+            cache.invalidate(policy.id());
+            throw e;
+        }
+        cache.put(policy.id(), policy);
+    }
+
+    @Override
+    public void saveTransition(Policy policy, PolicyStatus expectedStatus,
+                               List<PolicyRequestStatusChangedEvent> outboxEvents) {
+        try {
+            delegate.saveTransition(policy, expectedStatus, outboxEvents);
+        } catch (RuntimeException e) {
+            log.debug("[CACHE] Invalidando policy após falha de escrita id={}", policy.id());
+            cache.invalidate(policy.id());
+            throw e;
+        }
+        cache.put(policy.id(), policy);
+    }
+
+    @Override
+    public Optional<Policy> findById(UUID policyId) {
+        return Optional.ofNullable(cache.get(policyId, id -> delegate.findById(id).orElse(null)));
+    }
+
+    @Override
+    public Optional<Policy> findByIdConsistent(UUID policyId) {
+        Optional<Policy> fresh = delegate.findByIdConsistent(policyId);
+        fresh.ifPresentOrElse(p -> cache.put(policyId, p), () -> cache.invalidate(policyId));
+        return fresh;
+    }
+
+    @Override
+    public List<Policy> findByCustomerId(UUID customerId) {
+        return delegate.findByCustomerId(customerId);
+    }
+
+    @Override
+    public PageResult<Policy> findPageByCustomerId(UUID customerId, int limit, String cursor) {
+        return delegate.findPageByCustomerId(customerId, limit, cursor);
+    }
+
+    @Override
+    public Stream<Policy> streamByCustomerId(UUID customerId) {
+        return delegate.streamByCustomerId(customerId);
+    }
+
+    @Override
+    public Stream<UUID> streamReceivedBefore(Instant cutoff) {
+        return delegate.streamReceivedBefore(cutoff);
+    }
+
+    @Override
+    public PageResult<PolicySummary> findSummaryPageByCustomerId(UUID customerId, int limit, String cursor) {
+        return delegate.findSummaryPageByCustomerId(customerId, limit, cursor);
+    }
+
+    @Override
+    public List<Policy> findAllByIds(Collection<UUID> policyIds) {
+        Map<UUID, Policy> found = cache.getAll(policyIds, missing -> delegate.findAllByIds(List.copyOf(missing)).stream()
+                .collect(Collectors.toMap(Policy::id, Function.identity())));
+        return List.copyOf(found.values());
+    }
+}
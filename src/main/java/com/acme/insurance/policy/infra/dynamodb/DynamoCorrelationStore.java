@@ -0,0 +1,117 @@
+package com.acme.insurance.policy.infra.dynamodb;
+
+import com.acme.insurance.policy.domain.ports.out.CorrelationStore;
+import com.acme.insurance.policy.domain.ports.out.CorrelationStore.Mark;
+import com.acme.insurance.policy.infra.config.AppProps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/*
+ * Correlação de pagamento/subscrição compartilhada entre réplicas: cada sinal faz ADD atômico no string set
+ * "marks" do item da policy, então o nó que recebe o segundo sinal enxerga as duas marcas na leitura
+ * consistente seguinte. Itens expirados (TTL do DynamoDB remove com atraso) são ignorados e recriados.
+ */
+@Primary
+@Component
+@ConditionalOnProperty(name = "app.dynamodb.correlation.enabled", havingValue = "true")
+public class DynamoCorrelationStore implements CorrelationStore {
+
+    private static final Logger log = LoggerFactory.getLogger(DynamoCorrelationStore.class);
+
+    private final DynamoDbClient dynamoDbClient;
+    private final String tableName;
+    private final Duration ttl;
+    private final Clock clock;
+
+    public DynamoCorrelationStore(DynamoDbClient dynamoDbClient, AppProps props) {
+        this(dynamoDbClient, props, Clock.systemUTC());
+    }
+
+    DynamoCorrelationStore(DynamoDbClient dynamoDbClient, AppProps props, Clock clock) {
+        var cfg = props.dynamodb().correlation();
+        this.dynamoDbClient = dynamoDbClient;
+        this.tableName = cfg.table();
+        this.ttl = cfg.ttl();
+        this.clock = clock;
+        log.info("[DynamoDB] Correlação distribuída na tabela {} ttl={}", tableName, ttl);
+    }
+
+    @Override
+    public void markPayment(UUID id, Instant when) {
+        mark(id, Mark.PAYMENT_CONFIRMED, when);
+    }
+
+    @Override
+    public void markSubscription(UUID id, Instant when) {
+        mark(id, Mark.SUBSCRIPTION_AUTHORIZED, when);
+    }
+
+    private void mark(UUID id, Mark mark, Instant when) {
+        long now = clock.instant().getEpochSecond();
+        Instant at = when != null ? when : clock.instant();
+        try {
+            var updated = dynamoDbClient.updateItem(r -> r
+                    .tableName(tableName)
+                    .key(key(id))
+                    .updateExpression("ADD marks :mark SET lastUpdate = :at, expiresAt = :exp")
+                    .conditionExpression("attribute_not_exists(policyId) OR expiresAt > :now")
+                    .expressionAttributeValues(Map.of(
+                            ":mark", AttributeValue.fromSs(List.of(mark.name())),
+                            ":at", AttributeValue.fromS(at.toString()),
+                            ":exp", AttributeValue.fromN(Long.toString(now + ttl.toSeconds())),
+                            ":now", AttributeValue.fromN(Long.toString(now))))
+                    .returnValues(ReturnValue.UPDATED_NEW));
+            log.info("[DynamoDB] Correlação marcada id={} mark={} marks={}",
+                    id, mark, updated.attributes().get("marks").ss());
+        } catch (ConditionalCheckFailedException e) {
+            log.info("[DynamoDB] Correlação expirada, recriando id={} mark={}", id, mark);
+            dynamoDbClient.putItem(r -> r
+                    .tableName(tableName)
+                    .item(Map.of(
+                            "policyId", AttributeValue.fromS(id.toString()),
+                            "marks", AttributeValue.fromSs(List.of(mark.name())),
+                            "lastUpdate", AttributeValue.fromS(at.toString()),
+                            "expiresAt", AttributeValue.fromN(Long.toString(now + ttl.toSeconds())))));
+        }
+    }
+
+    @Override
+    public boolean bothDone(UUID id) {
+        var item = dynamoDbClient.getItem(r -> r
+                .tableName(tableName)
+                .key(key(id))
+                .consistentRead(true)).item();
+        if (item == null || item.isEmpty() || !item.containsKey("marks")) {
+            return false;
+        }
+        var expiresAt = item.get("expiresAt");
+        if (expiresAt != null && Long.parseLong(expiresAt.n()) <= clock.instant().getEpochSecond()) {
+            return false;
+        }
+        var marks = item.get("marks").ss();
+        return marks.contains(Mark.PAYMENT_CONFIRMED.name()) && marks.contains(Mark.SUBSCRIPTION_AUTHORIZED.name());
+    }
+
+    @Override
+    public void clear(UUID id) {
+        dynamoDbClient.deleteItem(r -> r.tableName(tableName).key(key(id)));
+    }
+
+    private static Map<String, AttributeValue> key(UUID id) {
+        return Map.of("policyId", AttributeValue.fromS(id.toString()));
+    }
+}
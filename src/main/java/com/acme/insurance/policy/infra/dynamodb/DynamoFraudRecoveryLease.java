@@ -0,0 +1,46 @@
+package com.acme.insurance.policy.infra.dynamodb;
+
+import com.acme.insurance.policy.domain.ports.out.FraudRecoveryLease;
+import com.acme.insurance.policy.infra.config.AppProps;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.UUID;
+
+/*
+ * Lease da varredura de policies RECEIVED, guardada na tabela de policies sob o policyId "lease#fraud-recovery".
+ * O item não tem customerId nem status, então não aparece em nenhum GSI. A lease dura dois intervalos de
+ * varredura: o dono a renova a cada varredura e, se cair, outra réplica assume na varredura seguinte ao vencimento.
+ */
+@Component
+@ConditionalOnProperty(name = "app.fraud.pipeline.enabled", havingValue = "true")
+public class DynamoFraudRecoveryLease implements FraudRecoveryLease {
+
+    static final String LEASE_ID = "lease#fraud-recovery";
+
+    private final DynamoLease lease;
+
+    public DynamoFraudRecoveryLease(DynamoDbClient dynamoDbClient, AppProps props) {
+        this(dynamoDbClient, props, Clock.systemUTC());
+    }
+
+    DynamoFraudRecoveryLease(DynamoDbClient dynamoDbClient, AppProps props, Clock clock) {
+        this.lease = new DynamoLease(dynamoDbClient, props.dynamodb().table(),
+                Map.of("policyId", AttributeValue.fromS(LEASE_ID)), "fraud-recovery",
+                UUID.randomUUID().toString(), props.fraud().pipeline().recoveryInterval().multipliedBy(2), clock);
+    }
+
+    @Override
+    public boolean holds() {
+        return lease.holds();
+    }
+
+    @Override
+    public void release() {
+        lease.release();
+    }
+}
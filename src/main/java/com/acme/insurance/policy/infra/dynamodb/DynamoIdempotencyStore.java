@@ -0,0 +1,192 @@
+package com.acme.insurance.policy.infra.dynamodb;
+
+import com.acme.insurance.policy.domain.ports.out.IdempotencyStore;
+import com.acme.insurance.policy.infra.config.AppProps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/*
+ * Chaves de idempotência compartilhadas entre réplicas. A chave é reivindicada com put condicional
+ * (attribute_not_exists ou registro já expirado) e, quando a condição falha, o registro existente volta na
+ * própria exceção (ALL_OLD), sem um GetItem extra. Enquanto está em andamento a chave carrega uma lease
+ * (inProgressUntil); se quem a reivindicou cai sem concluir nem liberar, a lease vence e outra requisição assume
+ * a chave com um update condicional. Quem falha depois de gravar a policy só vence a lease na hora
+ * (expireLease), para que o retry assuma a chave e responda pela policy gravada. A liberação só remove
+ * registros ainda em andamento, então uma chave concluída nunca volta a executar; o TTL do DynamoDB remove as
+ * chaves antigas.
+ */
+@Primary
+@Component
+@ConditionalOnProperty(name = "app.dynamodb.idempotency.enabled", havingValue = "true")
+public class DynamoIdempotencyStore implements IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(DynamoIdempotencyStore.class);
+
+    static final String IN_PROGRESS = "IN_PROGRESS";
+    static final String COMPLETED = "COMPLETED";
+
+    private final DynamoDbClient dynamoDbClient;
+    private final String tableName;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Clock clock;
+
+    public DynamoIdempotencyStore(DynamoDbClient dynamoDbClient, AppProps props) {
+        this(dynamoDbClient, props, Clock.systemUTC());
+    }
+
+    DynamoIdempotencyStore(DynamoDbClient dynamoDbClient, AppProps props, Clock clock) {
+        var cfg = props.dynamodb().idempotency();
+        this.dynamoDbClient = dynamoDbClient;
+        this.tableName = cfg.table();
+        this.ttl = cfg.ttl();
+        this.lease = cfg.lease();
+        this.clock = clock;
+        log.info("[DynamoDB] Idempotência distribuída na tabela {} ttl={} lease={}", tableName, ttl, lease);
+    }
+
+    @Override
+    public Optional<Entry> putIfAbsent(String key, UUID policyId, String requestHash) {
+        while (true) {
+            Instant now = clock.instant();
+            var item = new HashMap<String, AttributeValue>();
+            item.put("idempotencyKey", AttributeValue.fromS(key));
+            item.put("policyId", AttributeValue.fromS(policyId.toString()));
+            item.put("state", AttributeValue.fromS(IN_PROGRESS));
+            item.put("inProgressUntil", AttributeValue.fromN(Long.toString(now.plus(lease).toEpochMilli())));
+            item.put("createdAt", AttributeValue.fromS(now.toString()));
+            item.put("expiresAt", AttributeValue.fromN(Long.toString(now.getEpochSecond() + ttl.toSeconds())));
+            if (requestHash != null) {
+                item.put("requestHash", AttributeValue.fromS(requestHash));
+            }
+            try {
+                dynamoDbClient.putItem(r -> r
+                        .tableName(tableName)
+                        .item(item)
+                        .conditionExpression("attribute_not_exists(idempotencyKey) OR expiresAt <= :now")
+                        .expressionAttributeValues(Map.of(":now", AttributeValue.fromN(Long.toString(now.getEpochSecond()))))
+                        .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD));
+                log.info("[DynamoDB] Chave de idempotência registrada key={} policyId={}", key, policyId);
+                return Optional.empty();
+            } catch (ConditionalCheckFailedException e) {
+                var old = e.hasItem() ? e.item() : find(key);
+                if (old == null || old.isEmpty()) {
+                    log.info("[DynamoDB] Chave de idempotência liberada durante o registro, tentando de novo key={}", key);
+                    continue;
+                }
+                var entry = toEntry(old, now);
+                log.info("[DynamoDB] Chave de idempotência existente key={} policyId={} completed={} leaseExpired={}",
+                        key, entry.policyId(), entry.completed(), entry.leaseExpired());
+                return Optional.of(entry);
+            }
+        }
+    }
+
+    @Override
+    public boolean takeOver(String key, UUID policyId) {
+        Instant now = clock.instant();
+        try {
+            dynamoDbClient.updateItem(r -> r
+                    .tableName(tableName)
+                    .key(key(key))
+                    .updateExpression("SET #lease = :until")
+                    .conditionExpression("#state = :inProgress AND #policyId = :policyId AND #lease <= :now")
+                    .expressionAttributeNames(Map.of(
+                            "#state", "state",
+                            "#policyId", "policyId",
+                            "#lease", "inProgressUntil"))
+                    .expressionAttributeValues(Map.of(
+                            ":inProgress", AttributeValue.fromS(IN_PROGRESS),
+                            ":policyId", AttributeValue.fromS(policyId.toString()),
+                            ":now", AttributeValue.fromN(Long.toString(now.toEpochMilli())),
+                            ":until", AttributeValue.fromN(Long.toString(now.plus(lease).toEpochMilli())))));
+            log.warn("[DynamoDB] Lease vencida, chave de idempotência assumida key={} policyId={}", key, policyId);
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            log.info("[DynamoDB] Chave de idempotência já assumida ou concluída por outra requisição key={}", key);
+            return false;
+        }
+    }
+
+    @Override
+    public void complete(String key) {
+        try {
+            dynamoDbClient.updateItem(r -> r
+                    .tableName(tableName)
+                    .key(key(key))
+                    .updateExpression("SET #state = :completed REMOVE #lease")
+                    .conditionExpression("attribute_exists(idempotencyKey)")
+                    .expressionAttributeNames(Map.of("#state", "state", "#lease", "inProgressUntil"))
+                    .expressionAttributeValues(Map.of(":completed", AttributeValue.fromS(COMPLETED))));
+        } catch (ConditionalCheckFailedException e) {
+            log.warn("[DynamoDB] Chave de idempotência removida antes da conclusão key={}", key);
+        }
+    }
+
+    @Override
+    public void expireLease(String key) {
+        try {
+            dynamoDbClient.updateItem(r -> r
+                    .tableName(tableName)
+                    .key(key(key))
+                    .updateExpression("SET #lease = :expired")
+                    .conditionExpression("#state = :inProgress")
+                    .expressionAttributeNames(Map.of("#state", "state", "#lease", "inProgressUntil"))
+                    .expressionAttributeValues(Map.of(
+                            ":inProgress", AttributeValue.fromS(IN_PROGRESS),
+                            ":expired", AttributeValue.fromN("0"))));
+        } catch (ConditionalCheckFailedException e) {
+            log.warn("[DynamoDB] Chave de idempotência não estava em andamento, lease mantida key={}", key);
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        try {
+            dynamoDbClient.deleteItem(r -> r
+                    .tableName(tableName)
+                    .key(key(key))
+                    .conditionExpression("#state = :inProgress")
+                    .expressionAttributeNames(Map.of("#state", "state"))
+                    .expressionAttributeValues(Map.of(":inProgress", AttributeValue.fromS(IN_PROGRESS))));
+        } catch (ConditionalCheckFailedException e) {
+            log.warn("[DynamoDB] Chave de idempotência não estava em andamento, mantida key={}", key);
+        }
+    }
+
+    private static Entry toEntry(Map<String, AttributeValue> item, Instant now) {
+        boolean completed = COMPLETED.equals(item.get("state").s());
+        var leaseUntil = item.get("inProgressUntil");
+        var requestHash = item.get("requestHash");
+        return new Entry(UUID.fromString(item.get("policyId").s()),
+                requestHash == null ? null : requestHash.s(),
+                completed,
+                !completed && leaseUntil != null && Long.parseLong(leaseUntil.n()) <= now.toEpochMilli());
+    }
+
+    private Map<String, AttributeValue> find(String key) {
+        return dynamoDbClient.getItem(r -> r
+                .tableName(tableName)
+                .key(key(key))
+                .consistentRead(true)).item();
+    }
+
+    private static Map<String, AttributeValue> key(String key) {
+        return Map.of("idempotencyKey", AttributeValue.fromS(key));
+    }
+}
@@ -0,0 +1,100 @@
+package com.acme.insurance.policy.infra.dynamodb;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Lease de dono único sobre um item do DynamoDB, para tarefas que só uma réplica deve executar por vez. É
+ * adquirida e renovada com update condicional (sem dono, já nossa ou vencida). A renovação só vai ao DynamoDB na
+ * segunda metade da lease, e quem perdeu a disputa só tenta de novo quando a lease do dono vence, então réplicas
+ * ociosas não gastam escrita a cada verificação.
+ */
+public final class DynamoLease {
+
+    private static final Logger log = LoggerFactory.getLogger(DynamoLease.class);
+
+    private final DynamoDbClient dynamoDbClient;
+    private final String tableName;
+    private final Map<String, AttributeValue> key;
+    private final String name;
+    private final String owner;
+    private final Duration lease;
+    private final Clock clock;
+    private final AtomicLong heldUntil = new AtomicLong();
+    private final AtomicLong foreignUntil = new AtomicLong();
+
+    public DynamoLease(DynamoDbClient dynamoDbClient, String tableName, Map<String, AttributeValue> key,
+                       String name, String owner, Duration lease, Clock clock) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.tableName = tableName;
+        this.key = Map.copyOf(key);
+        this.name = name;
+        this.owner = owner;
+        this.lease = lease;
+        this.clock = clock;
+    }
+
+    /* true quando esta réplica é dona da lease pelo menos até o fim da lease atual. */
+    public boolean holds() {
+        long now = clock.millis();
+        if (heldUntil.get() - lease.toMillis() / 2 > now) {
+            return true;
+        }
+        if (foreignUntil.get() > now) {
+            return false;
+        }
+        long until = now + lease.toMillis();
+        try {
+            dynamoDbClient.updateItem(r -> r
+                    .tableName(tableName)
+                    .key(key)
+                    .updateExpression("SET #owner = :owner, #until = :until")
+                    .conditionExpression("attribute_not_exists(#owner) OR #owner = :owner OR #until <= :now")
+                    .expressionAttributeNames(Map.of("#owner", "owner", "#until", "leaseUntil"))
+                    .expressionAttributeValues(Map.of(
+                            ":owner", AttributeValue.fromS(owner),
+                            ":until", AttributeValue.fromN(Long.toString(until)),
+                            ":now", AttributeValue.fromN(Long.toString(now))))
+                    .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD));
+        } catch (ConditionalCheckFailedException e) {
+            heldUntil.set(0);
+            var current = e.hasItem() ? e.item().get("leaseUntil") : null;
+            foreignUntil.set(current != null ? Long.parseLong(current.n()) : until);
+            log.debug("[DynamoDB] Lease {} com outra réplica até {}", name, foreignUntil.get());
+            return false;
+        }
+        if (heldUntil.getAndSet(until) <= now) {
+            log.info("[DynamoDB] Lease {} adquirida owner={}", name, owner);
+        }
+        return true;
+    }
+
+    /* Devolve a lease, se ainda for nossa, para que outra réplica assuma sem esperar ela vencer. */
+    public void release() {
+        if (heldUntil.getAndSet(0) <= clock.millis()) {
+            return;
+        }
+        try {
+            dynamoDbClient.deleteItem(r -> r
+                    .tableName(tableName)
+                    .key(key)
+                    .conditionExpression("#owner = :owner")
+                    .expressionAttributeNames(Map.of("#owner", "owner"))
+                    .expressionAttributeValues(Map.of(":owner", AttributeValue.fromS(owner))));
+            log.info("[DynamoDB] Lease {} liberada owner={}", name, owner);
+        } catch (ConditionalCheckFailedException e) {
+            log.info("[DynamoDB] Lease {} já pertencia a outra réplica", name);
+        } catch (RuntimeException e) {
+            log.warn("[DynamoDB] Falha ao liberar lease {} (vence sozinha)", name, e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.acme.insurance.policy.infra.dynamodb;
+
+import com.acme.insurance.policy.domain.events.PolicyRequestStatusChangedEvent;
+import lombok.Getter;
+import lombok.Setter;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSortKey;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@Setter
+@DynamoDbBean
+public class OutboxItem {
+    private String shard;
+    private String eventKey;
+    private String policyId;
+    private String customerId;
+    private String productId;
+    private String status;
+    private String riskClassification;
+    private String occurredAt;
+
+    @DynamoDbPartitionKey
+    public String getShard() {
+        return shard;
+    }
+
+    @DynamoDbSortKey
+    public String getEventKey() {
+        return eventKey;
+    }
+
+    public static int shardOf(UUID policyId, int shards) {
+        return Math.floorMod(policyId.hashCode(), shards);
+    }
+
+    public static OutboxItem from(PolicyRequestStatusChangedEvent event, int sequence, int shards) {
+        var item = new OutboxItem();
+        Instant at = event.occurredAt();
+        item.setShard(Integer.toString(shardOf(event.requestId(), shards)));
+        item.setEventKey(String.format("%012d%09d#%s#%02d",
+                at.getEpochSecond(), at.getNano(), event.requestId(), sequence));
+        item.setPolicyId(event.requestId().toString());
+        item.setCustomerId(event.customerId() != null ? event.customerId().toString() : null);
+        item.setProductId(event.productId() != null ? event.productId().toString() : null);
+        item.setStatus(event.status());
+        item.setRiskClassification(event.riskClassification());
+        item.setOccurredAt(at.toString());
+        return item;
+    }
+
+    public PolicyRequestStatusChangedEvent toEvent() {
+        return new PolicyRequestStatusChangedEvent(
+                UUID.fromString(policyId),
+                customerId != null ? UUID.fromString(customerId) : null,
+                productId != null ? UUID.fromString(productId) : null,
+                status,
+                riskClassification,
+                Instant.parse(occurredAt));
+    }
+}
@@ -0,0 +1,50 @@
+package com.acme.insurance.policy.infra.dynamodb;
+
+import com.acme.insurance.policy.infra.config.AppProps;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.UUID;
+
+/*
+ * Dono de cada shard do outbox entre réplicas: uma DynamoLease por shard, na própria tabela do outbox, na
+ * partição "lease#<shard>", que o relay nunca consulta.
+ */
+@Component
+@ConditionalOnProperty(name = "app.dynamodb.outbox.enabled", havingValue = "true")
+public class OutboxShardLeases {
+
+    private final DynamoLease[] leases;
+
+    public OutboxShardLeases(DynamoDbClient dynamoDbClient, AppProps props) {
+        this(dynamoDbClient, props, Clock.systemUTC());
+    }
+
+    OutboxShardLeases(DynamoDbClient dynamoDbClient, AppProps props, Clock clock) {
+        var cfg = props.dynamodb().outbox();
+        String owner = UUID.randomUUID().toString();
+        this.leases = new DynamoLease[Math.max(1, cfg.shards())];
+        for (int shard = 0; shard < leases.length; shard++) {
+            leases[shard] = new DynamoLease(dynamoDbClient, cfg.table(), Map.of(
+                    "shard", AttributeValue.fromS("lease#" + shard),
+                    "eventKey", AttributeValue.fromS("lease")),
+                    "outbox-shard-" + shard, owner, cfg.lease(), clock);
+        }
+    }
+
+    /* true quando esta réplica é dona do shard pelo menos até o fim da lease atual. */
+    public boolean holds(int shard) {
+        return leases[shard].holds();
+    }
+
+    /* Devolve os shards desta réplica para que outra assuma sem esperar a lease vencer. */
+    public void releaseAll() {
+        for (DynamoLease lease : leases) {
+            lease.release();
+        }
+    }
+}
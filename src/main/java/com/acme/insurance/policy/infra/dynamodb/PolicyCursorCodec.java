@@ -0,0 +1,56 @@
+package com.acme.insurance.policy.infra.dynamodb;
+
+import com.acme.insurance.policy.domain.model.InvalidPageTokenException;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+final class PolicyCursorCodec {
+
+    private static final String POLICY_ID = "policyId";
+    private static final String CUSTOMER_ID = "customerId";
+
+    private PolicyCursorCodec() {}
+
+    static String encode(Map<String, AttributeValue> lastEvaluatedKey) {
+        if (lastEvaluatedKey == null || lastEvaluatedKey.isEmpty()) {
+            return null;
+        }
+        String raw = new TreeMap<>(lastEvaluatedKey).entrySet().stream()
+                .map(e -> e.getKey() + "=" + e.getValue().s())
+                .collect(Collectors.joining("&"));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Map<String, AttributeValue> decode(String cursor, String expectedCustomerId) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        Map<String, String> values;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            values = new TreeMap<>();
+            for (String pair : raw.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq <= 0) {
+                    throw new InvalidPageTokenException("page_token malformado");
+                }
+                values.put(pair.substring(0, eq), pair.substring(eq + 1));
+            }
+            UUID.fromString(values.getOrDefault(POLICY_ID, ""));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageTokenException("page_token inválido", e);
+        }
+        if (values.size() != 2 || !expectedCustomerId.equals(values.get(CUSTOMER_ID))) {
+            throw new InvalidPageTokenException("page_token não pertence a esta consulta");
+        }
+        return Map.of(
+                POLICY_ID, AttributeValue.fromS(values.get(POLICY_ID)),
+                CUSTOMER_ID, AttributeValue.fromS(values.get(CUSTOMER_ID)));
+    }
+}
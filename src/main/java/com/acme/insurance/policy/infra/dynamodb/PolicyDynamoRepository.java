@@ -1,56 +1,276 @@
 package com.acme.insurance.policy.infra.dynamodb;
 
+import com.acme.insurance.policy.domain.events.PolicyRequestStatusChangedEvent;
+import com.acme.insurance.policy.domain.model.PageResult;
 import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.domain.model.PolicyStatus;
+import com.acme.insurance.policy.domain.model.PolicySummary;
+import com.acme.insurance.policy.domain.model.PolicyWriteConflictException;
 import com.acme.insurance.policy.domain.ports.out.PolicyRepository;
 import com.acme.insurance.policy.infra.config.AppProps;
+import com.acme.insurance.policy.infra.dynamodb.mapper.PolicyHistoryCodec;
 import com.acme.insurance.policy.infra.dynamodb.mapper.PolicyItemMapper;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.TransactPutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.TransactWriteItemsEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Component
 public class PolicyDynamoRepository implements PolicyRepository {
 
     private static final Logger log = LoggerFactory.getLogger(PolicyDynamoRepository.class);
 
+    private static final String[] SUMMARY_ATTRIBUTES = {
+            "policyId", "customerId", "status", "category", "createdAt",
+            "totalMonthlyPremiumAmount", "insuredAmount"
+    };
+
+    static final int BATCH_GET_MAX_KEYS = 100;
+
+    private final DynamoDbClient dynamoDbClient;
+    private final TableSchema<PolicyItem> schema;
+    private final DynamoDbEnhancedClient enhancedClient;
     private final DynamoDbTable<PolicyItem> table;
+    private final DynamoDbTable<OutboxItem> outboxTable;
+    private final int outboxShards;
+    private final String tableName;
     private final String customerGsiName;
+    private final String receivedGsiName;
     private final PolicyItemMapper policyItemMapper;
+    private final boolean compactHistory;
+    private final ExecutorService batchGetExecutor;
+    private final int batchGetMaxAttempts;
+    private final Duration batchGetBackoff;
 
     public PolicyDynamoRepository(
             DynamoDbClient dynamoDbClient,
             AppProps props,
             PolicyItemMapper policyItemMapper) {
-        String tableName = props.dynamodb().table();
+        this.dynamoDbClient = dynamoDbClient;
+        this.tableName = props.dynamodb().table();
         this.customerGsiName = props.dynamodb().indexes().customer();
+        this.receivedGsiName = props.dynamodb().indexes().received();
         this.policyItemMapper = policyItemMapper;
+        this.compactHistory = props.dynamodb().compactHistory();
 
         log.info("[DynamoDB] Inicializando repositório para a tabela: {} (GSI customer: {})",
                 tableName, customerGsiName);
-        DynamoDbEnhancedClient enhancedClient = DynamoDbEnhancedClient.builder()
+        this.enhancedClient = DynamoDbEnhancedClient.builder()
                 .dynamoDbClient(dynamoDbClient)
                 .build();
-        this.table = enhancedClient.table(tableName, TableSchema.fromBean(PolicyItem.class));
+        this.schema = PolicyItemTableSchema.SCHEMA;
+        this.table = enhancedClient.table(tableName, schema);
+
+        var outbox = props.dynamodb().outbox();
+        if (outbox != null && outbox.enabled()) {
+            this.outboxTable = enhancedClient.table(outbox.table(), TableSchema.fromBean(OutboxItem.class));
+            this.outboxShards = Math.max(1, outbox.shards());
+        } else {
+            this.outboxTable = null;
+            this.outboxShards = 0;
+        }
+
+        var batchGet = props.dynamodb().batchGet();
+        this.batchGetExecutor = Executors.newFixedThreadPool(Math.max(1, batchGet.parallelism()),
+                new CustomizableThreadFactory("ddb-batch-get-"));
+        this.batchGetMaxAttempts = Math.max(1, batchGet.maxAttempts());
+        this.batchGetBackoff = batchGet.backoff();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        batchGetExecutor.shutdown();
     }
 
     @Override
     public void save(Policy policy) {
-        PolicyItem item = policyItemMapper.toItem(policy);
+        PolicyItem item = toItem(policy);
         log.info("[DynamoDB] Salvando PolicyItem - policyId={} customerId={}",
                 item.getPolicyId(), item.getCustomerId());
-        table.putItem(item);
+        try {
+            table.putItem(PutItemEnhancedRequest.builder(PolicyItem.class)
+                    .item(item)
+                    .conditionExpression(PolicyWriteConditions.NEW_POLICY)
+                    .build());
+        } catch (ConditionalCheckFailedException e) {
+            log.warn("[DynamoDB] Criação rejeitada, policy já existe - policyId={}", item.getPolicyId());
+            throw new PolicyWriteConflictException(policy.id(), null, null, e);
+        }
         log.info("[DynamoDB] PolicyItem salvo com sucesso - policyId={}", item.getPolicyId());
     }
 
+    @Override
+    public void saveTransition(Policy policy, PolicyStatus expectedStatus) {
+        PolicyItem item = toItem(policy);
+        var update = PolicyTransitionUpdate.of(policy, expectedStatus, item);
+        log.info("[DynamoDB] Salvando transição ({}) - policyId={} {} -> {}",
+                update.isPresent() ? "UpdateItem" : "PutItem", item.getPolicyId(), expectedStatus, item.getStatus());
+        try {
+            if (update.isPresent()) {
+                try {
+                    dynamoDbClient.updateItem(update.get().toRequest(tableName));
+                } catch (ConditionalCheckFailedException e) {
+                    if (!update.get().blockedByPackedHistory(e.hasItem() ? e.item() : null,
+                            expectedStatus, item.getVersion())) {
+                        throw e;
+                    }
+                    log.info("[DynamoDB] UpdateItem rejeitado pelo historyPacked, repetindo com PutItem - policyId={}",
+                            item.getPolicyId());
+                    putTransition(item, expectedStatus);
+                }
+            } else {
+                putTransition(item, expectedStatus);
+            }
+        } catch (ConditionalCheckFailedException e) {
+            log.warn("[DynamoDB] Transição rejeitada, status ou versão persistidos diferem de {} v{} - policyId={}",
+                    expectedStatus, PolicyWriteConditions.previousVersion(item.getVersion()), item.getPolicyId());
+            throw conflict(policy, expectedStatus, item, e);
+        }
+        log.info("[DynamoDB] Transição salva com sucesso - policyId={}", item.getPolicyId());
+    }
+
+    @Override
+    public void saveTransition(Policy policy, PolicyStatus expectedStatus,
+                               List<PolicyRequestStatusChangedEvent> outboxEvents) {
+        if (outboxEvents.isEmpty()) {
+            saveTransition(policy, expectedStatus);
+            return;
+        }
+        if (outboxTable == null) {
+            throw new IllegalStateException("Outbox desabilitado (app.dynamodb.outbox.enabled=false)");
+        }
+        PolicyItem item = toItem(policy);
+        var update = PolicyTransitionUpdate.of(policy, expectedStatus, item);
+        log.info("[DynamoDB] Salvando transição ({}) com {} eventos no outbox - policyId={} {} -> {}",
+                update.isPresent() ? "UpdateItem" : "PutItem", outboxEvents.size(), item.getPolicyId(),
+                expectedStatus, item.getStatus());
+
+        try {
+            if (update.isPresent()) {
+                try {
+                    transactUpdateTransition(update.get(), outboxEvents);
+                } catch (TransactionCanceledException e) {
+                    if (!isConditionFailure(e) || !update.get().blockedByPackedHistory(
+                            currentItem(e), expectedStatus, item.getVersion())) {
+                        throw e;
+                    }
+                    log.info("[DynamoDB] UpdateItem rejeitado pelo historyPacked, repetindo com PutItem - policyId={}",
+                            item.getPolicyId());
+                    transactPutTransition(item, expectedStatus, outboxEvents);
+                }
+            } else {
+                transactPutTransition(item, expectedStatus, outboxEvents);
+            }
+        } catch (TransactionCanceledException e) {
+            if (!isConditionFailure(e)) {
+                throw e;
+            }
+            log.warn("[DynamoDB] Transição rejeitada, status ou versão persistidos diferem de {} v{} - policyId={}",
+                    expectedStatus, PolicyWriteConditions.previousVersion(item.getVersion()), item.getPolicyId());
+            throw conflict(policy, expectedStatus, item, e);
+        }
+        log.info("[DynamoDB] Transição e outbox salvos com sucesso - policyId={}", item.getPolicyId());
+    }
+
+    private void putTransition(PolicyItem item, PolicyStatus expectedStatus) {
+        table.putItem(PutItemEnhancedRequest.builder(PolicyItem.class)
+                .item(item)
+                .conditionExpression(PolicyWriteConditions.transition(expectedStatus, item.getVersion()))
+                .build());
+    }
+
+    private void transactUpdateTransition(PolicyTransitionUpdate update,
+                                          List<PolicyRequestStatusChangedEvent> outboxEvents) {
+        List<TransactWriteItem> writes = new ArrayList<>(outboxEvents.size() + 1);
+        writes.add(TransactWriteItem.builder().update(update.toTransactUpdate(tableName)).build());
+        for (int i = 0; i < outboxEvents.size(); i++) {
+            var outboxItem = OutboxItem.from(outboxEvents.get(i), i, outboxShards);
+            writes.add(TransactWriteItem.builder().put(Put.builder()
+                    .tableName(outboxTable.tableName())
+                    .item(outboxTable.tableSchema().itemToMap(outboxItem, true))
+                    .build()).build());
+        }
+        dynamoDbClient.transactWriteItems(TransactWriteItemsRequest.builder().transactItems(writes).build());
+    }
+
+    private void transactPutTransition(PolicyItem item, PolicyStatus expectedStatus,
+                                       List<PolicyRequestStatusChangedEvent> outboxEvents) {
+        var request = TransactWriteItemsEnhancedRequest.builder()
+                .addPutItem(table, TransactPutItemEnhancedRequest.builder(PolicyItem.class)
+                        .item(item)
+                        .conditionExpression(PolicyWriteConditions.transition(expectedStatus, item.getVersion()))
+                        .build());
+        for (int i = 0; i < outboxEvents.size(); i++) {
+            request.addPutItem(outboxTable, OutboxItem.from(outboxEvents.get(i), i, outboxShards));
+        }
+        enhancedClient.transactWriteItems(request.build());
+    }
+
+    private static boolean isConditionFailure(TransactionCanceledException e) {
+        return e.hasCancellationReasons() && !e.cancellationReasons().isEmpty()
+                && "ConditionalCheckFailed".equals(e.cancellationReasons().get(0).code());
+    }
+
+    /* Item da policy (ALL_OLD) devolvido na razão de cancelamento do Update, primeiro da transação */
+    private static Map<String, AttributeValue> currentItem(TransactionCanceledException e) {
+        var reason = e.cancellationReasons().get(0);
+        return reason.hasItem() ? reason.item() : null;
+    }
+
+    private static PolicyWriteConflictException conflict(Policy policy, PolicyStatus expectedStatus,
+                                                         PolicyItem item, Exception cause) {
+        return item.getVersion() == null
+                ? new PolicyWriteConflictException(policy.id(), expectedStatus, cause)
+                : new PolicyWriteConflictException(policy.id(), expectedStatus,
+                        PolicyWriteConditions.previousVersion(item.getVersion()), cause);
+    }
+
+    private PolicyItem toItem(Policy policy) {
+        PolicyItem item = policyItemMapper.toItem(policy);
+        if (policy.status() == PolicyStatus.RECEIVED && policy.createdAt() != null) {
+            item.setReceivedAt(policy.createdAt().toInstant().toEpochMilli());
+        }
+        return compactHistory ? PolicyHistoryCodec.pack(item, policy.history()) : item;
+    }
+
     @Override
     public Optional<Policy> findById(UUID policyId) {
         String idStr = policyId.toString();
@@ -64,6 +284,16 @@ public class PolicyDynamoRepository implements PolicyRepository {
         return result;
     }
 
+    @Override
+    public Optional<Policy> findByIdConsistent(UUID policyId) {
+        String idStr = policyId.toString();
+        log.info("[DynamoDB] Buscando PolicyItem por policyId={} (consistentRead)", idStr);
+        return Optional.ofNullable(table.getItem(r -> r
+                        .key(Key.builder().partitionValue(idStr).build())
+                        .consistentRead(true)))
+                .map(policyItemMapper::toDomain);
+    }
+
     @Override
     public List<Policy> findByCustomerId(UUID customerId) {
         String customerIdStr = customerId.toString();
@@ -81,4 +311,141 @@ public class PolicyDynamoRepository implements PolicyRepository {
                 .map(policyItemMapper::toDomain)
                 .toList();
     }
+
+    @Override
+    public PageResult<Policy> findPageByCustomerId(UUID customerId, int limit, String cursor) {
+        log.info("[DynamoDB] Buscando página de PolicyItems por customerId={} limit={} cursor={}",
+                customerId, limit, cursor != null);
+        Page<PolicyItem> page = queryCustomerPage(customerId.toString(), limit, cursor, b -> {});
+        List<Policy> policies = page.items().stream()
+                .map(policyItemMapper::toDomain)
+                .toList();
+        log.info("[DynamoDB] Página com {} registros para customerId={} (hasNext={})",
+                policies.size(), customerId, page.lastEvaluatedKey() != null);
+        return new PageResult<>(policies, PolicyCursorCodec.encode(page.lastEvaluatedKey()));
+    }
+
+    @Override
+    public PageResult<PolicySummary> findSummaryPageByCustomerId(UUID customerId, int limit, String cursor) {
+        log.info("[DynamoDB] Buscando resumo de PolicyItems por customerId={} limit={} cursor={}",
+                customerId, limit, cursor != null);
+        Page<PolicyItem> page = queryCustomerPage(customerId.toString(), limit, cursor,
+                b -> b.attributesToProject(SUMMARY_ATTRIBUTES));
+        List<PolicySummary> summaries = page.items().stream()
+                .map(policyItemMapper::toSummary)
+                .toList();
+        log.info("[DynamoDB] Resumo com {} registros para customerId={} (hasNext={})",
+                summaries.size(), customerId, page.lastEvaluatedKey() != null);
+        return new PageResult<>(summaries, PolicyCursorCodec.encode(page.lastEvaluatedKey()));
+    }
+
+    private Page<PolicyItem> queryCustomerPage(String customerIdStr, int limit, String cursor,
+                                               Consumer<QueryEnhancedRequest.Builder> customizer) {
+        QueryEnhancedRequest.Builder request = QueryEnhancedRequest.builder()
+                .queryConditional(QueryConditional.keyEqualTo(k -> k.partitionValue(customerIdStr)))
+                .limit(limit)
+                .exclusiveStartKey(PolicyCursorCodec.decode(cursor, customerIdStr));
+        customizer.accept(request);
+        return table.index(customerGsiName).query(request.build()).iterator().next();
+    }
+
+    @Override
+    public Stream<Policy> streamByCustomerId(UUID customerId) {
+        String customerIdStr = customerId.toString();
+        log.info("[DynamoDB] Streaming de PolicyItems por customerId={} usando GSI={}", customerIdStr, customerGsiName);
+        return table.index(customerGsiName)
+                .query(r -> r.queryConditional(
+                        QueryConditional.keyEqualTo(k -> k.partitionValue(customerIdStr))))
+                .stream()
+                .flatMap(p -> p.items().stream())
+                .map(policyItemMapper::toDomain);
+    }
+
+    /*
+     * Consulta o gsi_received, esparso: só policies em RECEIVED carregam receivedAt. O índice projeta só as chaves,
+     * então cada página traz apenas ids; quem consome relê a policy pela chave.
+     */
+    @Override
+    public Stream<UUID> streamReceivedBefore(Instant cutoff) {
+        log.info("[DynamoDB] Buscando policies RECEIVED até {} usando GSI={}", cutoff, receivedGsiName);
+        return table.index(receivedGsiName)
+                .query(r -> r
+                        .queryConditional(QueryConditional.sortLessThanOrEqualTo(k -> k
+                                .partitionValue(PolicyStatus.RECEIVED.name())
+                                .sortValue(cutoff.toEpochMilli())))
+                        .attributesToProject("policyId"))
+                .stream()
+                .flatMap(p -> p.items().stream())
+                .map(item -> UUID.fromString(item.getPolicyId()));
+    }
+
+    @Override
+    public List<Policy> findAllByIds(Collection<UUID> policyIds) {
+        List<String> ids = new LinkedHashSet<>(policyIds).stream().map(UUID::toString).toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += BATCH_GET_MAX_KEYS) {
+            chunks.add(ids.subList(i, Math.min(i + BATCH_GET_MAX_KEYS, ids.size())));
+        }
+        log.info("[DynamoDB] BatchGetItem de {} ids em {} lote(s)", ids.size(), chunks.size());
+
+        List<PolicyItem> items;
+        if (chunks.size() == 1) {
+            items = batchGetChunk(chunks.get(0));
+        } else {
+            var futures = chunks.stream()
+                    .map(chunk -> CompletableFuture.supplyAsync(() -> batchGetChunk(chunk), batchGetExecutor))
+                    .toList();
+            try {
+                items = futures.stream()
+                        .flatMap(f -> f.join().stream())
+                        .toList();
+            } catch (CompletionException e) {
+                futures.forEach(f -> f.cancel(true));
+                throw e.getCause() instanceof RuntimeException re ? re : e;
+            }
+        }
+
+        log.info("[DynamoDB] BatchGetItem encontrou {} de {} ids", items.size(), ids.size());
+        return items.stream()
+                .map(policyItemMapper::toDomain)
+                .toList();
+    }
+
+    private List<PolicyItem> batchGetChunk(List<String> ids) {
+        List<Map<String, AttributeValue>> keys = ids.stream()
+                .map(id -> Map.of("policyId", AttributeValue.fromS(id)))
+                .toList();
+        List<PolicyItem> found = new ArrayList<>(ids.size());
+
+        for (int attempt = 1; ; attempt++) {
+            BatchGetItemResponse response = dynamoDbClient.batchGetItem(BatchGetItemRequest.builder()
+                    .requestItems(Map.of(tableName, KeysAndAttributes.builder().keys(keys).build()))
+                    .build());
+            response.responses().getOrDefault(tableName, List.of())
+                    .forEach(raw -> found.add(schema.mapToItem(raw)));
+
+            KeysAndAttributes unprocessed = response.unprocessedKeys().get(tableName);
+            if (unprocessed == null || !unprocessed.hasKeys() || unprocessed.keys().isEmpty()) {
+                return found;
+            }
+            if (attempt >= batchGetMaxAttempts) {
+                throw new IllegalStateException("BatchGetItem com " + unprocessed.keys().size()
+                        + " chaves não processadas após " + attempt + " tentativas");
+            }
+            keys = unprocessed.keys();
+            long cap = batchGetBackoff.toMillis() << Math.min(attempt - 1, 10);
+            long sleep = ThreadLocalRandom.current().nextLong(cap + 1);
+            log.warn("[DynamoDB] BatchGetItem com {} chaves não processadas, nova tentativa {} em {}ms",
+                    keys.size(), attempt + 1, sleep);
+            try {
+                Thread.sleep(sleep);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("BatchGetItem interrompido", e);
+            }
+        }
+    }
 }
@@ -2,9 +2,11 @@ package com.acme.insurance.policy.infra.dynamodb;
 
 import lombok.Getter;
 import lombok.Setter;
+import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondaryPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondarySortKey;
 
 import java.util.List;
 import java.util.Map;
@@ -27,6 +29,9 @@ public class PolicyItem{
     private String totalMonthlyPremiumAmount;
     private String insuredAmount;
     private List<Map<String, String>> history;
+    private SdkBytes historyPacked;
+    private Long version;
+    private Long receivedAt;
 
     @DynamoDbPartitionKey
     public String getPolicyId() {
@@ -37,6 +42,17 @@ public class PolicyItem{
     public String getCustomerId() {
         return customerId;
     }
+
+    @DynamoDbSecondaryPartitionKey(indexNames = "gsi_received")
+    public String getStatus() {
+        return status;
+    }
+
+    /* Só presente enquanto a policy está em RECEIVED: é o que deixa o gsi_received esparso. */
+    @DynamoDbSecondarySortKey(indexNames = "gsi_received")
+    public Long getReceivedAt() {
+        return receivedAt;
+    }
 }
 
 
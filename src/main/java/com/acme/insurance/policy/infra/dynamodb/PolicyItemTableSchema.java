@@ -0,0 +1,85 @@
+package com.acme.insurance.policy.infra.dynamodb;
+
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
+
+import java.util.List;
+import java.util.Map;
+
+public final class PolicyItemTableSchema {
+
+    public static final String CUSTOMER_INDEX = "gsi_customer";
+    public static final String RECEIVED_INDEX = "gsi_received";
+
+    private static final EnhancedType<Map<String, String>> STRING_MAP = EnhancedType.mapOf(String.class, String.class);
+    private static final EnhancedType<List<String>> STRING_LIST = EnhancedType.listOf(String.class);
+    private static final EnhancedType<List<Map<String, String>>> HISTORY = EnhancedType.listOf(STRING_MAP);
+
+    public static final TableSchema<PolicyItem> SCHEMA = create();
+
+    private PolicyItemTableSchema() {}
+
+    static TableSchema<PolicyItem> create() {
+        return StaticTableSchema.builder(PolicyItem.class)
+                .newItemSupplier(PolicyItem::new)
+                .addAttribute(String.class, a -> a.name("policyId")
+                        .getter(PolicyItem::getPolicyId)
+                        .setter(PolicyItem::setPolicyId)
+                        .tags(StaticAttributeTags.primaryPartitionKey()))
+                .addAttribute(String.class, a -> a.name("customerId")
+                        .getter(PolicyItem::getCustomerId)
+                        .setter(PolicyItem::setCustomerId)
+                        .tags(StaticAttributeTags.secondaryPartitionKey(CUSTOMER_INDEX)))
+                .addAttribute(String.class, a -> a.name("productId")
+                        .getter(PolicyItem::getProductId)
+                        .setter(PolicyItem::setProductId))
+                .addAttribute(String.class, a -> a.name("category")
+                        .getter(PolicyItem::getCategory)
+                        .setter(PolicyItem::setCategory))
+                .addAttribute(String.class, a -> a.name("salesChannel")
+                        .getter(PolicyItem::getSalesChannel)
+                        .setter(PolicyItem::setSalesChannel))
+                .addAttribute(String.class, a -> a.name("paymentMethod")
+                        .getter(PolicyItem::getPaymentMethod)
+                        .setter(PolicyItem::setPaymentMethod))
+                .addAttribute(String.class, a -> a.name("status")
+                        .getter(PolicyItem::getStatus)
+                        .setter(PolicyItem::setStatus)
+                        .tags(StaticAttributeTags.secondaryPartitionKey(RECEIVED_INDEX)))
+                .addAttribute(String.class, a -> a.name("createdAt")
+                        .getter(PolicyItem::getCreatedAt)
+                        .setter(PolicyItem::setCreatedAt))
+                .addAttribute(String.class, a -> a.name("finishedAt")
+                        .getter(PolicyItem::getFinishedAt)
+                        .setter(PolicyItem::setFinishedAt))
+                .addAttribute(STRING_MAP, a -> a.name("coverages")
+                        .getter(PolicyItem::getCoverages)
+                        .setter(PolicyItem::setCoverages))
+                .addAttribute(STRING_LIST, a -> a.name("assistances")
+                        .getter(PolicyItem::getAssistances)
+                        .setter(PolicyItem::setAssistances))
+                .addAttribute(String.class, a -> a.name("totalMonthlyPremiumAmount")
+                        .getter(PolicyItem::getTotalMonthlyPremiumAmount)
+                        .setter(PolicyItem::setTotalMonthlyPremiumAmount))
+                .addAttribute(String.class, a -> a.name("insuredAmount")
+                        .getter(PolicyItem::getInsuredAmount)
+                        .setter(PolicyItem::setInsuredAmount))
+                .addAttribute(HISTORY, a -> a.name("history")
+                        .getter(PolicyItem::getHistory)
+                        .setter(PolicyItem::setHistory))
+                .addAttribute(SdkBytes.class, a -> a.name("historyPacked")
+                        .getter(PolicyItem::getHistoryPacked)
+                        .setter(PolicyItem::setHistoryPacked))
+                .addAttribute(Long.class, a -> a.name("version")
+                        .getter(PolicyItem::getVersion)
+                        .setter(PolicyItem::setVersion))
+                .addAttribute(Long.class, a -> a.name("receivedAt")
+                        .getter(PolicyItem::getReceivedAt)
+                        .setter(PolicyItem::setReceivedAt)
+                        .tags(StaticAttributeTags.secondarySortKey(RECEIVED_INDEX)))
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.acme.insurance.policy.infra.dynamodb;
+
+import com.acme.insurance.policy.infra.config.AppProps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "app.dynamodb.outbox.enabled", havingValue = "true")
+public class PolicyOutboxDynamoRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(PolicyOutboxDynamoRepository.class);
+
+    private static final int DELETE_MAX_ATTEMPTS = 3;
+
+    private final DynamoDbEnhancedClient enhancedClient;
+    private final DynamoDbTable<OutboxItem> table;
+
+    public PolicyOutboxDynamoRepository(DynamoDbClient dynamoDbClient, AppProps props) {
+        this.enhancedClient = DynamoDbEnhancedClient.builder()
+                .dynamoDbClient(dynamoDbClient)
+                .build();
+        this.table = enhancedClient.table(props.dynamodb().outbox().table(), TableSchema.fromBean(OutboxItem.class));
+    }
+
+    public List<OutboxItem> fetch(int shard, int limit) {
+        return table.query(r -> r
+                        .queryConditional(QueryConditional.keyEqualTo(Key.builder()
+                                .partitionValue(Integer.toString(shard))
+                                .build()))
+                        .consistentRead(true)
+                        .limit(limit))
+                .stream()
+                .findFirst()
+                .map(Page::items)
+                .orElse(List.of());
+    }
+
+    public void delete(List<OutboxItem> items) {
+        List<OutboxItem> pending = items;
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            var batch = WriteBatch.builder(OutboxItem.class).mappedTableResource(table);
+            pending.forEach(batch::addDeleteItem);
+            var result = enhancedClient.batchWriteItem(BatchWriteItemEnhancedRequest.builder()
+                    .writeBatches(batch.build())
+                    .build());
+            List<Key> unprocessed = result.unprocessedDeleteItemsForTable(table);
+            if (unprocessed.isEmpty()) {
+                return;
+            }
+            if (attempt >= DELETE_MAX_ATTEMPTS) {
+                log.warn("[OUTBOX] {} eventos já publicados não foram removidos e serão reenviados", unprocessed.size());
+                return;
+            }
+            var keys = unprocessed.stream()
+                    .map(k -> k.sortKeyValue().map(v -> v.s()).orElse(null))
+                    .toList();
+            pending = pending.stream().filter(i -> keys.contains(i.getEventKey())).toList();
+        }
+    }
+}
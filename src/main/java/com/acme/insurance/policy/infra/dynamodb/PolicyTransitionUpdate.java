@@ -0,0 +1,150 @@
+package com.acme.insurance.policy.infra.dynamodb;
+
+import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.domain.model.PolicyStatus;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+import software.amazon.awssdk.services.dynamodb.model.Update;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/*
+ * UpdateItem de uma transição: envia só status, as entradas novas do histórico (list_append),
+ * finishedAt e version; coverages, assistances e o restante do item não trafegam. Ao sair de RECEIVED remove
+ * receivedAt, o que tira a policy do gsi_received.
+ * As entradas novas são as que vêm depois da última ocorrência do status esperado no histórico.
+ * Quando não dá para identificá-las, o chamador volta ao PutItem do item inteiro.
+ * O list_append exige que o item não tenha historyPacked: a leitura prefere o formato binário, e um item gravado
+ * com compact-history ligado esconderia as entradas anexadas à lista. A escrita pede ALL_OLD na falha da condição:
+ * se o item atual tem historyPacked e passaria na condição de status/versão, o chamador repete com o PutItem
+ * condicional, que regrava o histórico inteiro; qualquer outra falha é conflito e não gera segunda escrita.
+ */
+record PolicyTransitionUpdate(
+        Map<String, AttributeValue> key,
+        String updateExpression,
+        String conditionExpression,
+        Map<String, String> names,
+        Map<String, AttributeValue> values
+) {
+
+    private static final AttributeValue EMPTY_LIST = AttributeValue.fromL(List.of());
+
+    static Optional<PolicyTransitionUpdate> of(Policy policy, PolicyStatus expectedStatus, PolicyItem item) {
+        int appended = appendedEntries(policy.history(), expectedStatus);
+        if (appended <= 0) {
+            return Optional.empty();
+        }
+        Map<String, AttributeValue> attributes = PolicyItemTableSchema.SCHEMA.itemToMap(item, true);
+
+        Map<String, String> names = new HashMap<>();
+        Map<String, AttributeValue> values = new HashMap<>();
+        List<String> set = new ArrayList<>(4);
+        List<String> remove = new ArrayList<>(2);
+
+        names.put("#status", "status");
+        values.put(":status", attributes.get("status"));
+        set.add("#status = :status");
+
+        if (item.getHistoryPacked() != null) {
+            names.put("#historyPacked", "historyPacked");
+            names.put("#history", "history");
+            values.put(":historyPacked", attributes.get("historyPacked"));
+            set.add("#historyPacked = :historyPacked");
+            remove.add("#history");
+        } else {
+            List<AttributeValue> history = attributes.get("history").l();
+            names.put("#history", "history");
+            values.put(":appended", AttributeValue.fromL(history.subList(history.size() - appended, history.size())));
+            values.put(":empty", EMPTY_LIST);
+            set.add("#history = list_append(if_not_exists(#history, :empty), :appended)");
+        }
+        if (item.getFinishedAt() != null) {
+            names.put("#finishedAt", "finishedAt");
+            values.put(":finishedAt", attributes.get("finishedAt"));
+            set.add("#finishedAt = :finishedAt");
+        }
+        if (item.getReceivedAt() == null) {
+            names.put("#receivedAt", "receivedAt");
+            remove.add("#receivedAt");
+        }
+        if (item.getVersion() != null) {
+            names.put("#version", "version");
+            values.put(":version", attributes.get("version"));
+            set.add("#version = :version");
+        }
+
+        Expression condition = PolicyWriteConditions.transition(expectedStatus, item.getVersion());
+        names.putAll(condition.expressionNames());
+        values.putAll(condition.expressionValues());
+        String conditionExpression = condition.expression();
+        if (item.getHistoryPacked() == null) {
+            names.put("#historyPacked", "historyPacked");
+            conditionExpression += " AND attribute_not_exists(#historyPacked)";
+        }
+
+        return Optional.of(new PolicyTransitionUpdate(
+                Map.of("policyId", AttributeValue.fromS(item.getPolicyId())),
+                "SET " + String.join(", ", set) + (remove.isEmpty() ? "" : " REMOVE " + String.join(", ", remove)),
+                conditionExpression,
+                Map.copyOf(names),
+                Map.copyOf(values)));
+    }
+
+    static int appendedEntries(List<Policy.StatusHistory> history, PolicyStatus expectedStatus) {
+        if (history == null) {
+            return -1;
+        }
+        for (int i = history.size() - 1; i >= 0; i--) {
+            if (history.get(i).status() == expectedStatus) {
+                return history.size() - 1 - i;
+            }
+        }
+        return -1;
+    }
+
+    /* true quando a condição também exige ausência de historyPacked e uma falha pode ser só o formato legado */
+    boolean appendsToList() {
+        return values.containsKey(":appended");
+    }
+
+    /*
+     * true quando a falha da condição veio só do historyPacked: o item atual (ALL_OLD) tem o atributo e passaria
+     * na condição de status/versão. Sem o item atual (policy removida) a falha é tratada como conflito.
+     */
+    boolean blockedByPackedHistory(Map<String, AttributeValue> current, PolicyStatus expectedStatus,
+                                   Long writtenVersion) {
+        return appendsToList()
+                && current != null && current.containsKey("historyPacked")
+                && PolicyWriteConditions.transitionHolds(current, expectedStatus, writtenVersion);
+    }
+
+    UpdateItemRequest toRequest(String tableName) {
+        return UpdateItemRequest.builder()
+                .tableName(tableName)
+                .key(key)
+                .updateExpression(updateExpression)
+                .conditionExpression(conditionExpression)
+                .expressionAttributeNames(names)
+                .expressionAttributeValues(values)
+                .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD)
+                .build();
+    }
+
+    Update toTransactUpdate(String tableName) {
+        return Update.builder()
+                .tableName(tableName)
+                .key(key)
+                .updateExpression(updateExpression)
+                .conditionExpression(conditionExpression)
+                .expressionAttributeNames(names)
+                .expressionAttributeValues(values)
+                .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD)
+                .build();
+    }
+}
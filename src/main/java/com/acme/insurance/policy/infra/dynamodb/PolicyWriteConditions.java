@@ -0,0 +1,59 @@
+package com.acme.insurance.policy.infra.dynamodb;
+
+import com.acme.insurance.policy.domain.model.PolicyStatus;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+
+/*
+ * Condições de escrita da tabela de policies. O item carrega a versão que está sendo gravada: a
+ * transição só passa se o status persistido for o esperado e a versão persistida for a imediatamente
+ * anterior (ou inexistente, para itens gravados antes do controle de versão).
+ */
+final class PolicyWriteConditions {
+
+    static final Expression NEW_POLICY = Expression.builder()
+            .expression("attribute_not_exists(#policyId)")
+            .putExpressionName("#policyId", "policyId")
+            .build();
+
+    private PolicyWriteConditions() {}
+
+    static Expression transition(PolicyStatus expectedStatus, Long writtenVersion) {
+        var condition = Expression.builder()
+                .putExpressionName("#status", "status")
+                .putExpressionValue(":expected", AttributeValue.fromS(expectedStatus.name()));
+        if (writtenVersion == null) {
+            return condition.expression("#status = :expected").build();
+        }
+        condition.putExpressionName("#version", "version");
+        if (writtenVersion <= 1) {
+            return condition.expression("#status = :expected AND attribute_not_exists(#version)").build();
+        }
+        return condition.expression("#status = :expected AND #version = :previous")
+                .putExpressionValue(":previous", AttributeValue.fromN(Long.toString(writtenVersion - 1)))
+                .build();
+    }
+
+    /* Avalia transition() sobre um item já lido, p.ex. o ALL_OLD devolvido por uma condição que falhou */
+    static boolean transitionHolds(Map<String, AttributeValue> current, PolicyStatus expectedStatus,
+                                   Long writtenVersion) {
+        var status = current.get("status");
+        if (status == null || !expectedStatus.name().equals(status.s())) {
+            return false;
+        }
+        if (writtenVersion == null) {
+            return true;
+        }
+        var version = current.get("version");
+        if (writtenVersion <= 1) {
+            return version == null;
+        }
+        return version != null && Long.toString(writtenVersion - 1).equals(version.n());
+    }
+
+    static Long previousVersion(Long writtenVersion) {
+        return writtenVersion == null || writtenVersion <= 1 ? null : writtenVersion - 1;
+    }
+}
@@ -0,0 +1,75 @@
+package com.acme.insurance.policy.infra.dynamodb.mapper;
+
+import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.domain.model.PolicyStatus;
+import com.acme.insurance.policy.infra.dynamodb.PolicyItem;
+import software.amazon.awssdk.core.SdkBytes;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Histórico de status em formato binário: 1 byte de versão seguido de uma entrada de 11 bytes por transição
+ * (ordinal do PolicyStatus, epoch-millis e offset em minutos). Novos status devem ser adicionados ao fim do
+ * enum para manter os ordinais já gravados; a precisão do timestamp é de milissegundos.
+ */
+public final class PolicyHistoryCodec {
+
+    static final byte VERSION = 1;
+    static final int ENTRY_BYTES = Byte.BYTES + Long.BYTES + Short.BYTES;
+
+    private static final PolicyStatus[] STATUSES = PolicyStatus.values();
+
+    private PolicyHistoryCodec() {}
+
+    public static SdkBytes encode(List<Policy.StatusHistory> history) {
+        ByteBuffer buf = ByteBuffer.allocate(1 + history.size() * ENTRY_BYTES);
+        buf.put(VERSION);
+        for (Policy.StatusHistory h : history) {
+            buf.put((byte) h.status().ordinal());
+            buf.putLong(h.timestamp().toInstant().toEpochMilli());
+            buf.putShort((short) (h.timestamp().getOffset().getTotalSeconds() / 60));
+        }
+        return SdkBytes.fromByteArrayUnsafe(buf.array());
+    }
+
+    public static List<Policy.StatusHistory> decode(SdkBytes packed) {
+        ByteBuffer buf = packed.asByteBuffer();
+        byte version = buf.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Versão de histórico binário não suportada: " + version);
+        }
+        if (buf.remaining() % ENTRY_BYTES != 0) {
+            throw new IllegalArgumentException("Histórico binário truncado: " + buf.remaining() + " bytes");
+        }
+        List<Policy.StatusHistory> history = new ArrayList<>(buf.remaining() / ENTRY_BYTES);
+        while (buf.hasRemaining()) {
+            PolicyStatus status = status(Byte.toUnsignedInt(buf.get()), buf.position() - 1);
+            Instant at = Instant.ofEpochMilli(buf.getLong());
+            ZoneOffset offset = ZoneOffset.ofTotalSeconds(buf.getShort() * 60);
+            history.add(new Policy.StatusHistory(status, OffsetDateTime.ofInstant(at, offset)));
+        }
+        return List.copyOf(history);
+    }
+
+    private static PolicyStatus status(int ordinal, int offset) {
+        if (ordinal >= STATUSES.length) {
+            throw new IllegalArgumentException("Histórico binário com status desconhecido: ordinal " + ordinal
+                    + " na posição " + offset + " (conhecidos: 0.." + (STATUSES.length - 1) + ")");
+        }
+        return STATUSES[ordinal];
+    }
+
+    /* Troca a lista de mapas gerada pelo mapper pelo atributo binário */
+    public static PolicyItem pack(PolicyItem item, List<Policy.StatusHistory> history) {
+        if (history != null && !history.isEmpty()) {
+            item.setHistoryPacked(encode(history));
+            item.setHistory(null);
+        }
+        return item;
+    }
+}
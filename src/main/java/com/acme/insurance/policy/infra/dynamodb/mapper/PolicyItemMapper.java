@@ -1,6 +1,7 @@
 package com.acme.insurance.policy.infra.dynamodb.mapper;
 
 import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.domain.model.PolicySummary;
 import com.acme.insurance.policy.infra.dynamodb.PolicyItem;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -18,6 +19,8 @@ public interface PolicyItemMapper {
     @Mapping(target = "insuredAmount", source = "insuredAmount", qualifiedByName = "bdToString")
     @Mapping(target = "coverages", source = "coverages", qualifiedByName = "toStringMap")
     @Mapping(target = "history", source = "history", qualifiedByName = "toHistoryMap")
+    @Mapping(target = "historyPacked", ignore = true)
+    @Mapping(target = "receivedAt", ignore = true)
     PolicyItem toItem(Policy domain);
 
     // Dynamo item -> Domain
@@ -29,6 +32,15 @@ public interface PolicyItemMapper {
     @Mapping(target = "totalMonthlyPremiumAmount", source = "totalMonthlyPremiumAmount", qualifiedByName = "stringToBd")
     @Mapping(target = "insuredAmount", source = "insuredAmount", qualifiedByName = "stringToBd")
     @Mapping(target = "coverages", source = "coverages", qualifiedByName = "toBigDecimalMap")
-    @Mapping(target = "history", source = "history", qualifiedByName = "fromHistoryMap")
+    @Mapping(target = "history", source = "item", qualifiedByName = "historyOf")
+    @Mapping(target = "withFinishedAt", ignore = true)
+    @Mapping(target = "withVersion", ignore = true)
     Policy toDomain(PolicyItem item);
+
+    // Dynamo item (projeção de listagem) -> Summary
+    @Mapping(target = "id", source = "policyId", qualifiedByName = "stringToUuid")
+    @Mapping(target = "createdAt", source = "createdAt", qualifiedByName = "stringToOdt")
+    @Mapping(target = "totalMonthlyPremiumAmount", source = "totalMonthlyPremiumAmount", qualifiedByName = "stringToBd")
+    @Mapping(target = "insuredAmount", source = "insuredAmount", qualifiedByName = "stringToBd")
+    PolicySummary toSummary(PolicyItem item);
 }
@@ -2,6 +2,7 @@ package com.acme.insurance.policy.infra.dynamodb.mapper;
 
 import com.acme.insurance.policy.domain.model.Policy;
 import com.acme.insurance.policy.domain.model.PolicyStatus;
+import com.acme.insurance.policy.infra.dynamodb.PolicyItem;
 import org.mapstruct.Named;
 
 import java.math.BigDecimal;
@@ -74,4 +75,13 @@ public class PolicyMapConverters {
                 ))
                 .toList();
     }
+
+    /* Item -> History: prefere o atributo binário e lê a lista de mapas de itens antigos */
+    @Named("historyOf")
+    public static List<Policy.StatusHistory> historyOf(PolicyItem item) {
+        if (item.getHistoryPacked() != null) {
+            return PolicyHistoryCodec.decode(item.getHistoryPacked());
+        }
+        return fromHistoryMap(item.getHistory());
+    }
 }
@@ -0,0 +1,45 @@
+package com.acme.insurance.policy.infra.fraud;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+final class AdaptiveTimeout {
+
+    private final long minNanos;
+    private final long maxNanos;
+    private final double percentile;
+    private final double multiplier;
+    private final int minSamples;
+    private final long[] window;
+    private int size;
+    private int next;
+
+    AdaptiveTimeout(Duration min, Duration max, double percentile, double multiplier, int window, int minSamples) {
+        this.minNanos = min.toNanos();
+        this.maxNanos = Math.max(minNanos, max.toNanos());
+        this.percentile = Math.min(1.0, Math.max(0.0, percentile));
+        this.multiplier = multiplier;
+        this.window = new long[Math.max(1, window)];
+        this.minSamples = Math.max(1, Math.min(minSamples, this.window.length));
+    }
+
+    synchronized void record(long latencyNanos) {
+        window[next] = latencyNanos;
+        next = (next + 1) % window.length;
+        if (size < window.length) size++;
+    }
+
+    Duration current() {
+        long[] samples;
+        synchronized (this) {
+            if (size < minSamples) {
+                return Duration.ofNanos(maxNanos);
+            }
+            samples = Arrays.copyOf(window, size);
+        }
+        Arrays.sort(samples);
+        int idx = Math.max(0, (int) Math.ceil(percentile * samples.length) - 1);
+        long target = (long) (samples[idx] * multiplier);
+        return Duration.ofNanos(Math.max(minNanos, Math.min(maxNanos, target)));
+    }
+}
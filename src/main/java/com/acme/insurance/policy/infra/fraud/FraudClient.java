@@ -1,6 +1,7 @@
 package com.acme.insurance.policy.infra.fraud;
 
 import com.acme.insurance.policy.app.dto.fraud.FraudAnalysisResponse;
+import feign.Request;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -14,4 +15,9 @@ public interface FraudClient {
     @GetMapping("/fraud_analysis")
     FraudAnalysisResponse analyze(@RequestParam("orderId") String orderId,
                                   @RequestParam("customerId") String customerId);
+
+    @GetMapping("/fraud_analysis")
+    FraudAnalysisResponse analyze(@RequestParam("orderId") String orderId,
+                                  @RequestParam("customerId") String customerId,
+                                  Request.Options options);
 }
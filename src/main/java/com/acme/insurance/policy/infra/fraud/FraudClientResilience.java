@@ -0,0 +1,147 @@
+package com.acme.insurance.policy.infra.fraud;
+
+import com.acme.insurance.policy.domain.fraud.FraudClassification;
+import com.acme.insurance.policy.infra.config.AppProps;
+import feign.Request;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Component
+public class FraudClientResilience {
+
+    private static final Logger log = LoggerFactory.getLogger(FraudClientResilience.class);
+
+    static final String NAME = "fraud";
+
+    private final boolean enabled;
+    private final FraudClassification fallback;
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final AdaptiveTimeout timeout;
+    private final Duration connectTimeout;
+    private final Counter rejectedByCircuit;
+    private final Counter rejectedByBulkhead;
+
+    public FraudClientResilience(AppProps props, MeterRegistry meterRegistry) {
+        var cfg = props.fraud().resilience();
+        this.enabled = cfg != null && cfg.enabled();
+        if (!enabled) {
+            this.fallback = null;
+            this.bulkhead = null;
+            this.circuitBreaker = null;
+            this.timeout = null;
+            this.connectTimeout = null;
+            this.rejectedByCircuit = null;
+            this.rejectedByBulkhead = null;
+            return;
+        }
+
+        var t = cfg.timeout();
+        this.fallback = cfg.fallbackClassification() == null || cfg.fallbackClassification().isBlank()
+                ? null
+                : FraudClassification.from(cfg.fallbackClassification());
+        this.timeout = new AdaptiveTimeout(t.min(), t.max(), t.percentile(), t.multiplier(), t.window(), t.minSamples());
+        this.connectTimeout = t.connect();
+
+        var bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(cfg.maxConcurrentCalls())
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        this.bulkhead = bulkheads.bulkhead(NAME);
+
+        Duration slowCall = slowCallThreshold(cfg.slowCallThreshold(), t.max());
+        var breakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(cfg.failureRateThreshold())
+                .slowCallDurationThreshold(slowCall)
+                .slowCallRateThreshold(cfg.slowCallRateThreshold())
+                .slidingWindowSize(cfg.slidingWindowSize())
+                .minimumNumberOfCalls(cfg.minimumNumberOfCalls())
+                .waitDurationInOpenState(cfg.waitInOpenState())
+                .build());
+        this.circuitBreaker = breakers.circuitBreaker(NAME);
+        circuitBreaker.getEventPublisher().onStateTransition(e ->
+                log.warn("[FRAUD] Circuit breaker {} -> {}",
+                        e.getStateTransition().getFromState(), e.getStateTransition().getToState()));
+
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(breakers).bindTo(meterRegistry);
+        this.rejectedByCircuit = Counter.builder("policy.fraud.rejected")
+                .description("Chamadas à API de fraudes recusadas sem sair da aplicação")
+                .tag("reason", "circuit_open")
+                .register(meterRegistry);
+        this.rejectedByBulkhead = Counter.builder("policy.fraud.rejected")
+                .description("Chamadas à API de fraudes recusadas sem sair da aplicação")
+                .tag("reason", "bulkhead_full")
+                .register(meterRegistry);
+        Gauge.builder("policy.fraud.timeout.current", timeout, a -> a.current().toNanos() / 1e9)
+                .description("Read timeout adaptativo aplicado às chamadas à API de fraudes")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        log.info("[FRAUD] Resiliência habilitada maxConcurrentCalls={} timeout={}..{} slowCall={} fallback={}",
+                cfg.maxConcurrentCalls(), t.min(), t.max(), slowCall, fallback);
+    }
+
+    /*
+     * Uma chamada só termina depois do read timeout se ele não a interromper, então um limiar de lentidão igual ou
+     * acima do teto adaptativo nunca é atingido. Nesse caso usa 3/4 do teto.
+     */
+    static Duration slowCallThreshold(Duration configured, Duration max) {
+        if (configured != null && configured.compareTo(max) < 0) {
+            return configured;
+        }
+        Duration clamped = max.multipliedBy(3).dividedBy(4);
+        log.warn("[FRAUD] slow-call-threshold={} não fica abaixo do timeout máximo {}, usando {}", configured, max, clamped);
+        return clamped;
+    }
+
+    public <T> T execute(Function<Request.Options, T> call) {
+        if (!enabled) {
+            return call.apply(null);
+        }
+        Duration readTimeout = timeout.current();
+        var options = new Request.Options(connectTimeout.toMillis(), TimeUnit.MILLISECONDS,
+                readTimeout.toMillis(), TimeUnit.MILLISECONDS, true);
+        Supplier<T> timed = () -> {
+            long start = System.nanoTime();
+            T result = call.apply(options);
+            timeout.record(System.nanoTime() - start);
+            return result;
+        };
+        try {
+            return Bulkhead.decorateSupplier(bulkhead, CircuitBreaker.decorateSupplier(circuitBreaker, timed)).get();
+        } catch (CallNotPermittedException e) {
+            rejectedByCircuit.increment();
+            throw e;
+        } catch (BulkheadFullException e) {
+            rejectedByBulkhead.increment();
+            throw e;
+        }
+    }
+
+    public FraudClassification fallback() {
+        return fallback;
+    }
+
+    CircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+}
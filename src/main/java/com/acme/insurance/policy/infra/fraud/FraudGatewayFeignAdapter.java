@@ -1,12 +1,30 @@
 package com.acme.insurance.policy.infra.fraud;
 
 import com.acme.insurance.policy.app.dto.fraud.FraudAnalysisResponse;
+import com.acme.insurance.policy.domain.fraud.FraudClassification;
 import com.acme.insurance.policy.domain.ports.out.FraudGateway;
+import com.acme.insurance.policy.infra.config.AppProps;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import feign.FeignException;
+import feign.RetryableException;
+import feign.codec.DecodeException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class FraudGatewayFeignAdapter implements FraudGateway {
@@ -14,16 +32,126 @@ public class FraudGatewayFeignAdapter implements FraudGateway {
     private static final Logger log = LoggerFactory.getLogger(FraudGatewayFeignAdapter.class);
 
     private final FraudClient client;
+    private final FraudClientResilience resilience;
+    private final MeterRegistry meterRegistry;
+    private final Cache<UUID, Cached> cache;
+    private final Timer remoteLatency;
+    private final Counter savedLatency;
 
-    public FraudGatewayFeignAdapter(FraudClient client) {
+    @Autowired
+    public FraudGatewayFeignAdapter(FraudClient client, FraudClientResilience resilience,
+                                    AppProps props, MeterRegistry meterRegistry) {
+        this(client, resilience, props, meterRegistry, Ticker.systemTicker());
+    }
+
+    FraudGatewayFeignAdapter(FraudClient client, FraudClientResilience resilience,
+                             AppProps props, MeterRegistry meterRegistry, Ticker ticker) {
         this.client = client;
+        this.resilience = resilience;
+        this.meterRegistry = meterRegistry;
+        var cfg = props.fraud().cache();
+        if (cfg == null || !cfg.enabled()) {
+            this.cache = null;
+            this.remoteLatency = null;
+            this.savedLatency = null;
+            return;
+        }
+
+        this.remoteLatency = Timer.builder("policy.fraud.remote.duration")
+                .description("Duração das chamadas à API de fraudes (carga e revalidação do cache)")
+                .register(meterRegistry);
+        this.savedLatency = Counter.builder("policy.fraud.cache.saved.latency")
+                .description("Tempo de chamada à API de fraudes evitado por hits no cache")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        /*
+         * Sem refreshAfterWrite: a API analisa um pedido, e revalidar em background chamaria a análise com o
+         * orderId de uma policy anterior. A carga roda na thread do request (cache.get) e a manutenção do Caffeine
+         * também, em vez de ir para o ForkJoinPool.commonPool().
+         */
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cfg.maxSize())
+                .expireAfterWrite(cfg.ttl())
+                .executor(Runnable::run)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "fraud-classification");
+        log.info("[FRAUD] Cache de classificação habilitado maxSize={} ttl={}", cfg.maxSize(), cfg.ttl());
     }
 
     @Override
     public FraudAnalysisResponse analyze(UUID orderId, UUID customerId) {
         log.info("[FRAUD] Iniciando análise de fraude - orderId={} customerId={}", orderId, customerId);
-        FraudAnalysisResponse response = client.analyze(orderId.toString(), customerId.toString());
+        try {
+            return lookup(orderId, customerId);
+        } catch (RuntimeException e) {
+            FraudClassification fallback = resilience.fallback();
+            if (fallback == null || !isUnavailable(e)) {
+                throw e;
+            }
+            meterRegistry.counter("policy.fraud.fallback", "reason", e.getClass().getSimpleName()).increment();
+            log.warn("[FRAUD] API de fraudes indisponível, usando classificação de fallback={} orderId={} causa={}",
+                    fallback, orderId, e.toString());
+            return new FraudAnalysisResponse(orderId.toString(), customerId.toString(), OffsetDateTime.now(),
+                    fallback.name(), List.of());
+        }
+    }
+
+    /*
+     * Só indisponibilidade da API usa o fallback: timeout ou erro de I/O (RetryableException), 5xx, circuito aberto
+     * e bulkhead cheio. 4xx e falha de decodificação apontam request ou contrato inválido e propagam.
+     */
+    static boolean isUnavailable(RuntimeException e) {
+        if (e instanceof CallNotPermittedException || e instanceof BulkheadFullException
+                || e instanceof RetryableException) {
+            return true;
+        }
+        return e instanceof FeignException feign && !(e instanceof DecodeException) && feign.status() >= 500;
+    }
+
+    private FraudAnalysisResponse lookup(UUID orderId, UUID customerId) {
+        if (cache == null) {
+            FraudAnalysisResponse response = remote(orderId.toString(), customerId);
+            log.info("[FRAUD] Resultado recebido - classification={}", response.classification());
+            return response;
+        }
+
+        boolean[] loaded = {false};
+        Cached cached = cache.get(customerId, id -> {
+            loaded[0] = true;
+            return fetch(orderId.toString(), id);
+        });
+        if (!loaded[0]) {
+            savedLatency.increment(cached.loadNanos() / 1e9);
+            log.info("[FRAUD] Classificação servida do cache - customerId={} classification={}",
+                    customerId, cached.response().classification());
+        }
+        return forOrder(cached.response(), orderId);
+    }
+
+    private Cached fetch(String orderId, UUID customerId) {
+        long start = System.nanoTime();
+        FraudAnalysisResponse response = remote(orderId, customerId);
+        long elapsed = System.nanoTime() - start;
+        remoteLatency.record(elapsed, TimeUnit.NANOSECONDS);
         log.info("[FRAUD] Resultado recebido - classification={}", response.classification());
-        return response;
+        return new Cached(response, elapsed);
+    }
+
+    private FraudAnalysisResponse remote(String orderId, UUID customerId) {
+        return resilience.execute(options -> options == null
+                ? client.analyze(orderId, customerId.toString())
+                : client.analyze(orderId, customerId.toString(), options));
     }
-}
\ No newline at end of file
+
+    private static FraudAnalysisResponse forOrder(FraudAnalysisResponse response, UUID orderId) {
+        if (orderId.toString().equals(response.orderId())) {
+            return response;
+        }
+        return new FraudAnalysisResponse(orderId.toString(), response.customerId(), response.analyzedAt(),
+                response.classification(), response.occurrences());
+    }
+
+    private record Cached(FraudAnalysisResponse response, long loadNanos) {}
+}
@@ -0,0 +1,124 @@
+package com.acme.insurance.policy.infra.fraud;
+
+import com.acme.insurance.policy.domain.fraud.FraudClassification;
+import com.acme.insurance.policy.domain.fraud.FraudRuleTable;
+import com.acme.insurance.policy.domain.fraud.FraudRules;
+import com.acme.insurance.policy.infra.config.AppProps;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class FraudRulesLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(FraudRulesLoader.class);
+
+    private static final TypeReference<Map<FraudClassification, Map<String, BigDecimal>>> LIMITS =
+            new TypeReference<>() {};
+
+    private final AppProps.Fraud.Rules cfg;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Path file;
+    private final Counter reloadSuccess;
+    private final Counter reloadFailure;
+    private ScheduledExecutorService executor;
+    private FileTime lastModified;
+
+    public FraudRulesLoader(AppProps props, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.cfg = props.fraud().rules();
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.file = cfg.file() == null || cfg.file().isBlank() ? null : Path.of(cfg.file());
+        this.reloadSuccess = Counter.builder("policy.fraud.rules.reloads")
+                .description("Recargas da tabela de limites de fraude")
+                .tag("result", "success")
+                .register(meterRegistry);
+        this.reloadFailure = Counter.builder("policy.fraud.rules.reloads")
+                .description("Recargas da tabela de limites de fraude")
+                .tag("result", "failure")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        var limits = cfg.limits();
+        if (limits == null || limits.isEmpty()) {
+            install(FraudRuleTable.defaults(), "padrão");
+        } else {
+            install(FraudRuleTable.compile(limits), "configuração");
+        }
+        if (file == null) {
+            return;
+        }
+        reloadIfChanged();
+        Duration interval = cfg.reloadInterval();
+        executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("fraud-rules-reload-"));
+        executor.scheduleWithFixedDelay(this::reloadIfChanged, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        log.info("[FRAUD] Monitorando arquivo de regras {} a cada {}", file, interval);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    synchronized boolean reloadIfChanged() {
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            if (modified.equals(lastModified)) {
+                return false;
+            }
+            FraudRuleTable table = FraudRuleTable.compile(objectMapper.readValue(file.toFile(), LIMITS));
+            lastModified = modified;
+            install(table, file.toString());
+            reloadSuccess.increment();
+            return true;
+        } catch (IOException | RuntimeException e) {
+            reloadFailure.increment();
+            log.warn("[FRAUD] Arquivo de regras {} inválido, mantendo a tabela atual: {}", file, e.toString());
+            return false;
+        }
+    }
+
+    private void install(FraudRuleTable table, String source) {
+        FraudClassification[] classifications = FraudClassification.values();
+        Counter[][][] counters = new Counter[classifications.length][table.categoryCount()][2];
+        for (FraudClassification cls : classifications) {
+            for (int category = 0; category < table.categoryCount(); category++) {
+                for (int outcome = 0; outcome < 2; outcome++) {
+                    counters[cls.ordinal()][category][outcome] = Counter.builder("policy.fraud.rules.evaluations")
+                            .description("Avaliações das regras de fraude por classificação, categoria e resultado")
+                            .tag("classification", cls.name())
+                            .tag("category", table.categoryName(category))
+                            .tag("outcome", outcome == 1 ? "approved" : "rejected")
+                            .register(meterRegistry);
+                }
+            }
+        }
+        FraudRules.install(table, (cls, categoryId, approved) ->
+                counters[cls.ordinal()][categoryId][approved ? 1 : 0].increment());
+        log.info("[FRAUD] Tabela de regras instalada - origem={} categorias={}", source, table.categoryCount());
+    }
+}
@@ -1,49 +1,180 @@
 package com.acme.insurance.policy.infra.memory;
 
+import com.acme.insurance.policy.domain.ports.out.CorrelationStore;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.EnumSet;
+import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+/*
+ * Cada policy tem um único Slot cujo estado é um long: epoch-millis da última marcação nos bits altos e a
+ * máscara de marcas nos 2 bits baixos, atualizado por CAS. Marcar uma policy já conhecida e consultar
+ * bothDone não alocam. A expiração usa uma roda de tempo com baldes de TICK: o slot entra no balde do seu
+ * prazo ao ser criado e só os baldes vencidos são percorridos; slot renovado é reagendado para o novo prazo.
+ */
 @Component
-public class InMemoryCorrelationStore {
+public class InMemoryCorrelationStore implements CorrelationStore {
 
-    public enum Mark { PAYMENT_CONFIRMED, SUBSCRIPTION_AUTHORIZED }
-    public record Entry(EnumSet<Mark> marks, Instant lastUpdate) {}
+    static final Duration TICK = Duration.ofMinutes(1);
 
-    private final ConcurrentHashMap<UUID, Entry> map = new ConcurrentHashMap<>();
+    private static final int PAYMENT = 1 << Mark.PAYMENT_CONFIRMED.ordinal();
+    private static final int SUBSCRIPTION = 1 << Mark.SUBSCRIPTION_AUTHORIZED.ordinal();
+    private static final int BOTH = PAYMENT | SUBSCRIPTION;
+    private static final long MARKS_MASK = 0b11;
+    private static final long DEAD = -1L;
+
+    private final ConcurrentHashMap<UUID, Slot> map = new ConcurrentHashMap<>();
     private final Duration ttl = Duration.ofMinutes(30);
+    private final long tickMillis = TICK.toMillis();
+    private final Queue<Slot>[] wheel;
+    private volatile long cursor;
+
+    @SuppressWarnings("unchecked")
+    public InMemoryCorrelationStore() {
+        this.wheel = new Queue[(int) (ttl.toMillis() / tickMillis) + 2];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.cursor = System.currentTimeMillis() / tickMillis;
+    }
 
+    @Override
     public void markPayment(UUID id, Instant when) {
-        map.compute(id, (k, v) -> {
-            var set = v == null ? EnumSet.noneOf(Mark.class) : EnumSet.copyOf(v.marks());
-            set.add(Mark.PAYMENT_CONFIRMED);
-            return new Entry(set, when);
-        });
+        mark(id, PAYMENT, when.toEpochMilli());
     }
 
+    @Override
     public void markSubscription(UUID id, Instant when) {
-        map.compute(id, (k, v) -> {
-            var set = v == null ? EnumSet.noneOf(Mark.class) : EnumSet.copyOf(v.marks());
-            set.add(Mark.SUBSCRIPTION_AUTHORIZED);
-            return new Entry(set, when);
-        });
+        mark(id, SUBSCRIPTION, when.toEpochMilli());
+    }
+
+    private void mark(UUID id, int bit, long at) {
+        while (true) {
+            Slot slot = map.get(id);
+            if (slot == null) {
+                slot = map.computeIfAbsent(id, k -> schedule(new Slot(k, at), cursor));
+            }
+            if (slot.mark(bit, at)) {
+                return;
+            }
+            map.remove(id, slot);
+        }
     }
 
+    @Override
     public boolean bothDone(UUID id) {
-        var v = map.get(id);
-        return v != null && v.marks().containsAll(EnumSet.of(Mark.PAYMENT_CONFIRMED, Mark.SUBSCRIPTION_AUTHORIZED));
+        Slot slot = map.get(id);
+        if (slot == null) {
+            return false;
+        }
+        long s = slot.state;
+        return s != DEAD && (s & BOTH) == BOTH;
+    }
+
+    @Override
+    public void clear(UUID id) {
+        Slot slot = map.remove(id);
+        if (slot != null) {
+            slot.kill();
+        }
+    }
+
+    int size() {
+        return map.size();
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    synchronized void evictExpired() {
+        long now = System.currentTimeMillis();
+        long cutoff = now - ttl.toMillis();
+        long nowTick = now / tickMillis;
+        long from = Math.max(cursor, nowTick - wheel.length + 1);
+        for (long tick = from; tick <= nowTick; tick++) {
+            Queue<Slot> bucket = wheel[(int) (tick % wheel.length)];
+            for (int n = bucket.size(); n > 0; n--) {
+                Slot slot = bucket.poll();
+                if (slot == null) {
+                    break;
+                }
+                if (slot.expireIfBefore(cutoff)) {
+                    map.remove(slot.id, slot);
+                } else {
+                    schedule(slot, tick + 1);
+                }
+            }
+        }
+        cursor = nowTick;
+    }
+
+    private Slot schedule(Slot slot, long minTick) {
+        long deadlineTick = (slot.lastUpdate() + ttl.toMillis()) / tickMillis;
+        long tick = Math.max(deadlineTick, minTick);
+        tick = Math.min(tick, minTick + wheel.length - 1);
+        wheel[(int) (tick % wheel.length)].add(slot);
+        return slot;
     }
 
-    public void clear(UUID id) { map.remove(id); }
+    private static final class Slot {
+
+        private static final VarHandle STATE;
+
+        static {
+            try {
+                STATE = MethodHandles.lookup().findVarHandle(Slot.class, "state", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        final UUID id;
+        volatile long state;
+
+        Slot(UUID id, long at) {
+            this.id = id;
+            this.state = at << 2;
+        }
+
+        long lastUpdate() {
+            return state >>> 2;
+        }
+
+        boolean mark(int bit, long at) {
+            while (true) {
+                long s = state;
+                if (s == DEAD) {
+                    return false;
+                }
+                long next = (at << 2) | (s & MARKS_MASK) | bit;
+                if (STATE.compareAndSet(this, s, next)) {
+                    return true;
+                }
+            }
+        }
+
+        boolean expireIfBefore(long cutoff) {
+            while (true) {
+                long s = state;
+                if (s == DEAD) {
+                    return true;
+                }
+                if ((s >>> 2) >= cutoff) {
+                    return false;
+                }
+                if (STATE.compareAndSet(this, s, DEAD)) {
+                    return true;
+                }
+            }
+        }
 
-    @Scheduled(fixedDelay = 300_000)
-    void evictExpired() {
-        var cutoff = Instant.now().minus(ttl);
-        map.entrySet().removeIf(e -> e.getValue().lastUpdate().isBefore(cutoff));
+        void kill() {
+            state = DEAD;
+        }
     }
 }
@@ -0,0 +1,78 @@
+package com.acme.insurance.policy.infra.memory;
+
+import com.acme.insurance.policy.domain.ports.out.IdempotencyStore;
+import com.acme.insurance.policy.infra.config.AppProps;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/*
+ * Chaves de idempotência só deste nó, expiradas pelo mesmo ttl da tabela do DynamoDB. Réplicas não enxergam
+ * as chaves umas das outras; para deduplicar entre réplicas habilite app.dynamodb.idempotency.
+ */
+@Component
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private record Claim(UUID policyId, String requestHash, boolean completed, Instant leaseUntil) {}
+
+    private final Cache<String, Claim> entries;
+    private final Duration lease;
+    private final Clock clock;
+
+    public InMemoryIdempotencyStore(AppProps props) {
+        this(props, Clock.systemUTC());
+    }
+
+    InMemoryIdempotencyStore(AppProps props, Clock clock) {
+        var cfg = props.dynamodb().idempotency();
+        this.entries = Caffeine.newBuilder()
+                .expireAfterWrite(cfg.ttl())
+                .build();
+        this.lease = cfg.lease();
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<Entry> putIfAbsent(String key, UUID policyId, String requestHash) {
+        Instant now = clock.instant();
+        var existing = entries.asMap().putIfAbsent(key, new Claim(policyId, requestHash, false, now.plus(lease)));
+        return Optional.ofNullable(existing)
+                .map(c -> new Entry(c.policyId(), c.requestHash(), c.completed(),
+                        !c.completed() && !c.leaseUntil().isAfter(now)));
+    }
+
+    @Override
+    public boolean takeOver(String key, UUID policyId) {
+        Instant now = clock.instant();
+        var current = entries.getIfPresent(key);
+        if (current == null || current.completed() || !current.policyId().equals(policyId)
+                || current.leaseUntil().isAfter(now)) {
+            return false;
+        }
+        return entries.asMap().replace(key, current,
+                new Claim(policyId, current.requestHash(), false, now.plus(lease)));
+    }
+
+    @Override
+    public void complete(String key) {
+        entries.asMap().computeIfPresent(key, (k, c) -> new Claim(c.policyId(), c.requestHash(), true, c.leaseUntil()));
+    }
+
+    @Override
+    public void expireLease(String key) {
+        entries.asMap().computeIfPresent(key, (k, c) -> c.completed()
+                ? c
+                : new Claim(c.policyId(), c.requestHash(), false, Instant.EPOCH));
+    }
+
+    @Override
+    public void release(String key) {
+        entries.invalidate(key);
+    }
+}
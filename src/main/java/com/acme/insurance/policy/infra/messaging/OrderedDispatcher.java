@@ -0,0 +1,153 @@
+package com.acme.insurance.policy.infra.messaging;
+
+import com.acme.insurance.policy.infra.config.AppProps;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/*
+ * Distribui o trabalho dos consumidores de resultado em N lanes de uma thread, escolhidas pelo hash do
+ * requestId: policies diferentes andam em paralelo, eventos da mesma policy (pagamento e subscrição,
+ * de qualquer fila) são aplicados em ordem, cada um lendo o estado gravado pelo anterior.
+ * Desabilitado, o trabalho roda na própria thread do listener, como antes.
+ */
+@Component
+public class OrderedDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderedDispatcher.class);
+
+    private final ThreadPoolExecutor[] lanes;
+    private final AtomicLongArray finished;
+
+    @Autowired
+    public OrderedDispatcher(AppProps props, MeterRegistry meterRegistry) {
+        var cfg = props.sqs().ordering();
+        if (cfg == null || !cfg.enabled()) {
+            this.lanes = null;
+            this.finished = null;
+            return;
+        }
+        this.lanes = new ThreadPoolExecutor[Math.max(1, cfg.lanes())];
+        this.finished = new AtomicLongArray(lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            String name = "sqs-lane-" + i;
+            var lane = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread t = new Thread(r, name);
+                t.setDaemon(true);
+                return t;
+            });
+            Gauge.builder("policy.sqs.dispatch.lane.depth", lane, l -> l.getQueue().size())
+                    .description("Eventos aguardando na lane de processamento ordenado por policy")
+                    .tag("lane", Integer.toString(i))
+                    .register(meterRegistry);
+            lanes[i] = lane;
+        }
+        log.info("[SQS] Processamento ordenado por policy habilitado lanes={}", lanes.length);
+    }
+
+    private OrderedDispatcher() {
+        this.lanes = null;
+        this.finished = null;
+    }
+
+    static OrderedDispatcher inline() {
+        return new OrderedDispatcher();
+    }
+
+    int lane(UUID key) {
+        int h = key.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), lanes.length);
+    }
+
+    <T> CompletableFuture<T> submit(UUID key, Supplier<T> work) {
+        if (lanes == null) {
+            try {
+                return CompletableFuture.completedFuture(work.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        int lane = lane(key);
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return work.get();
+            } finally {
+                finished.incrementAndGet(lane);
+            }
+        }, lanes[lane]);
+    }
+
+    /* Marca a posição das lanes; chame antes de ler o estado que as tarefas submetidas pela marca vão usar */
+    Mark mark() {
+        return new Mark();
+    }
+
+    /*
+     * Tarefas submetidas pela marca recebem true quando, ao rodar, nenhuma tarefa de fora dela terminou na sua
+     * lane desde a marca: o estado lido depois da marca ainda é o atual. Sem lanes não há ordem entre
+     * listeners e a leitura é sempre considerada atual, como antes.
+     */
+    final class Mark {
+
+        private final long[] base;
+        private final int[] submitted;
+
+        private Mark() {
+            this.base = lanes == null ? null : new long[lanes.length];
+            this.submitted = lanes == null ? null : new int[lanes.length];
+            for (int i = 0; base != null && i < base.length; i++) {
+                base[i] = finished.get(i);
+            }
+        }
+
+        <T> CompletableFuture<T> submit(UUID key, Function<Boolean, T> work) {
+            if (lanes == null) {
+                return OrderedDispatcher.this.submit(key, () -> work.apply(true));
+            }
+            int lane = lane(key);
+            long expected = base[lane] + submitted[lane]++;
+            return OrderedDispatcher.this.submit(key, () -> work.apply(finished.get(lane) == expected));
+        }
+    }
+
+    /* Executa na lane da policy e bloqueia o listener até o fim, para o ack continuar refletindo o resultado */
+    void run(UUID key, Runnable work) {
+        if (lanes == null) {
+            work.run();
+            return;
+        }
+        try {
+            submit(key, () -> {
+                work.run();
+                return null;
+            }).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
+
+    @PreDestroy
+    void close() throws InterruptedException {
+        if (lanes == null) return;
+        for (var lane : lanes) {
+            lane.shutdown();
+        }
+        for (var lane : lanes) {
+            lane.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.acme.insurance.policy.infra.messaging;
+
+import com.acme.insurance.policy.domain.events.PolicyRequestStatusChangedEvent;
+import com.acme.insurance.policy.domain.ports.out.PolicyRequestPublisher;
+import com.acme.insurance.policy.infra.config.AppProps;
+import com.acme.insurance.policy.infra.dynamodb.OutboxItem;
+import com.acme.insurance.policy.infra.dynamodb.OutboxShardLeases;
+import com.acme.insurance.policy.infra.dynamodb.PolicyOutboxDynamoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Todas as réplicas agendam todos os shards, mas só drena um shard quem tem a lease dele (OutboxShardLeases),
+ * então cada evento é publicado por uma réplica só e na ordem do shard. A lease é conferida antes de cada lote.
+ */
+@Component
+@ConditionalOnProperty(name = "app.dynamodb.outbox.enabled", havingValue = "true")
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final PolicyOutboxDynamoRepository outbox;
+    private final OutboxShardLeases leases;
+    private final PolicyRequestPublisher publisher;
+    private final int shards;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final ScheduledExecutorService executor;
+    private final Counter relayed;
+    private final Counter failures;
+    private final Timer lag;
+
+    public OutboxRelay(PolicyOutboxDynamoRepository outbox, OutboxShardLeases leases,
+                       PolicyRequestPublisher publisher, AppProps props, MeterRegistry meterRegistry) {
+        var cfg = props.dynamodb().outbox();
+        this.outbox = outbox;
+        this.leases = leases;
+        this.publisher = publisher;
+        this.shards = Math.max(1, cfg.shards());
+        this.batchSize = Math.max(1, Math.min(SqsBatchingSender.SQS_MAX_BATCH, cfg.batchSize()));
+        this.pollInterval = cfg.pollInterval();
+        this.executor = Executors.newScheduledThreadPool(shards, new CustomizableThreadFactory("outbox-relay-"));
+        this.relayed = Counter.builder("policy.outbox.relayed")
+                .description("Eventos do outbox publicados no SQS")
+                .register(meterRegistry);
+        this.failures = Counter.builder("policy.outbox.failures")
+                .description("Ciclos do relay interrompidos por erro (serão retomados)")
+                .register(meterRegistry);
+        this.lag = Timer.builder("policy.outbox.lag")
+                .description("Tempo entre a transição gravada e a publicação do evento")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        for (int shard = 0; shard < shards; shard++) {
+            int s = shard;
+            executor.scheduleWithFixedDelay(() -> drainShard(s), 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        log.info("[OUTBOX] Relay iniciado shards={} batchSize={} pollInterval={}", shards, batchSize, pollInterval);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+        leases.releaseAll();
+    }
+
+    int drainShard(int shard) {
+        int total = 0;
+        try {
+            while (leases.holds(shard)) {
+                List<OutboxItem> items = outbox.fetch(shard, batchSize);
+                if (items.isEmpty()) {
+                    break;
+                }
+                List<PolicyRequestStatusChangedEvent> events = items.stream().map(OutboxItem::toEvent).toList();
+                publisher.publishAll(events);
+                outbox.delete(items);
+
+                Instant now = Instant.now();
+                events.forEach(e -> lag.record(Duration.between(e.occurredAt(), now)));
+                relayed.increment(events.size());
+                total += events.size();
+                if (items.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.error("[OUTBOX] Falha ao drenar shard={} (eventos permanecem no outbox)", shard, e);
+        }
+        if (total > 0) {
+            log.info("[OUTBOX] {} eventos publicados do shard={}", total, shard);
+        }
+        return total;
+    }
+}
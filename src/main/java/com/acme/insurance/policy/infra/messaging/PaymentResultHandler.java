@@ -0,0 +1,47 @@
+package com.acme.insurance.policy.infra.messaging;
+
+import com.acme.insurance.policy.app.dto.integration.PaymentResultEvent;
+import com.acme.insurance.policy.application.PolicyStateMachine;
+import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.domain.ports.out.CorrelationStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+/* Aplica um resultado de pagamento a uma policy já carregada; usado pelo listener unitário e pelo em lote. */
+@Component
+@ConditionalOnExpression("${app.sqs.listeners.enabled:true}")
+public class PaymentResultHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentResultHandler.class);
+
+    private final PolicyStateMachine policyStateMachine;
+    private final CorrelationStore correlationStore;
+
+    public PaymentResultHandler(PolicyStateMachine policyStateMachine, CorrelationStore correlationStore) {
+        this.policyStateMachine = policyStateMachine;
+        this.correlationStore = correlationStore;
+    }
+
+    public void apply(PaymentResultEvent e, Policy policy) {
+        if (policy.isFinalStatus()) {
+            log.info("Policy em estado final ({}). Ignorando evento de pagamento. id={}",
+                    policy.status(), policy.id());
+            correlationStore.clear(e.requestId());
+            return;
+        }
+        switch (e.status().toUpperCase()) {
+            case "DENIED" -> {
+                log.info("Pagamento negado -> delegando para FSM");
+                policyStateMachine.onPaymentDenied(policy);
+            }
+            case "CONFIRMED" -> {
+                log.info("Pagamento confirmado -> marcando correlação e delegando para FSM");
+                correlationStore.markPayment(e.requestId(), e.occurredAt());
+                policyStateMachine.onPaymentConfirmed(policy);
+            }
+            default -> log.warn("Status de pagamento não reconhecido: {} (ignorando)", e.status());
+        }
+    }
+}
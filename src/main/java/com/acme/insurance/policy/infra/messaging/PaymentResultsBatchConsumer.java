@@ -0,0 +1,44 @@
+package com.acme.insurance.policy.infra.messaging;
+
+import com.acme.insurance.policy.app.dto.integration.PaymentResultEvent;
+import com.acme.insurance.policy.domain.ports.out.PolicyRepository;
+import io.awspring.cloud.sqs.annotation.SqsListener;
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/*
+ * Modo em lote da fila de pagamentos: carrega todas as policies do lote com um BatchGetItem e
+ * reconhece só as mensagens tratadas com sucesso; as demais voltam à fila após o visibility timeout.
+ */
+@Component
+@ConditionalOnExpression("${app.sqs.listeners.enabled:true} and ${app.sqs.listener.batch:false}")
+public class PaymentResultsBatchConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentResultsBatchConsumer.class);
+
+    private final ResultsBatchProcessor<PaymentResultEvent> processor;
+
+    public PaymentResultsBatchConsumer(PolicyRepository policyRepository,
+                                       PaymentResultHandler handler,
+                                       OrderedDispatcher dispatcher,
+                                       MeterRegistry meterRegistry) {
+        this.processor = new ResultsBatchProcessor<>("payments", policyRepository, PaymentResultEvent::requestId,
+                handler::apply, dispatcher, meterRegistry);
+    }
+
+    @SqsListener(value = "${app.sqs.queues.payments}", acknowledgementMode = "MANUAL")
+    public void onPayments(List<Message<PaymentResultEvent>> messages, BatchAcknowledgement<PaymentResultEvent> ack) {
+        log.info("[SQS] Lote de pagamentos recebido - mensagens={}", messages.size());
+        List<Message<PaymentResultEvent>> handled = processor.process(messages);
+        if (!handled.isEmpty()) {
+            ack.acknowledge(handled);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.acme.insurance.policy.infra.messaging;
+
+import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.domain.ports.out.PolicyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+final class ResultsBatchProcessor<E> {
+
+    private static final Logger log = LoggerFactory.getLogger(ResultsBatchProcessor.class);
+
+    private final String queue;
+    private final PolicyRepository policyRepository;
+    private final Function<E, UUID> requestId;
+    private final BiConsumer<E, Policy> handler;
+    private final OrderedDispatcher dispatcher;
+    private final DistributionSummary batchSize;
+    private final Counter handled;
+    private final Counter notFound;
+    private final Counter failed;
+
+    ResultsBatchProcessor(String queue, PolicyRepository policyRepository, Function<E, UUID> requestId,
+                          BiConsumer<E, Policy> handler, OrderedDispatcher dispatcher, MeterRegistry meterRegistry) {
+        this.queue = queue;
+        this.policyRepository = policyRepository;
+        this.requestId = requestId;
+        this.handler = handler;
+        this.dispatcher = dispatcher;
+        this.batchSize = DistributionSummary.builder("policy.sqs.consumer.batch.size")
+                .description("Mensagens entregues por lote ao listener")
+                .tag("queue", queue)
+                .register(meterRegistry);
+        this.handled = counter(meterRegistry, "handled");
+        this.notFound = counter(meterRegistry, "not_found");
+        this.failed = counter(meterRegistry, "failed");
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("policy.sqs.consumer.messages")
+                .description("Mensagens de resultado processadas pelo listener em lote")
+                .tag("queue", queue)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /*
+     * Devolve as mensagens que podem ser reconhecidas. Falha no BatchGetItem propaga e nada é reconhecido;
+     * falha de uma mensagem só retém aquela mensagem. As mensagens vão para a lane da policy no
+     * OrderedDispatcher. A policy lida no lote só é usada se nada rodou na lane desde a leitura (outro
+     * listener pode ter enfileirado um evento da mesma policy antes); senão, e no segundo evento da mesma
+     * policy no lote, a tarefa relê o estado atual dentro da lane.
+     */
+    List<Message<E>> process(List<Message<E>> messages) {
+        batchSize.record(messages.size());
+        Set<UUID> ids = new LinkedHashSet<>();
+        messages.forEach(m -> ids.add(requestId.apply(m.getPayload())));
+
+        var mark = dispatcher.mark();
+        Map<UUID, Policy> loaded = new HashMap<>();
+        policyRepository.findAllByIds(ids).forEach(p -> loaded.put(p.id(), p));
+
+        Set<UUID> seen = new HashSet<>();
+        List<CompletableFuture<Void>> results = new ArrayList<>(messages.size());
+        for (Message<E> message : messages) {
+            E event = message.getPayload();
+            UUID id = requestId.apply(event);
+            boolean first = seen.add(id);
+            results.add(mark.submit(id, current -> {
+                Policy policy = first && current ? loaded.get(id) : policyRepository.findById(id).orElse(null);
+                if (policy == null) {
+                    log.warn("Policy não encontrada para requestId={} (ignorando mensagem de {})", id, queue);
+                    notFound.increment();
+                    return null;
+                }
+                handler.accept(event, policy);
+                handled.increment();
+                return null;
+            }));
+        }
+
+        List<Message<E>> ack = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            try {
+                results.get(i).join();
+                ack.add(messages.get(i));
+            } catch (CompletionException ex) {
+                failed.increment();
+                log.warn("[SQS] Falha ao processar mensagem de {} requestId={}; será reentregue: {}",
+                        queue, requestId.apply(messages.get(i).getPayload()), ex.getCause().toString());
+            }
+        }
+        log.info("[SQS] Lote de {} processado - mensagens={} policies={} reconhecidas={}",
+                queue, messages.size(), loaded.size(), ack.size());
+        return ack;
+    }
+}
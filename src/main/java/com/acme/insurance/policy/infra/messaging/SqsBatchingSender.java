@@ -0,0 +1,193 @@
+package com.acme.insurance.policy.infra.messaging;
+
+import com.acme.insurance.policy.infra.config.AppProps;
+import io.awspring.cloud.sqs.operations.SendBatchOperationFailedException;
+import io.awspring.cloud.sqs.operations.SendResult;
+import io.awspring.cloud.sqs.operations.SqsTemplate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+final class SqsBatchingSender implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SqsBatchingSender.class);
+
+    static final int SQS_MAX_BATCH = 10;
+
+    private final SqsTemplate sqsTemplate;
+    private final String queueName;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final BlockingQueue<Pending> queue;
+    private final Semaphore inFlight;
+    private final Thread dispatcher;
+    private final DistributionSummary fillRatio;
+    private final Timer publishLatency;
+    private final Counter failures;
+    private volatile boolean running = true;
+
+    SqsBatchingSender(SqsTemplate sqsTemplate, String queueName, AppProps.Sqs.Batching cfg, MeterRegistry meterRegistry) {
+        this.sqsTemplate = sqsTemplate;
+        this.queueName = queueName;
+        this.maxBatchSize = Math.max(1, Math.min(SQS_MAX_BATCH, cfg.maxBatchSize()));
+        this.lingerNanos = cfg.linger().toNanos();
+        this.maxAttempts = Math.max(1, cfg.maxAttempts());
+        this.retryBackoff = cfg.retryBackoff();
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, cfg.queueCapacity()));
+        this.inFlight = new Semaphore(Math.max(1, cfg.maxInFlight()));
+        this.fillRatio = DistributionSummary.builder("policy.sqs.batch.fill.ratio")
+                .description("Mensagens por SendMessageBatch em relação ao máximo de 10")
+                .tag("queue", queueName)
+                .register(meterRegistry);
+        this.publishLatency = Timer.builder("policy.sqs.publish.latency")
+                .description("Tempo entre o enfileiramento do evento e a confirmação da fila")
+                .tag("queue", queueName)
+                .register(meterRegistry);
+        this.failures = Counter.builder("policy.sqs.batch.failures")
+                .description("Mensagens recusadas pela fila após todas as tentativas")
+                .tag("queue", queueName)
+                .register(meterRegistry);
+        this.dispatcher = new Thread(this::dispatchLoop, "sqs-batch-" + queueName);
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+        log.info("[SQS] Envio em lote habilitado para a fila {} maxBatchSize={} linger={}",
+                queueName, maxBatchSize, cfg.linger());
+    }
+
+    CompletableFuture<Void> submit(Message<Object> message) {
+        var pending = new Pending(message, System.nanoTime());
+        if (!running || !queue.offer(pending)) {
+            return CompletableFuture.failedFuture(new IllegalStateException(
+                    "Fila de envio em lote indisponível ou cheia para " + queueName));
+        }
+        return pending.done;
+    }
+
+    private void dispatchLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                List<Pending> batch = new ArrayList<>(maxBatchSize);
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatchSize) {
+                    long wait = deadline - System.nanoTime();
+                    Pending next = wait > 0 ? queue.poll(wait, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                inFlight.acquire();
+                send(batch, 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        queue.forEach(p -> p.done.completeExceptionally(
+                new IllegalStateException("Envio em lote encerrado para " + queueName)));
+    }
+
+    private void send(List<Pending> batch, int attempt) {
+        fillRatio.record((double) batch.size() / SQS_MAX_BATCH);
+        Map<UUID, Pending> byId = new HashMap<>();
+        List<Message<Object>> messages = new ArrayList<>(batch.size());
+        batch.forEach(p -> {
+            byId.put(p.message.getHeaders().getId(), p);
+            messages.add(p.message);
+        });
+
+        CompletableFuture<SendResult.Batch<Object>> call;
+        try {
+            call = sqsTemplate.sendManyAsync(queueName, messages);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((result, error) -> {
+            SendResult.Batch<?> outcome = error == null ? result : partialResult(error);
+            if (outcome == null) {
+                log.warn("[SQS] Falha no SendMessageBatch de {} mensagens para {} (tentativa {}): {}",
+                        batch.size(), queueName, attempt, error.toString());
+                retryOrFail(batch, attempt, error.toString());
+                return;
+            }
+            List<Pending> failed = new ArrayList<>();
+            outcome.failed().forEach(f -> {
+                Pending p = byId.remove(f.message().getHeaders().getId());
+                if (p != null) failed.add(p);
+            });
+            byId.values().forEach(this::complete);
+            if (!failed.isEmpty()) {
+                log.warn("[SQS] {} de {} mensagens recusadas pela fila {} (tentativa {})",
+                        failed.size(), batch.size(), queueName, attempt);
+                retryOrFail(failed, attempt, "falha parcial no SendMessageBatch");
+            } else {
+                inFlight.release();
+            }
+        });
+    }
+
+    /*
+     * Com a estratégia padrão do SqsTemplate (THROW), uma falha parcial chega como SendBatchOperationFailedException
+     * carregando o resultado do lote; só as entradas em failed() devem ser reenviadas. Qualquer outro erro não diz
+     * o que foi entregue e devolve null.
+     */
+    static SendResult.Batch<?> partialResult(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof SendBatchOperationFailedException e ? e.getSendBatchResult() : null;
+    }
+
+    private void retryOrFail(List<Pending> batch, int attempt, String reason) {
+        if (attempt >= maxAttempts) {
+            inFlight.release();
+            failures.increment(batch.size());
+            var error = new IllegalStateException("Falha ao enviar " + batch.size() + " eventos para a fila "
+                    + queueName + " após " + attempt + " tentativas: " + reason);
+            batch.forEach(p -> p.done.completeExceptionally(error));
+            return;
+        }
+        CompletableFuture.delayedExecutor(retryBackoff.toMillis() * attempt, TimeUnit.MILLISECONDS)
+                .execute(() -> send(batch, attempt + 1));
+    }
+
+    private void complete(Pending p) {
+        publishLatency.record(System.nanoTime() - p.enqueuedAt, TimeUnit.NANOSECONDS);
+        p.done.complete(null);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        dispatcher.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private static final class Pending {
+        final Message<Object> message;
+        final long enqueuedAt;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Pending(Message<Object> message, long enqueuedAt) {
+            this.message = message;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
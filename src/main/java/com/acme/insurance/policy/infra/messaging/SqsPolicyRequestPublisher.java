@@ -4,12 +4,27 @@ import com.acme.insurance.policy.domain.events.PolicyRequestCreatedEvent;
 import com.acme.insurance.policy.domain.events.PolicyRequestStatusChangedEvent;
 import com.acme.insurance.policy.domain.ports.out.PolicyRequestPublisher;
 import com.acme.insurance.policy.infra.config.AppProps;
+import io.awspring.cloud.sqs.operations.SendBatchOperationFailedException;
+import io.awspring.cloud.sqs.operations.SendResult;
 import io.awspring.cloud.sqs.operations.SqsTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 @Component
 @ConditionalOnProperty(name = "app.sqs.enabled", havingValue = "true", matchIfMissing = true)
 public class SqsPolicyRequestPublisher implements PolicyRequestPublisher {
@@ -18,16 +33,36 @@ public class SqsPolicyRequestPublisher implements PolicyRequestPublisher {
 
     private final String queueName;
     private final SqsTemplate sqsTemplate;
+    private final SqsBatchingSender batchingSender;
+    private final Duration sendTimeout;
 
-    public SqsPolicyRequestPublisher(SqsTemplate sqsTemplate, AppProps props) {
+    public SqsPolicyRequestPublisher(SqsTemplate sqsTemplate, AppProps props, MeterRegistry meterRegistry) {
         this.sqsTemplate = sqsTemplate;
         this.queueName = props.sqs().queues().orders();
+        var batching = props.sqs().batching();
+        if (batching != null && batching.enabled()) {
+            this.batchingSender = new SqsBatchingSender(sqsTemplate, queueName, batching, meterRegistry);
+            this.sendTimeout = batching.sendTimeout();
+        } else {
+            this.batchingSender = null;
+            this.sendTimeout = null;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (batchingSender != null) batchingSender.close();
     }
 
     @Override
     public void publish(PolicyRequestCreatedEvent event) {
         log.info("[SQS] Enviando PolicyRequestCreatedEvent para a fila {} - policyId={} status={}",
                 queueName, event.requestId(), event.status());
+        if (batchingSender != null) {
+            await(List.of(batchingSender.submit(message(event, "PolicyRequestCreatedEvent", event.status()))));
+            log.info("[SQS] PolicyRequestCreatedEvent enviado com sucesso - policyId={}", event.requestId());
+            return;
+        }
         sqsTemplate.send(to -> to
                 .queue(queueName)
                 .header("eventType", "PolicyRequestCreatedEvent")
@@ -40,6 +75,11 @@ public class SqsPolicyRequestPublisher implements PolicyRequestPublisher {
     public void publish(PolicyRequestStatusChangedEvent event) {
         log.info("[SQS] Enviando PolicyRequestStatusChangedEvent para a fila {} - policyId={} status={}",
                 queueName, event.requestId(), event.status());
+        if (batchingSender != null) {
+            await(List.of(batchingSender.submit(message(event, "PolicyRequestStatusChangedEvent", event.status()))));
+            log.info("[SQS] PolicyRequestStatusChangedEvent enviado com sucesso - policyId={}", event.requestId());
+            return;
+        }
         sqsTemplate.send(to -> to
                 .queue(queueName)
                 .header("eventType", "PolicyRequestStatusChangedEvent")
@@ -47,4 +87,90 @@ public class SqsPolicyRequestPublisher implements PolicyRequestPublisher {
                 .payload(event));
         log.info("[SQS] PolicyRequestStatusChangedEvent enviado com sucesso - policyId={}", event.requestId());
     }
+
+    @Override
+    public void publishAll(List<PolicyRequestStatusChangedEvent> events) {
+        if (batchingSender != null && !events.isEmpty()) {
+            log.info("[SQS] Enfileirando {} PolicyRequestStatusChangedEvent para envio em lote - policyId={}",
+                    events.size(), events.get(0).requestId());
+            await(events.stream()
+                    .map(event -> batchingSender.submit(message(event, "PolicyRequestStatusChangedEvent", event.status())))
+                    .toList());
+            log.info("[SQS] Lote de PolicyRequestStatusChangedEvent enviado com sucesso - policyId={}",
+                    events.get(0).requestId());
+            return;
+        }
+        if (events.size() <= 1) {
+            events.forEach(this::publish);
+            return;
+        }
+        log.info("[SQS] Enviando lote de {} PolicyRequestStatusChangedEvent para a fila {} - policyId={}",
+                events.size(), queueName, events.get(0).requestId());
+        List<Message<PolicyRequestStatusChangedEvent>> messages = events.stream()
+                .map(event -> MessageBuilder.withPayload(event)
+                        .setHeader("eventType", "PolicyRequestStatusChangedEvent")
+                        .setHeader("status", event.status())
+                        .build())
+                .toList();
+        SendResult.Batch<?> result;
+        try {
+            result = sqsTemplate.sendMany(queueName, messages);
+        } catch (SendBatchOperationFailedException e) {
+            result = e.getSendBatchResult();
+        }
+        if (!result.failed().isEmpty()) {
+            resendFailed(result.failed(), events.size());
+        }
+        log.info("[SQS] Lote de PolicyRequestStatusChangedEvent enviado com sucesso - policyId={}",
+                events.get(0).requestId());
+    }
+
+    /*
+     * Com a estratégia padrão do SqsTemplate (THROW) uma falha parcial chega como SendBatchOperationFailedException;
+     * as entradas aceitas já foram entregues e só as recusadas são reenviadas, uma a uma. O que ainda falhar fica
+     * registrado em log (policyId e status) antes de a exceção subir para quem gravou a transição.
+     */
+    private void resendFailed(Collection<? extends SendResult.Failed<?>> failed, int total) {
+        log.warn("[SQS] {} de {} eventos recusados pela fila {}, reenviando individualmente", failed.size(), total, queueName);
+        List<SendResult.Failed<?>> lost = new ArrayList<>();
+        for (SendResult.Failed<?> f : failed) {
+            try {
+                sqsTemplate.send(queueName, f.message());
+            } catch (RuntimeException e) {
+                lost.add(f);
+                if (f.message().getPayload() instanceof PolicyRequestStatusChangedEvent event) {
+                    log.error("[SQS] Evento não entregue na fila {} - policyId={} status={} erroLote={} erro={}",
+                            queueName, event.requestId(), event.status(), f.errorMessage(), e.toString());
+                } else {
+                    log.error("[SQS] Evento não entregue na fila {} - payload={} erroLote={} erro={}",
+                            queueName, f.message().getPayload(), f.errorMessage(), e.toString());
+                }
+            }
+        }
+        if (!lost.isEmpty()) {
+            throw new IllegalStateException("Falha ao enviar " + lost.size()
+                    + " de " + total + " eventos para a fila " + queueName);
+        }
+    }
+
+    private static Message<Object> message(Object event, String eventType, String status) {
+        return MessageBuilder.withPayload(event)
+                .setHeader("eventType", eventType)
+                .setHeader("status", status)
+                .build();
+    }
+
+    private void await(List<CompletableFuture<Void>> sends) {
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Tempo esgotado aguardando confirmação da fila " + queueName, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Envio interrompido para a fila " + queueName, e);
+        }
+    }
 }
@@ -0,0 +1,48 @@
+package com.acme.insurance.policy.infra.messaging;
+
+import com.acme.insurance.policy.app.dto.integration.SubscriptionResultEvent;
+import com.acme.insurance.policy.application.PolicyStateMachine;
+import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.domain.ports.out.CorrelationStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+/* Aplica um resultado de subscrição a uma policy já carregada; usado pelo listener unitário e pelo em lote. */
+@Component
+@ConditionalOnExpression("${app.sqs.listeners.enabled:true}")
+public class SubscriptionResultHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionResultHandler.class);
+
+    private final PolicyStateMachine policyStateMachine;
+    private final CorrelationStore correlationStore;
+
+    public SubscriptionResultHandler(PolicyStateMachine policyStateMachine, CorrelationStore correlationStore) {
+        this.policyStateMachine = policyStateMachine;
+        this.correlationStore = correlationStore;
+    }
+
+    public void apply(SubscriptionResultEvent e, Policy policy) {
+        if (policy.isFinalStatus()) {
+            log.info("Policy em estado final ({}). Ignorando evento de subscrição. id={}",
+                    policy.status(), policy.id());
+            correlationStore.clear(e.requestId());
+            return;
+        }
+
+        switch (e.status().toUpperCase()) {
+            case "DENIED" -> {
+                log.info("Subscrição negada -> delegando para FSM");
+                policyStateMachine.onSubscriptionDenied(policy);
+            }
+            case "AUTHORIZED" -> {
+                log.info("Subscrição autorizada -> marcando correlação e delegando para FSM");
+                correlationStore.markSubscription(e.requestId(), e.occurredAt());
+                policyStateMachine.onSubscriptionAuthorized(policy);
+            }
+            default -> log.warn("Status de subscrição não reconhecido: {} (ignorando)", e.status());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.acme.insurance.policy.infra.messaging;
+
+import com.acme.insurance.policy.app.dto.integration.SubscriptionResultEvent;
+import com.acme.insurance.policy.domain.ports.out.PolicyRepository;
+import io.awspring.cloud.sqs.annotation.SqsListener;
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/*
+ * Modo em lote da fila de subscrições: carrega todas as policies do lote com um BatchGetItem e
+ * reconhece só as mensagens tratadas com sucesso; as demais voltam à fila após o visibility timeout.
+ */
+@Component
+@ConditionalOnExpression("${app.sqs.listeners.enabled:true} and ${app.sqs.listener.batch:false}")
+public class SubscriptionResultsBatchConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionResultsBatchConsumer.class);
+
+    private final ResultsBatchProcessor<SubscriptionResultEvent> processor;
+
+    public SubscriptionResultsBatchConsumer(PolicyRepository policyRepository,
+                                            SubscriptionResultHandler handler,
+                                            OrderedDispatcher dispatcher,
+                                            MeterRegistry meterRegistry) {
+        this.processor = new ResultsBatchProcessor<>("subscriptions", policyRepository,
+                SubscriptionResultEvent::requestId, handler::apply, dispatcher, meterRegistry);
+    }
+
+    @SqsListener(value = "${app.sqs.queues.subscriptions}", acknowledgementMode = "MANUAL")
+    public void onSubscriptions(List<Message<SubscriptionResultEvent>> messages,
+                                BatchAcknowledgement<SubscriptionResultEvent> ack) {
+        log.info("[SQS] Lote de subscrições recebido - mensagens={}", messages.size());
+        List<Message<SubscriptionResultEvent>> handled = processor.process(messages);
+        if (!handled.isEmpty()) {
+            ack.acknowledge(handled);
+        }
+    }
+}
@@ -1,11 +1,21 @@
 package com.acme.insurance.policy.app.controller;
 
+import com.acme.insurance.policy.app.dto.BatchGetPoliciesRequestDto;
+import com.acme.insurance.policy.app.dto.BatchGetPoliciesResponseDto;
+import com.acme.insurance.policy.app.dto.PageResponseDto;
 import com.acme.insurance.policy.app.dto.PolicyRequestDto;
 import com.acme.insurance.policy.app.dto.PolicyResponseDto;
+import com.acme.insurance.policy.app.dto.PolicySummaryDto;
+import com.acme.insurance.policy.domain.ports.in.BatchGetPoliciesQuery;
 import com.acme.insurance.policy.domain.ports.in.CancelPolicyUseCase;
 import com.acme.insurance.policy.domain.ports.in.CreatePolicyUseCase;
 import com.acme.insurance.policy.domain.ports.in.GetPolicyByIdQuery;
+import com.acme.insurance.policy.domain.ports.in.ListPoliciesByCustomerPageQuery;
 import com.acme.insurance.policy.domain.ports.in.ListPoliciesByCustomerQuery;
+import com.acme.insurance.policy.domain.ports.in.ListPolicySummariesByCustomerQuery;
+import com.acme.insurance.policy.domain.ports.in.StreamPoliciesByCustomerQuery;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,22 +23,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.io.ByteArrayOutputStream;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -47,6 +63,21 @@ class PolicyControllerTest {
     @Mock
     private CancelPolicyUseCase cancelPolicyUseCase;
 
+    @Mock
+    private ListPoliciesByCustomerPageQuery listPoliciesByCustomerPageQuery;
+
+    @Mock
+    private StreamPoliciesByCustomerQuery streamPoliciesByCustomerQuery;
+
+    @Mock
+    private ListPolicySummariesByCustomerQuery listPolicySummariesByCustomerQuery;
+
+    @Mock
+    private BatchGetPoliciesQuery batchGetPoliciesQuery;
+
+    @Spy
+    private ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
     @InjectMocks
     private PolicyController controller;
 
@@ -85,6 +116,76 @@ class PolicyControllerTest {
         verify(listPoliciesByCustomerQuery).execute(customerId);
     }
 
+    @Test
+    @DisplayName("GET /policies?customerId=...&limit=... -> 200 com página e next_page_token")
+    void listPage_ok() {
+        UUID customerId = UUID.randomUUID();
+        var page = new PageResponseDto<>(List.of(sampleResponseDto(UUID.randomUUID(), "PENDING")), "next");
+        when(listPoliciesByCustomerPageQuery.execute(customerId, 10, "tok")).thenReturn(page);
+
+        ResponseEntity<PageResponseDto<PolicyResponseDto>> rsp = controller.listPage(customerId, 10, "tok");
+
+        assertThat(rsp.getStatusCode().value()).isEqualTo(200);
+        assertThat(rsp.getBody()).isSameAs(page);
+        verify(listPoliciesByCustomerPageQuery).execute(customerId, 10, "tok");
+    }
+
+    @Test
+    @DisplayName("GET /policies?customerId=...&view=summary -> 200 com resumo paginado (limit padrão quando ausente)")
+    void listSummaries_ok() {
+        UUID customerId = UUID.randomUUID();
+        var summary = new PolicySummaryDto(UUID.randomUUID(), "PENDING", "AUTO", OffsetDateTime.now(), null, null);
+        var page = new PageResponseDto<>(List.of(summary), null);
+        when(listPolicySummariesByCustomerQuery.execute(customerId, PolicyController.SUMMARY_DEFAULT_LIMIT, null))
+                .thenReturn(page);
+
+        ResponseEntity<PageResponseDto<PolicySummaryDto>> rsp = controller.listSummaries(customerId, null, null);
+
+        assertThat(rsp.getStatusCode().value()).isEqualTo(200);
+        assertThat(rsp.getBody()).isSameAs(page);
+    }
+
+    @Test
+    @DisplayName("GET /policies?customerId=...&stream=true -> NDJSON com uma policy por linha")
+    void stream_writesNdjson() throws Exception {
+        UUID customerId = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        var one = new PolicyResponseDto(first, customerId, UUID.randomUUID(), "AUTO", "ONLINE",
+                "CREDIT_CARD", "PENDING", OffsetDateTime.now(), null, null, null, null, List.of(), List.of());
+        var two = new PolicyResponseDto(second, customerId, UUID.randomUUID(), "LIFE", "ONLINE",
+                "PIX", "APPROVED", OffsetDateTime.now(), null, null, null, null, List.of(), List.of());
+        when(streamPoliciesByCustomerQuery.execute(customerId)).thenReturn(Stream.of(one, two));
+
+        ResponseEntity<StreamingResponseBody> rsp = controller.stream(customerId);
+
+        assertThat(rsp.getStatusCode().value()).isEqualTo(200);
+        assertThat(rsp.getHeaders().getContentType()).hasToString("application/x-ndjson");
+
+        var out = new ByteArrayOutputStream();
+        rsp.getBody().writeTo(out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("id").asText()).isEqualTo(first.toString());
+        assertThat(objectMapper.readTree(lines[1]).get("id").asText()).isEqualTo(second.toString());
+    }
+
+    @Test
+    @DisplayName("POST /policies/batch-get -> 200 com encontradas e ausentes")
+    void batchGet_ok() {
+        UUID found = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        var result = new BatchGetPoliciesResponseDto(List.of(sampleResponseDto(found, "PENDING")), List.of(missing));
+        when(batchGetPoliciesQuery.execute(List.of(found, missing))).thenReturn(result);
+
+        ResponseEntity<BatchGetPoliciesResponseDto> rsp =
+                controller.batchGet(new BatchGetPoliciesRequestDto(List.of(found, missing)));
+
+        assertThat(rsp.getStatusCode().value()).isEqualTo(200);
+        assertThat(rsp.getBody()).isSameAs(result);
+        verify(batchGetPoliciesQuery).execute(List.of(found, missing));
+    }
+
     @Test
     @DisplayName("PATCH /policies/{id}/cancel -> 204 sem body")
     void cancel_ok() {
@@ -108,9 +209,10 @@ class PolicyControllerTest {
 
         var req = sampleRequestDto();
 
-        when(createPolicyUseCase.execute(any())).thenReturn(sampleResponseDto(UUID.randomUUID(), "PENDING"));
+        when(createPolicyUseCase.execute(any()))
+                .thenReturn(new CreatePolicyUseCase.Result(sampleResponseDto(UUID.randomUUID(), "PENDING"), false));
 
-        ResponseEntity<PolicyResponseDto> rsp = controller.create(req);
+        ResponseEntity<PolicyResponseDto> rsp = controller.create(req, null);
 
         assertThat(rsp.getStatusCode().value()).isEqualTo(201);
         assertThat(rsp.getBody()).isNotNull();
@@ -125,6 +227,62 @@ class PolicyControllerTest {
         verify(createPolicyUseCase).execute(any());
     }
 
+    @Test
+    @DisplayName("POST /policies -> 202 com Location quando o caso de uso aceita a policy para análise em background")
+    void create_accepted_whenUseCaseAccepts() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/policies");
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        UUID id = UUID.randomUUID();
+        var received = new PolicyResponseDto(id, UUID.randomUUID(), UUID.randomUUID(), "AUTO", "ONLINE",
+                "CREDIT_CARD", "RECEIVED", OffsetDateTime.now(), null, null, null, null, List.of(), List.of());
+        when(createPolicyUseCase.execute(any())).thenReturn(new CreatePolicyUseCase.Result(received, true));
+
+        ResponseEntity<PolicyResponseDto> rsp = controller.create(sampleRequestDto(), null);
+
+        assertThat(rsp.getStatusCode().value()).isEqualTo(202);
+        assertThat(rsp.getBody()).isNotNull();
+        assertThat(rsp.getHeaders().getLocation()).isNotNull();
+        assertThat(rsp.getHeaders().getLocation().toString()).endsWith("/policies/" + id);
+    }
+
+    @Test
+    @DisplayName("POST /policies com Idempotency-Key -> repassa a chave ao caso de uso")
+    void create_withIdempotencyKey_forwardsKey() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/policies");
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        var req = sampleRequestDto();
+        when(createPolicyUseCase.execute(req, "retry-123"))
+                .thenReturn(new CreatePolicyUseCase.Result(sampleResponseDto(UUID.randomUUID(), "APPROVED"), false));
+
+        ResponseEntity<PolicyResponseDto> rsp = controller.create(req, "retry-123");
+
+        assertThat(rsp.getStatusCode().value()).isEqualTo(201);
+        verify(createPolicyUseCase).execute(req, "retry-123");
+        verify(createPolicyUseCase, never()).execute(req);
+    }
+
+    @Test
+    @DisplayName("POST /policies -> 201 quando o caso de uso não aceitou em background, mesmo com status RECEIVED")
+    void create_created_whenNotAccepted() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/policies");
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        var received = sampleResponseDto(UUID.randomUUID(), "RECEIVED");
+        when(createPolicyUseCase.execute(any())).thenReturn(new CreatePolicyUseCase.Result(received, false));
+
+        ResponseEntity<PolicyResponseDto> rsp = controller.create(sampleRequestDto(), null);
+
+        assertThat(rsp.getStatusCode().value()).isEqualTo(201);
+    }
+
     private PolicyRequestDto sampleRequestDto() {
         try {
             Method b = PolicyRequestDto.class.getMethod("builder");
@@ -1,5 +1,7 @@
 package com.acme.insurance.policy.app.error;
 
+import com.acme.insurance.policy.domain.model.PolicyStatus;
+import com.acme.insurance.policy.domain.model.PolicyWriteConflictException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
@@ -27,6 +29,7 @@ import java.net.URI;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -277,4 +280,27 @@ class GlobalProblemHandlerTest {
         assertThat(pd.getInstance()).isEqualTo(URI.create(path));
         assertThat(pd.getProperties()).containsKey("timestamp");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("PolicyWriteConflictException -> 409 com policyId e expectedStatus")
+    void handle_writeConflict() {
+        String path = "/policies/x/cancel";
+        HttpServletRequest req = req(path);
+        UUID id = UUID.randomUUID();
+
+        ResponseEntity<ProblemDetail> resp = handler.handleWriteConflict(
+                new PolicyWriteConflictException(id, PolicyStatus.PENDING, null), req);
+
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(resp.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+
+        ProblemDetail pd = resp.getBody();
+        assertThat(pd).isNotNull();
+        assertThat(pd.getType()).isEqualTo(URI.create("https://api.acme.com/errors/policy-write-conflict"));
+        assertThat(pd.getInstance()).isEqualTo(URI.create(path));
+        assertThat(pd.getProperties())
+                .containsEntry("policyId", id.toString())
+                .containsEntry("expectedStatus", "PENDING")
+                .containsKey("timestamp");
+    }
+}
@@ -4,6 +4,7 @@ import com.acme.insurance.policy.app.dto.PolicyRequestDto;
 import com.acme.insurance.policy.app.dto.PolicyResponseDto;
 import com.acme.insurance.policy.domain.model.Policy;
 import com.acme.insurance.policy.domain.model.PolicyStatus;
+import com.acme.insurance.policy.domain.model.PolicySummary;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
@@ -43,7 +44,7 @@ class ApiPolicyMapperTest {
                 List.of(
                         new Policy.StatusHistory(PolicyStatus.RECEIVED, OffsetDateTime.parse("2024-05-01T10:00:00Z")),
                         new Policy.StatusHistory(PolicyStatus.APPROVED, OffsetDateTime.parse("2024-05-01T10:05:00Z"))
-                )
+                ), null
         );
     }
 
@@ -134,11 +135,28 @@ class ApiPolicyMapperTest {
                 List.of(),
                 new BigDecimal("1.00"),
                 new BigDecimal("2.00"),
-                null
+                null, null
         );
 
         PolicyResponseDto dto = mapper.toResponse(domain);
 
         assertThat(dto.history()).isNotNull().isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("toSummaryResponse: mapeia o resumo com status textual")
+    void toSummaryResponse_maps() {
+        UUID id = UUID.randomUUID();
+        var summary = new PolicySummary(id, PolicyStatus.APPROVED, "AUTO",
+                OffsetDateTime.parse("2024-05-01T10:00:00Z"), new BigDecimal("10.00"), new BigDecimal("1000"));
+
+        var dto = mapper.toSummaryResponse(summary);
+
+        assertThat(dto.id()).isEqualTo(id);
+        assertThat(dto.status()).isEqualTo("APPROVED");
+        assertThat(dto.category()).isEqualTo("AUTO");
+        assertThat(dto.createdAt()).isEqualTo(summary.createdAt());
+        assertThat(dto.totalMonthlyPremiumAmount()).isEqualByComparingTo("10.00");
+        assertThat(dto.insuredAmount()).isEqualByComparingTo("1000");
+    }
+}
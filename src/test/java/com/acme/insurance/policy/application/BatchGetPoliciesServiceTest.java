@@ -0,0 +1,72 @@
+package com.acme.insurance.policy.application;
+
+import com.acme.insurance.policy.app.dto.PolicyResponseDto;
+import com.acme.insurance.policy.app.mapper.ApiPolicyMapper;
+import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.domain.ports.out.PolicyRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchGetPoliciesServiceTest {
+
+    @Mock
+    PolicyRepository policyRepository;
+
+    @Mock
+    ApiPolicyMapper apiPolicyMapper;
+
+    @InjectMocks
+    BatchGetPoliciesService service;
+
+    private Policy policy(UUID id) {
+        Policy p = mock(Policy.class);
+        when(p.id()).thenReturn(id);
+        return p;
+    }
+
+    @Test
+    @DisplayName("Separa encontradas e ausentes preservando a ordem pedida e sem repetir ids")
+    void execute_splitsFoundAndMissing() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID c = UUID.randomUUID();
+        Policy pa = policy(a);
+        Policy pc = policy(c);
+        PolicyResponseDto da = mock(PolicyResponseDto.class);
+        PolicyResponseDto dc = mock(PolicyResponseDto.class);
+        when(policyRepository.findAllByIds(Set.of(a, b, c))).thenReturn(List.of(pc, pa));
+        when(apiPolicyMapper.toResponse(pa)).thenReturn(da);
+        when(apiPolicyMapper.toResponse(pc)).thenReturn(dc);
+
+        var out = service.execute(List.of(a, b, c, a));
+
+        assertThat(out.found()).containsExactly(da, dc);
+        assertThat(out.missing()).containsExactly(b);
+        verify(policyRepository, times(1)).findAllByIds(any());
+    }
+
+    @Test
+    @DisplayName("Nenhuma encontrada: devolve todos os ids em missing")
+    void execute_noneFound() {
+        UUID a = UUID.randomUUID();
+        when(policyRepository.findAllByIds(Set.of(a))).thenReturn(List.of());
+
+        var out = service.execute(List.of(a));
+
+        assertThat(out.found()).isEmpty();
+        assertThat(out.missing()).containsExactly(a);
+        verifyNoInteractions(apiPolicyMapper);
+    }
+}
@@ -7,9 +7,11 @@ import com.acme.insurance.policy.app.mapper.ApiPolicyMapper;
 import com.acme.insurance.policy.domain.model.Policy;
 import com.acme.insurance.policy.domain.model.PolicyStatus;
 import com.acme.insurance.policy.domain.ports.out.PolicyRepository;
+import com.acme.insurance.policy.infra.config.AppProps;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.InjectMocks;
@@ -22,6 +24,7 @@ import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.ThrowableAssert.catchThrowableOfType;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.*;
@@ -38,18 +41,21 @@ class CancelPolicyServiceTest {
     @Mock
     ApiPolicyMapper apiPolicyMapper;
 
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    AppProps props;
+
     @InjectMocks
     CancelPolicyService service;
 
     @Test
-    @DisplayName("Happy path: encontra, cancela, reconsulta e mapeia a própria 'updated' quando findById(updated) vazio")
-    void execute_happyPath_findByIdEmpty() {
+    @DisplayName("Happy path: encontra, cancela e mapeia a policy devolvida pela FSM sem reconsultar o repositório")
+    void execute_happyPath_answersFromFsm() {
         UUID id = UUID.randomUUID();
 
         Policy found = mock(Policy.class);
         when(found.isFinalStatus()).thenReturn(false);
 
-        when(policyRepository.findById(id)).thenReturn(Optional.of(found), Optional.empty());
+        when(policyRepository.findById(id)).thenReturn(Optional.of(found));
 
         Policy updated = mock(Policy.class);
         when(updated.id()).thenReturn(id);
@@ -67,13 +73,18 @@ class CancelPolicyServiceTest {
         InOrder inOrder = inOrder(policyRepository, policyStateMachine, apiPolicyMapper);
         inOrder.verify(policyRepository).findById(id);
         inOrder.verify(policyStateMachine).cancel(found, "BY_CUSTOMER_REQUEST");
-        inOrder.verify(policyRepository).findById(id);
         inOrder.verify(apiPolicyMapper).toResponse(updated);
+        verify(policyRepository, times(1)).findById(id);
+        verify(policyRepository, never()).findByIdConsistent(any());
     }
 
     @Test
-    @DisplayName("Quando findById(updated) retorna presente, mapeia a policy persistida (pós-cancelamento)")
-    void execute_usesPersistedFromRepository() {
+    @DisplayName("Com consistent-read-after-write, mapeia a policy lida de forma consistente após o cancelamento")
+    void execute_consistentRead_usesPersistedFromRepository() {
+        AppProps props = mock(AppProps.class, RETURNS_DEEP_STUBS);
+        when(props.dynamodb().consistentReadAfterWrite()).thenReturn(true);
+        var consistentService = new CancelPolicyService(policyRepository, policyStateMachine, apiPolicyMapper, props);
+
         UUID id = UUID.randomUUID();
 
         Policy found = mock(Policy.class);
@@ -83,7 +94,8 @@ class CancelPolicyServiceTest {
         when(persisted.id()).thenReturn(id);
         when(persisted.status()).thenReturn(PolicyStatus.CANCELLED);
 
-        when(policyRepository.findById(id)).thenReturn(Optional.of(found), Optional.of(persisted));
+        when(policyRepository.findById(id)).thenReturn(Optional.of(found));
+        when(policyRepository.findByIdConsistent(id)).thenReturn(Optional.of(persisted));
 
         Policy updated = mock(Policy.class);
         when(updated.id()).thenReturn(id);
@@ -93,12 +105,12 @@ class CancelPolicyServiceTest {
         when(apiPolicyMapper.toResponse(toResponseCap.capture()))
                 .thenReturn(mock(PolicyResponseDto.class));
 
-        var out = service.execute(id);
+        var out = consistentService.execute(id);
         assertThat(out).isNotNull();
         assertThat(toResponseCap.getValue()).isSameAs(persisted);
 
-        verify(policyRepository, times(2)).findById(id);
-        verify(apiPolicyMapper).toResponse(persisted);
+        verify(policyRepository, times(1)).findById(id);
+        verify(policyRepository).findByIdConsistent(id);
     }
 
     @Test
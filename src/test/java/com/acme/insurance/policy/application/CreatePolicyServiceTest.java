@@ -7,10 +7,12 @@ import com.acme.insurance.policy.app.mapper.ApiPolicyMapper;
 import com.acme.insurance.policy.domain.fraud.FraudClassification;
 import com.acme.insurance.policy.domain.model.Policy;
 import com.acme.insurance.policy.domain.model.PolicyStatus;
+import com.acme.insurance.policy.domain.ports.in.CreatePolicyUseCase;
 import com.acme.insurance.policy.domain.ports.out.FraudGateway;
 import com.acme.insurance.policy.domain.ports.out.PolicyRepository;
 import com.acme.insurance.policy.domain.ports.out.PolicyRequestPublisher;
 import com.acme.insurance.policy.domain.events.PolicyRequestCreatedEvent;
+import com.acme.insurance.policy.infra.config.AppProps;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,8 +22,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -43,6 +47,15 @@ class CreatePolicyServiceTest {
     @Mock
     ApiPolicyMapper apiPolicyMapper;
 
+    @Mock
+    FraudEvaluationPipeline fraudEvaluationPipeline;
+
+    @Mock
+    IdempotencyGuard idempotencyGuard;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    AppProps props;
+
     @InjectMocks
     CreatePolicyService service;
 
@@ -65,19 +78,19 @@ class CreatePolicyServiceTest {
                 List.of(),
                 new BigDecimal("150.00"),
                 new BigDecimal("10000"),
-                List.of()
+                List.of(), null
         );
     }
 
     @Test
-    @DisplayName("Happy path: salva, publica, analisa fraude, roda state machine e mapeia a mesma instância quando findById vazio")
-    void execute_happyPath_findByIdEmpty() {
+    @DisplayName("Happy path: salva, publica, analisa fraude, roda state machine e mapeia a policy devolvida sem reconsultar")
+    void execute_happyPath_answersFromFsm() {
         var req = mockRequest();
         var base = basePolicy();
 
         when(apiPolicyMapper.toDomain(any())).thenReturn(base);
         doAnswer(inv -> inv.getArgument(0)).when(policyRepository).save(any(Policy.class));
-        when(policyRepository.findById(any())).thenReturn(Optional.empty());
+        when(policyStateMachine.onFraud(any(), any(), any(), any())).thenAnswer(inv -> inv.getArgument(0));
 
         FraudAnalysisResponse fraud = mock(FraudAnalysisResponse.class);
         when(fraud.classification()).thenReturn("LOW_RISK");
@@ -93,7 +106,8 @@ class CreatePolicyServiceTest {
                 });
 
         var out = service.execute(req);
-        assertThat(out).isNotNull();
+        assertThat(out.policy()).isNotNull();
+        assertThat(out.accepted()).isFalse();
 
         ArgumentCaptor<Policy> savedCap = ArgumentCaptor.forClass(Policy.class);
         verify(policyRepository).save(savedCap.capture());
@@ -109,20 +123,27 @@ class CreatePolicyServiceTest {
         inOrder.verify(policyRequestPublisher).publish(any(PolicyRequestCreatedEvent.class));
         inOrder.verify(fraudGateway).analyze(eq(saved.id()), eq(saved.customerId()));
         inOrder.verify(policyStateMachine).onFraud(eq(saved), any(FraudClassification.class), eq(saved.category()), eq(saved.insuredAmount()));
-        inOrder.verify(policyRepository).findById(eq(saved.id()));
         inOrder.verify(apiPolicyMapper).toResponse(eq(saved));
+        verify(policyRepository, never()).findById(any());
+        verify(policyRepository, never()).findByIdConsistent(any());
     }
 
     @Test
-    @DisplayName("Quando findById retorna presente, o mapper usa a policy persistida (ex.: status APPROVED)")
-    void execute_usesPersistedFromRepository() {
+    @DisplayName("Com consistent-read-after-write, o mapper usa a policy lida de forma consistente (ex.: status APPROVED)")
+    void execute_consistentRead_usesPersistedFromRepository() {
+        AppProps consistentProps = mock(AppProps.class, RETURNS_DEEP_STUBS);
+        when(consistentProps.dynamodb().consistentReadAfterWrite()).thenReturn(true);
+        var consistentService = new CreatePolicyService(policyRepository, policyRequestPublisher, fraudGateway,
+                policyStateMachine, apiPolicyMapper, fraudEvaluationPipeline, idempotencyGuard, consistentProps);
+
         var req = mockRequest();
         var base = basePolicy();
 
         when(apiPolicyMapper.toDomain(any())).thenReturn(base);
         doAnswer(inv -> inv.getArgument(0)).when(policyRepository).save(any(Policy.class));
+        when(policyStateMachine.onFraud(any(), any(), any(), any())).thenAnswer(inv -> inv.getArgument(0));
 
-        when(policyRepository.findById(any())).thenAnswer(inv -> {
+        when(policyRepository.findByIdConsistent(any())).thenAnswer(inv -> {
             UUID id = inv.getArgument(0);
             var persisted = new Policy(
                     id, base.customerId(), base.productId(),
@@ -131,7 +152,7 @@ class CreatePolicyServiceTest {
                     base.createdAt(), OffsetDateTime.now(),
                     base.coverages(), base.assistances(),
                     base.totalMonthlyPremiumAmount(), base.insuredAmount(),
-                    List.of()
+                    List.of(), null
             );
             return Optional.of(persisted);
         });
@@ -144,9 +165,10 @@ class CreatePolicyServiceTest {
         when(apiPolicyMapper.toResponse(toResponseCap.capture()))
                 .thenReturn(mock(PolicyResponseDto.class));
 
-        var out = service.execute(req);
+        var out = consistentService.execute(req);
         assertThat(out).isNotNull();
         assertThat(toResponseCap.getValue().status()).isEqualTo(PolicyStatus.APPROVED);
+        verify(policyRepository, never()).findById(any());
     }
 
     @Test
@@ -186,7 +208,7 @@ class CreatePolicyServiceTest {
 
         when(apiPolicyMapper.toDomain(any())).thenReturn(base);
         doAnswer(inv -> inv.getArgument(0)).when(policyRepository).save(any(Policy.class));
-        when(policyRepository.findById(any())).thenReturn(Optional.empty());
+        when(policyStateMachine.onFraud(any(), any(), any(), any())).thenAnswer(inv -> inv.getArgument(0));
 
         FraudAnalysisResponse fraud = mock(FraudAnalysisResponse.class);
         when(fraud.classification()).thenReturn("HIGH_RISK");
@@ -201,4 +223,173 @@ class CreatePolicyServiceTest {
         verify(policyStateMachine).onFraud(any(Policy.class), enumCap.capture(), eq(base.category()), eq(base.insuredAmount()));
         assertThat(enumCap.getValue()).isEqualTo(FraudClassification.HIGH_RISK);
     }
+
+    @Test
+    @DisplayName("Modo assíncrono: salva, publica e enfileira a análise, devolvendo a policy RECEIVED sem chamar fraude")
+    void execute_asyncMode_returnsReceivedAndDefersFraud() {
+        var req = mockRequest();
+        var base = basePolicy();
+
+        when(apiPolicyMapper.toDomain(any())).thenReturn(base);
+        when(fraudEvaluationPipeline.isEnabled()).thenReturn(true);
+        when(fraudEvaluationPipeline.submit(any(), any())).thenReturn(true);
+
+        ArgumentCaptor<Policy> toResponseCap = ArgumentCaptor.forClass(Policy.class);
+        when(apiPolicyMapper.toResponse(toResponseCap.capture())).thenReturn(mock(PolicyResponseDto.class));
+
+        var out = service.execute(req);
+
+        assertThat(out.policy()).isNotNull();
+        assertThat(out.accepted()).isTrue();
+        assertThat(toResponseCap.getValue().status()).isEqualTo(PolicyStatus.RECEIVED);
+        verify(policyRequestPublisher).publish(any(PolicyRequestCreatedEvent.class));
+        verifyNoInteractions(fraudGateway, policyStateMachine);
+        verify(policyRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Modo assíncrono: a tarefa enfileirada consulta fraude e aciona a state machine")
+    void execute_asyncMode_submittedTaskRunsFraudAndFsm() {
+        var req = mockRequest();
+        var base = basePolicy();
+
+        when(apiPolicyMapper.toDomain(any())).thenReturn(base);
+        when(fraudEvaluationPipeline.isEnabled()).thenReturn(true);
+        ArgumentCaptor<Runnable> taskCap = ArgumentCaptor.forClass(Runnable.class);
+        when(fraudEvaluationPipeline.submit(any(), taskCap.capture())).thenReturn(true);
+        when(apiPolicyMapper.toResponse(any())).thenReturn(mock(PolicyResponseDto.class));
+
+        FraudAnalysisResponse fraud = mock(FraudAnalysisResponse.class);
+        when(fraud.classification()).thenReturn("PREFERENTIAL");
+        when(fraudGateway.analyze(any(), any())).thenReturn(fraud);
+
+        service.execute(req);
+        taskCap.getValue().run();
+
+        verify(policyStateMachine).onFraud(any(Policy.class), eq(FraudClassification.PREFERENTIAL),
+                eq(base.category()), eq(base.insuredAmount()));
+    }
+
+    @Test
+    @DisplayName("Modo assíncrono com fila cheia: avalia fraude no próprio request (backpressure)")
+    void execute_asyncMode_saturated_fallsBackToInline() {
+        var req = mockRequest();
+        var base = basePolicy();
+
+        when(apiPolicyMapper.toDomain(any())).thenReturn(base);
+        when(fraudEvaluationPipeline.isEnabled()).thenReturn(true);
+        when(fraudEvaluationPipeline.submit(any(), any())).thenReturn(false);
+        when(policyStateMachine.onFraud(any(), any(), any(), any())).thenAnswer(inv -> inv.getArgument(0));
+
+        FraudAnalysisResponse fraud = mock(FraudAnalysisResponse.class);
+        when(fraud.classification()).thenReturn("REGULAR");
+        when(fraudGateway.analyze(any(), any())).thenReturn(fraud);
+        when(apiPolicyMapper.toResponse(any())).thenReturn(mock(PolicyResponseDto.class));
+
+        var out = service.execute(req);
+
+        assertThat(out.accepted()).isFalse();
+        verify(fraudGateway).analyze(any(), any());
+        verify(policyStateMachine).onFraud(any(Policy.class), eq(FraudClassification.REGULAR), any(), any());
+    }
+
+    @Test
+    @DisplayName("Idempotency-Key: delega ao guard e a criação usa o id reivindicado pela chave")
+    @SuppressWarnings("unchecked")
+    void execute_withIdempotencyKey_createsWithClaimedId() {
+        var req = mockRequest();
+        var base = basePolicy();
+        UUID customerId = UUID.randomUUID();
+        UUID claimed = UUID.randomUUID();
+        when(req.customerId()).thenReturn(customerId);
+        when(apiPolicyMapper.toDomain(any())).thenReturn(base);
+        when(fraudEvaluationPipeline.isEnabled()).thenReturn(true);
+        when(fraudEvaluationPipeline.submit(any(), any())).thenReturn(true);
+        when(apiPolicyMapper.toResponse(any())).thenReturn(mock(PolicyResponseDto.class));
+        when(idempotencyGuard.execute(eq(customerId), eq("key-1"), anyString(), any(), any()))
+                .thenAnswer(inv -> ((Function<UUID, CreatePolicyUseCase.Result>) inv.getArgument(3)).apply(claimed));
+
+        var out = service.execute(req, "key-1");
+
+        assertThat(out.accepted()).isTrue();
+        ArgumentCaptor<Policy> savedCap = ArgumentCaptor.forClass(Policy.class);
+        verify(policyRepository).save(savedCap.capture());
+        assertThat(savedCap.getValue().id()).isEqualTo(claimed);
+    }
+
+    @Test
+    @DisplayName("Idempotency-Key repetida: responde com a policy original lida de forma consistente, sem salvar, publicar ou analisar fraude; ainda RECEIVED, segue aceita")
+    @SuppressWarnings("unchecked")
+    void execute_withIdempotencyKey_replayAnswersFromOriginal() {
+        var req = mockRequest();
+        var original = basePolicy();
+        var dto = mock(PolicyResponseDto.class);
+        when(policyRepository.findByIdConsistent(original.id())).thenReturn(Optional.of(original));
+        when(apiPolicyMapper.toResponse(original)).thenReturn(dto);
+        when(idempotencyGuard.execute(any(), eq("key-1"), anyString(), any(), any()))
+                .thenAnswer(inv -> ((Function<UUID, Optional<CreatePolicyUseCase.Result>>) inv.getArgument(4))
+                        .apply(original.id()).orElseThrow());
+
+        var out = service.execute(req, "key-1");
+
+        assertThat(out.policy()).isSameAs(dto);
+        assertThat(out.accepted()).isTrue();
+        verify(policyRepository, never()).save(any());
+        verifyNoInteractions(policyRequestPublisher, fraudGateway, policyStateMachine);
+    }
+
+    @Test
+    @DisplayName("Idempotency-Key em branco: cria normalmente sem passar pelo guard")
+    void execute_blankIdempotencyKey_skipsGuard() {
+        var req = mockRequest();
+        when(apiPolicyMapper.toDomain(any())).thenReturn(basePolicy());
+        when(fraudEvaluationPipeline.isEnabled()).thenReturn(true);
+        when(fraudEvaluationPipeline.submit(any(), any())).thenReturn(true);
+        when(apiPolicyMapper.toResponse(any())).thenReturn(mock(PolicyResponseDto.class));
+
+        service.execute(req, " ");
+
+        verify(policyRepository).save(any(Policy.class));
+        verifyNoInteractions(idempotencyGuard);
+    }
+
+    @Test
+    @DisplayName("Retomada de policy RECEIVED: reenfileira no pipeline a análise de fraude da própria policy")
+    void resumeFraudEvaluation_submitsToPipeline() {
+        var policy = basePolicy();
+        ArgumentCaptor<Runnable> taskCap = ArgumentCaptor.forClass(Runnable.class);
+        when(fraudEvaluationPipeline.submit(eq(policy.id()), taskCap.capture())).thenReturn(true);
+        FraudAnalysisResponse fraud = mock(FraudAnalysisResponse.class);
+        when(fraud.classification()).thenReturn("REGULAR");
+        when(fraudGateway.analyze(policy.id(), policy.customerId())).thenReturn(fraud);
+
+        assertThat(service.resumeFraudEvaluation(policy)).isTrue();
+        taskCap.getValue().run();
+
+        verify(policyStateMachine).onFraud(policy, FraudClassification.REGULAR, policy.category(), policy.insuredAmount());
+        verifyNoInteractions(policyRequestPublisher);
+    }
+
+    @Test
+    @DisplayName("requestHash(): ignora escala dos valores e ordem das coverages, mas muda com o conteúdo")
+    void requestHash_canonical() {
+        UUID customer = UUID.randomUUID();
+        UUID product = UUID.randomUUID();
+        var coverages = new LinkedHashMap<String, BigDecimal>();
+        coverages.put("Roubo", new BigDecimal("100000.25"));
+        coverages.put("Colisão", new BigDecimal("5000"));
+        var reordered = new LinkedHashMap<String, BigDecimal>();
+        reordered.put("Colisão", new BigDecimal("5000.00"));
+        reordered.put("Roubo", new BigDecimal("100000.25"));
+
+        var a = new PolicyRequestDto(customer, product, "AUTO", "MOBILE", "CREDIT_CARD",
+                new BigDecimal("75.25"), new BigDecimal("275000.50"), coverages, List.of("Guincho"));
+        var b = new PolicyRequestDto(customer, product, "AUTO", "MOBILE", "CREDIT_CARD",
+                new BigDecimal("75.250"), new BigDecimal("275000.5"), reordered, List.of("Guincho"));
+        var c = new PolicyRequestDto(customer, product, "AUTO", "MOBILE", "CREDIT_CARD",
+                new BigDecimal("75.26"), new BigDecimal("275000.50"), coverages, List.of("Guincho"));
+
+        assertThat(CreatePolicyService.requestHash(a)).isEqualTo(CreatePolicyService.requestHash(b)).hasSize(64);
+        assertThat(CreatePolicyService.requestHash(a)).isNotEqualTo(CreatePolicyService.requestHash(c));
+    }
 }
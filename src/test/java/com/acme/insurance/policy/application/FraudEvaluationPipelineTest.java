@@ -0,0 +1,153 @@
+package com.acme.insurance.policy.application;
+
+import com.acme.insurance.policy.infra.config.AppProps;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class FraudEvaluationPipelineTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private FraudEvaluationPipeline pipeline;
+
+    private FraudEvaluationPipeline pipeline(boolean enabled, int workers, int capacity) {
+        return pipeline(enabled, workers, capacity, 1);
+    }
+
+    private FraudEvaluationPipeline pipeline(boolean enabled, int workers, int capacity, int maxAttempts) {
+        var cfg = new AppProps.Fraud.Pipeline(enabled, workers, capacity, maxAttempts, Duration.ofMillis(10),
+                Duration.ofSeconds(2), Duration.ofMinutes(2), Duration.ofMinutes(1));
+        var props = new AppProps(null, null, null, new AppProps.Fraud(cfg, null, null, null));
+        pipeline = new FraudEvaluationPipeline(props, registry);
+        return pipeline;
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (pipeline != null) pipeline.shutdown();
+    }
+
+    @Test
+    @DisplayName("Desabilitado: não aceita submissões e não cria gauge de fila")
+    void disabled_rejectsSubmissions() {
+        var p = pipeline(false, 2, 10);
+
+        assertThat(p.isEnabled()).isFalse();
+        assertThat(p.submit(UUID.randomUUID(), () -> {})).isFalse();
+        assertThat(registry.find("policy.fraud.pipeline.queue.depth").gauge()).isNull();
+    }
+
+    @Test
+    @DisplayName("Habilitado: executa a análise em background e registra lag/duração")
+    void enabled_runsInBackground() throws InterruptedException {
+        var p = pipeline(true, 1, 10);
+        var done = new CountDownLatch(1);
+
+        assertThat(p.submit(UUID.randomUUID(), done::countDown)).isTrue();
+
+        assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() -> {
+            assertThat(registry.get("policy.fraud.pipeline.lag").timer().count()).isEqualTo(1);
+            assertThat(registry.get("policy.fraud.pipeline.duration").timer().count()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    @DisplayName("Fila cheia: submit devolve false e incrementa o contador de rejeições")
+    void saturated_returnsFalse() throws InterruptedException {
+        var p = pipeline(true, 1, 1);
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+
+        assertThat(p.submit(UUID.randomUUID(), () -> {
+            started.countDown();
+            try { release.await(); } catch (InterruptedException ignored) { Thread.currentThread().interrupt(); }
+        })).isTrue();
+        assertThat(started.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(p.submit(UUID.randomUUID(), () -> {})).isTrue();
+
+        assertThat(registry.get("policy.fraud.pipeline.queue.depth").gauge().value()).isEqualTo(1.0);
+        assertThat(p.submit(UUID.randomUUID(), () -> {})).isFalse();
+        assertThat(registry.get("policy.fraud.pipeline.rejected").counter().count()).isEqualTo(1.0);
+
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Falha na análise, sem tentativas restantes, é contabilizada e não derruba o worker")
+    void failure_isCounted() {
+        var p = pipeline(true, 1, 10);
+
+        p.submit(UUID.randomUUID(), () -> { throw new IllegalStateException("fraud api down"); });
+
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() ->
+                assertThat(registry.get("policy.fraud.pipeline.failures").counter().count()).isEqualTo(1.0));
+
+        var done = new CountDownLatch(1);
+        assertThat(p.submit(UUID.randomUUID(), done::countDown)).isTrue();
+        await().atMost(Duration.ofSeconds(2)).until(() -> done.getCount() == 0);
+    }
+
+    @Test
+    @DisplayName("Falha com tentativas restantes: reenfileira a análise após o atraso configurado")
+    void failure_isRetried() {
+        var p = pipeline(true, 1, 10, 3);
+        var attempts = new AtomicInteger();
+
+        assertThat(p.submit(UUID.randomUUID(), () -> {
+            if (attempts.incrementAndGet() < 3) throw new IllegalStateException("fraud api down");
+        })).isTrue();
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> attempts.get() == 3);
+        assertThat(registry.get("policy.fraud.pipeline.retries").counter().count()).isEqualTo(2.0);
+        assertThat(registry.get("policy.fraud.pipeline.failures").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Mesma policy já pendente: não enfileira de novo e conta como aceita")
+    void pendingPolicy_isNotEnqueuedTwice() throws InterruptedException {
+        var p = pipeline(true, 1, 10);
+        var release = new CountDownLatch(1);
+        var runs = new AtomicInteger();
+        UUID id = UUID.randomUUID();
+        Runnable evaluation = () -> {
+            runs.incrementAndGet();
+            try { release.await(); } catch (InterruptedException ignored) { Thread.currentThread().interrupt(); }
+        };
+
+        assertThat(p.submit(id, evaluation)).isTrue();
+        assertThat(p.submit(id, evaluation)).isTrue();
+        release.countDown();
+        p.shutdown();
+
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Shutdown drena a fila: análises já enfileiradas terminam antes de encerrar")
+    void shutdown_drainsQueue() throws InterruptedException {
+        var p = pipeline(true, 1, 10);
+        var done = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(p.submit(UUID.randomUUID(), () -> {
+                try { Thread.sleep(20); } catch (InterruptedException ignored) { Thread.currentThread().interrupt(); }
+                done.incrementAndGet();
+            })).isTrue();
+        }
+        p.shutdown();
+
+        assertThat(done).hasValue(5);
+        assertThat(p.submit(UUID.randomUUID(), () -> {})).isFalse();
+    }
+}
@@ -0,0 +1,304 @@
+package com.acme.insurance.policy.application;
+
+import com.acme.insurance.policy.app.dto.PolicyResponseDto;
+import com.acme.insurance.policy.app.error.IdempotencyKeyInProgressException;
+import com.acme.insurance.policy.app.error.IdempotencyKeyReusedException;
+import com.acme.insurance.policy.domain.ports.out.IdempotencyStore;
+import com.acme.insurance.policy.infra.config.AppProps;
+import com.acme.insurance.policy.infra.memory.InMemoryIdempotencyStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IdempotencyGuardTest {
+
+    private AppProps props;
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyGuard guard;
+    private final UUID customerId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        props = mock(AppProps.class, RETURNS_DEEP_STUBS);
+        when(props.dynamodb().idempotency().ttl()).thenReturn(Duration.ofHours(24));
+        when(props.dynamodb().idempotency().lease()).thenReturn(Duration.ofSeconds(30));
+        when(props.dynamodb().idempotency().waitTimeout()).thenReturn(Duration.ofMillis(300));
+        when(props.dynamodb().idempotency().pollInterval()).thenReturn(Duration.ofMillis(10));
+        meterRegistry = new SimpleMeterRegistry();
+        guard = new IdempotencyGuard(new InMemoryIdempotencyStore(props), props, meterRegistry);
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("policy.idempotency.requests").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    @DisplayName("Repetição de chave concluída responde pela policy original sem executar de novo")
+    void completedKey_replaysOriginal() {
+        AtomicInteger created = new AtomicInteger();
+        var response = mock(PolicyResponseDto.class);
+        var replayed = mock(PolicyResponseDto.class);
+        UUID[] createdId = new UUID[1];
+        UUID[] replayedId = new UUID[1];
+
+        var first = guard.execute(customerId, "k1", "h1", id -> {
+            created.incrementAndGet();
+            createdId[0] = id;
+            return response;
+        }, id -> Optional.of(replayed));
+        var second = guard.execute(customerId, "k1", "h1", id -> {
+            created.incrementAndGet();
+            return response;
+        }, id -> {
+            replayedId[0] = id;
+            return Optional.of(replayed);
+        });
+
+        assertThat(first).isSameAs(response);
+        assertThat(second).isSameAs(replayed);
+        assertThat(created).hasValue(1);
+        assertThat(replayedId[0]).isEqualTo(createdId[0]);
+        assertThat(outcome("executed")).isEqualTo(1.0);
+        assertThat(outcome("replayed")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("A mesma chave de clientes diferentes não colide")
+    void sameKeyOtherCustomer_executesAgain() {
+        AtomicInteger created = new AtomicInteger();
+
+        guard.execute(customerId, "k1", "h1", id -> { created.incrementAndGet(); return null; }, id -> Optional.empty());
+        guard.execute(UUID.randomUUID(), "k1", "h1", id -> { created.incrementAndGet(); return null; }, id -> Optional.empty());
+
+        assertThat(created).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Falha na primeira execução libera a chave e o retry executa de novo")
+    void failure_releasesKey() {
+        assertThatThrownBy(() -> guard.execute(customerId, "k1", "h1", id -> {
+            throw new IllegalStateException("fraud api down");
+        }, id -> Optional.empty())).isInstanceOf(IllegalStateException.class);
+
+        var response = mock(PolicyResponseDto.class);
+        PolicyResponseDto out = guard.execute(customerId, "k1", "h1", id -> response, id -> Optional.empty());
+        assertThat(out).isSameAs(response);
+        assertThat(outcome("executed")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Falha depois de gravar a policy mantém a chave e o retry responde pela mesma policy")
+    void failureAfterSave_retryReplaysSamePolicy() {
+        Map<UUID, PolicyResponseDto> saved = new ConcurrentHashMap<>();
+        AtomicInteger created = new AtomicInteger();
+        Function<UUID, Optional<PolicyResponseDto>> find = id -> Optional.ofNullable(saved.get(id));
+
+        assertThatThrownBy(() -> guard.execute(customerId, "k1", "h1", id -> {
+            created.incrementAndGet();
+            saved.put(id, mock(PolicyResponseDto.class));
+            throw new IllegalStateException("fraud api timeout");
+        }, find)).isInstanceOf(IllegalStateException.class);
+        UUID firstId = saved.keySet().iterator().next();
+
+        PolicyResponseDto out = guard.execute(customerId, "k1", "h1", id -> {
+            created.incrementAndGet();
+            saved.put(id, mock(PolicyResponseDto.class));
+            return saved.get(id);
+        }, find);
+
+        assertThat(out).isSameAs(saved.get(firstId));
+        assertThat(saved).containsOnlyKeys(firstId);
+        assertThat(created).hasValue(1);
+        assertThat(outcome("taken_over")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Duplicata concorrente no mesmo nó com outro corpo responde 422 sem esperar a primeira execução")
+    void concurrentDuplicateOtherBody_rejected() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var response = mock(PolicyResponseDto.class);
+
+        var first = CompletableFuture.supplyAsync(() -> guard.execute(customerId, "k1", "h1", id -> {
+            started.countDown();
+            await(release);
+            return response;
+        }, id -> Optional.empty()));
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> guard.execute(customerId, "k1", "h2", id -> null, id -> Optional.empty()))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        release.countDown();
+
+        assertThat(first.get(1, TimeUnit.SECONDS)).isSameAs(response);
+        assertThat(outcome("mismatch")).isEqualTo(1.0);
+        assertThat(outcome("coalesced")).isZero();
+    }
+
+    @Test
+    @DisplayName("Duplicata concorrente no mesmo nó espera a primeira execução e recebe a mesma resposta")
+    void concurrentDuplicate_waitsForFirst() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var response = mock(PolicyResponseDto.class);
+        AtomicInteger created = new AtomicInteger();
+
+        var first = CompletableFuture.supplyAsync(() -> guard.execute(customerId, "k1", "h1", id -> {
+            created.incrementAndGet();
+            started.countDown();
+            await(release);
+            return response;
+        }, id -> Optional.empty()));
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+
+        var duplicate = CompletableFuture.supplyAsync(() -> guard.execute(customerId, "k1", "h1", id -> {
+            created.incrementAndGet();
+            return null;
+        }, id -> Optional.empty()));
+        while (outcome("coalesced") == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThat(first.get(1, TimeUnit.SECONDS)).isSameAs(response);
+        assertThat(duplicate.get(1, TimeUnit.SECONDS)).isSameAs(response);
+        assertThat(created).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Chave em andamento em outra réplica: relê até o prazo e responde 409")
+    void inProgressElsewhere_timesOutWithConflict() {
+        IdempotencyStore store = mock(IdempotencyStore.class);
+        when(store.putIfAbsent(anyString(), any(), anyString()))
+                .thenReturn(Optional.of(new IdempotencyStore.Entry(UUID.randomUUID(), "h1", false, false)));
+        var remoteGuard = new IdempotencyGuard(store, props, meterRegistry);
+
+        assertThatThrownBy(() -> remoteGuard.execute(customerId, "k1", "h1", id -> null, id -> Optional.empty()))
+                .isInstanceOf(IdempotencyKeyInProgressException.class);
+        verify(store, atLeast(2)).putIfAbsent(anyString(), any(), anyString());
+        verify(store, never()).complete(anyString());
+        assertThat(outcome("in_progress")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Chave concluída por outra réplica durante a espera é respondida pela policy original")
+    void completedElsewhereWhileWaiting_replays() {
+        IdempotencyStore store = mock(IdempotencyStore.class);
+        UUID original = UUID.randomUUID();
+        when(store.putIfAbsent(anyString(), any(), anyString()))
+                .thenReturn(Optional.of(new IdempotencyStore.Entry(original, "h1", false, false)))
+                .thenReturn(Optional.of(new IdempotencyStore.Entry(original, "h1", true, false)));
+        var remoteGuard = new IdempotencyGuard(store, props, meterRegistry);
+        var replayed = mock(PolicyResponseDto.class);
+
+        var out = remoteGuard.execute(customerId, "k1", "h1", id -> null,
+                id -> id.equals(original) ? Optional.of(replayed) : Optional.empty());
+
+        assertThat(out).isSameAs(replayed);
+    }
+
+    @Test
+    @DisplayName("Mesma chave com outro corpo responde 422 sem executar")
+    void sameKeyOtherBody_rejected() {
+        guard.execute(customerId, "k1", "h1", id -> null, id -> Optional.empty());
+
+        AtomicInteger created = new AtomicInteger();
+        assertThatThrownBy(() -> guard.execute(customerId, "k1", "h2", id -> {
+            created.incrementAndGet();
+            return null;
+        }, id -> Optional.empty())).isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThat(created).hasValue(0);
+        assertThat(outcome("mismatch")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Lease vencida com a policy já gravada: assume a chave, conclui e responde pela policy")
+    void leaseExpired_policyPersisted_completesAndReplays() {
+        IdempotencyStore store = mock(IdempotencyStore.class);
+        UUID original = UUID.randomUUID();
+        when(store.putIfAbsent(anyString(), any(), anyString()))
+                .thenReturn(Optional.of(new IdempotencyStore.Entry(original, "h1", false, true)));
+        when(store.takeOver(anyString(), eq(original))).thenReturn(true);
+        var remoteGuard = new IdempotencyGuard(store, props, meterRegistry);
+        var persisted = mock(PolicyResponseDto.class);
+        AtomicInteger created = new AtomicInteger();
+
+        var out = remoteGuard.execute(customerId, "k1", "h1", id -> {
+            created.incrementAndGet();
+            return null;
+        }, id -> id.equals(original) ? Optional.of(persisted) : Optional.empty());
+
+        assertThat(out).isSameAs(persisted);
+        assertThat(created).hasValue(0);
+        verify(store).complete(customerId + ":k1");
+        assertThat(outcome("taken_over")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Lease vencida sem policy gravada: assume a chave e executa de novo com o mesmo policyId")
+    void leaseExpired_policyMissing_recreatesWithSameId() {
+        IdempotencyStore store = mock(IdempotencyStore.class);
+        UUID original = UUID.randomUUID();
+        when(store.putIfAbsent(anyString(), any(), anyString()))
+                .thenReturn(Optional.of(new IdempotencyStore.Entry(original, "h1", false, true)));
+        when(store.takeOver(anyString(), eq(original))).thenReturn(true);
+        var remoteGuard = new IdempotencyGuard(store, props, meterRegistry);
+        var response = mock(PolicyResponseDto.class);
+        UUID[] createdId = new UUID[1];
+
+        var out = remoteGuard.execute(customerId, "k1", "h1", id -> {
+            createdId[0] = id;
+            return response;
+        }, id -> Optional.empty());
+
+        assertThat(out).isSameAs(response);
+        assertThat(createdId[0]).isEqualTo(original);
+        verify(store).complete(customerId + ":k1");
+    }
+
+    @Test
+    @DisplayName("Lease vencida assumida por outra requisição: continua esperando a conclusão")
+    void leaseExpired_takenByOther_keepsWaiting() {
+        IdempotencyStore store = mock(IdempotencyStore.class);
+        UUID original = UUID.randomUUID();
+        when(store.putIfAbsent(anyString(), any(), anyString()))
+                .thenReturn(Optional.of(new IdempotencyStore.Entry(original, "h1", false, true)))
+                .thenReturn(Optional.of(new IdempotencyStore.Entry(original, "h1", true, false)));
+        when(store.takeOver(anyString(), eq(original))).thenReturn(false);
+        var remoteGuard = new IdempotencyGuard(store, props, meterRegistry);
+        var replayed = mock(PolicyResponseDto.class);
+
+        var out = remoteGuard.execute(customerId, "k1", "h1", id -> null, id -> Optional.of(replayed));
+
+        assertThat(out).isSameAs(replayed);
+        verify(store, never()).complete(anyString());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
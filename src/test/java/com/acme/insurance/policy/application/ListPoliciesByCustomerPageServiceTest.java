@@ -0,0 +1,88 @@
+package com.acme.insurance.policy.application;
+
+import com.acme.insurance.policy.app.dto.PolicyResponseDto;
+import com.acme.insurance.policy.app.error.PolicyNotFoundByIdCustomerException;
+import com.acme.insurance.policy.app.mapper.ApiPolicyMapper;
+import com.acme.insurance.policy.domain.model.PageResult;
+import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.domain.ports.out.PolicyRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListPoliciesByCustomerPageServiceTest {
+
+    @Mock
+    PolicyRepository policyRepository;
+
+    @Mock
+    ApiPolicyMapper apiPolicyMapper;
+
+    @InjectMocks
+    ListPoliciesByCustomerPageService service;
+
+    @Test
+    @DisplayName("Mapeia a página e repassa o cursor como next_page_token")
+    void execute_mapsPage_andForwardsCursor() {
+        UUID customerId = UUID.randomUUID();
+        Policy p1 = mock(Policy.class);
+        PolicyResponseDto r1 = mock(PolicyResponseDto.class);
+        when(policyRepository.findPageByCustomerId(customerId, 20, "abc"))
+                .thenReturn(new PageResult<>(List.of(p1), "next"));
+        when(apiPolicyMapper.toResponse(p1)).thenReturn(r1);
+
+        var out = service.execute(customerId, 20, "abc");
+
+        assertThat(out.items()).containsExactly(r1);
+        assertThat(out.nextPageToken()).isEqualTo("next");
+    }
+
+    @Test
+    @DisplayName("Limite é normalizado entre 1 e o máximo permitido")
+    void execute_clampsLimit() {
+        UUID customerId = UUID.randomUUID();
+        when(policyRepository.findPageByCustomerId(eq(customerId), anyInt(), isNull()))
+                .thenReturn(new PageResult<>(List.of(mock(Policy.class)), null));
+
+        service.execute(customerId, 10_000, null);
+        service.execute(customerId, 0, null);
+
+        verify(policyRepository).findPageByCustomerId(customerId, ListPoliciesByCustomerPageService.MAX_LIMIT, null);
+        verify(policyRepository).findPageByCustomerId(customerId, 1, null);
+    }
+
+    @Test
+    @DisplayName("Primeira página vazia: lança PolicyNotFoundByIdCustomerException")
+    void execute_emptyFirstPage_throws() {
+        UUID customerId = UUID.randomUUID();
+        when(policyRepository.findPageByCustomerId(customerId, 10, null))
+                .thenReturn(new PageResult<>(List.of(), null));
+
+        assertThatThrownBy(() -> service.execute(customerId, 10, null))
+                .isInstanceOf(PolicyNotFoundByIdCustomerException.class);
+    }
+
+    @Test
+    @DisplayName("Página seguinte vazia: devolve página vazia sem token (fim da listagem)")
+    void execute_emptyNextPage_returnsEmpty() {
+        UUID customerId = UUID.randomUUID();
+        when(policyRepository.findPageByCustomerId(customerId, 10, "tok"))
+                .thenReturn(new PageResult<>(List.of(), null));
+
+        var out = service.execute(customerId, 10, "tok");
+
+        assertThat(out.items()).isEmpty();
+        assertThat(out.nextPageToken()).isNull();
+        verifyNoInteractions(apiPolicyMapper);
+    }
+}
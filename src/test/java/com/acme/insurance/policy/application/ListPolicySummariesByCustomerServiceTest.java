@@ -0,0 +1,62 @@
+package com.acme.insurance.policy.application;
+
+import com.acme.insurance.policy.app.dto.PolicySummaryDto;
+import com.acme.insurance.policy.app.error.PolicyNotFoundByIdCustomerException;
+import com.acme.insurance.policy.app.mapper.ApiPolicyMapper;
+import com.acme.insurance.policy.domain.model.PageResult;
+import com.acme.insurance.policy.domain.model.PolicySummary;
+import com.acme.insurance.policy.domain.ports.out.PolicyRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListPolicySummariesByCustomerServiceTest {
+
+    @Mock
+    PolicyRepository policyRepository;
+
+    @Mock
+    ApiPolicyMapper apiPolicyMapper;
+
+    @InjectMocks
+    ListPolicySummariesByCustomerService service;
+
+    @Test
+    @DisplayName("Usa a consulta projetada e nunca carrega o agregado completo")
+    void execute_usesSummaryProjection() {
+        UUID customerId = UUID.randomUUID();
+        PolicySummary s1 = mock(PolicySummary.class);
+        PolicySummaryDto d1 = mock(PolicySummaryDto.class);
+        when(policyRepository.findSummaryPageByCustomerId(customerId, 50, null))
+                .thenReturn(new PageResult<>(List.of(s1), "next"));
+        when(apiPolicyMapper.toSummaryResponse(s1)).thenReturn(d1);
+
+        var out = service.execute(customerId, 50, null);
+
+        assertThat(out.items()).containsExactly(d1);
+        assertThat(out.nextPageToken()).isEqualTo("next");
+        verify(policyRepository, never()).findPageByCustomerId(any(), anyInt(), any());
+        verify(apiPolicyMapper, never()).toResponse(any());
+    }
+
+    @Test
+    @DisplayName("Primeira página vazia: lança PolicyNotFoundByIdCustomerException")
+    void execute_empty_throws() {
+        UUID customerId = UUID.randomUUID();
+        when(policyRepository.findSummaryPageByCustomerId(customerId, 100, null))
+                .thenReturn(new PageResult<>(List.of(), null));
+
+        assertThatThrownBy(() -> service.execute(customerId, 500, null))
+                .isInstanceOf(PolicyNotFoundByIdCustomerException.class);
+    }
+}
@@ -5,20 +5,30 @@ import com.acme.insurance.policy.domain.events.PolicyRequestStatusChangedEvent;
 import com.acme.insurance.policy.domain.fraud.FraudClassification;
 import com.acme.insurance.policy.domain.model.Policy;
 import com.acme.insurance.policy.domain.model.PolicyStatus;
+import com.acme.insurance.policy.domain.ports.out.CorrelationStore;
 import com.acme.insurance.policy.domain.ports.out.PolicyRepository;
 import com.acme.insurance.policy.domain.ports.out.PolicyRequestPublisher;
-import com.acme.insurance.policy.infra.memory.InMemoryCorrelationStore;
+import com.acme.insurance.policy.domain.model.PolicyWriteConflictException;
+import com.acme.insurance.policy.infra.config.AppProps;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,6 +36,8 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -39,13 +51,22 @@ class PolicyStateMachineTest {
     PolicyRequestPublisher policyRequestPublisher;
 
     @Mock
-    InMemoryCorrelationStore inMemoryCorrelationStore;
+    CorrelationStore correlationStore;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    AppProps props;
+
+    @Spy
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     PolicyStateMachine fsm;
 
+    @Captor
+    ArgumentCaptor<List<PolicyRequestStatusChangedEvent>> eventsCap;
+
     @Test
-    @DisplayName("cancel(): moveTo(CANCELLED) publica evento, limpa store se final, faz finish() e retorna a persistida")
+    @DisplayName("cancel(): uma escrita condicional, um lote de eventos, clear e devolve o agregado final sem reler")
     void cancel_happyPath() {
         UUID id = UUID.randomUUID();
 
@@ -56,40 +77,99 @@ class PolicyStateMachineTest {
         Policy afterMove = mock(Policy.class);
         when(afterMove.id()).thenReturn(id);
         when(afterMove.status()).thenReturn(PolicyStatus.CANCELLED);
-        when(afterMove.isFinalStatus()).thenReturn(true);
 
         Policy afterFinish = mock(Policy.class);
         when(afterFinish.id()).thenReturn(id);
+        when(afterFinish.isFinalStatus()).thenReturn(true);
+        when(afterFinish.withVersion(anyLong())).thenReturn(afterFinish);
 
         when(found.withStatusAndHistory(eq(PolicyStatus.CANCELLED), any()))
                 .thenReturn(afterMove);
         when(afterMove.withFinishedAt(any()))
                 .thenReturn(afterFinish);
 
-        when(policyRepository.findById(id)).thenReturn(Optional.of(afterFinish));
-
-        ArgumentCaptor<PolicyRequestStatusChangedEvent> evtCap =
-                ArgumentCaptor.forClass(PolicyRequestStatusChangedEvent.class);
-
         Policy out = fsm.cancel(found, "BY_CUSTOMER_REQUEST");
 
         assertThat(out).isSameAs(afterFinish);
 
-        InOrder inOrder = inOrder(policyRepository, policyRequestPublisher, inMemoryCorrelationStore);
-        inOrder.verify(policyRepository).save(same(afterMove));
-        inOrder.verify(policyRequestPublisher).publish(evtCap.capture());
-        inOrder.verify(inMemoryCorrelationStore).clear(eq(id));
-        inOrder.verify(policyRepository).save(same(afterFinish));
-        inOrder.verify(policyRepository).findById(id);
+        InOrder inOrder = inOrder(policyRepository, policyRequestPublisher, correlationStore);
+        inOrder.verify(policyRepository).saveTransition(same(afterFinish), eq(PolicyStatus.APPROVED));
+        inOrder.verify(policyRequestPublisher).publishAll(eventsCap.capture());
+        inOrder.verify(correlationStore).clear(eq(id));
+        verify(policyRepository, never()).save(any());
+        verify(policyRepository, never()).findById(any());
 
-        PolicyRequestStatusChangedEvent evt = evtCap.getValue();
-        assertThat(evt.requestId()).isEqualTo(id);
-        assertThat(evt.status()).isEqualTo("CANCELLED");
-        assertThat(evt.occurredAt()).isNotNull();
+        assertThat(eventsCap.getValue()).singleElement().satisfies(evt -> {
+            assertThat(evt.requestId()).isEqualTo(id);
+            assertThat(evt.status()).isEqualTo("CANCELLED");
+            assertThat(evt.occurredAt()).isNotNull();
+        });
 
-        verifyNoMoreInteractions(inMemoryCorrelationStore);
+        verifyNoMoreInteractions(correlationStore);
+    }
+
+    @Test
+    @DisplayName("onFraud() aprovado: RECEIVED -> VALIDATED -> PENDING em uma escrita e um lote com 2 eventos")
+    void onFraud_approved_singleWrite() {
+        UUID id = UUID.randomUUID();
+        Policy received = policy(id, PolicyStatus.RECEIVED);
+
+        Policy out = fsm.onFraud(received, FraudClassification.REGULAR, "AUTO", new BigDecimal("1000"));
+
+        ArgumentCaptor<Policy> saved = ArgumentCaptor.forClass(Policy.class);
+        verify(policyRepository).saveTransition(saved.capture(), eq(PolicyStatus.RECEIVED));
+        assertThat(out).isSameAs(saved.getValue());
+        verify(policyRequestPublisher).publishAll(eventsCap.capture());
+        verify(policyRepository, never()).save(any());
+
+        assertThat(saved.getValue().status()).isEqualTo(PolicyStatus.PENDING);
+        assertThat(saved.getValue().history()).extracting(Policy.StatusHistory::status)
+                .containsExactly(PolicyStatus.RECEIVED, PolicyStatus.VALIDATED, PolicyStatus.PENDING);
+        assertThat(eventsCap.getValue()).extracting(PolicyRequestStatusChangedEvent::status)
+                .containsExactly("VALIDATED", "PENDING");
+        verifyNoInteractions(correlationStore);
     }
 
+    @Test
+    @DisplayName("onFraud() rejeitado: REJECTED + finishedAt em uma escrita, evento único e clear")
+    void onFraud_rejected_singleWrite() {
+        UUID id = UUID.randomUUID();
+        Policy received = policy(id, PolicyStatus.RECEIVED);
+
+        fsm.onFraud(received, FraudClassification.HIGH_RISK, "AUTO", new BigDecimal("999999999"));
+
+        ArgumentCaptor<Policy> saved = ArgumentCaptor.forClass(Policy.class);
+        verify(policyRepository).saveTransition(saved.capture(), eq(PolicyStatus.RECEIVED));
+        verify(policyRequestPublisher).publishAll(eventsCap.capture());
+        verify(correlationStore).clear(id);
+
+        assertThat(saved.getValue().status()).isEqualTo(PolicyStatus.REJECTED);
+        assertThat(saved.getValue().finishedAt()).isNotNull();
+        assertThat(eventsCap.getValue()).extracting(PolicyRequestStatusChangedEvent::status)
+                .containsExactly("REJECTED");
+    }
+
+    @Test
+    @DisplayName("Outbox habilitado: eventos vão na mesma escrita da transição e nada é publicado inline")
+    void onFraud_outbox_writesEventsWithTransition() {
+        when(props.dynamodb().outbox().enabled()).thenReturn(true);
+        var outboxFsm = new PolicyStateMachine(policyRepository, policyRequestPublisher, correlationStore, props,
+                meterRegistry);
+        UUID id = UUID.randomUUID();
+        Policy received = policy(id, PolicyStatus.RECEIVED);
+
+        outboxFsm.onFraud(received, FraudClassification.HIGH_RISK, "AUTO", new BigDecimal("999999999"));
+
+        ArgumentCaptor<Policy> saved = ArgumentCaptor.forClass(Policy.class);
+        verify(policyRepository).saveTransition(saved.capture(), eq(PolicyStatus.RECEIVED), eventsCap.capture());
+        verify(policyRepository, never()).saveTransition(any(), any());
+        verifyNoInteractions(policyRequestPublisher);
+        verify(correlationStore).clear(id);
+
+        assertThat(saved.getValue().status()).isEqualTo(PolicyStatus.REJECTED);
+        assertThat(eventsCap.getValue()).extracting(PolicyRequestStatusChangedEvent::status)
+                .containsExactly("REJECTED");
+    }
 
     @Test
     @DisplayName("publishCreated(): publica PolicyRequestCreatedEvent com dados da policy")
@@ -147,9 +227,10 @@ class PolicyStateMachineTest {
         UUID id = UUID.randomUUID();
         Policy policy = policyWithStatus(id, PolicyStatus.CANCELLED);
 
-        fsm.onFraud(policy, FraudClassification.REGULAR, "AUTO", new BigDecimal("1000"));
+        Policy out = fsm.onFraud(policy, FraudClassification.REGULAR, "AUTO", new BigDecimal("1000"));
 
-        verifyNoInteractions(policyRepository, policyRequestPublisher, inMemoryCorrelationStore);
+        assertThat(out).isSameAs(policy);
+        verifyNoInteractions(policyRepository, policyRequestPublisher, correlationStore);
     }
 
     @Test
@@ -160,7 +241,7 @@ class PolicyStateMachineTest {
 
         fsm.onPaymentConfirmed(policy);
 
-        verifyNoInteractions(policyRepository, policyRequestPublisher, inMemoryCorrelationStore);
+        verifyNoInteractions(policyRepository, policyRequestPublisher, correlationStore);
     }
 
     @Test
@@ -171,7 +252,7 @@ class PolicyStateMachineTest {
 
         fsm.onPaymentDenied(policy);
 
-        verifyNoInteractions(policyRepository, policyRequestPublisher, inMemoryCorrelationStore);
+        verifyNoInteractions(policyRepository, policyRequestPublisher, correlationStore);
     }
 
     @Test
@@ -182,7 +263,7 @@ class PolicyStateMachineTest {
 
         fsm.onSubscriptionAuthorized(policy);
 
-        verifyNoInteractions(policyRepository, policyRequestPublisher, inMemoryCorrelationStore);
+        verifyNoInteractions(policyRepository, policyRequestPublisher, correlationStore);
     }
 
     @Test
@@ -193,7 +274,7 @@ class PolicyStateMachineTest {
 
         fsm.onSubscriptionDenied(policy);
 
-        verifyNoInteractions(policyRepository, policyRequestPublisher, inMemoryCorrelationStore);
+        verifyNoInteractions(policyRepository, policyRequestPublisher, correlationStore);
     }
 
     @Test
@@ -203,13 +284,13 @@ class PolicyStateMachineTest {
         Policy policy = mock(Policy.class);
         when(policy.id()).thenReturn(id);
 
-        when(inMemoryCorrelationStore.bothDone(id)).thenReturn(false);
+        when(correlationStore.bothDone(id)).thenReturn(false);
 
         PolicyStatus.TransitionContext ctx = ctxFor(policy);
         boolean out = ctx.bothSignalsArrived();
 
         assertThat(out).isFalse();
-        verify(inMemoryCorrelationStore).bothDone(id);
+        verify(correlationStore).bothDone(id);
         verifyNoInteractions(policyRepository, policyRequestPublisher);
     }
 
@@ -220,13 +301,13 @@ class PolicyStateMachineTest {
         Policy policy = mock(Policy.class);
         when(policy.id()).thenReturn(id);
 
-        when(inMemoryCorrelationStore.bothDone(id)).thenReturn(true);
+        when(correlationStore.bothDone(id)).thenReturn(true);
 
         PolicyStatus.TransitionContext ctx = ctxFor(policy);
         boolean out = ctx.bothSignalsArrived();
 
         assertThat(out).isTrue();
-        verify(inMemoryCorrelationStore).bothDone(id);
+        verify(correlationStore).bothDone(id);
         verifyNoInteractions(policyRepository, policyRequestPublisher);
     }
 
@@ -242,26 +323,27 @@ class PolicyStateMachineTest {
         Policy approved = mock(Policy.class);
         when(approved.id()).thenReturn(id);
         when(approved.status()).thenReturn(PolicyStatus.APPROVED);
-        when(approved.isFinalStatus()).thenReturn(true);
 
         Policy finished = mock(Policy.class);
         when(finished.id()).thenReturn(id);
+        when(finished.isFinalStatus()).thenReturn(true);
+        when(finished.withVersion(anyLong())).thenReturn(finished);
 
         when(pending.withStatusAndHistory(eq(PolicyStatus.APPROVED), any()))
                 .thenReturn(approved);
         when(approved.withFinishedAt(any()))
                 .thenReturn(finished);
 
-        when(inMemoryCorrelationStore.bothDone(id)).thenReturn(true);
+        when(correlationStore.bothDone(id)).thenReturn(true);
 
         fsm.onPaymentConfirmed(pending);
 
-        InOrder in = inOrder(inMemoryCorrelationStore, policyRepository, policyRequestPublisher);
-        in.verify(inMemoryCorrelationStore).bothDone(id);
-        in.verify(policyRepository).save(same(approved));
-        in.verify(policyRequestPublisher).publish(any(PolicyRequestStatusChangedEvent.class));
-        in.verify(inMemoryCorrelationStore).clear(id);
-        in.verify(policyRepository).save(same(finished));
+        InOrder in = inOrder(correlationStore, policyRepository, policyRequestPublisher);
+        in.verify(correlationStore).bothDone(id);
+        in.verify(policyRepository).saveTransition(same(finished), eq(PolicyStatus.PENDING));
+        in.verify(policyRequestPublisher).publishAll(anyList());
+        in.verify(correlationStore).clear(id);
+        verify(policyRepository, never()).save(any());
     }
 
     @Test
@@ -272,14 +354,82 @@ class PolicyStateMachineTest {
         when(pending.id()).thenReturn(id);
         when(pending.status()).thenReturn(PolicyStatus.PENDING);
 
-        when(inMemoryCorrelationStore.bothDone(id)).thenReturn(false);
+        when(correlationStore.bothDone(id)).thenReturn(false);
 
         fsm.onSubscriptionAuthorized(pending);
 
-        verify(inMemoryCorrelationStore).bothDone(id);
+        verify(correlationStore).bothDone(id);
         verifyNoInteractions(policyRepository, policyRequestPublisher);
     }
 
+    @Test
+    @DisplayName("onFraud(): grava a próxima versão e devolve o agregado com ela")
+    void onFraud_writesNextVersion() {
+        Policy received = policy(UUID.randomUUID(), PolicyStatus.RECEIVED).withVersion(4L);
+
+        Policy out = fsm.onFraud(received, FraudClassification.REGULAR, "AUTO", new BigDecimal("1000"));
+
+        ArgumentCaptor<Policy> saved = ArgumentCaptor.forClass(Policy.class);
+        verify(policyRepository).saveTransition(saved.capture(), eq(PolicyStatus.RECEIVED));
+        assertThat(saved.getValue().version()).isEqualTo(5L);
+        assertThat(out.version()).isEqualTo(5L);
+    }
+
+    @Test
+    @DisplayName("Conflito de escrita: relê a policy e reaplica o evento sobre a versão atual")
+    void conflict_reloadsAndReapplies() {
+        when(props.dynamodb().writeConflictMaxAttempts()).thenReturn(3);
+        var retryingFsm = new PolicyStateMachine(policyRepository, policyRequestPublisher, correlationStore, props,
+                meterRegistry);
+        UUID id = UUID.randomUUID();
+        Policy stale = policy(id, PolicyStatus.PENDING).withVersion(2L);
+        Policy fresh = policy(id, PolicyStatus.PENDING).withVersion(3L);
+        doThrow(new PolicyWriteConflictException(id, PolicyStatus.PENDING, 2L, null))
+                .doNothing()
+                .when(policyRepository).saveTransition(any(), eq(PolicyStatus.PENDING));
+        when(policyRepository.findByIdConsistent(id)).thenReturn(Optional.of(fresh));
+
+        Policy out = retryingFsm.onPaymentDenied(stale);
+
+        ArgumentCaptor<Policy> saved = ArgumentCaptor.forClass(Policy.class);
+        verify(policyRepository, times(2)).saveTransition(saved.capture(), eq(PolicyStatus.PENDING));
+        assertThat(saved.getAllValues()).extracting(Policy::version).containsExactly(3L, 4L);
+        assertThat(out.status()).isEqualTo(PolicyStatus.REJECTED);
+        assertThat(out.version()).isEqualTo(4L);
+        verify(policyRequestPublisher, times(1)).publishAll(anyList());
+        assertThat(meterRegistry.get("policy.fsm.write.conflicts").tag("outcome", "retried").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Conflito de escrita com policy já finalizada: propaga o conflito sem reaplicar")
+    void conflict_finalOnReload_propagates() {
+        when(props.dynamodb().writeConflictMaxAttempts()).thenReturn(3);
+        var retryingFsm = new PolicyStateMachine(policyRepository, policyRequestPublisher, correlationStore, props,
+                meterRegistry);
+        UUID id = UUID.randomUUID();
+        Policy pending = policy(id, PolicyStatus.PENDING).withVersion(2L);
+        doThrow(new PolicyWriteConflictException(id, PolicyStatus.PENDING, 2L, null))
+                .when(policyRepository).saveTransition(any(), eq(PolicyStatus.PENDING));
+        when(policyRepository.findByIdConsistent(id))
+                .thenReturn(Optional.of(policy(id, PolicyStatus.APPROVED).withVersion(3L)));
+
+        assertThatThrownBy(() -> retryingFsm.cancel(pending, "BY_CUSTOMER_REQUEST"))
+                .isInstanceOf(PolicyWriteConflictException.class);
+
+        verify(policyRepository, times(1)).saveTransition(any(), any());
+        verifyNoInteractions(policyRequestPublisher);
+        assertThat(meterRegistry.get("policy.fsm.write.conflicts").tag("outcome", "exhausted").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    private Policy policy(UUID id, PolicyStatus status) {
+        OffsetDateTime created = OffsetDateTime.now(ZoneOffset.UTC);
+        return new Policy(id, UUID.randomUUID(), UUID.randomUUID(), "AUTO", "MOBILE", "CREDIT_CARD",
+                status, created, null, Map.of(), List.of(), BigDecimal.TEN, new BigDecimal("1000"),
+                List.of(new Policy.StatusHistory(status, created)), null);
+    }
+
     private Policy policyWithStatus(UUID id, PolicyStatus status) {
         Policy p = mock(Policy.class);
         when(p.id()).thenReturn(id);
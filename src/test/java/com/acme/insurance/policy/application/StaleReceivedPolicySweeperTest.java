@@ -0,0 +1,141 @@
+package com.acme.insurance.policy.application;
+
+import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.domain.model.PolicyStatus;
+import com.acme.insurance.policy.domain.ports.out.FraudRecoveryLease;
+import com.acme.insurance.policy.domain.ports.out.PolicyRepository;
+import com.acme.insurance.policy.infra.config.AppProps;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StaleReceivedPolicySweeperTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T12:00:00Z");
+
+    @Mock
+    PolicyRepository policyRepository;
+
+    @Mock
+    CreatePolicyService createPolicyService;
+
+    @Mock
+    FraudRecoveryLease lease;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    AppProps props;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private StaleReceivedPolicySweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        when(props.fraud().pipeline().staleAfter()).thenReturn(Duration.ofMinutes(2));
+        when(props.fraud().pipeline().recoveryInterval()).thenReturn(Duration.ofMinutes(1));
+        sweeper = new StaleReceivedPolicySweeper(policyRepository, createPolicyService, lease, props, registry,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private Policy stored(PolicyStatus status) {
+        OffsetDateTime createdAt = OffsetDateTime.ofInstant(NOW.minus(Duration.ofMinutes(5)), ZoneOffset.UTC);
+        var policy = new Policy(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "AUTO", "ONLINE",
+                "CREDIT_CARD", status, createdAt, null, Map.of(), List.of(),
+                new BigDecimal("150.00"), new BigDecimal("10000"), List.of(), 1L);
+        lenient().when(policyRepository.findByIdConsistent(policy.id())).thenReturn(Optional.of(policy));
+        return policy;
+    }
+
+    @Test
+    @DisplayName("Consulta o índice de RECEIVED com corte em staleAfter e retoma as policies relidas pela chave")
+    void sweep_resumesStaleFromIndex() {
+        var stale = stored(PolicyStatus.RECEIVED);
+        when(lease.holds()).thenReturn(true);
+        when(policyRepository.streamReceivedBefore(NOW.minus(Duration.ofMinutes(2)))).thenReturn(Stream.of(stale.id()));
+        when(createPolicyService.resumeFraudEvaluation(stale)).thenReturn(true);
+
+        assertThat(sweeper.sweep()).isEqualTo(1);
+
+        assertThat(registry.get("policy.fraud.pipeline.resumed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Policy que saiu de RECEIVED depois da leitura do índice é ignorada")
+    void sweep_skipsPoliciesThatMovedOn() {
+        var moved = stored(PolicyStatus.PENDING);
+        var missing = UUID.randomUUID();
+        when(lease.holds()).thenReturn(true);
+        when(policyRepository.streamReceivedBefore(any())).thenReturn(Stream.of(moved.id(), missing));
+
+        assertThat(sweeper.sweep()).isZero();
+
+        verify(createPolicyService, never()).resumeFraudEvaluation(any());
+    }
+
+    @Test
+    @DisplayName("Sem a lease da varredura, outra réplica é a dona: não consulta o índice")
+    void sweep_withoutLease_skips() {
+        when(lease.holds()).thenReturn(false);
+
+        assertThat(sweeper.sweep()).isZero();
+
+        verify(policyRepository, never()).streamReceivedBefore(any());
+    }
+
+    @Test
+    @DisplayName("Pipeline recusando submissões interrompe a varredura")
+    void sweep_stopsWhenPipelineRejects() {
+        var first = stored(PolicyStatus.RECEIVED);
+        var second = stored(PolicyStatus.RECEIVED);
+        when(lease.holds()).thenReturn(true);
+        when(policyRepository.streamReceivedBefore(any())).thenReturn(Stream.of(first.id(), second.id()));
+        when(createPolicyService.resumeFraudEvaluation(first)).thenReturn(false);
+
+        assertThat(sweeper.sweep()).isZero();
+
+        verify(createPolicyService, never()).resumeFraudEvaluation(second);
+    }
+
+    @Test
+    @DisplayName("Falha na leitura do índice não derruba a varredura agendada")
+    void sweep_repositoryFailure_isSwallowed() {
+        when(lease.holds()).thenReturn(true);
+        when(policyRepository.streamReceivedBefore(any())).thenThrow(new IllegalStateException("dynamo down"));
+
+        assertThat(sweeper.sweep()).isZero();
+
+        verify(createPolicyService, never()).resumeFraudEvaluation(any());
+    }
+
+    @Test
+    @DisplayName("Shutdown devolve a lease da varredura")
+    void shutdown_releasesLease() {
+        sweeper.shutdown();
+
+        verify(lease).release();
+    }
+}
@@ -0,0 +1,60 @@
+package com.acme.insurance.policy.application;
+
+import com.acme.insurance.policy.app.dto.PolicyResponseDto;
+import com.acme.insurance.policy.app.error.PolicyNotFoundByIdCustomerException;
+import com.acme.insurance.policy.app.mapper.ApiPolicyMapper;
+import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.domain.ports.out.PolicyRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StreamPoliciesByCustomerServiceTest {
+
+    @Mock
+    PolicyRepository policyRepository;
+
+    @Mock
+    ApiPolicyMapper apiPolicyMapper;
+
+    @InjectMocks
+    StreamPoliciesByCustomerService service;
+
+    @Test
+    @DisplayName("Mapeia as policies sob demanda, preservando a ordem do repositório")
+    void execute_mapsLazily() {
+        UUID customerId = UUID.randomUUID();
+        Policy p1 = mock(Policy.class);
+        Policy p2 = mock(Policy.class);
+        PolicyResponseDto r1 = mock(PolicyResponseDto.class);
+        PolicyResponseDto r2 = mock(PolicyResponseDto.class);
+        when(policyRepository.streamByCustomerId(customerId)).thenReturn(Stream.of(p1, p2));
+        when(apiPolicyMapper.toResponse(p1)).thenReturn(r1);
+        when(apiPolicyMapper.toResponse(p2)).thenReturn(r2);
+
+        Stream<PolicyResponseDto> out = service.execute(customerId);
+        verifyNoInteractions(apiPolicyMapper);
+
+        assertThat(out).containsExactly(r1, r2);
+    }
+
+    @Test
+    @DisplayName("Sem policies: lança PolicyNotFoundByIdCustomerException antes de iniciar o stream")
+    void execute_empty_throws() {
+        UUID customerId = UUID.randomUUID();
+        when(policyRepository.streamByCustomerId(customerId)).thenReturn(Stream.empty());
+
+        assertThatThrownBy(() -> service.execute(customerId))
+                .isInstanceOf(PolicyNotFoundByIdCustomerException.class);
+    }
+}
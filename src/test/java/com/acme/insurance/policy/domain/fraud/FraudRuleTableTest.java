@@ -0,0 +1,74 @@
+package com.acme.insurance.policy.domain.fraud;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static com.acme.insurance.policy.domain.fraud.FraudClassification.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FraudRuleTableTest {
+
+    private static BigDecimal bd(String v) { return new BigDecimal(v); }
+
+    private static Map<FraudClassification, Map<String, BigDecimal>> custom() {
+        Map<FraudClassification, Map<String, BigDecimal>> limits = new EnumMap<>(FraudClassification.class);
+        limits.put(REGULAR, Map.of("travel", bd("10000"), "DEFAULT", bd("1000")));
+        limits.put(HIGH_RISK, Map.of("DEFAULT", bd("500")));
+        limits.put(PREFERENTIAL, Map.of("TRAVEL", bd("20000.50"), "AUTO", bd("30000"), "default", bd("2000")));
+        limits.put(NO_INFO, Map.of("DEFAULT", bd("0")));
+        return limits;
+    }
+
+    @Test
+    @DisplayName("compile(): categorias da configuração, case-insensitive, com DEFAULT para as demais")
+    void compile_customLimits() {
+        FraudRuleTable table = FraudRuleTable.compile(custom());
+
+        assertThat(table.isApproved(REGULAR, "Travel", bd("10000"))).isTrue();
+        assertThat(table.isApproved(REGULAR, "TRAVEL", bd("10000.01"))).isFalse();
+        assertThat(table.isApproved(REGULAR, "AUTO", bd("1000"))).isTrue();
+        assertThat(table.isApproved(REGULAR, "AUTO", bd("1001"))).isFalse();
+        assertThat(table.isApproved(PREFERENTIAL, "travel", bd("20000.50"))).isTrue();
+        assertThat(table.isApproved(HIGH_RISK, "TRAVEL", bd("501"))).isFalse();
+        assertThat(table.isApproved(NO_INFO, null, bd("0"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("categoryId(): mesmo id para qualquer caixa; desconhecida e null caem no DEFAULT")
+    void categoryId_interned() {
+        FraudRuleTable table = FraudRuleTable.compile(custom());
+
+        assertThat(table.categoryId("travel")).isEqualTo(table.categoryId("TRAVEL"));
+        assertThat(table.categoryId("LIFE")).isEqualTo(table.categoryId(null));
+        assertThat(table.categoryId("AUTO")).isNotEqualTo(table.categoryId(null));
+    }
+
+    @Test
+    @DisplayName("compile(): classificação sem limite DEFAULT é rejeitada")
+    void compile_requiresDefault() {
+        var limits = custom();
+        limits.put(HIGH_RISK, Map.of("AUTO", bd("500")));
+
+        assertThatThrownBy(() -> FraudRuleTable.compile(limits))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("HIGH_RISK");
+    }
+
+    @Test
+    @DisplayName("install(): FraudRules passa a avaliar com a nova tabela")
+    void install_swapsTable() {
+        FraudRuleTable previous = FraudRules.current();
+        try {
+            FraudRules.install(FraudRuleTable.compile(custom()));
+            assertThat(FraudRules.isApproved(REGULAR, "AUTO", bd("1001"))).isFalse();
+        } finally {
+            FraudRules.install(previous);
+        }
+        assertThat(FraudRules.isApproved(REGULAR, "AUTO", bd("350000"))).isTrue();
+    }
+}
@@ -29,7 +29,7 @@ class PolicyTest {
                 List.of("TOWING"),
                 new BigDecimal("150.00"),
                 new BigDecimal("50000"),
-                history
+                history, null
         );
     }
 
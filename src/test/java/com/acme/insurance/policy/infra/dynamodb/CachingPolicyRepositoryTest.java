@@ -0,0 +1,177 @@
+package com.acme.insurance.policy.infra.dynamodb;
+
+import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.domain.model.PolicyStatus;
+import com.acme.insurance.policy.domain.model.PolicyWriteConflictException;
+import com.acme.insurance.policy.infra.config.AppProps;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingPolicyRepositoryTest {
+
+    @Mock
+    PolicyDynamoRepository delegate;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private CachingPolicyRepository repo;
+
+    @BeforeEach
+    void setUp() {
+        AppProps props = mock(AppProps.class, RETURNS_DEEP_STUBS);
+        when(props.dynamodb().cache().maxSize()).thenReturn(100);
+        when(props.dynamodb().cache().ttl()).thenReturn(Duration.ofMinutes(1));
+        repo = new CachingPolicyRepository(delegate, props, registry);
+    }
+
+    private Policy policy(UUID id) {
+        Policy p = mock(Policy.class);
+        lenient().when(p.id()).thenReturn(id);
+        return p;
+    }
+
+    @Test
+    @DisplayName("findById(): primeira chamada vai ao DynamoDB, a segunda é servida do cache")
+    void findById_readThrough() {
+        UUID id = UUID.randomUUID();
+        Policy stored = policy(id);
+        when(delegate.findById(id)).thenReturn(Optional.of(stored));
+
+        assertThat(repo.findById(id)).containsSame(stored);
+        assertThat(repo.findById(id)).containsSame(stored);
+
+        verify(delegate, times(1)).findById(id);
+        assertThat(registry.get("cache.gets").tag("cache", "policies").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("cache.gets").tag("cache", "policies").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("findById(): ausência não é cacheada")
+    void findById_missNotCached() {
+        UUID id = UUID.randomUUID();
+        when(delegate.findById(id)).thenReturn(Optional.empty());
+
+        assertThat(repo.findById(id)).isEmpty();
+        assertThat(repo.findById(id)).isEmpty();
+
+        verify(delegate, times(2)).findById(id);
+    }
+
+    @Test
+    @DisplayName("findById(): misses concorrentes para o mesmo id geram uma única chamada ao DynamoDB")
+    void findById_singleFlight() throws Exception {
+        UUID id = UUID.randomUUID();
+        Policy stored = policy(id);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.findById(id)).thenAnswer(inv -> {
+            loading.countDown();
+            release.await(2, TimeUnit.SECONDS);
+            return Optional.of(stored);
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            var first = CompletableFuture.supplyAsync(() -> repo.findById(id), pool);
+            assertThat(loading.await(2, TimeUnit.SECONDS)).isTrue();
+            var others = IntStream.range(0, 3)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> repo.findById(id), pool))
+                    .toList();
+            release.countDown();
+
+            assertThat(first.get(2, TimeUnit.SECONDS)).containsSame(stored);
+            for (var f : others) {
+                assertThat(f.get(2, TimeUnit.SECONDS)).containsSame(stored);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        verify(delegate, times(1)).findById(id);
+    }
+
+    @Test
+    @DisplayName("saveTransition(): grava no DynamoDB e atualiza o cache com a versão escrita")
+    void saveTransition_updatesCache() {
+        UUID id = UUID.randomUUID();
+        Policy written = policy(id);
+
+        repo.saveTransition(written, PolicyStatus.RECEIVED);
+
+        assertThat(repo.findById(id)).containsSame(written);
+        verify(delegate).saveTransition(written, PolicyStatus.RECEIVED);
+        verify(delegate, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("saveTransition(): conflito invalida a entrada para a próxima leitura buscar o estado atual")
+    void saveTransition_conflict_invalidates() {
+        UUID id = UUID.randomUUID();
+        Policy stale = policy(id);
+        Policy fresh = policy(id);
+        repo.save(stale);
+
+        doThrow(new PolicyWriteConflictException(id, PolicyStatus.PENDING, null))
+                .when(delegate).saveTransition(any(), eq(PolicyStatus.PENDING));
+        when(delegate.findById(id)).thenReturn(Optional.of(fresh));
+
+        assertThatThrownBy(() -> repo.saveTransition(policy(id), PolicyStatus.PENDING))
+                .isInstanceOf(PolicyWriteConflictException.class);
+
+        assertThat(repo.findById(id)).containsSame(fresh);
+    }
+
+    @Test
+    @DisplayName("findByIdConsistent(): sempre vai ao DynamoDB e renova o cache")
+    void findByIdConsistent_bypassesAndRefreshes() {
+        UUID id = UUID.randomUUID();
+        Policy old = policy(id);
+        Policy fresh = policy(id);
+        repo.save(old);
+        when(delegate.findByIdConsistent(id)).thenReturn(Optional.of(fresh));
+
+        assertThat(repo.findByIdConsistent(id)).containsSame(fresh);
+        assertThat(repo.findById(id)).containsSame(fresh);
+        verify(delegate, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("findAllByIds(): busca no DynamoDB apenas os ids que não estão no cache")
+    void findAllByIds_onlyLoadsMisses() {
+        UUID cached = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        UUID absent = UUID.randomUUID();
+        Policy hot = policy(cached);
+        Policy cold = policy(missing);
+        repo.save(hot);
+        when(delegate.findAllByIds(argThat(ids -> ids.size() == 2 && ids.contains(missing) && ids.contains(absent))))
+                .thenReturn(List.of(cold));
+
+        assertThat(repo.findAllByIds(List.of(cached, missing, absent))).containsExactlyInAnyOrder(hot, cold);
+        assertThat(repo.findById(missing)).containsSame(cold);
+        verify(delegate, never()).findById(any());
+    }
+}
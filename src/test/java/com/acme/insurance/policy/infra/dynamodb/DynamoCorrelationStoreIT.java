@@ -0,0 +1,86 @@
+package com.acme.insurance.policy.infra.dynamodb;
+
+import com.acme.insurance.policy.infra.config.AppProps;
+import com.acme.insurance.policy.support.AwsIntegrationBase;
+import io.awspring.cloud.sqs.operations.SqsTemplate;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
+import software.amazon.awssdk.services.dynamodb.model.BillingMode;
+import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
+import software.amazon.awssdk.services.dynamodb.model.KeyType;
+import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.dynamodb.model.ScalarAttributeType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        "spring.cloud.aws.sqs.enabled=false",
+        "app.aws.sqs.enabled=false",
+        "app.aws.sqs.listeners.enabled=false"
+})
+@Tag("integration")
+class DynamoCorrelationStoreIT extends AwsIntegrationBase {
+
+    private static final String CORRELATION_TABLE = "PolicyCorrelation";
+
+    @MockBean
+    SqsTemplate sqsTemplate;
+
+    @Autowired
+    AppProps props;
+
+    @BeforeAll
+    static void ensureCorrelationTable() {
+        try {
+            dynamo.describeTable(b -> b.tableName(CORRELATION_TABLE));
+        } catch (ResourceNotFoundException e) {
+            dynamo.createTable(b -> b
+                    .tableName(CORRELATION_TABLE)
+                    .attributeDefinitions(AttributeDefinition.builder()
+                            .attributeName("policyId").attributeType(ScalarAttributeType.S).build())
+                    .keySchema(KeySchemaElement.builder().attributeName("policyId").keyType(KeyType.HASH).build())
+                    .billingMode(BillingMode.PAY_PER_REQUEST));
+            dynamo.waiter().waitUntilTableExists(b -> b.tableName(CORRELATION_TABLE));
+        }
+    }
+
+    @Test
+    void segundoSinalEmOutraReplicaCompletaACorrelacao() {
+        var nodeA = new DynamoCorrelationStore(dynamo, props);
+        var nodeB = new DynamoCorrelationStore(dynamo, props);
+        var id = UUID.randomUUID();
+
+        nodeA.markPayment(id, Instant.now());
+        assertThat(nodeA.bothDone(id)).isFalse();
+
+        nodeB.markSubscription(id, Instant.now());
+        assertThat(nodeB.bothDone(id)).isTrue();
+        assertThat(nodeA.bothDone(id)).isTrue();
+
+        nodeA.clear(id);
+        assertThat(nodeB.bothDone(id)).isFalse();
+    }
+
+    @Test
+    void sinaisRepetidosSaoIdempotentes() {
+        var store = new DynamoCorrelationStore(dynamo, props);
+        var id = UUID.randomUUID();
+
+        store.markPayment(id, Instant.now());
+        store.markPayment(id, Instant.now());
+        assertThat(store.bothDone(id)).isFalse();
+
+        store.markSubscription(id, Instant.now());
+        assertThat(store.bothDone(id)).isTrue();
+    }
+}
@@ -0,0 +1,121 @@
+package com.acme.insurance.policy.infra.dynamodb;
+
+import com.acme.insurance.policy.infra.config.AppProps;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class DynamoCorrelationStoreTest {
+
+    private static final Instant NOW = Instant.parse("2025-08-01T10:00:00Z");
+
+    @Mock
+    DynamoDbClient ddb;
+
+    private DynamoCorrelationStore store;
+
+    @BeforeEach
+    void setUp() {
+        AppProps props = mock(AppProps.class, RETURNS_DEEP_STUBS);
+        when(props.dynamodb().correlation().table()).thenReturn("correlation-test");
+        when(props.dynamodb().correlation().ttl()).thenReturn(Duration.ofMinutes(30));
+        store = new DynamoCorrelationStore(ddb, props, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static <B> B applied(ArgumentCaptor<Consumer<B>> cap, B builder) {
+        cap.getValue().accept(builder);
+        return builder;
+    }
+
+    @Test
+    @DisplayName("markPayment(): ADD atômico no string set com TTL e condição de item não expirado")
+    void markPayment_atomicAdd() {
+        UUID id = UUID.randomUUID();
+        when(ddb.updateItem(any(Consumer.class))).thenReturn(UpdateItemResponse.builder()
+                .attributes(Map.of("marks", AttributeValue.fromSs(List.of("PAYMENT_CONFIRMED"))))
+                .build());
+
+        store.markPayment(id, NOW);
+
+        ArgumentCaptor<Consumer<UpdateItemRequest.Builder>> cap = ArgumentCaptor.forClass(Consumer.class);
+        verify(ddb).updateItem(cap.capture());
+        UpdateItemRequest req = applied(cap, UpdateItemRequest.builder()).build();
+        assertThat(req.tableName()).isEqualTo("correlation-test");
+        assertThat(req.key()).containsEntry("policyId", AttributeValue.fromS(id.toString()));
+        assertThat(req.updateExpression()).startsWith("ADD marks :mark");
+        assertThat(req.conditionExpression()).isEqualTo("attribute_not_exists(policyId) OR expiresAt > :now");
+        assertThat(req.expressionAttributeValues().get(":mark").ss()).containsExactly("PAYMENT_CONFIRMED");
+        assertThat(req.expressionAttributeValues().get(":exp").n())
+                .isEqualTo(Long.toString(NOW.getEpochSecond() + 1800));
+    }
+
+    @Test
+    @DisplayName("mark: item expirado (condição falha) é recriado só com a nova marca")
+    void mark_expired_recreates() {
+        UUID id = UUID.randomUUID();
+        when(ddb.updateItem(any(Consumer.class)))
+                .thenThrow(ConditionalCheckFailedException.builder().message("expirado").build());
+
+        store.markSubscription(id, NOW);
+
+        ArgumentCaptor<Consumer<PutItemRequest.Builder>> cap = ArgumentCaptor.forClass(Consumer.class);
+        verify(ddb).putItem(cap.capture());
+        PutItemRequest req = applied(cap, PutItemRequest.builder()).build();
+        assertThat(req.item().get("marks").ss()).containsExactly("SUBSCRIPTION_AUTHORIZED");
+    }
+
+    @Test
+    @DisplayName("bothDone(): leitura consistente; true apenas com as duas marcas e dentro do TTL")
+    void bothDone_requiresBothMarksAndNotExpired() {
+        UUID id = UUID.randomUUID();
+        String future = Long.toString(NOW.getEpochSecond() + 60);
+        String past = Long.toString(NOW.getEpochSecond() - 1);
+        when(ddb.getItem(any(Consumer.class)))
+                .thenReturn(item(List.of("PAYMENT_CONFIRMED"), future))
+                .thenReturn(item(List.of("PAYMENT_CONFIRMED", "SUBSCRIPTION_AUTHORIZED"), future))
+                .thenReturn(item(List.of("PAYMENT_CONFIRMED", "SUBSCRIPTION_AUTHORIZED"), past))
+                .thenReturn(GetItemResponse.builder().build());
+
+        assertThat(store.bothDone(id)).isFalse();
+        assertThat(store.bothDone(id)).isTrue();
+        assertThat(store.bothDone(id)).isFalse();
+        assertThat(store.bothDone(id)).isFalse();
+
+        ArgumentCaptor<Consumer<GetItemRequest.Builder>> cap = ArgumentCaptor.forClass(Consumer.class);
+        verify(ddb, times(4)).getItem(cap.capture());
+        assertThat(applied(cap, GetItemRequest.builder()).build().consistentRead()).isTrue();
+    }
+
+    private static GetItemResponse item(List<String> marks, String expiresAt) {
+        return GetItemResponse.builder().item(Map.of(
+                "marks", AttributeValue.fromSs(marks),
+                "expiresAt", AttributeValue.fromN(expiresAt))).build();
+    }
+}
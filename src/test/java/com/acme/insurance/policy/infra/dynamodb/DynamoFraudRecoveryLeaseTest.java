@@ -0,0 +1,54 @@
+package com.acme.insurance.policy.infra.dynamodb;
+
+import com.acme.insurance.policy.infra.config.AppProps;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class DynamoFraudRecoveryLeaseTest {
+
+    private static final Instant NOW = Instant.parse("2025-08-01T10:00:00Z");
+
+    @Mock
+    DynamoDbClient ddb;
+
+    @Test
+    @DisplayName("holds(): disputa o item lease#fraud-recovery da tabela de policies por dois intervalos de varredura")
+    void holds_leasesItemInPolicyTable() {
+        AppProps props = mock(AppProps.class, RETURNS_DEEP_STUBS);
+        when(props.dynamodb().table()).thenReturn("policies-test");
+        when(props.fraud().pipeline().recoveryInterval()).thenReturn(Duration.ofMinutes(1));
+        var lease = new DynamoFraudRecoveryLease(ddb, props, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertThat(lease.holds()).isTrue();
+
+        ArgumentCaptor<Consumer<UpdateItemRequest.Builder>> cap = ArgumentCaptor.forClass(Consumer.class);
+        verify(ddb).updateItem(cap.capture());
+        var builder = UpdateItemRequest.builder();
+        cap.getValue().accept(builder);
+        UpdateItemRequest req = builder.build();
+        assertThat(req.tableName()).isEqualTo("policies-test");
+        assertThat(req.key()).containsOnlyKeys("policyId")
+                .containsEntry("policyId", AttributeValue.fromS("lease#fraud-recovery"));
+        assertThat(req.expressionAttributeValues().get(":until").n())
+                .isEqualTo(Long.toString(NOW.plus(Duration.ofMinutes(2)).toEpochMilli()));
+    }
+}
@@ -0,0 +1,179 @@
+package com.acme.insurance.policy.infra.dynamodb;
+
+import com.acme.insurance.policy.domain.ports.out.IdempotencyStore;
+import com.acme.insurance.policy.infra.config.AppProps;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class DynamoIdempotencyStoreTest {
+
+    private static final Instant NOW = Instant.parse("2025-08-01T10:00:00Z");
+
+    @Mock
+    DynamoDbClient ddb;
+
+    private DynamoIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        AppProps props = mock(AppProps.class, RETURNS_DEEP_STUBS);
+        when(props.dynamodb().idempotency().table()).thenReturn("idempotency-test");
+        when(props.dynamodb().idempotency().ttl()).thenReturn(Duration.ofHours(24));
+        when(props.dynamodb().idempotency().lease()).thenReturn(Duration.ofSeconds(30));
+        store = new DynamoIdempotencyStore(ddb, props, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static <B> B applied(ArgumentCaptor<Consumer<B>> cap, B builder) {
+        cap.getValue().accept(builder);
+        return builder;
+    }
+
+    @Test
+    @DisplayName("putIfAbsent(): put condicional em andamento com lease, hash do corpo e TTL; vazio quando a chave é nova")
+    void putIfAbsent_newKey_conditionalPut() {
+        UUID policyId = UUID.randomUUID();
+
+        var existing = store.putIfAbsent("customer:k1", policyId, "h1");
+
+        assertThat(existing).isEmpty();
+        ArgumentCaptor<Consumer<PutItemRequest.Builder>> cap = ArgumentCaptor.forClass(Consumer.class);
+        verify(ddb).putItem(cap.capture());
+        PutItemRequest req = applied(cap, PutItemRequest.builder()).build();
+        assertThat(req.tableName()).isEqualTo("idempotency-test");
+        assertThat(req.item())
+                .containsEntry("idempotencyKey", AttributeValue.fromS("customer:k1"))
+                .containsEntry("policyId", AttributeValue.fromS(policyId.toString()))
+                .containsEntry("state", AttributeValue.fromS("IN_PROGRESS"))
+                .containsEntry("requestHash", AttributeValue.fromS("h1"))
+                .containsEntry("inProgressUntil", AttributeValue.fromN(Long.toString(NOW.plusSeconds(30).toEpochMilli())))
+                .containsEntry("expiresAt", AttributeValue.fromN(Long.toString(NOW.getEpochSecond() + 86400)));
+        assertThat(req.conditionExpression()).isEqualTo("attribute_not_exists(idempotencyKey) OR expiresAt <= :now");
+        assertThat(req.returnValuesOnConditionCheckFailure()).isEqualTo(ReturnValuesOnConditionCheckFailure.ALL_OLD);
+    }
+
+    @Test
+    @DisplayName("putIfAbsent(): condição falha devolve o registro existente da própria exceção, sem GetItem")
+    void putIfAbsent_existingKey_returnsOldItem() {
+        UUID original = UUID.randomUUID();
+        when(ddb.putItem(any(Consumer.class))).thenThrow(ConditionalCheckFailedException.builder()
+                .item(Map.of(
+                        "idempotencyKey", AttributeValue.fromS("customer:k1"),
+                        "policyId", AttributeValue.fromS(original.toString()),
+                        "state", AttributeValue.fromS("COMPLETED"),
+                        "requestHash", AttributeValue.fromS("h1")))
+                .build());
+
+        var existing = store.putIfAbsent("customer:k1", UUID.randomUUID(), "h1");
+
+        assertThat(existing).contains(new IdempotencyStore.Entry(original, "h1", true, false));
+        verify(ddb, never()).getItem(any(Consumer.class));
+    }
+
+    @Test
+    @DisplayName("putIfAbsent(): chave em andamento com inProgressUntil no passado volta com a lease vencida")
+    void putIfAbsent_inProgressPastLease_leaseExpired() {
+        UUID original = UUID.randomUUID();
+        when(ddb.putItem(any(Consumer.class))).thenThrow(ConditionalCheckFailedException.builder()
+                .item(Map.of(
+                        "idempotencyKey", AttributeValue.fromS("customer:k1"),
+                        "policyId", AttributeValue.fromS(original.toString()),
+                        "state", AttributeValue.fromS("IN_PROGRESS"),
+                        "inProgressUntil", AttributeValue.fromN(Long.toString(NOW.minusSeconds(1).toEpochMilli()))))
+                .build());
+
+        var existing = store.putIfAbsent("customer:k1", UUID.randomUUID(), "h1");
+
+        assertThat(existing).contains(new IdempotencyStore.Entry(original, null, false, true));
+    }
+
+    @Test
+    @DisplayName("takeOver(): renova a lease só se a chave segue em andamento, com o mesmo policyId e a lease vencida")
+    void takeOver_conditionalLeaseRenewal() {
+        UUID original = UUID.randomUUID();
+
+        assertThat(store.takeOver("customer:k1", original)).isTrue();
+
+        ArgumentCaptor<Consumer<UpdateItemRequest.Builder>> cap = ArgumentCaptor.forClass(Consumer.class);
+        verify(ddb).updateItem(cap.capture());
+        UpdateItemRequest req = applied(cap, UpdateItemRequest.builder()).build();
+        assertThat(req.conditionExpression()).isEqualTo("#state = :inProgress AND #policyId = :policyId AND #lease <= :now");
+        assertThat(req.expressionAttributeValues())
+                .containsEntry(":policyId", AttributeValue.fromS(original.toString()))
+                .containsEntry(":now", AttributeValue.fromN(Long.toString(NOW.toEpochMilli())))
+                .containsEntry(":until", AttributeValue.fromN(Long.toString(NOW.plusSeconds(30).toEpochMilli())));
+    }
+
+    @Test
+    @DisplayName("takeOver(): condição falha quando outra requisição já assumiu ou concluiu a chave")
+    void takeOver_lost() {
+        when(ddb.updateItem(any(Consumer.class))).thenThrow(ConditionalCheckFailedException.builder().build());
+
+        assertThat(store.takeOver("customer:k1", UUID.randomUUID())).isFalse();
+    }
+
+    @Test
+    @DisplayName("complete(): marca a chave como concluída")
+    void complete_setsState() {
+        store.complete("customer:k1");
+
+        ArgumentCaptor<Consumer<UpdateItemRequest.Builder>> cap = ArgumentCaptor.forClass(Consumer.class);
+        verify(ddb).updateItem(cap.capture());
+        UpdateItemRequest req = applied(cap, UpdateItemRequest.builder()).build();
+        assertThat(req.key()).containsEntry("idempotencyKey", AttributeValue.fromS("customer:k1"));
+        assertThat(req.updateExpression()).isEqualTo("SET #state = :completed REMOVE #lease");
+        assertThat(req.expressionAttributeValues().get(":completed").s()).isEqualTo("COMPLETED");
+    }
+
+    @Test
+    @DisplayName("expireLease(): zera a lease só de chave ainda em andamento")
+    void expireLease_onlyInProgress() {
+        store.expireLease("customer:k1");
+
+        ArgumentCaptor<Consumer<UpdateItemRequest.Builder>> cap = ArgumentCaptor.forClass(Consumer.class);
+        verify(ddb).updateItem(cap.capture());
+        UpdateItemRequest req = applied(cap, UpdateItemRequest.builder()).build();
+        assertThat(req.updateExpression()).isEqualTo("SET #lease = :expired");
+        assertThat(req.conditionExpression()).isEqualTo("#state = :inProgress");
+        assertThat(req.expressionAttributeValues().get(":expired").n()).isEqualTo("0");
+    }
+
+    @Test
+    @DisplayName("release(): remove só chave ainda em andamento; chave concluída é mantida")
+    void release_onlyInProgress() {
+        when(ddb.deleteItem(any(Consumer.class))).thenThrow(ConditionalCheckFailedException.builder().build());
+
+        store.release("customer:k1");
+
+        ArgumentCaptor<Consumer<DeleteItemRequest.Builder>> cap = ArgumentCaptor.forClass(Consumer.class);
+        verify(ddb).deleteItem(cap.capture());
+        DeleteItemRequest req = applied(cap, DeleteItemRequest.builder()).build();
+        assertThat(req.conditionExpression()).isEqualTo("#state = :inProgress");
+        assertThat(req.expressionAttributeValues().get(":inProgress").s()).isEqualTo("IN_PROGRESS");
+    }
+}
@@ -0,0 +1,109 @@
+package com.acme.insurance.policy.infra.dynamodb;
+
+import com.acme.insurance.policy.infra.config.AppProps;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class OutboxShardLeasesTest {
+
+    private static final Instant NOW = Instant.parse("2025-08-01T10:00:00Z");
+
+    @Mock
+    DynamoDbClient ddb;
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(NOW);
+    private OutboxShardLeases leases;
+
+    @BeforeEach
+    void setUp() {
+        AppProps props = mock(AppProps.class, RETURNS_DEEP_STUBS);
+        when(props.dynamodb().outbox().shards()).thenReturn(2);
+        when(props.dynamodb().outbox().table()).thenReturn("outbox-test");
+        when(props.dynamodb().outbox().lease()).thenReturn(Duration.ofSeconds(10));
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenAnswer(inv -> now.get().toEpochMilli());
+        leases = new OutboxShardLeases(ddb, props, clock);
+    }
+
+    @Test
+    @DisplayName("holds(): adquire com update condicional na partição lease#<shard> e só renova na segunda metade da lease")
+    void holds_acquiresThenRenewsLazily() {
+        assertThat(leases.holds(1)).isTrue();
+
+        ArgumentCaptor<Consumer<UpdateItemRequest.Builder>> cap = ArgumentCaptor.forClass(Consumer.class);
+        verify(ddb).updateItem(cap.capture());
+        var builder = UpdateItemRequest.builder();
+        cap.getValue().accept(builder);
+        UpdateItemRequest req = builder.build();
+        assertThat(req.tableName()).isEqualTo("outbox-test");
+        assertThat(req.key()).containsEntry("shard", AttributeValue.fromS("lease#1"));
+        assertThat(req.conditionExpression()).isEqualTo("attribute_not_exists(#owner) OR #owner = :owner OR #until <= :now");
+        assertThat(req.expressionAttributeValues().get(":until").n())
+                .isEqualTo(Long.toString(NOW.plusSeconds(10).toEpochMilli()));
+
+        now.set(NOW.plusSeconds(4));
+        assertThat(leases.holds(1)).isTrue();
+        verify(ddb, times(1)).updateItem(any(Consumer.class));
+
+        now.set(NOW.plusSeconds(6));
+        assertThat(leases.holds(1)).isTrue();
+        verify(ddb, times(2)).updateItem(any(Consumer.class));
+    }
+
+    @Test
+    @DisplayName("holds(): shard de outra réplica só volta a ser disputado quando a lease dela vence")
+    void holds_foreignLease_waitsForExpiry() {
+        when(ddb.updateItem(any(Consumer.class)))
+                .thenThrow(ConditionalCheckFailedException.builder()
+                        .item(Map.of("leaseUntil", AttributeValue.fromN(Long.toString(NOW.plusSeconds(8).toEpochMilli()))))
+                        .build())
+                .thenReturn(null);
+
+        assertThat(leases.holds(0)).isFalse();
+        now.set(NOW.plusSeconds(5));
+        assertThat(leases.holds(0)).isFalse();
+        verify(ddb, times(1)).updateItem(any(Consumer.class));
+
+        now.set(NOW.plusSeconds(9));
+        assertThat(leases.holds(0)).isTrue();
+        verify(ddb, times(2)).updateItem(any(Consumer.class));
+    }
+
+    @Test
+    @DisplayName("releaseAll(): apaga só as leases ainda nossas, condicionadas ao owner")
+    void releaseAll_deletesOwnedOnly() {
+        leases.holds(1);
+
+        leases.releaseAll();
+
+        ArgumentCaptor<Consumer<DeleteItemRequest.Builder>> cap = ArgumentCaptor.forClass(Consumer.class);
+        verify(ddb, times(1)).deleteItem(cap.capture());
+        var builder = DeleteItemRequest.builder();
+        cap.getValue().accept(builder);
+        assertThat(builder.build().key()).containsEntry("shard", AttributeValue.fromS("lease#1"));
+        assertThat(builder.build().conditionExpression()).isEqualTo("#owner = :owner");
+    }
+}
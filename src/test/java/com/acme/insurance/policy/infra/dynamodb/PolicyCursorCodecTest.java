@@ -0,0 +1,55 @@
+package com.acme.insurance.policy.infra.dynamodb;
+
+import com.acme.insurance.policy.domain.model.InvalidPageTokenException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PolicyCursorCodecTest {
+
+    @Test
+    @DisplayName("encode/decode preservam o LastEvaluatedKey do GSI")
+    void roundTrip() {
+        String policyId = UUID.randomUUID().toString();
+        String customerId = UUID.randomUUID().toString();
+        Map<String, AttributeValue> key = Map.of(
+                "policyId", AttributeValue.fromS(policyId),
+                "customerId", AttributeValue.fromS(customerId));
+
+        String cursor = PolicyCursorCodec.encode(key);
+
+        assertThat(cursor).doesNotContain("=", "+", "/");
+        assertThat(PolicyCursorCodec.decode(cursor, customerId)).isEqualTo(key);
+    }
+
+    @Test
+    @DisplayName("Sem LastEvaluatedKey não há cursor, e cursor ausente não gera exclusiveStartKey")
+    void nullAndEmpty() {
+        assertThat(PolicyCursorCodec.encode(null)).isNull();
+        assertThat(PolicyCursorCodec.encode(Map.of())).isNull();
+        assertThat(PolicyCursorCodec.decode(null, "c")).isNull();
+    }
+
+    @Test
+    @DisplayName("Cursor de outro cliente ou malformado é rejeitado")
+    void invalid() {
+        String cursor = PolicyCursorCodec.encode(Map.of(
+                "policyId", AttributeValue.fromS(UUID.randomUUID().toString()),
+                "customerId", AttributeValue.fromS(UUID.randomUUID().toString())));
+
+        assertThatThrownBy(() -> PolicyCursorCodec.decode(cursor, UUID.randomUUID().toString()))
+                .isInstanceOf(InvalidPageTokenException.class);
+        assertThatThrownBy(() -> PolicyCursorCodec.decode("%%%", "c"))
+                .isInstanceOf(InvalidPageTokenException.class);
+        String garbage = Base64.getUrlEncoder().encodeToString("policyId=nope".getBytes());
+        assertThatThrownBy(() -> PolicyCursorCodec.decode(garbage, "c"))
+                .isInstanceOf(InvalidPageTokenException.class);
+    }
+}
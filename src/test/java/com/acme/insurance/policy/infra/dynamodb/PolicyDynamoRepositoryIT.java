@@ -2,6 +2,7 @@ package com.acme.insurance.policy.infra.dynamodb;
 
 import com.acme.insurance.policy.domain.model.Policy;
 import com.acme.insurance.policy.domain.model.PolicyStatus;
+import com.acme.insurance.policy.domain.model.PolicyWriteConflictException;
 import com.acme.insurance.policy.support.AwsIntegrationBase;
 import io.awspring.cloud.sqs.operations.SqsTemplate;
 import org.junit.jupiter.api.Tag;
@@ -27,6 +28,7 @@ import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
 @TestPropertySource(properties = {
@@ -82,7 +84,7 @@ class PolicyDynamoRepositoryIT extends AwsIntegrationBase {
                 List.of("TOWING"),
                 new BigDecimal("99.90"),
                 new BigDecimal("50000"),
-                new ArrayList<>()
+                new ArrayList<>(), null
         );
 
         repo.save(p);
@@ -91,4 +93,43 @@ class PolicyDynamoRepositoryIT extends AwsIntegrationBase {
         assertThat(loaded).isPresent();
         assertThat(loaded.get().status()).isEqualTo(PolicyStatus.PENDING);
     }
+
+    @Test
+    void deveAplicarTransicaoComUpdateItemPreservandoAtributosNaoAlterados() {
+        var id = UUID.randomUUID();
+        var created = OffsetDateTime.now(ZoneOffset.UTC);
+        var p = new Policy(
+                id,
+                UUID.randomUUID(),
+                UUID.randomUUID(),
+                "AUTO",
+                "WEB",
+                "CREDIT_CARD",
+                PolicyStatus.RECEIVED,
+                created,
+                null,
+                Map.of("COLLISION", new BigDecimal("10000")),
+                List.of("TOWING"),
+                new BigDecimal("99.90"),
+                new BigDecimal("50000"),
+                List.of(new Policy.StatusHistory(PolicyStatus.RECEIVED, created)), 1L
+        );
+        repo.save(p);
+
+        var rejected = p.withStatusAndHistory(PolicyStatus.REJECTED, created.plusSeconds(1))
+                .withFinishedAt(created.plusSeconds(1));
+        repo.saveTransition(rejected.withVersion(2L), PolicyStatus.RECEIVED);
+
+        var loaded = repo.findByIdConsistent(id).orElseThrow();
+        assertThat(loaded.status()).isEqualTo(PolicyStatus.REJECTED);
+        assertThat(loaded.version()).isEqualTo(2L);
+        assertThat(loaded.finishedAt()).isNotNull();
+        assertThat(loaded.history()).extracting(Policy.StatusHistory::status)
+                .containsExactly(PolicyStatus.RECEIVED, PolicyStatus.REJECTED);
+        assertThat(loaded.coverages()).containsOnlyKeys("COLLISION");
+        assertThat(loaded.assistances()).containsExactly("TOWING");
+
+        assertThatThrownBy(() -> repo.saveTransition(rejected.withVersion(2L), PolicyStatus.RECEIVED))
+                .isInstanceOf(PolicyWriteConflictException.class);
+    }
 }
@@ -1,6 +1,10 @@
 package com.acme.insurance.policy.infra.dynamodb;
 
+import com.acme.insurance.policy.domain.events.PolicyRequestStatusChangedEvent;
 import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.domain.model.PolicyStatus;
+import com.acme.insurance.policy.domain.model.PolicySummary;
+import com.acme.insurance.policy.domain.model.PolicyWriteConflictException;
 import com.acme.insurance.policy.infra.config.AppProps;
 import com.acme.insurance.policy.infra.dynamodb.mapper.PolicyItemMapper;
 import org.junit.jupiter.api.DisplayName;
@@ -13,17 +17,42 @@ import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.Page;
 import software.amazon.awssdk.enhanced.dynamodb.model.PageIterable;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.TransactWriteItemsEnhancedRequest;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
-
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Consumer;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -35,12 +64,20 @@ class PolicyDynamoRepositoryTest {
         final DynamoDbTable<PolicyItem> table;
         final PolicyItemMapper mapper;
         final String gsiName;
-        Ctx(PolicyDynamoRepository repo, DynamoDbTable<PolicyItem> table, PolicyItemMapper mapper, String gsiName) {
-            this.repo = repo; this.table = table; this.mapper = mapper; this.gsiName = gsiName;
+        final DynamoDbClient ddb;
+        final DynamoDbEnhancedClient enhanced;
+        Ctx(PolicyDynamoRepository repo, DynamoDbTable<PolicyItem> table, PolicyItemMapper mapper, String gsiName,
+            DynamoDbClient ddb, DynamoDbEnhancedClient enhanced) {
+            this.repo = repo; this.table = table; this.mapper = mapper; this.gsiName = gsiName; this.ddb = ddb;
+            this.enhanced = enhanced;
         }
     }
 
     private Ctx newRepoWithWiring() {
+        return newRepoWithWiring(false);
+    }
+
+    private Ctx newRepoWithWiring(boolean outbox) {
 
         DynamoDbClient ddb = mock(DynamoDbClient.class);
         var mapper = mock(PolicyItemMapper.class);
@@ -53,6 +90,15 @@ class PolicyDynamoRepositoryTest {
         when(props.dynamodb().table()).thenReturn("policies-table-test");
         String gsiName = "gsi-customer-test";
         when(props.dynamodb().indexes().customer()).thenReturn(gsiName);
+        lenient().when(props.dynamodb().indexes().received()).thenReturn("gsi_received");
+        when(props.dynamodb().batchGet().parallelism()).thenReturn(2);
+        when(props.dynamodb().batchGet().maxAttempts()).thenReturn(3);
+        when(props.dynamodb().batchGet().backoff()).thenReturn(Duration.ofMillis(1));
+        when(props.dynamodb().outbox().enabled()).thenReturn(outbox);
+        if (outbox) {
+            when(props.dynamodb().outbox().table()).thenReturn("outbox-test");
+            when(props.dynamodb().outbox().shards()).thenReturn(4);
+        }
 
         try (MockedStatic<DynamoDbEnhancedClient> enh = mockStatic(DynamoDbEnhancedClient.class)) {
             enh.when(DynamoDbEnhancedClient::builder).thenReturn(enhancedBuilder);
@@ -60,14 +106,23 @@ class PolicyDynamoRepositoryTest {
             when(enhancedBuilder.build()).thenReturn(enhanced);
 
             when(enhanced.table(eq("policies-table-test"), any(TableSchema.class))).thenReturn(table);
+            if (outbox) {
+                @SuppressWarnings("unchecked")
+                DynamoDbTable<OutboxItem> outboxTable = mock(DynamoDbTable.class);
+                lenient().when(table.tableName()).thenReturn("policies-table-test");
+                lenient().when(table.tableSchema()).thenReturn(PolicyItemTableSchema.SCHEMA);
+                lenient().when(outboxTable.tableName()).thenReturn("outbox-test");
+                lenient().when(outboxTable.tableSchema()).thenReturn(TableSchema.fromBean(OutboxItem.class));
+                when(enhanced.table(eq("outbox-test"), any(TableSchema.class))).thenReturn(outboxTable);
+            }
 
             PolicyDynamoRepository repo = new PolicyDynamoRepository(ddb, props, mapper);
-            return new Ctx(repo, table, mapper, gsiName);
+            return new Ctx(repo, table, mapper, gsiName, ddb, enhanced);
         }
     }
 
     @Test
-    @DisplayName("save() mapeia Policy→Item e faz putItem na tabela")
+    @DisplayName("save() mapeia Policy→Item e faz putItem condicionado à policy não existir")
     void save_putsItem() {
         var ctx = newRepoWithWiring();
 
@@ -81,10 +136,349 @@ class PolicyDynamoRepositoryTest {
         ctx.repo.save(policy);
 
         verify(ctx.mapper).toItem(policy);
-        verify(ctx.table).putItem(item);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<PutItemEnhancedRequest<PolicyItem>> cap = ArgumentCaptor.forClass(PutItemEnhancedRequest.class);
+        verify(ctx.table).putItem(cap.capture());
+        assertThat(cap.getValue().item()).isSameAs(item);
+        assertThat(cap.getValue().conditionExpression().expression()).isEqualTo("attribute_not_exists(#policyId)");
         verifyNoMoreInteractions(ctx.table);
     }
 
+    @Test
+    @DisplayName("saveTransition() com versão exige a versão anterior além do status esperado")
+    void saveTransition_versionedCondition() {
+        var ctx = newRepoWithWiring();
+
+        Policy policy = mock(Policy.class);
+        var item = new PolicyItem();
+        item.setPolicyId(UUID.randomUUID().toString());
+        item.setStatus("CANCELLED");
+        item.setVersion(5L);
+        when(ctx.mapper.toItem(policy)).thenReturn(item);
+
+        ctx.repo.saveTransition(policy, PolicyStatus.PENDING);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<PutItemEnhancedRequest<PolicyItem>> cap = ArgumentCaptor.forClass(PutItemEnhancedRequest.class);
+        verify(ctx.table).putItem(cap.capture());
+        var condition = cap.getValue().conditionExpression();
+        assertThat(condition.expression()).isEqualTo("#status = :expected AND #version = :previous");
+        assertThat(condition.expressionNames()).containsEntry("#version", "version");
+        assertThat(condition.expressionValues().get(":previous").n()).isEqualTo("4");
+    }
+
+    @Test
+    @DisplayName("saveTransition() na primeira versão aceita item legado sem atributo version")
+    void saveTransition_firstVersion_requiresNoVersion() {
+        var ctx = newRepoWithWiring();
+
+        Policy policy = mock(Policy.class);
+        var item = new PolicyItem();
+        item.setPolicyId(UUID.randomUUID().toString());
+        item.setVersion(1L);
+        when(ctx.mapper.toItem(policy)).thenReturn(item);
+
+        ctx.repo.saveTransition(policy, PolicyStatus.RECEIVED);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<PutItemEnhancedRequest<PolicyItem>> cap = ArgumentCaptor.forClass(PutItemEnhancedRequest.class);
+        verify(ctx.table).putItem(cap.capture());
+        assertThat(cap.getValue().conditionExpression().expression())
+                .isEqualTo("#status = :expected AND attribute_not_exists(#version)");
+    }
+
+    @Test
+    @DisplayName("saveTransition() faz putItem condicionado ao status esperado")
+    void saveTransition_conditionalPut() {
+        var ctx = newRepoWithWiring();
+
+        Policy policy = mock(Policy.class);
+        var item = new PolicyItem();
+        item.setPolicyId(UUID.randomUUID().toString());
+        item.setStatus("PENDING");
+        when(ctx.mapper.toItem(policy)).thenReturn(item);
+
+        ctx.repo.saveTransition(policy, PolicyStatus.RECEIVED);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<PutItemEnhancedRequest<PolicyItem>> cap = ArgumentCaptor.forClass(PutItemEnhancedRequest.class);
+        verify(ctx.table).putItem(cap.capture());
+        assertThat(cap.getValue().item()).isSameAs(item);
+        var condition = cap.getValue().conditionExpression();
+        assertThat(condition.expression()).isEqualTo("#status = :expected");
+        assertThat(condition.expressionNames()).containsEntry("#status", "status");
+        assertThat(condition.expressionValues().get(":expected").s()).isEqualTo("RECEIVED");
+    }
+
+    @Test
+    @DisplayName("saveTransition() traduz ConditionalCheckFailed em PolicyWriteConflictException")
+    void saveTransition_conflict() {
+        var ctx = newRepoWithWiring();
+
+        UUID id = UUID.randomUUID();
+        Policy policy = mock(Policy.class);
+        when(policy.id()).thenReturn(id);
+        var item = new PolicyItem();
+        item.setPolicyId(id.toString());
+        when(ctx.mapper.toItem(policy)).thenReturn(item);
+        doThrow(ConditionalCheckFailedException.builder().message("conditional").build())
+                .when(ctx.table).putItem(any(PutItemEnhancedRequest.class));
+
+        assertThatThrownBy(() -> ctx.repo.saveTransition(policy, PolicyStatus.PENDING))
+                .isInstanceOf(PolicyWriteConflictException.class)
+                .satisfies(e -> {
+                    var conflict = (PolicyWriteConflictException) e;
+                    assertThat(conflict.getPolicyId()).isEqualTo(id);
+                    assertThat(conflict.getExpectedStatus()).isEqualTo(PolicyStatus.PENDING);
+                });
+    }
+
+    private static Policy pendingFromReceived(UUID id) {
+        var t0 = OffsetDateTime.parse("2025-08-01T10:00:00Z");
+        return new Policy(id, UUID.randomUUID(), UUID.randomUUID(), "AUTO", "MOBILE", "CREDIT_CARD",
+                PolicyStatus.PENDING, t0, null, Map.of("Roubo", new BigDecimal("100000.25")), List.of("Guincho"),
+                new BigDecimal("75.25"), new BigDecimal("275000.50"),
+                List.of(new Policy.StatusHistory(PolicyStatus.RECEIVED, t0),
+                        new Policy.StatusHistory(PolicyStatus.VALIDATED, t0.plusSeconds(1)),
+                        new Policy.StatusHistory(PolicyStatus.PENDING, t0.plusSeconds(1))), 2L);
+    }
+
+    private static PolicyItem itemOf(Policy policy) {
+        var item = new PolicyItem();
+        item.setPolicyId(policy.id().toString());
+        item.setStatus(policy.status().name());
+        item.setCoverages(Map.of("Roubo", "100000.25"));
+        item.setHistory(policy.history().stream()
+                .map(h -> Map.of("status", h.status().name(), "timestamp", h.timestamp().toString()))
+                .toList());
+        item.setVersion(policy.version());
+        return item;
+    }
+
+    /* ALL_OLD devolvido pela condição que falhou */
+    private static Map<String, AttributeValue> currentItem(String status, long version, boolean packed) {
+        var current = new HashMap<String, AttributeValue>();
+        current.put("status", AttributeValue.fromS(status));
+        current.put("version", AttributeValue.fromN(Long.toString(version)));
+        if (packed) {
+            current.put("historyPacked", AttributeValue.fromB(SdkBytes.fromByteArray(new byte[]{1})));
+        }
+        return current;
+    }
+
+    private static ConditionalCheckFailedException conditionFailed(Map<String, AttributeValue> current) {
+        return ConditionalCheckFailedException.builder().message("conditional").item(current).build();
+    }
+
+    private static TransactionCanceledException transactionConditionFailed(Map<String, AttributeValue> current) {
+        return TransactionCanceledException.builder()
+                .cancellationReasons(CancellationReason.builder().code("ConditionalCheckFailed").item(current).build(),
+                        CancellationReason.builder().code("None").build())
+                .build();
+    }
+
+    @Test
+    @DisplayName("saveTransition() envia UpdateItem só com status, entradas novas do histórico e versão")
+    void saveTransition_updateItem_sendsOnlyChanges() {
+        var ctx = newRepoWithWiring();
+        UUID id = UUID.randomUUID();
+        Policy policy = pendingFromReceived(id);
+        when(ctx.mapper.toItem(policy)).thenReturn(itemOf(policy));
+
+        ctx.repo.saveTransition(policy, PolicyStatus.RECEIVED);
+
+        ArgumentCaptor<UpdateItemRequest> cap = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(ctx.ddb).updateItem(cap.capture());
+        verify(ctx.table, never()).putItem(any(PutItemEnhancedRequest.class));
+        var request = cap.getValue();
+        assertThat(request.tableName()).isEqualTo("policies-table-test");
+        assertThat(request.key()).containsOnlyKeys("policyId");
+        assertThat(request.updateExpression()).isEqualTo("SET #status = :status, "
+                + "#history = list_append(if_not_exists(#history, :empty), :appended), #version = :version "
+                + "REMOVE #receivedAt");
+        assertThat(request.conditionExpression())
+                .isEqualTo("#status = :expected AND #version = :previous AND attribute_not_exists(#historyPacked)");
+        assertThat(request.expressionAttributeValues().get(":appended").l())
+                .extracting(v -> v.m().get("status").s())
+                .containsExactly("VALIDATED", "PENDING");
+        assertThat(request.expressionAttributeValues().get(":previous").n()).isEqualTo("1");
+        assertThat(request.expressionAttributeNames()).doesNotContainValue("coverages");
+        assertThat(request.returnValuesOnConditionCheckFailure()).isEqualTo(ReturnValuesOnConditionCheckFailure.ALL_OLD);
+    }
+
+    @Test
+    @DisplayName("saveTransition() com compact-history desligado sobre item compactado: cai no PutItem e regrava o histórico")
+    void saveTransition_packedItem_fallsBackToPutItem() {
+        var ctx = newRepoWithWiring();
+        UUID id = UUID.randomUUID();
+        Policy policy = pendingFromReceived(id);
+        when(ctx.mapper.toItem(policy)).thenReturn(itemOf(policy));
+        when(ctx.ddb.updateItem(any(UpdateItemRequest.class)))
+                .thenThrow(conditionFailed(currentItem("RECEIVED", 1, true)));
+
+        ctx.repo.saveTransition(policy, PolicyStatus.RECEIVED);
+
+        var cap = ArgumentCaptor.forClass(PutItemEnhancedRequest.class);
+        verify(ctx.table).putItem(cap.capture());
+        PolicyItem written = (PolicyItem) cap.getValue().item();
+        assertThat(written.getHistoryPacked()).isNull();
+        assertThat(written.getHistory()).extracting(h -> h.get("status"))
+                .containsExactly("RECEIVED", "VALIDATED", "PENDING");
+        assertThat(cap.getValue().conditionExpression().expression()).isEqualTo("#status = :expected AND #version = :previous");
+    }
+
+    @Test
+    @DisplayName("saveTransition() quando UpdateItem e PutItem de fallback falham na condição: PolicyWriteConflictException")
+    void saveTransition_fallbackConflict() {
+        var ctx = newRepoWithWiring();
+        UUID id = UUID.randomUUID();
+        Policy policy = pendingFromReceived(id);
+        when(ctx.mapper.toItem(policy)).thenReturn(itemOf(policy));
+        when(ctx.ddb.updateItem(any(UpdateItemRequest.class)))
+                .thenThrow(conditionFailed(currentItem("RECEIVED", 1, true)));
+        doThrow(ConditionalCheckFailedException.builder().message("y").build())
+                .when(ctx.table).putItem(any(PutItemEnhancedRequest.class));
+
+        assertThatThrownBy(() -> ctx.repo.saveTransition(policy, PolicyStatus.RECEIVED))
+                .isInstanceOf(PolicyWriteConflictException.class);
+    }
+
+    @Test
+    @DisplayName("saveTransition() com conflito real de status ou versão no UpdateItem: PolicyWriteConflictException sem PutItem")
+    void saveTransition_updateConflict_noFallback() {
+        var ctx = newRepoWithWiring();
+        UUID id = UUID.randomUUID();
+        Policy policy = pendingFromReceived(id);
+        when(ctx.mapper.toItem(policy)).thenReturn(itemOf(policy));
+        when(ctx.ddb.updateItem(any(UpdateItemRequest.class)))
+                .thenThrow(conditionFailed(currentItem("PENDING", 2, true)))
+                .thenThrow(conditionFailed(currentItem("RECEIVED", 3, false)));
+
+        assertThatThrownBy(() -> ctx.repo.saveTransition(policy, PolicyStatus.RECEIVED))
+                .isInstanceOf(PolicyWriteConflictException.class);
+        assertThatThrownBy(() -> ctx.repo.saveTransition(policy, PolicyStatus.RECEIVED))
+                .isInstanceOf(PolicyWriteConflictException.class);
+
+        verify(ctx.table, never()).putItem(any(PutItemEnhancedRequest.class));
+    }
+
+    @Test
+    @DisplayName("saveTransition() com outbox sobre item compactado: cai na transação com PutItem da policy")
+    void saveTransition_outbox_packedItem_fallsBackToPut() {
+        var ctx = newRepoWithWiring(true);
+        UUID id = UUID.randomUUID();
+        Policy policy = pendingFromReceived(id);
+        when(ctx.mapper.toItem(policy)).thenReturn(itemOf(policy));
+        when(ctx.ddb.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenThrow(transactionConditionFailed(currentItem("RECEIVED", 1, true)));
+        var event = new PolicyRequestStatusChangedEvent(id, UUID.randomUUID(), UUID.randomUUID(), "PENDING", "REGULAR", Instant.now());
+
+        ctx.repo.saveTransition(policy, PolicyStatus.RECEIVED, List.of(event));
+
+        var cap = ArgumentCaptor.forClass(TransactWriteItemsEnhancedRequest.class);
+        verify(ctx.enhanced).transactWriteItems(cap.capture());
+        assertThat(cap.getValue().transactWriteItems()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("saveTransition() com outbox e conflito real no Update da transação: PolicyWriteConflictException sem PutItem")
+    void saveTransition_outbox_updateConflict_noFallback() {
+        var ctx = newRepoWithWiring(true);
+        UUID id = UUID.randomUUID();
+        Policy policy = pendingFromReceived(id);
+        when(ctx.mapper.toItem(policy)).thenReturn(itemOf(policy));
+        when(ctx.ddb.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenThrow(transactionConditionFailed(currentItem("CANCELLED", 2, true)));
+        var event = new PolicyRequestStatusChangedEvent(id, UUID.randomUUID(), UUID.randomUUID(), "PENDING", "REGULAR", Instant.now());
+
+        assertThatThrownBy(() -> ctx.repo.saveTransition(policy, PolicyStatus.RECEIVED, List.of(event)))
+                .isInstanceOf(PolicyWriteConflictException.class);
+
+        verify(ctx.enhanced, never()).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+    }
+
+    @Test
+    @DisplayName("saveTransition() com outbox usa Update + Puts do outbox no mesmo TransactWriteItems")
+    void saveTransition_outbox_updateItem() {
+        var ctx = newRepoWithWiring(true);
+        UUID id = UUID.randomUUID();
+        Policy policy = pendingFromReceived(id);
+        when(ctx.mapper.toItem(policy)).thenReturn(itemOf(policy));
+        var now = Instant.now();
+        var events = List.of(
+                new PolicyRequestStatusChangedEvent(id, UUID.randomUUID(), UUID.randomUUID(), "VALIDATED", "REGULAR", now),
+                new PolicyRequestStatusChangedEvent(id, UUID.randomUUID(), UUID.randomUUID(), "PENDING", "REGULAR", now));
+
+        ctx.repo.saveTransition(policy, PolicyStatus.RECEIVED, events);
+
+        ArgumentCaptor<TransactWriteItemsRequest> cap = ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+        verify(ctx.ddb).transactWriteItems(cap.capture());
+        verify(ctx.enhanced, never()).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+        var writes = cap.getValue().transactItems();
+        assertThat(writes).hasSize(3);
+        assertThat(writes.get(0).update().tableName()).isEqualTo("policies-table-test");
+        assertThat(writes.subList(1, 3)).allSatisfy(w -> assertThat(w.put().tableName()).isEqualTo("outbox-test"));
+        assertThat(writes.get(0).update().returnValuesOnConditionCheckFailure())
+                .isEqualTo(ReturnValuesOnConditionCheckFailure.ALL_OLD);
+    }
+
+    @Test
+    @DisplayName("saveTransition() com outbox grava policy e eventos no mesmo TransactWriteItems")
+    void saveTransition_outbox_transactWrite() {
+        var ctx = newRepoWithWiring(true);
+
+        UUID id = UUID.randomUUID();
+        Policy policy = mock(Policy.class);
+        var item = new PolicyItem();
+        item.setPolicyId(id.toString());
+        item.setStatus("PENDING");
+        when(ctx.mapper.toItem(policy)).thenReturn(item);
+        var now = Instant.now();
+        var events = List.of(
+                new PolicyRequestStatusChangedEvent(id, UUID.randomUUID(), UUID.randomUUID(), "VALIDATED", "REGULAR", now),
+                new PolicyRequestStatusChangedEvent(id, UUID.randomUUID(), UUID.randomUUID(), "PENDING", "REGULAR", now));
+
+        ctx.repo.saveTransition(policy, PolicyStatus.RECEIVED, events);
+
+        var captor = ArgumentCaptor.forClass(TransactWriteItemsEnhancedRequest.class);
+        verify(ctx.enhanced).transactWriteItems(captor.capture());
+        assertThat(captor.getValue().transactWriteItems()).hasSize(3);
+        verify(ctx.table, never()).putItem(any(PutItemEnhancedRequest.class));
+    }
+
+    @Test
+    @DisplayName("saveTransition() com outbox traduz ConditionalCheckFailed da transação em PolicyWriteConflictException")
+    void saveTransition_outbox_conflict() {
+        var ctx = newRepoWithWiring(true);
+
+        UUID id = UUID.randomUUID();
+        Policy policy = mock(Policy.class);
+        when(policy.id()).thenReturn(id);
+        var item = new PolicyItem();
+        item.setPolicyId(id.toString());
+        when(ctx.mapper.toItem(policy)).thenReturn(item);
+        doThrow(TransactionCanceledException.builder()
+                .cancellationReasons(CancellationReason.builder().code("ConditionalCheckFailed").build(),
+                        CancellationReason.builder().code("None").build())
+                .build())
+                .when(ctx.enhanced).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+        var event = new PolicyRequestStatusChangedEvent(id, null, null, "CANCELLED", "BY_CUSTOMER", Instant.now());
+
+        assertThatThrownBy(() -> ctx.repo.saveTransition(policy, PolicyStatus.PENDING, List.of(event)))
+                .isInstanceOf(PolicyWriteConflictException.class);
+    }
+
+    @Test
+    @DisplayName("saveTransition() com eventos e outbox desabilitado falha em vez de perder os eventos")
+    void saveTransition_outboxDisabled_fails() {
+        var ctx = newRepoWithWiring();
+        var event = new PolicyRequestStatusChangedEvent(UUID.randomUUID(), null, null, "PENDING", "REGULAR", Instant.now());
+
+        assertThatThrownBy(() -> ctx.repo.saveTransition(mock(Policy.class), PolicyStatus.RECEIVED, List.of(event)))
+                .isInstanceOf(IllegalStateException.class);
+        verify(ctx.enhanced, never()).transactWriteItems(any(TransactWriteItemsEnhancedRequest.class));
+    }
+
     @Test
     @DisplayName("findById() quando encontra: retorna Optional com Policy mapeada")
     void findById_found() {
@@ -124,6 +518,32 @@ class PolicyDynamoRepositoryTest {
         verify(ctx.mapper, never()).toDomain(any());
     }
 
+    @Test
+    @DisplayName("findByIdConsistent() faz getItem com consistentRead=true pela chave")
+    @SuppressWarnings("unchecked")
+    void findByIdConsistent_usesConsistentRead() {
+        var ctx = newRepoWithWiring();
+
+        UUID id = UUID.randomUUID();
+        var stored = new PolicyItem();
+        stored.setPolicyId(id.toString());
+        Policy domain = mock(Policy.class);
+
+        when(ctx.table.getItem(any(Consumer.class))).thenReturn(stored);
+        when(ctx.mapper.toDomain(stored)).thenReturn(domain);
+
+        Optional<Policy> out = ctx.repo.findByIdConsistent(id);
+
+        assertThat(out).containsSame(domain);
+        ArgumentCaptor<Consumer<GetItemEnhancedRequest.Builder>> cap = ArgumentCaptor.forClass(Consumer.class);
+        verify(ctx.table).getItem(cap.capture());
+        var builder = GetItemEnhancedRequest.builder();
+        cap.getValue().accept(builder);
+        var request = builder.build();
+        assertThat(request.consistentRead()).isTrue();
+        assertThat(request.key().partitionKeyValue().s()).isEqualTo(id.toString());
+    }
+
     @Test
     @DisplayName("findByCustomerId() consulta pelo GSI e mapeia todos os itens das páginas")
     void findByCustomerId_usesGsi_andMapsPages() {
@@ -169,4 +589,236 @@ class PolicyDynamoRepositoryTest {
         verify(ctx.mapper).toDomain(i1);
         verify(ctx.mapper).toDomain(i2);
     }
+
+    @Test
+    @DisplayName("findPageByCustomerId() consulta uma única página com limit/exclusiveStartKey e devolve o cursor")
+    @SuppressWarnings("unchecked")
+    void findPageByCustomerId_singlePageWithCursor() {
+        var ctx = newRepoWithWiring();
+
+        UUID customerId = UUID.randomUUID();
+        String lastPolicyId = UUID.randomUUID().toString();
+        String startCursor = PolicyCursorCodec.encode(Map.of(
+                "policyId", AttributeValue.fromS(UUID.randomUUID().toString()),
+                "customerId", AttributeValue.fromS(customerId.toString())));
+
+        DynamoDbIndex<PolicyItem> index = mock(DynamoDbIndex.class);
+        when(ctx.table.index(ctx.gsiName)).thenReturn(index);
+        SdkIterable<Page<PolicyItem>> pages = mock(SdkIterable.class);
+        when(index.query(any(QueryEnhancedRequest.class))).thenReturn(pages);
+
+        Page<PolicyItem> page = mock(Page.class);
+        var item = new PolicyItem(); item.setPolicyId(lastPolicyId); item.setCustomerId(customerId.toString());
+        when(page.items()).thenReturn(List.of(item));
+        Map<String, AttributeValue> lastKey = Map.of(
+                "policyId", AttributeValue.fromS(lastPolicyId),
+                "customerId", AttributeValue.fromS(customerId.toString()));
+        when(page.lastEvaluatedKey()).thenReturn(lastKey);
+        when(pages.iterator()).thenReturn(List.of(page).iterator());
+
+        Policy domain = mock(Policy.class);
+        when(ctx.mapper.toDomain(item)).thenReturn(domain);
+
+        var out = ctx.repo.findPageByCustomerId(customerId, 25, startCursor);
+
+        assertThat(out.items()).containsExactly(domain);
+        assertThat(PolicyCursorCodec.decode(out.nextCursor(), customerId.toString())).isEqualTo(lastKey);
+
+        ArgumentCaptor<QueryEnhancedRequest> cap = ArgumentCaptor.forClass(QueryEnhancedRequest.class);
+        verify(index).query(cap.capture());
+        assertThat(cap.getValue().limit()).isEqualTo(25);
+        assertThat(cap.getValue().exclusiveStartKey())
+                .isEqualTo(PolicyCursorCodec.decode(startCursor, customerId.toString()));
+    }
+
+    @Test
+    @DisplayName("streamByCustomerId() é preguiçoso: só consulta páginas quando o stream é consumido")
+    @SuppressWarnings("unchecked")
+    void streamByCustomerId_isLazy() {
+        var ctx = newRepoWithWiring();
+
+        UUID customerId = UUID.randomUUID();
+        DynamoDbIndex<PolicyItem> index = mock(DynamoDbIndex.class);
+        when(ctx.table.index(ctx.gsiName)).thenReturn(index);
+        PageIterable<PolicyItem> pages = mock(PageIterable.class);
+        when(index.query(any(Consumer.class))).thenReturn(pages);
+
+        Page<PolicyItem> page1 = mock(Page.class);
+        var i1 = new PolicyItem(); i1.setPolicyId("p1");
+        when(page1.items()).thenReturn(List.of(i1));
+        when(pages.stream()).thenReturn(Stream.of(page1));
+        Policy d1 = mock(Policy.class);
+        when(ctx.mapper.toDomain(i1)).thenReturn(d1);
+
+        Stream<Policy> out = ctx.repo.streamByCustomerId(customerId);
+        verify(ctx.mapper, never()).toDomain(any());
+
+        assertThat(out).containsExactly(d1);
+    }
+
+    @Test
+    @DisplayName("streamReceivedBefore() consulta o gsi_received até o corte e devolve só os ids")
+    @SuppressWarnings("unchecked")
+    void streamReceivedBefore_queriesSparseIndex() {
+        var ctx = newRepoWithWiring();
+
+        DynamoDbIndex<PolicyItem> index = mock(DynamoDbIndex.class);
+        when(ctx.table.index("gsi_received")).thenReturn(index);
+        PageIterable<PolicyItem> pages = mock(PageIterable.class);
+        ArgumentCaptor<Consumer<QueryEnhancedRequest.Builder>> cap = ArgumentCaptor.forClass(Consumer.class);
+        when(index.query(cap.capture())).thenReturn(pages);
+        Page<PolicyItem> page = mock(Page.class);
+        UUID id = UUID.randomUUID();
+        var item = new PolicyItem(); item.setPolicyId(id.toString());
+        when(page.items()).thenReturn(List.of(item));
+        when(pages.stream()).thenReturn(Stream.of(page));
+        Instant cutoff = Instant.parse("2025-08-01T10:00:00Z");
+
+        assertThat(ctx.repo.streamReceivedBefore(cutoff)).containsExactly(id);
+
+        var builder = QueryEnhancedRequest.builder();
+        cap.getValue().accept(builder);
+        var request = builder.build();
+        assertThat(request.attributesToProject()).containsExactly("policyId");
+        verify(ctx.mapper, never()).toDomain(any());
+    }
+
+    @Test
+    @DisplayName("save() de policy RECEIVED grava receivedAt, que a coloca no gsi_received")
+    void save_received_setsReceivedAt() {
+        var ctx = newRepoWithWiring();
+        var policy = mock(Policy.class);
+        var createdAt = OffsetDateTime.parse("2025-08-01T10:00:00Z");
+        when(policy.status()).thenReturn(PolicyStatus.RECEIVED);
+        when(policy.createdAt()).thenReturn(createdAt);
+        var item = new PolicyItem(); item.setPolicyId(UUID.randomUUID().toString());
+        when(ctx.mapper.toItem(policy)).thenReturn(item);
+
+        ctx.repo.save(policy);
+
+        assertThat(item.getReceivedAt()).isEqualTo(createdAt.toInstant().toEpochMilli());
+    }
+
+    @Test
+    @DisplayName("findSummaryPageByCustomerId() projeta só os atributos do resumo e usa toSummary")
+    @SuppressWarnings("unchecked")
+    void findSummaryPageByCustomerId_projects() {
+        var ctx = newRepoWithWiring();
+
+        UUID customerId = UUID.randomUUID();
+        DynamoDbIndex<PolicyItem> index = mock(DynamoDbIndex.class);
+        when(ctx.table.index(ctx.gsiName)).thenReturn(index);
+        SdkIterable<Page<PolicyItem>> pages = mock(SdkIterable.class);
+        when(index.query(any(QueryEnhancedRequest.class))).thenReturn(pages);
+
+        Page<PolicyItem> page = mock(Page.class);
+        var item = new PolicyItem(); item.setPolicyId(UUID.randomUUID().toString());
+        when(page.items()).thenReturn(List.of(item));
+        when(page.lastEvaluatedKey()).thenReturn(null);
+        when(pages.iterator()).thenReturn(List.of(page).iterator());
+
+        var summary = mock(PolicySummary.class);
+        when(ctx.mapper.toSummary(item)).thenReturn(summary);
+
+        var out = ctx.repo.findSummaryPageByCustomerId(customerId, 10, null);
+
+        assertThat(out.items()).containsExactly(summary);
+        assertThat(out.hasNext()).isFalse();
+        verify(ctx.mapper, never()).toDomain(any());
+
+        ArgumentCaptor<QueryEnhancedRequest> cap = ArgumentCaptor.forClass(QueryEnhancedRequest.class);
+        verify(index).query(cap.capture());
+        assertThat(cap.getValue().attributesToProject())
+                .containsExactlyInAnyOrder("policyId", "customerId", "status", "category", "createdAt",
+                        "totalMonthlyPremiumAmount", "insuredAmount")
+                .doesNotContain("history", "coverages", "assistances");
+    }
+
+    private static Map<String, AttributeValue> rawItem(String policyId) {
+        return Map.of(
+                "policyId", AttributeValue.fromS(policyId),
+                "customerId", AttributeValue.fromS(UUID.randomUUID().toString()));
+    }
+
+    private static BatchGetItemResponse batchResponse(List<Map<String, AttributeValue>> items,
+                                                      List<Map<String, AttributeValue>> unprocessed) {
+        var builder = BatchGetItemResponse.builder()
+                .responses(Map.of("policies-table-test", items));
+        if (!unprocessed.isEmpty()) {
+            builder.unprocessedKeys(Map.of("policies-table-test",
+                    KeysAndAttributes.builder().keys(unprocessed).build()));
+        }
+        return builder.build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, AttributeValue>> requestedKeys(BatchGetItemRequest request) {
+        return request.requestItems().get("policies-table-test").keys();
+    }
+
+    @Test
+    @DisplayName("findAllByIds(): remove ids duplicados e divide em lotes de no máximo 100 chaves")
+    void findAllByIds_chunksAndDedupes() {
+        var ctx = newRepoWithWiring();
+        List<UUID> ids = new ArrayList<>(IntStream.range(0, 150)
+                .mapToObj(i -> UUID.randomUUID()).toList());
+        ids.add(ids.get(0));
+
+        when(ctx.ddb.batchGetItem(any(BatchGetItemRequest.class))).thenAnswer(inv -> {
+            var keys = requestedKeys(inv.getArgument(0));
+            return batchResponse(keys.stream().map(k -> rawItem(k.get("policyId").s())).toList(), List.of());
+        });
+        when(ctx.mapper.toDomain(any(PolicyItem.class))).thenAnswer(inv -> mock(Policy.class));
+
+        List<Policy> result = ctx.repo.findAllByIds(ids);
+
+        assertThat(result).hasSize(150);
+        var captor = ArgumentCaptor.forClass(BatchGetItemRequest.class);
+        verify(ctx.ddb, times(2)).batchGetItem(captor.capture());
+        var sizes = captor.getAllValues().stream().map(r -> requestedKeys(r).size()).toList();
+        assertThat(sizes).containsExactlyInAnyOrder(100, 50);
+    }
+
+    @Test
+    @DisplayName("findAllByIds(): reenvia as chaves não processadas até o DynamoDB devolver todas")
+    void findAllByIds_retriesUnprocessed() {
+        var ctx = newRepoWithWiring();
+        String a = UUID.randomUUID().toString();
+        String b = UUID.randomUUID().toString();
+
+        when(ctx.ddb.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenReturn(batchResponse(List.of(rawItem(a)), List.of(Map.of("policyId", AttributeValue.fromS(b)))))
+                .thenReturn(batchResponse(List.of(rawItem(b)), List.of()));
+        when(ctx.mapper.toDomain(any(PolicyItem.class))).thenAnswer(inv -> mock(Policy.class));
+
+        assertThat(ctx.repo.findAllByIds(List.of(UUID.fromString(a), UUID.fromString(b)))).hasSize(2);
+
+        var captor = ArgumentCaptor.forClass(BatchGetItemRequest.class);
+        verify(ctx.ddb, times(2)).batchGetItem(captor.capture());
+        assertThat(requestedKeys(captor.getAllValues().get(1))).extracting(k -> k.get("policyId").s()).containsExactly(b);
+    }
+
+    @Test
+    @DisplayName("findAllByIds(): falha quando ainda há chaves não processadas após o limite de tentativas")
+    void findAllByIds_givesUpAfterMaxAttempts() {
+        var ctx = newRepoWithWiring();
+        String id = UUID.randomUUID().toString();
+
+        when(ctx.ddb.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenReturn(batchResponse(List.of(), List.of(Map.of("policyId", AttributeValue.fromS(id)))));
+
+        assertThatThrownBy(() -> ctx.repo.findAllByIds(List.of(UUID.fromString(id))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("não processadas");
+        verify(ctx.ddb, times(3)).batchGetItem(any(BatchGetItemRequest.class));
+    }
+
+    @Test
+    @DisplayName("findAllByIds(): lista vazia não chama o DynamoDB")
+    void findAllByIds_empty() {
+        var ctx = newRepoWithWiring();
+
+        assertThat(ctx.repo.findAllByIds(List.of())).isEmpty();
+        verifyNoInteractions(ctx.ddb);
+    }
 }
@@ -0,0 +1,77 @@
+package com.acme.insurance.policy.infra.dynamodb;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PolicyItemTableSchemaTest {
+
+    private static final TableSchema<PolicyItem> BEAN = TableSchema.fromBean(PolicyItem.class);
+
+    static PolicyItem fullItem() {
+        var item = new PolicyItem();
+        item.setPolicyId("89846cee-c6d5-4320-92e9-16e122d5c672");
+        item.setCustomerId("adc56d77-348c-4bf0-908f-22d402ee715c");
+        item.setProductId("1b2da7cc-b367-4196-8a78-9cfeec21f587");
+        item.setCategory("AUTO");
+        item.setSalesChannel("MOBILE");
+        item.setPaymentMethod("CREDIT_CARD");
+        item.setStatus("APPROVED");
+        item.setCreatedAt("2025-08-01T10:00:00Z");
+        item.setFinishedAt("2025-08-01T10:00:05Z");
+        item.setCoverages(Map.of("Roubo", "100000.25", "Perda Total", "100000.25"));
+        item.setAssistances(List.of("Guincho até 250km", "Troca de Óleo"));
+        item.setTotalMonthlyPremiumAmount("75.25");
+        item.setInsuredAmount("275000.50");
+        item.setHistory(List.of(
+                Map.of("status", "RECEIVED", "timestamp", "2025-08-01T10:00:00Z"),
+                Map.of("status", "APPROVED", "timestamp", "2025-08-01T10:00:05Z")));
+        item.setVersion(3L);
+        return item;
+    }
+
+    @Test
+    @DisplayName("itemToMap(): gera os mesmos AttributeValues que o schema por reflexão")
+    void itemToMap_matchesBeanSchema() {
+        var item = fullItem();
+
+        assertThat(PolicyItemTableSchema.SCHEMA.itemToMap(item, true))
+                .isEqualTo(BEAN.itemToMap(item, true));
+    }
+
+    @Test
+    @DisplayName("mapToItem(): reconstrói o item gravado pelo schema por reflexão")
+    void mapToItem_readsBeanOutput() {
+        var raw = BEAN.itemToMap(fullItem(), true);
+
+        PolicyItem read = PolicyItemTableSchema.SCHEMA.mapToItem(raw);
+
+        assertThat(read).usingRecursiveComparison().isEqualTo(fullItem());
+    }
+
+    @Test
+    @DisplayName("itemToMap(): atributos nulos são omitidos")
+    void itemToMap_ignoresNulls() {
+        var item = new PolicyItem();
+        item.setPolicyId("id-1");
+
+        assertThat(PolicyItemTableSchema.SCHEMA.itemToMap(item, true)).containsOnlyKeys("policyId");
+    }
+
+    @Test
+    @DisplayName("Metadados: chave primária policyId, GSI gsi_customer por customerId e gsi_received por status/receivedAt")
+    void metadata_keysAndIndex() {
+        TableMetadata metadata = PolicyItemTableSchema.SCHEMA.tableMetadata();
+
+        assertThat(metadata.primaryPartitionKey()).isEqualTo("policyId");
+        assertThat(metadata.indexPartitionKey(PolicyItemTableSchema.CUSTOMER_INDEX)).isEqualTo("customerId");
+        assertThat(metadata.indexPartitionKey(PolicyItemTableSchema.RECEIVED_INDEX)).isEqualTo("status");
+        assertThat(metadata.indexSortKey(PolicyItemTableSchema.RECEIVED_INDEX)).contains("receivedAt");
+    }
+}
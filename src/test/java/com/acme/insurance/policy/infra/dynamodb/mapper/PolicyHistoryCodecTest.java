@@ -0,0 +1,108 @@
+package com.acme.insurance.policy.infra.dynamodb.mapper;
+
+import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.domain.model.PolicyStatus;
+import com.acme.insurance.policy.infra.dynamodb.PolicyItem;
+import com.acme.insurance.policy.infra.dynamodb.PolicyItemTableSchema;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.SdkBytes;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PolicyHistoryCodecTest {
+
+    private static final List<Policy.StatusHistory> HISTORY = List.of(
+            new Policy.StatusHistory(PolicyStatus.RECEIVED, OffsetDateTime.parse("2024-01-01T00:00:00.123Z")),
+            new Policy.StatusHistory(PolicyStatus.VALIDATED, OffsetDateTime.parse("2024-01-01T00:00:01-03:00")),
+            new Policy.StatusHistory(PolicyStatus.APPROVED, OffsetDateTime.parse("2024-01-02T10:20:30+05:30"))
+    );
+
+    @Test
+    @DisplayName("encode/decode: round-trip preserva status, instante (ms) e offset")
+    void roundTrip() {
+        SdkBytes packed = PolicyHistoryCodec.encode(HISTORY);
+
+        assertThat(packed.asByteArray()).hasSize(1 + HISTORY.size() * PolicyHistoryCodec.ENTRY_BYTES);
+        assertThat(PolicyHistoryCodec.decode(packed)).isEqualTo(HISTORY);
+    }
+
+    @Test
+    @DisplayName("decode: rejeita versão desconhecida e conteúdo truncado")
+    void decode_invalid() {
+        assertThatThrownBy(() -> PolicyHistoryCodec.decode(SdkBytes.fromByteArray(new byte[]{9})))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PolicyHistoryCodec.decode(SdkBytes.fromByteArray(new byte[]{1, 0, 0})))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("decode: ordinal fora do enum (inclusive byte negativo) gera erro descritivo")
+    void decode_unknownOrdinal() {
+        byte[] bytes = PolicyHistoryCodec.encode(HISTORY.subList(0, 1)).asByteArray();
+
+        bytes[1] = (byte) PolicyStatus.values().length;
+        assertThatThrownBy(() -> PolicyHistoryCodec.decode(SdkBytes.fromByteArray(bytes)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("status desconhecido: ordinal " + PolicyStatus.values().length);
+
+        bytes[1] = (byte) 0xF0;
+        assertThatThrownBy(() -> PolicyHistoryCodec.decode(SdkBytes.fromByteArray(bytes)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("ordinal 240");
+    }
+
+    @Test
+    @DisplayName("pack: substitui a lista de mapas pelo atributo binário; histórico vazio não é alterado")
+    void pack_replacesListForm() {
+        var item = new PolicyItem();
+        item.setHistory(PolicyMapConverters.toHistoryMap(HISTORY));
+
+        PolicyHistoryCodec.pack(item, HISTORY);
+        assertThat(item.getHistory()).isNull();
+        assertThat(PolicyHistoryCodec.decode(item.getHistoryPacked())).isEqualTo(HISTORY);
+
+        var empty = new PolicyItem();
+        empty.setHistory(List.of());
+        PolicyHistoryCodec.pack(empty, List.of());
+        assertThat(empty.getHistory()).isEmpty();
+        assertThat(empty.getHistoryPacked()).isNull();
+    }
+
+    @Test
+    @DisplayName("historyOf: lê o formato binário e mantém compatibilidade com a lista de mapas")
+    void historyOf_readsBothFormats() {
+        var packed = new PolicyItem();
+        packed.setHistoryPacked(PolicyHistoryCodec.encode(HISTORY));
+        var legacy = new PolicyItem();
+        legacy.setHistory(List.of(Map.of("status", "RECEIVED", "timestamp", "2024-01-01T00:00:00.123Z")));
+
+        assertThat(PolicyMapConverters.historyOf(packed)).isEqualTo(HISTORY);
+        assertThat(PolicyMapConverters.historyOf(legacy)).containsExactly(HISTORY.get(0));
+    }
+
+    @Test
+    @DisplayName("Formato binário ocupa menos bytes no item que a lista de mapas")
+    void packedIsSmallerThanListForm() {
+        var legacy = new PolicyItem();
+        legacy.setPolicyId("id");
+        legacy.setHistory(PolicyMapConverters.toHistoryMap(HISTORY));
+        var packed = new PolicyItem();
+        packed.setPolicyId("id");
+        PolicyHistoryCodec.pack(packed, HISTORY);
+
+        var legacyAttr = PolicyItemTableSchema.SCHEMA.itemToMap(legacy, true).get("history");
+        var packedAttr = PolicyItemTableSchema.SCHEMA.itemToMap(packed, true).get("historyPacked");
+
+        int legacyBytes = legacyAttr.l().stream()
+                .flatMap(m -> m.m().entrySet().stream())
+                .mapToInt(e -> e.getKey().length() + e.getValue().s().length())
+                .sum();
+        assertThat(packedAttr.b().asByteArray().length).isLessThan(legacyBytes / 3);
+    }
+}
@@ -43,7 +43,7 @@ class PolicyItemMapperTest {
                 List.of(
                         new Policy.StatusHistory(PolicyStatus.RECEIVED, OffsetDateTime.parse("2024-01-01T00:00:00Z")),
                         new Policy.StatusHistory(PolicyStatus.APPROVED, OffsetDateTime.parse("2024-01-02T00:00:00Z"))
-                )
+                ), null
         );
     }
 
@@ -191,4 +191,26 @@ class PolicyItemMapperTest {
 
         assertThat(back.getHistory()).isEqualTo(original.getHistory());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("toSummary: converte apenas os atributos projetados (sem coverages/history)")
+    void toSummary_mapsProjectedAttributes() {
+        PolicyItem it = new PolicyItem();
+        String id = UUID.randomUUID().toString();
+        it.setPolicyId(id);
+        it.setStatus("PENDING");
+        it.setCategory("LIFE");
+        it.setCreatedAt("2024-02-10T10:20:30Z");
+        it.setTotalMonthlyPremiumAmount("99.90");
+        it.setInsuredAmount("250000");
+
+        var summary = mapper.toSummary(it);
+
+        assertThat(summary.id()).isEqualTo(UUID.fromString(id));
+        assertThat(summary.status()).isEqualTo(PolicyStatus.PENDING);
+        assertThat(summary.category()).isEqualTo("LIFE");
+        assertThat(summary.createdAt()).isEqualTo(OffsetDateTime.parse("2024-02-10T10:20:30Z"));
+        assertThat(summary.totalMonthlyPremiumAmount()).isEqualByComparingTo("99.90");
+        assertThat(summary.insuredAmount()).isEqualByComparingTo("250000");
+    }
+}
@@ -0,0 +1,41 @@
+package com.acme.insurance.policy.infra.fraud;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveTimeoutTest {
+
+    private final AdaptiveTimeout timeout = new AdaptiveTimeout(
+            Duration.ofMillis(100), Duration.ofSeconds(2), 0.9, 2.0, 10, 5);
+
+    @Test
+    @DisplayName("Sem amostras suficientes usa o timeout máximo")
+    void warmup_usesMax() {
+        IntStream.range(0, 4).forEach(i -> timeout.record(Duration.ofMillis(50).toNanos()));
+
+        assertThat(timeout.current()).isEqualTo(Duration.ofSeconds(2));
+    }
+
+    @Test
+    @DisplayName("Timeout acompanha o percentil observado vezes o multiplicador")
+    void tracksPercentile() {
+        IntStream.rangeClosed(1, 10).forEach(i -> timeout.record(Duration.ofMillis(i * 100L).toNanos()));
+
+        assertThat(timeout.current()).isEqualTo(Duration.ofMillis(1800));
+    }
+
+    @Test
+    @DisplayName("Timeout fica entre o mínimo e o máximo configurados")
+    void clamped() {
+        IntStream.range(0, 10).forEach(i -> timeout.record(Duration.ofMillis(10).toNanos()));
+        assertThat(timeout.current()).isEqualTo(Duration.ofMillis(100));
+
+        IntStream.range(0, 10).forEach(i -> timeout.record(Duration.ofSeconds(5).toNanos()));
+        assertThat(timeout.current()).isEqualTo(Duration.ofSeconds(2));
+    }
+}
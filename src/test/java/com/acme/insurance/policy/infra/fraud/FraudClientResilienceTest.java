@@ -0,0 +1,127 @@
+package com.acme.insurance.policy.infra.fraud;
+
+import com.acme.insurance.policy.domain.fraud.FraudClassification;
+import com.acme.insurance.policy.infra.config.AppProps;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FraudClientResilienceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private FraudClientResilience resilience(int maxConcurrentCalls, String fallback) {
+        return resilience(maxConcurrentCalls, fallback, Duration.ofMillis(400));
+    }
+
+    private FraudClientResilience resilience(int maxConcurrentCalls, String fallback, Duration slowCallThreshold) {
+        AppProps props = mock(AppProps.class, RETURNS_DEEP_STUBS);
+        when(props.fraud().resilience()).thenReturn(new AppProps.Fraud.Resilience(true, maxConcurrentCalls,
+                50, 4, 4, Duration.ofMinutes(1), slowCallThreshold, 50, fallback,
+                new AppProps.Fraud.Resilience.Timeout(Duration.ofSeconds(1), Duration.ofMillis(100),
+                        Duration.ofMillis(500), 0.99, 2.0, 10, 5)));
+        return new FraudClientResilience(props, registry);
+    }
+
+    @Test
+    @DisplayName("Desabilitado: executa a chamada sem opções de timeout e sem fallback")
+    void disabled_passThrough() {
+        var r = new FraudClientResilience(mock(AppProps.class, RETURNS_DEEP_STUBS), registry);
+
+        String result = r.execute(options -> options == null ? "direct" : "decorated");
+        assertThat(result).isEqualTo("direct");
+        assertThat(r.fallback()).isNull();
+    }
+
+    @Test
+    @DisplayName("Habilitado: aplica o read timeout adaptativo (máximo durante o aquecimento)")
+    void enabled_appliesAdaptiveTimeout() {
+        var r = resilience(4, "NO_INFO");
+
+        long readTimeoutMillis = r.execute(options -> options.readTimeoutMillis());
+
+        assertThat(readTimeoutMillis).isEqualTo(500);
+        assertThat(r.fallback()).isEqualTo(FraudClassification.NO_INFO);
+        assertThat(registry.get("policy.fraud.timeout.current").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Circuito abre após falhas e passa a recusar chamadas sem ir à API")
+    void circuitOpens_rejects() {
+        var r = resilience(4, null);
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> r.execute(options -> { throw new IllegalStateException("timeout"); }))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+
+        assertThat(r.circuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> r.execute(options -> "never"))
+                .isInstanceOf(CallNotPermittedException.class);
+        assertThat(registry.get("policy.fraud.rejected").tag("reason", "circuit_open").counter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("resilience4j.circuitbreaker.state").tag("state", "open").gauge().value())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Bulkhead cheio recusa chamadas concorrentes além do limite")
+    void bulkheadFull_rejects() throws Exception {
+        var r = resilience(1, null);
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var inFlight = CompletableFuture.supplyAsync(() -> r.execute(options -> {
+            started.countDown();
+            try { release.await(2, TimeUnit.SECONDS); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+            return "ok";
+        }));
+        assertThat(started.await(2, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> r.execute(options -> "second"))
+                .isInstanceOf(BulkheadFullException.class);
+        release.countDown();
+
+        assertThat(inFlight.get(2, TimeUnit.SECONDS)).isEqualTo("ok");
+        assertThat(registry.get("policy.fraud.rejected").tag("reason", "bulkhead_full").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Chamadas acima do limiar de lentidão (e abaixo do timeout) abrem o circuito")
+    void slowCalls_openCircuit() {
+        var r = resilience(4, null, Duration.ofMillis(20));
+        for (int i = 0; i < 4; i++) {
+            String result = r.execute(options -> {
+                try { Thread.sleep(40); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+                return "slow";
+            });
+            assertThat(result).isEqualTo("slow");
+        }
+
+        assertThat(r.circuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("Limiar de lentidão igual ou acima do timeout máximo é reduzido para 3/4 do teto")
+    void slowCallThreshold_clampedBelowMax() {
+        assertThat(FraudClientResilience.slowCallThreshold(Duration.ofSeconds(2), Duration.ofSeconds(2)))
+                .isEqualTo(Duration.ofMillis(1500));
+        assertThat(FraudClientResilience.slowCallThreshold(Duration.ofMillis(800), Duration.ofSeconds(2)))
+                .isEqualTo(Duration.ofMillis(800));
+        assertThat(resilience(4, null, Duration.ofSeconds(5)).circuitBreaker()
+                .getCircuitBreakerConfig().getSlowCallDurationThreshold()).isEqualTo(Duration.ofMillis(375));
+    }
+}
@@ -1,17 +1,46 @@
 package com.acme.insurance.policy.infra.fraud;
 
 import com.acme.insurance.policy.app.dto.fraud.FraudAnalysisResponse;
+import com.acme.insurance.policy.domain.fraud.FraudClassification;
+import com.acme.insurance.policy.infra.config.AppProps;
+import com.github.benmanes.caffeine.cache.Ticker;
+import feign.FeignException;
+import feign.Request;
+import feign.RetryableException;
+import feign.codec.DecodeException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -20,9 +49,28 @@ class FraudGatewayFeignAdapterTest {
     @Mock
     FraudClient client;
 
-    @InjectMocks
     FraudGatewayFeignAdapter adapter;
 
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong nanos = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        AppProps props = mock(AppProps.class, RETURNS_DEEP_STUBS);
+        adapter = new FraudGatewayFeignAdapter(client, new FraudClientResilience(props, registry), props, registry);
+    }
+
+    private FraudGatewayFeignAdapter cachedAdapter() {
+        AppProps props = mock(AppProps.class, RETURNS_DEEP_STUBS);
+        when(props.fraud().cache()).thenReturn(new AppProps.Fraud.Cache(true, 100, Duration.ofMinutes(5)));
+        return new FraudGatewayFeignAdapter(client, new FraudClientResilience(props, registry), props, registry,
+                (Ticker) nanos::get);
+    }
+
+    private static FraudAnalysisResponse response(String orderId, UUID customerId, String classification) {
+        return new FraudAnalysisResponse(orderId, customerId.toString(), OffsetDateTime.now(), classification, List.of());
+    }
+
     @Test
     @DisplayName("analyze() delega ao client com UUIDs em String e devolve a mesma resposta")
     void analyze_delegates_and_returns_same_instance() {
@@ -55,4 +103,163 @@ class FraudGatewayFeignAdapterTest {
         verify(client).analyze(orderId.toString(), customerId.toString());
         verifyNoMoreInteractions(client);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Cache: segunda policy do mesmo cliente reaproveita a classificação com o orderId da nova policy")
+    void cache_hit_reusesClassification() {
+        var cached = cachedAdapter();
+        UUID customerId = UUID.randomUUID();
+        UUID firstOrder = UUID.randomUUID();
+        UUID secondOrder = UUID.randomUUID();
+        when(client.analyze(firstOrder.toString(), customerId.toString()))
+                .thenReturn(response(firstOrder.toString(), customerId, "REGULAR"));
+
+        cached.analyze(firstOrder, customerId);
+        FraudAnalysisResponse out = cached.analyze(secondOrder, customerId);
+
+        assertThat(out.orderId()).isEqualTo(secondOrder.toString());
+        assertThat(out.classification()).isEqualTo("REGULAR");
+        verify(client, times(1)).analyze(anyString(), anyString());
+        assertThat(registry.get("cache.gets").tag("cache", "fraud-classification").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("policy.fraud.remote.duration").timer().count()).isEqualTo(1);
+        assertThat(registry.get("policy.fraud.cache.saved.latency").counter().count()).isGreaterThanOrEqualTo(0.0);
+    }
+
+    @Test
+    @DisplayName("Cache: consultas concorrentes do mesmo cliente geram uma única chamada à API de fraudes")
+    void cache_singleFlight() throws Exception {
+        var cached = cachedAdapter();
+        UUID customerId = UUID.randomUUID();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(client.analyze(anyString(), eq(customerId.toString()))).thenAnswer(inv -> {
+            loading.countDown();
+            release.await(2, TimeUnit.SECONDS);
+            return response(inv.getArgument(0), customerId, "HIGH_RISK");
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            var first = CompletableFuture.supplyAsync(() -> cached.analyze(UUID.randomUUID(), customerId), pool);
+            assertThat(loading.await(2, TimeUnit.SECONDS)).isTrue();
+            var others = IntStream.range(0, 3)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> cached.analyze(UUID.randomUUID(), customerId), pool))
+                    .toList();
+            release.countDown();
+
+            assertThat(first.get(2, TimeUnit.SECONDS).classification()).isEqualTo("HIGH_RISK");
+            for (var f : others) {
+                assertThat(f.get(2, TimeUnit.SECONDS).classification()).isEqualTo("HIGH_RISK");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        verify(client, times(1)).analyze(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Cache: dentro do TTL não revalida em background nem chama a API com o orderId de uma policy anterior")
+    void cache_noBackgroundRefreshWithStaleOrder() {
+        var cached = cachedAdapter();
+        UUID customerId = UUID.randomUUID();
+        UUID order = UUID.randomUUID();
+        when(client.analyze(order.toString(), customerId.toString()))
+                .thenReturn(response(order.toString(), customerId, "REGULAR"));
+
+        assertThat(cached.analyze(order, customerId).classification()).isEqualTo("REGULAR");
+        nanos.addAndGet(Duration.ofMinutes(4).toNanos());
+        UUID next = UUID.randomUUID();
+
+        FraudAnalysisResponse out = cached.analyze(next, customerId);
+
+        assertThat(out.classification()).isEqualTo("REGULAR");
+        assertThat(out.orderId()).isEqualTo(next.toString());
+        verify(client, times(1)).analyze(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Cache: após o TTL a classificação expira e a API é consultada novamente")
+    void cache_expiresAfterTtl() {
+        var cached = cachedAdapter();
+        UUID customerId = UUID.randomUUID();
+        when(client.analyze(anyString(), eq(customerId.toString())))
+                .thenAnswer(inv -> response(inv.getArgument(0), customerId, "REGULAR"));
+
+        cached.analyze(UUID.randomUUID(), customerId);
+        nanos.addAndGet(Duration.ofMinutes(6).toNanos());
+        cached.analyze(UUID.randomUUID(), customerId);
+
+        verify(client, times(2)).analyze(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Fallback configurado: falha da API devolve a classificação de fallback e não é cacheada")
+    void fallback_onFailure() {
+        FraudClientResilience resilience = mock(FraudClientResilience.class);
+        when(resilience.execute(any())).thenThrow(new FeignException.ServiceUnavailable("fraud api down", REQUEST, null, null));
+        when(resilience.fallback()).thenReturn(FraudClassification.NO_INFO);
+        var withFallback = new FraudGatewayFeignAdapter(client, resilience, mock(AppProps.class, RETURNS_DEEP_STUBS),
+                registry);
+        UUID orderId = UUID.randomUUID();
+        UUID customerId = UUID.randomUUID();
+
+        FraudAnalysisResponse out = withFallback.analyze(orderId, customerId);
+
+        assertThat(out.classification()).isEqualTo("NO_INFO");
+        assertThat(out.orderId()).isEqualTo(orderId.toString());
+        assertThat(out.customerId()).isEqualTo(customerId.toString());
+        assertThat(registry.get("policy.fraud.fallback").tag("reason", "ServiceUnavailable").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    private static final Request REQUEST = Request.create(Request.HttpMethod.POST, "http://fraud/analyze",
+            Map.of(), null, StandardCharsets.UTF_8, null);
+
+    static Stream<RuntimeException> unavailable() {
+        return Stream.of(
+                new RetryableException(-1, "Read timed out", Request.HttpMethod.POST,
+                        new SocketTimeoutException("Read timed out"), (Long) null, REQUEST),
+                new FeignException.InternalServerError("500", REQUEST, null, null),
+                new FeignException.BadGateway("502", REQUEST, null, null),
+                CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("fraud")),
+                BulkheadFullException.createBulkheadFullException(Bulkhead.ofDefaults("fraud")));
+    }
+
+    static Stream<RuntimeException> invalidRequest() {
+        return Stream.of(
+                new FeignException.BadRequest("400", REQUEST, null, null),
+                new FeignException.NotFound("404", REQUEST, null, null),
+                new FeignException.UnprocessableEntity("422", REQUEST, null, null),
+                new DecodeException(200, "classification inválida", REQUEST),
+                new IllegalStateException("bug local"));
+    }
+
+    @ParameterizedTest(name = "{index} => {0}")
+    @MethodSource("unavailable")
+    @DisplayName("Fallback: timeout, 5xx, circuito aberto e bulkhead cheio usam a classificação de fallback")
+    void fallback_onUnavailability(RuntimeException failure) {
+        FraudClientResilience resilience = mock(FraudClientResilience.class);
+        when(resilience.execute(any())).thenThrow(failure);
+        when(resilience.fallback()).thenReturn(FraudClassification.NO_INFO);
+        var withFallback = new FraudGatewayFeignAdapter(client, resilience, mock(AppProps.class, RETURNS_DEEP_STUBS),
+                registry);
+
+        assertThat(withFallback.analyze(UUID.randomUUID(), UUID.randomUUID()).classification()).isEqualTo("NO_INFO");
+    }
+
+    @ParameterizedTest(name = "{index} => {0}")
+    @MethodSource("invalidRequest")
+    @DisplayName("Fallback: 4xx, falha de decodificação e erros locais propagam sem fallback")
+    void fallback_notOnInvalidRequest(RuntimeException failure) {
+        FraudClientResilience resilience = mock(FraudClientResilience.class);
+        when(resilience.execute(any())).thenThrow(failure);
+        when(resilience.fallback()).thenReturn(FraudClassification.NO_INFO);
+        var withFallback = new FraudGatewayFeignAdapter(client, resilience, mock(AppProps.class, RETURNS_DEEP_STUBS),
+                registry);
+
+        assertThatThrownBy(() -> withFallback.analyze(UUID.randomUUID(), UUID.randomUUID())).isSameAs(failure);
+        assertThat(registry.find("policy.fraud.fallback").counter()).isNull();
+    }
+}
@@ -0,0 +1,117 @@
+package com.acme.insurance.policy.infra.fraud;
+
+import com.acme.insurance.policy.domain.fraud.FraudRuleTable;
+import com.acme.insurance.policy.domain.fraud.FraudRules;
+import com.acme.insurance.policy.infra.config.AppProps;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static com.acme.insurance.policy.domain.fraud.FraudClassification.REGULAR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FraudRulesLoaderTest {
+
+    private static final String RULES = """
+            {
+              "REGULAR":      { "AUTO": %s, "DEFAULT": 1000 },
+              "HIGH_RISK":    { "DEFAULT": 500 },
+              "PREFERENTIAL": { "DEFAULT": 2000 },
+              "NO_INFO":      { "DEFAULT": 0 }
+            }
+            """;
+
+    @TempDir
+    Path dir;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private FraudRulesLoader loader;
+
+    @AfterEach
+    void tearDown() {
+        if (loader != null) loader.shutdown();
+        FraudRules.install(FraudRuleTable.defaults());
+    }
+
+    private FraudRulesLoader loader(Path file) {
+        AppProps props = mock(AppProps.class, RETURNS_DEEP_STUBS);
+        when(props.fraud().rules().limits()).thenReturn(null);
+        when(props.fraud().rules().file()).thenReturn(file == null ? null : file.toString());
+        when(props.fraud().rules().reloadInterval()).thenReturn(Duration.ofHours(1));
+        loader = new FraudRulesLoader(props, new ObjectMapper(), registry);
+        return loader;
+    }
+
+    private Path write(String autoLimit, Instant modified) throws IOException {
+        Path file = dir.resolve("fraud-rules.json");
+        Files.writeString(file, RULES.formatted(autoLimit));
+        Files.setLastModifiedTime(file, FileTime.from(modified));
+        return file;
+    }
+
+    @Test
+    @DisplayName("Sem arquivo nem limites configurados instala a tabela padrão")
+    void noSource_usesDefaults() {
+        loader(null).load();
+
+        assertThat(FraudRules.isApproved(REGULAR, "AUTO", new BigDecimal("350000"))).isTrue();
+        assertThat(FraudRules.isApproved(REGULAR, "AUTO", new BigDecimal("350001"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Carrega o arquivo na subida e conta avaliações por classificação, categoria e resultado")
+    void loadsFile_andCountsEvaluations() throws IOException {
+        loader(write("5000", Instant.parse("2025-01-01T00:00:00Z"))).load();
+
+        assertThat(FraudRules.isApproved(REGULAR, "auto", new BigDecimal("5000"))).isTrue();
+        assertThat(FraudRules.isApproved(REGULAR, "PET", new BigDecimal("1001"))).isFalse();
+
+        assertThat(registry.get("policy.fraud.rules.evaluations").tag("classification", "REGULAR")
+                .tag("category", "AUTO").tag("outcome", "approved").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("policy.fraud.rules.evaluations").tag("classification", "REGULAR")
+                .tag("category", "DEFAULT").tag("outcome", "rejected").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("policy.fraud.rules.reloads").tag("result", "success").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Arquivo alterado é recarregado; sem alteração não recarrega")
+    void reload_onlyWhenChanged() throws IOException {
+        var l = loader(write("5000", Instant.parse("2025-01-01T00:00:00Z")));
+        l.load();
+        assertThat(l.reloadIfChanged()).isFalse();
+
+        write("9000", Instant.parse("2025-01-02T00:00:00Z"));
+
+        assertThat(l.reloadIfChanged()).isTrue();
+        assertThat(FraudRules.isApproved(REGULAR, "AUTO", new BigDecimal("9000"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Arquivo inválido mantém a tabela atual e conta a falha")
+    void invalidFile_keepsCurrentTable() throws IOException {
+        var l = loader(write("5000", Instant.parse("2025-01-01T00:00:00Z")));
+        l.load();
+
+        write("-1", Instant.parse("2025-01-02T00:00:00Z"));
+
+        assertThat(l.reloadIfChanged()).isFalse();
+        assertThat(FraudRules.isApproved(REGULAR, "AUTO", new BigDecimal("5000"))).isTrue();
+        assertThat(registry.get("policy.fraud.rules.reloads").tag("result", "failure").counter().count())
+                .isEqualTo(1.0);
+    }
+}
@@ -5,7 +5,12 @@ import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -83,4 +88,37 @@ class InMemoryCorrelationStoreTest {
         store.evictExpired();
         assertThat(store.bothDone(id)).isTrue();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Marcação após expiração recria a entrada só com a nova marca")
+    void mark_afterEviction_startsFresh() {
+        UUID id = UUID.randomUUID();
+        store.markPayment(id, Instant.now().minus(Duration.ofHours(1)));
+        store.evictExpired();
+
+        store.markSubscription(id, Instant.now());
+        assertThat(store.bothDone(id)).isFalse();
+
+        store.markPayment(id, Instant.now());
+        assertThat(store.bothDone(id)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Marcações concorrentes de pagamento e subscrição não se perdem")
+    void concurrentMarks_areNotLost() throws Exception {
+        List<UUID> ids = IntStream.range(0, 2_000).mapToObj(i -> UUID.randomUUID()).toList();
+        Instant now = Instant.now();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            var payments = pool.submit(() -> ids.forEach(id -> store.markPayment(id, now)));
+            var subscriptions = pool.submit(() -> ids.forEach(id -> store.markSubscription(id, now)));
+            payments.get(5, TimeUnit.SECONDS);
+            subscriptions.get(5, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(ids).allMatch(store::bothDone);
+        assertThat(store.size()).isEqualTo(ids.size());
+    }
+}
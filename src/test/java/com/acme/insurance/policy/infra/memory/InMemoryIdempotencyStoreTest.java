@@ -0,0 +1,85 @@
+package com.acme.insurance.policy.infra.memory;
+
+import com.acme.insurance.policy.domain.ports.out.IdempotencyStore;
+import com.acme.insurance.policy.infra.config.AppProps;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.*;
+
+class InMemoryIdempotencyStoreTest {
+
+    private static final Instant NOW = Instant.parse("2025-08-01T10:00:00Z");
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(NOW);
+    private InMemoryIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        AppProps props = mock(AppProps.class, RETURNS_DEEP_STUBS);
+        when(props.dynamodb().idempotency().ttl()).thenReturn(Duration.ofHours(24));
+        when(props.dynamodb().idempotency().lease()).thenReturn(Duration.ofSeconds(30));
+        Clock clock = mock(Clock.class);
+        when(clock.instant()).thenAnswer(inv -> now.get());
+        store = new InMemoryIdempotencyStore(props, clock);
+    }
+
+    @Test
+    @DisplayName("Chave em andamento dentro da lease não pode ser assumida")
+    void withinLease_notTakenOver() {
+        UUID policyId = UUID.randomUUID();
+        store.putIfAbsent("c:k1", policyId, "h1");
+
+        assertThat(store.putIfAbsent("c:k1", UUID.randomUUID(), "h1"))
+                .contains(new IdempotencyStore.Entry(policyId, "h1", false, false));
+        assertThat(store.takeOver("c:k1", policyId)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Lease vencida: uma única requisição assume a chave, que volta a ter lease")
+    void leaseExpired_takenOverOnce() {
+        UUID policyId = UUID.randomUUID();
+        store.putIfAbsent("c:k1", policyId, "h1");
+        now.set(NOW.plusSeconds(31));
+
+        assertThat(store.putIfAbsent("c:k1", UUID.randomUUID(), "h1"))
+                .contains(new IdempotencyStore.Entry(policyId, "h1", false, true));
+        assertThat(store.takeOver("c:k1", policyId)).isTrue();
+        assertThat(store.takeOver("c:k1", policyId)).isFalse();
+    }
+
+    @Test
+    @DisplayName("expireLease(): mantém o policyId e deixa a chave pronta para ser assumida na hora")
+    void expireLease_keepsPolicyIdAndAllowsTakeOver() {
+        UUID policyId = UUID.randomUUID();
+        store.putIfAbsent("c:k1", policyId, "h1");
+        store.expireLease("c:k1");
+
+        assertThat(store.putIfAbsent("c:k1", UUID.randomUUID(), "h1"))
+                .contains(new IdempotencyStore.Entry(policyId, "h1", false, true));
+        assertThat(store.takeOver("c:k1", policyId)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Chave concluída não tem lease e não pode ser assumida")
+    void completed_neverTakenOver() {
+        UUID policyId = UUID.randomUUID();
+        store.putIfAbsent("c:k1", policyId, "h1");
+        store.complete("c:k1");
+        now.set(NOW.plusSeconds(31));
+
+        assertThat(store.putIfAbsent("c:k1", UUID.randomUUID(), "h1"))
+                .contains(new IdempotencyStore.Entry(policyId, "h1", true, false));
+        assertThat(store.takeOver("c:k1", policyId)).isFalse();
+    }
+}
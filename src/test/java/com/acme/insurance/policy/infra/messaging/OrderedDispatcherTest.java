@@ -0,0 +1,122 @@
+package com.acme.insurance.policy.infra.messaging;
+
+import com.acme.insurance.policy.infra.config.AppProps;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderedDispatcherTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private OrderedDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        AppProps props = mock(AppProps.class, RETURNS_DEEP_STUBS);
+        when(props.sqs().ordering()).thenReturn(new AppProps.Sqs.Ordering(true, 4));
+        dispatcher = new OrderedDispatcher(props, registry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.close();
+    }
+
+    @Test
+    @DisplayName("Eventos da mesma policy são executados na ordem de submissão")
+    void samePolicy_runsInOrder() throws Exception {
+        UUID id = UUID.randomUUID();
+        List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+
+        var futures = IntStream.range(0, 200)
+                .mapToObj(i -> dispatcher.submit(id, () -> seen.add(i)))
+                .toList();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(2, TimeUnit.SECONDS);
+
+        assertThat(seen).containsExactlyElementsOf(IntStream.range(0, 200).boxed().toList());
+    }
+
+    @Test
+    @DisplayName("Policy bloqueada não impede o avanço de policies em outras lanes")
+    void otherLanes_progressWhileOneIsBlocked() throws Exception {
+        UUID blocked = UUID.randomUUID();
+        UUID other = IntStream.range(0, 100).mapToObj(i -> UUID.randomUUID())
+                .filter(id -> dispatcher.lane(id) != dispatcher.lane(blocked))
+                .findFirst().orElseThrow();
+        CountDownLatch release = new CountDownLatch(1);
+
+        var slow = dispatcher.submit(blocked, () -> {
+            try {
+                return release.await(2, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        dispatcher.submit(blocked, () -> "queued");
+
+        assertThat(dispatcher.submit(other, () -> "ok").get(1, TimeUnit.SECONDS)).isEqualTo("ok");
+        assertThat(registry.get("policy.sqs.dispatch.lane.depth")
+                .tag("lane", Integer.toString(dispatcher.lane(blocked))).gauge().value()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(slow.get(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("run(): bloqueia até o fim e propaga a exceção original para o listener")
+    void run_propagatesFailure() {
+        UUID id = UUID.randomUUID();
+
+        assertThatThrownBy(() -> dispatcher.run(id, () -> {
+            throw new IllegalArgumentException("transição inválida");
+        })).isInstanceOf(IllegalArgumentException.class).hasMessage("transição inválida");
+    }
+
+    @Test
+    @DisplayName("Desabilitado: executa na thread chamadora")
+    void inline_runsOnCallerThread() {
+        Thread caller = Thread.currentThread();
+        Thread[] ran = new Thread[1];
+
+        OrderedDispatcher.inline().run(UUID.randomUUID(), () -> ran[0] = Thread.currentThread());
+
+        assertThat(ran[0]).isSameAs(caller);
+    }
+
+    @Test
+    @DisplayName("mark(): tarefa da marca vê a leitura como atual até outra tarefa terminar na lane da policy")
+    void mark_detectsForeignWorkOnLane() throws Exception {
+        UUID id = UUID.randomUUID();
+        UUID otherLane = IntStream.range(0, 100).mapToObj(i -> UUID.randomUUID())
+                .filter(u -> dispatcher.lane(u) != dispatcher.lane(id))
+                .findFirst().orElseThrow();
+
+        var quiet = dispatcher.mark();
+        dispatcher.run(otherLane, () -> { });
+        var ownFirst = quiet.submit(id, current -> current);
+        var ownSecond = quiet.submit(id, current -> current);
+        assertThat(ownFirst.get(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(ownSecond.get(1, TimeUnit.SECONDS)).isTrue();
+
+        var stale = dispatcher.mark();
+        dispatcher.run(id, () -> { });
+        assertThat(stale.submit(id, current -> current).get(1, TimeUnit.SECONDS)).isFalse();
+    }
+}
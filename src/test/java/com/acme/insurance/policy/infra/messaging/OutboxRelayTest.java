@@ -0,0 +1,138 @@
+package com.acme.insurance.policy.infra.messaging;
+
+import com.acme.insurance.policy.domain.events.PolicyRequestStatusChangedEvent;
+import com.acme.insurance.policy.domain.ports.out.PolicyRequestPublisher;
+import com.acme.insurance.policy.infra.config.AppProps;
+import com.acme.insurance.policy.infra.dynamodb.OutboxItem;
+import com.acme.insurance.policy.infra.dynamodb.OutboxShardLeases;
+import com.acme.insurance.policy.infra.dynamodb.PolicyOutboxDynamoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    PolicyOutboxDynamoRepository outbox;
+
+    @Mock
+    OutboxShardLeases leases;
+
+    @Mock
+    PolicyRequestPublisher publisher;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        AppProps props = mock(AppProps.class, RETURNS_DEEP_STUBS);
+        when(props.dynamodb().outbox().shards()).thenReturn(2);
+        when(props.dynamodb().outbox().batchSize()).thenReturn(3);
+        when(props.dynamodb().outbox().pollInterval()).thenReturn(Duration.ofMillis(100));
+        relay = new OutboxRelay(outbox, leases, publisher, props, registry);
+    }
+
+    private static List<OutboxItem> items(int n) {
+        UUID id = UUID.randomUUID();
+        return IntStream.range(0, n)
+                .mapToObj(i -> OutboxItem.from(new PolicyRequestStatusChangedEvent(
+                        id, UUID.randomUUID(), UUID.randomUUID(), "PENDING", "REGULAR", Instant.now()), i, 2))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("drainShard(): publica cada página em lote e só depois remove do outbox, até esvaziar")
+    void drain_publishesThenDeletes() {
+        var full = items(3);
+        var partial = items(1);
+        when(leases.holds(1)).thenReturn(true);
+        when(outbox.fetch(1, 3)).thenReturn(full, partial);
+
+        int relayed = relay.drainShard(1);
+
+        assertThat(relayed).isEqualTo(4);
+        InOrder inOrder = inOrder(publisher, outbox);
+        inOrder.verify(publisher).publishAll(full.stream().map(OutboxItem::toEvent).toList());
+        inOrder.verify(outbox).delete(full);
+        inOrder.verify(publisher).publishAll(partial.stream().map(OutboxItem::toEvent).toList());
+        inOrder.verify(outbox).delete(partial);
+        verify(outbox, times(2)).fetch(1, 3);
+        assertThat(registry.get("policy.outbox.relayed").counter().count()).isEqualTo(4.0);
+    }
+
+    @Test
+    @DisplayName("drainShard(): falha no SQS mantém os eventos no outbox para a próxima rodada")
+    void drain_publishFailure_keepsEvents() {
+        var page = items(2);
+        when(leases.holds(0)).thenReturn(true);
+        when(outbox.fetch(0, 3)).thenReturn(page);
+        doThrow(new IllegalStateException("sqs down")).when(publisher).publishAll(anyList());
+
+        assertThat(relay.drainShard(0)).isZero();
+
+        verify(outbox, never()).delete(any());
+        assertThat(registry.get("policy.outbox.failures").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("drainShard(): shard com lease de outra réplica não é lido nem publicado")
+    void drain_shardOwnedElsewhere_skips() {
+        when(leases.holds(0)).thenReturn(false);
+
+        assertThat(relay.drainShard(0)).isZero();
+
+        verifyNoInteractions(outbox, publisher);
+    }
+
+    @Test
+    @DisplayName("drainShard(): lease perdida no meio da drenagem interrompe antes do próximo lote")
+    void drain_leaseLost_stopsBeforeNextBatch() {
+        var full = items(3);
+        when(leases.holds(1)).thenReturn(true, false);
+        when(outbox.fetch(1, 3)).thenReturn(full);
+
+        assertThat(relay.drainShard(1)).isEqualTo(3);
+
+        verify(outbox, times(1)).fetch(1, 3);
+        verify(outbox).delete(full);
+    }
+
+    @Test
+    @DisplayName("shutdown(): devolve as leases dos shards")
+    void shutdown_releasesLeases() throws InterruptedException {
+        relay.shutdown();
+
+        verify(leases).releaseAll();
+    }
+
+    @Test
+    @DisplayName("OutboxItem: mesma policy sempre no mesmo shard e evento reconstruído sem perdas")
+    void outboxItem_roundTrip() {
+        var event = new PolicyRequestStatusChangedEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                "APPROVED", "PREFERENTIAL", Instant.now());
+
+        var a = OutboxItem.from(event, 0, 4);
+        var b = OutboxItem.from(event, 1, 4);
+
+        assertThat(a.getShard()).isEqualTo(b.getShard());
+        assertThat(a.getEventKey()).isLessThan(b.getEventKey());
+        assertThat(a.toEvent()).isEqualTo(event);
+    }
+}
@@ -0,0 +1,191 @@
+package com.acme.insurance.policy.infra.messaging;
+
+import com.acme.insurance.policy.app.dto.integration.PaymentResultEvent;
+import com.acme.insurance.policy.application.PolicyStateMachine;
+import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.domain.ports.out.CorrelationStore;
+import com.acme.insurance.policy.domain.ports.out.PolicyRepository;
+import com.acme.insurance.policy.infra.config.AppProps;
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class PaymentResultsBatchConsumerTest {
+
+    @Mock
+    PolicyRepository policyRepository;
+
+    @Mock
+    PolicyStateMachine policyStateMachine;
+
+    @Mock
+    CorrelationStore correlationStore;
+
+    @Mock
+    BatchAcknowledgement<PaymentResultEvent> ack;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private PaymentResultsBatchConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new PaymentResultsBatchConsumer(policyRepository,
+                new PaymentResultHandler(policyStateMachine, correlationStore),
+                OrderedDispatcher.inline(), registry);
+    }
+
+    private static Message<PaymentResultEvent> msg(UUID id, String status) {
+        return MessageBuilder.withPayload(new PaymentResultEvent(id, "pay-" + id, status,
+                Instant.parse("2024-01-01T12:00:00Z"))).build();
+    }
+
+    private static Policy policy(UUID id) {
+        var p = mock(Policy.class);
+        lenient().when(p.id()).thenReturn(id);
+        return p;
+    }
+
+    private List<Message<PaymentResultEvent>> acked() {
+        ArgumentCaptor<Collection<Message<PaymentResultEvent>>> cap = ArgumentCaptor.forClass(Collection.class);
+        verify(ack).acknowledge(cap.capture());
+        return List.copyOf(cap.getValue());
+    }
+
+    private double outcome(String outcome) {
+        return registry.get("policy.sqs.consumer.messages").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    @DisplayName("Carrega todas as policies do lote com uma única busca em lote e aplica as transições")
+    void loadsAllPoliciesOnce() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        Policy pa = policy(a);
+        Policy pb = policy(b);
+        var ma = msg(a, "CONFIRMED");
+        var mb = msg(b, "DENIED");
+        when(policyRepository.findAllByIds(argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(a, b)))))
+                .thenReturn(List.of(pa, pb));
+
+        consumer.onPayments(List.of(ma, mb), ack);
+
+        verify(correlationStore).markPayment(a, Instant.parse("2024-01-01T12:00:00Z"));
+        verify(policyStateMachine).onPaymentConfirmed(pa);
+        verify(policyStateMachine).onPaymentDenied(pb);
+        verify(policyRepository, never()).findById(any());
+        assertThat(acked()).containsExactly(ma, mb);
+        assertThat(outcome("handled")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Falha parcial: só a mensagem que falhou fica sem ack para ser reentregue")
+    void partialFailure_leavesFailedUnacked() {
+        UUID ok = UUID.randomUUID();
+        UUID broken = UUID.randomUUID();
+        Policy pok = policy(ok);
+        Policy pbroken = policy(broken);
+        var mok = msg(ok, "DENIED");
+        var mbroken = msg(broken, "DENIED");
+        when(policyRepository.findAllByIds(any())).thenReturn(List.of(pok, pbroken));
+        when(policyStateMachine.onPaymentDenied(pbroken)).thenThrow(new IllegalStateException("conflito"));
+
+        consumer.onPayments(List.of(mbroken, mok), ack);
+
+        assertThat(acked()).containsExactly(mok);
+        assertThat(outcome("failed")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Policy não encontrada: mensagem é reconhecida sem chamar a FSM")
+    void policyNotFound_isAcked() {
+        UUID id = UUID.randomUUID();
+        var m = msg(id, "CONFIRMED");
+        when(policyRepository.findAllByIds(any())).thenReturn(List.of());
+
+        consumer.onPayments(List.of(m), ack);
+
+        verifyNoInteractions(policyStateMachine, correlationStore);
+        assertThat(acked()).containsExactly(m);
+        assertThat(outcome("not_found")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Segundo evento da mesma policy no lote relê o estado atual")
+    void duplicatePolicy_rereadsCurrentState() {
+        UUID id = UUID.randomUUID();
+        Policy before = policy(id);
+        Policy after = policy(id);
+        when(after.isFinalStatus()).thenReturn(true);
+        var first = msg(id, "DENIED");
+        var second = msg(id, "DENIED");
+        when(policyRepository.findAllByIds(any())).thenReturn(List.of(before));
+        when(policyRepository.findById(id)).thenReturn(Optional.of(after));
+
+        consumer.onPayments(List.of(first, second), ack);
+
+        verify(policyStateMachine, times(1)).onPaymentDenied(before);
+        verify(correlationStore).clear(id);
+        assertThat(acked()).containsExactly(first, second);
+    }
+
+    @Test
+    @DisplayName("Falha no BatchGetItem: nenhuma mensagem é reconhecida")
+    void batchGetFailure_acksNothing() {
+        when(policyRepository.findAllByIds(any())).thenThrow(new IllegalStateException("dynamo down"));
+
+        assertThatThrownBy(() -> consumer.onPayments(List.of(msg(UUID.randomUUID(), "CONFIRMED")), ack))
+                .isInstanceOf(IllegalStateException.class);
+        verifyNoInteractions(ack, policyStateMachine);
+    }
+
+    @Test
+    @DisplayName("Evento da mesma policy processado na lane durante a leitura do lote: a tarefa relê o estado atual")
+    void laneBusySinceBatchRead_rereadsInsideLane() throws InterruptedException {
+        AppProps props = mock(AppProps.class, RETURNS_DEEP_STUBS);
+        when(props.sqs().ordering()).thenReturn(new AppProps.Sqs.Ordering(true, 1));
+        var dispatcher = new OrderedDispatcher(props, registry);
+        var ordered = new PaymentResultsBatchConsumer(policyRepository,
+                new PaymentResultHandler(policyStateMachine, correlationStore),
+                dispatcher, registry);
+        UUID id = UUID.randomUUID();
+        Policy snapshot = policy(id);
+        Policy current = policy(id);
+        var m = msg(id, "DENIED");
+        when(policyRepository.findAllByIds(any())).thenAnswer(inv -> {
+            dispatcher.run(id, () -> { });
+            return List.of(snapshot);
+        });
+        when(policyRepository.findById(id)).thenReturn(Optional.of(current));
+
+        try {
+            ordered.onPayments(List.of(m), ack);
+        } finally {
+            dispatcher.close();
+        }
+
+        verify(policyStateMachine).onPaymentDenied(current);
+        verify(policyStateMachine, never()).onPaymentDenied(snapshot);
+        assertThat(acked()).containsExactly(m);
+    }
+}
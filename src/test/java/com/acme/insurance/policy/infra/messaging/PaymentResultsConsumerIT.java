@@ -91,7 +91,7 @@ class PaymentResultsConsumerIT extends AwsIntegrationBase {
                 Map.of("COLLISION", new BigDecimal("10000")),
                 List.of("TOWING"),
                 new BigDecimal("99.90"), new BigDecimal("50000"),
-                List.of()
+                List.of(), null
         );
         repo.save(policy);
 
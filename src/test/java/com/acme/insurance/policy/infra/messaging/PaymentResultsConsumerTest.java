@@ -3,13 +3,14 @@ package com.acme.insurance.policy.infra.messaging;
 import com.acme.insurance.policy.app.dto.integration.PaymentResultEvent;
 import com.acme.insurance.policy.application.PolicyStateMachine;
 import com.acme.insurance.policy.domain.model.Policy;
+import com.acme.insurance.policy.domain.ports.out.CorrelationStore;
 import com.acme.insurance.policy.domain.ports.out.PolicyRepository;
-import com.acme.insurance.policy.infra.memory.InMemoryCorrelationStore;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
@@ -28,11 +29,19 @@ class PaymentResultsConsumerTest {
     PolicyStateMachine policyStateMachine;
 
     @Mock
-    InMemoryCorrelationStore inMemoryCorrelationStore;
+    CorrelationStore correlationStore;
+
+    @Spy
+    OrderedDispatcher dispatcher = OrderedDispatcher.inline();
 
-    @InjectMocks
     PaymentResultsConsumer consumer;
 
+    @BeforeEach
+    void setUp() {
+        consumer = new PaymentResultsConsumer(policyRepository,
+                new PaymentResultHandler(policyStateMachine, correlationStore), dispatcher);
+    }
+
     private PaymentResultEvent evt(UUID id, String status) {
         var e = mock(PaymentResultEvent.class);
         when(e.requestId()).thenReturn(id);
@@ -58,8 +67,8 @@ class PaymentResultsConsumerTest {
 
         verify(policyStateMachine).onPaymentDenied(p);
         verify(policyStateMachine, never()).onPaymentConfirmed(any());
-        verify(inMemoryCorrelationStore, never()).markPayment(any(), any());
-        verify(inMemoryCorrelationStore, never()).clear(any());
+        verify(correlationStore, never()).markPayment(any(), any());
+        verify(correlationStore, never()).clear(any());
     }
 
     @Test
@@ -75,9 +84,9 @@ class PaymentResultsConsumerTest {
 
         consumer.onPayment(e);
 
-        verify(inMemoryCorrelationStore).markPayment(id, at);
+        verify(correlationStore).markPayment(id, at);
         verify(policyStateMachine).onPaymentConfirmed(p);
-        verify(inMemoryCorrelationStore, never()).clear(any());
+        verify(correlationStore, never()).clear(any());
         verify(policyStateMachine, never()).onPaymentDenied(any());
     }
 
@@ -92,8 +101,8 @@ class PaymentResultsConsumerTest {
 
         consumer.onPayment(e);
 
-        verify(inMemoryCorrelationStore).clear(id);
-        verify(inMemoryCorrelationStore, never()).markPayment(any(), any());
+        verify(correlationStore).clear(id);
+        verify(correlationStore, never()).markPayment(any(), any());
         verify(policyStateMachine, never()).onPaymentConfirmed(any());
         verify(policyStateMachine, never()).onPaymentDenied(any());
     }
@@ -110,8 +119,8 @@ class PaymentResultsConsumerTest {
         consumer.onPayment(e);
 
         verifyNoInteractions(policyStateMachine);
-        verify(inMemoryCorrelationStore, never()).markPayment(any(), any());
-        verify(inMemoryCorrelationStore, never()).clear(any());
+        verify(correlationStore, never()).markPayment(any(), any());
+        verify(correlationStore, never()).clear(any());
     }
 
     @Test
@@ -124,6 +133,6 @@ class PaymentResultsConsumerTest {
 
         consumer.onPayment(e);
 
-        verifyNoInteractions(policyStateMachine, inMemoryCorrelationStore);
+        verifyNoInteractions(policyStateMachine, correlationStore);
     }
 }
\ No newline at end of file
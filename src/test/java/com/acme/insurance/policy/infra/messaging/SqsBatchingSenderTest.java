@@ -0,0 +1,153 @@
+package com.acme.insurance.policy.infra.messaging;
+
+import com.acme.insurance.policy.infra.config.AppProps;
+import io.awspring.cloud.sqs.operations.SendBatchOperationFailedException;
+import io.awspring.cloud.sqs.operations.SendResult;
+import io.awspring.cloud.sqs.operations.SqsTemplate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class SqsBatchingSenderTest {
+
+    @Mock
+    SqsTemplate sqsTemplate;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private SqsBatchingSender sender;
+
+    private SqsBatchingSender sender(Duration linger, int maxAttempts) {
+        var cfg = new AppProps.Sqs.Batching(true, 10, linger, 4, maxAttempts, Duration.ofMillis(1), 100,
+                Duration.ofSeconds(5));
+        sender = new SqsBatchingSender(sqsTemplate, "orders-queue-test", cfg, registry);
+        return sender;
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (sender != null) sender.close();
+    }
+
+    private static Message<Object> message(int i) {
+        return MessageBuilder.withPayload((Object) ("event-" + i)).build();
+    }
+
+    private static SendResult.Batch<Object> batch(List<Message<Object>> failed) {
+        SendResult.Batch<Object> batch = mock(SendResult.Batch.class);
+        List<SendResult.Failed<Object>> failures = failed.stream().map(m -> {
+            SendResult.Failed<Object> f = mock(SendResult.Failed.class);
+            when(f.message()).thenReturn(m);
+            return f;
+        }).toList();
+        when(batch.failed()).thenReturn(failures);
+        return batch;
+    }
+
+    @Test
+    @DisplayName("Agrupa mensagens concorrentes em SendMessageBatch de no máximo 10")
+    void groupsIntoBatchesOfTen() throws Exception {
+        var s = sender(Duration.ofMillis(200), 1);
+        when(sqsTemplate.sendManyAsync(eq("orders-queue-test"), any(Collection.class)))
+                .thenAnswer(inv -> CompletableFuture.completedFuture(batch(List.of())));
+
+        var sends = IntStream.range(0, 25).mapToObj(i -> s.submit(message(i))).toList();
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(2, TimeUnit.SECONDS);
+
+        ArgumentCaptor<Collection<Message<Object>>> cap = ArgumentCaptor.forClass(Collection.class);
+        verify(sqsTemplate, times(3)).sendManyAsync(eq("orders-queue-test"), cap.capture());
+        assertThat(cap.getAllValues()).extracting(Collection::size).containsExactly(10, 10, 5);
+        var fill = registry.get("policy.sqs.batch.fill.ratio").summary();
+        assertThat(fill.count()).isEqualTo(3);
+        assertThat(fill.totalAmount()).isEqualTo(2.5);
+        assertThat(registry.get("policy.sqs.publish.latency").timer().count()).isEqualTo(25);
+    }
+
+    /* Mesmo formato que o SqsTemplate produz com SendBatchFailureHandlingStrategy.THROW */
+    private static CompletableFuture<SendResult.Batch<Object>> partialFailure(List<Message<Object>> sent,
+                                                                             List<Message<Object>> rejected) {
+        var result = new SendResult.Batch<>(
+                sent.stream().map(m -> new SendResult<>(m.getHeaders().getId(), "orders-queue-test", m, Map.of())).toList(),
+                rejected.stream().map(m -> new SendResult.Failed<>("throttled", "orders-queue-test", m, Map.of())).toList());
+        return CompletableFuture.failedFuture(new CompletionException(new SendBatchOperationFailedException(
+                "Some messages could not be sent", "orders-queue-test", result)));
+    }
+
+    @Test
+    @DisplayName("Falha parcial (SendBatchOperationFailedException): reenvia só as mensagens recusadas e conclui as aceitas")
+    void partialFailure_retriesOnlyFailed() throws Exception {
+        var s = sender(Duration.ofMillis(50), 3);
+        var ok = message(1);
+        var rejected = message(2);
+        when(sqsTemplate.sendManyAsync(eq("orders-queue-test"), any(Collection.class)))
+                .thenAnswer(inv -> partialFailure(List.of(ok), List.of(rejected)))
+                .thenAnswer(inv -> CompletableFuture.completedFuture(batch(List.of())));
+
+        var first = s.submit(ok);
+        var second = s.submit(rejected);
+        CompletableFuture.allOf(first, second).get(2, TimeUnit.SECONDS);
+
+        ArgumentCaptor<Collection<Message<Object>>> cap = ArgumentCaptor.forClass(Collection.class);
+        verify(sqsTemplate, times(2)).sendManyAsync(eq("orders-queue-test"), cap.capture());
+        assertThat(cap.getAllValues().get(0)).containsExactlyInAnyOrder(ok, rejected);
+        assertThat(cap.getAllValues().get(1)).containsExactly(rejected);
+    }
+
+    @Test
+    @DisplayName("Falha parcial persistente: só a mensagem recusada falha; a aceita é concluída")
+    void partialFailure_exhausted_failsOnlyRejected() throws Exception {
+        var s = sender(Duration.ofMillis(50), 2);
+        var ok = message(1);
+        var rejected = message(2);
+        when(sqsTemplate.sendManyAsync(eq("orders-queue-test"), any(Collection.class)))
+                .thenAnswer(inv -> partialFailure(List.of(ok), List.of(rejected)))
+                .thenAnswer(inv -> partialFailure(List.of(), List.of(rejected)));
+
+        var first = s.submit(ok);
+        var second = s.submit(rejected);
+
+        first.get(2, TimeUnit.SECONDS);
+        assertThatThrownBy(() -> second.get(2, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(registry.get("policy.sqs.batch.failures").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Esgotadas as tentativas, a mensagem falha com IllegalStateException e é contabilizada")
+    void exhaustedAttempts_fails() {
+        var s = sender(Duration.ZERO, 2);
+        when(sqsTemplate.sendManyAsync(eq("orders-queue-test"), any(Collection.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("sqs down")));
+
+        var send = s.submit(message(1));
+
+        assertThatThrownBy(() -> send.get(2, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        verify(sqsTemplate, times(2)).sendManyAsync(eq("orders-queue-test"), any(Collection.class));
+        assertThat(registry.get("policy.sqs.batch.failures").counter().count()).isEqualTo(1.0);
+    }
+}
@@ -4,16 +4,29 @@ import com.acme.insurance.policy.domain.events.PolicyRequestCreatedEvent;
 import com.acme.insurance.policy.domain.events.PolicyRequestStatusChangedEvent;
 import com.acme.insurance.policy.domain.ports.out.PolicyRequestPublisher;
 import com.acme.insurance.policy.infra.config.AppProps;
+import io.awspring.cloud.sqs.operations.SendBatchOperationFailedException;
+import io.awspring.cloud.sqs.operations.SendResult;
 import io.awspring.cloud.sqs.operations.SqsTemplate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Answers.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.*;
 
@@ -33,7 +46,7 @@ class SqsPolicyRequestPublisherTest {
     @DisplayName("publish(PolicyRequestCreatedEvent) delega para SqsTemplate.send(Consumer)")
     void publish_created_delegates() {
         AppProps props = propsWithQueue("orders-queue-test");
-        PolicyRequestPublisher publisher = new SqsPolicyRequestPublisher(sqsTemplate, props);
+        PolicyRequestPublisher publisher = new SqsPolicyRequestPublisher(sqsTemplate, props, new SimpleMeterRegistry());
 
         var event = mock(PolicyRequestCreatedEvent.class);
         when(event.requestId()).thenReturn(UUID.randomUUID());
@@ -49,7 +62,7 @@ class SqsPolicyRequestPublisherTest {
     @DisplayName("publish(PolicyRequestStatusChangedEvent) delega para SqsTemplate.send(Consumer)")
     void publish_statusChanged_delegates() {
         AppProps props = propsWithQueue("orders-queue-test");
-        PolicyRequestPublisher publisher = new SqsPolicyRequestPublisher(sqsTemplate, props);
+        PolicyRequestPublisher publisher = new SqsPolicyRequestPublisher(sqsTemplate, props, new SimpleMeterRegistry());
 
         var event = mock(PolicyRequestStatusChangedEvent.class);
         when(event.requestId()).thenReturn(UUID.randomUUID());
@@ -60,4 +73,125 @@ class SqsPolicyRequestPublisherTest {
         verify(sqsTemplate, times(1)).send(any(Consumer.class));
         verifyNoMoreInteractions(sqsTemplate);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("publishAll() com vários eventos envia um único lote via sendMany, preservando headers")
+    @SuppressWarnings("unchecked")
+    void publishAll_sendsBatch() {
+        AppProps props = propsWithQueue("orders-queue-test");
+        PolicyRequestPublisher publisher = new SqsPolicyRequestPublisher(sqsTemplate, props, new SimpleMeterRegistry());
+
+        UUID id = UUID.randomUUID();
+        var validated = new PolicyRequestStatusChangedEvent(id, null, null, "VALIDATED", "REGULAR", Instant.now());
+        var pending = new PolicyRequestStatusChangedEvent(id, null, null, "PENDING", "REGULAR", Instant.now());
+
+        SendResult.Batch<PolicyRequestStatusChangedEvent> batch = mock(SendResult.Batch.class);
+        when(batch.failed()).thenReturn(List.of());
+        when(sqsTemplate.sendMany(eq("orders-queue-test"), any(Collection.class))).thenReturn(batch);
+
+        publisher.publishAll(List.of(validated, pending));
+
+        ArgumentCaptor<Collection<Message<PolicyRequestStatusChangedEvent>>> cap = ArgumentCaptor.forClass(Collection.class);
+        verify(sqsTemplate).sendMany(eq("orders-queue-test"), cap.capture());
+        assertThat(cap.getValue()).extracting(Message::getPayload).containsExactly(validated, pending);
+        assertThat(cap.getValue()).allSatisfy(m ->
+                assertThat(m.getHeaders()).containsEntry("eventType", "PolicyRequestStatusChangedEvent"));
+        verifyNoMoreInteractions(sqsTemplate);
+    }
+
+    @Test
+    @DisplayName("publishAll() com um evento usa o envio simples")
+    void publishAll_single_usesSend() {
+        AppProps props = propsWithQueue("orders-queue-test");
+        PolicyRequestPublisher publisher = new SqsPolicyRequestPublisher(sqsTemplate, props, new SimpleMeterRegistry());
+
+        var event = new PolicyRequestStatusChangedEvent(UUID.randomUUID(), null, null, "REJECTED", "HIGH_RISK", Instant.now());
+
+        publisher.publishAll(List.of(event));
+
+        verify(sqsTemplate, times(1)).send(any(Consumer.class));
+        verifyNoMoreInteractions(sqsTemplate);
+    }
+
+    /* Mesmo formato que o SqsTemplate produz com SendBatchFailureHandlingStrategy.THROW */
+    @SuppressWarnings("unchecked")
+    private void rejectInBatch(PolicyRequestStatusChangedEvent rejected) {
+        when(sqsTemplate.sendMany(eq("orders-queue-test"), any(Collection.class))).thenAnswer(inv -> {
+            Collection<Message<PolicyRequestStatusChangedEvent>> sent = inv.getArgument(1);
+            var result = new SendResult.Batch<>(
+                    sent.stream().filter(m -> m.getPayload() != rejected)
+                            .map(m -> new SendResult<>(m.getHeaders().getId(), "orders-queue-test", m, Map.of()))
+                            .toList(),
+                    sent.stream().filter(m -> m.getPayload() == rejected)
+                            .map(m -> new SendResult.Failed<>("throttled", "orders-queue-test", m, Map.of()))
+                            .toList());
+            throw new SendBatchOperationFailedException("Some messages could not be sent", "orders-queue-test", result);
+        });
+    }
+
+    @Test
+    @DisplayName("publishAll() com falha parcial (SendBatchOperationFailedException) reenvia só o evento recusado")
+    @SuppressWarnings("unchecked")
+    void publishAll_partialFailure_resendsOnlyRejected() {
+        AppProps props = propsWithQueue("orders-queue-test");
+        PolicyRequestPublisher publisher = new SqsPolicyRequestPublisher(sqsTemplate, props, new SimpleMeterRegistry());
+
+        UUID id = UUID.randomUUID();
+        var e1 = new PolicyRequestStatusChangedEvent(id, null, null, "VALIDATED", "REGULAR", Instant.now());
+        var e2 = new PolicyRequestStatusChangedEvent(id, null, null, "PENDING", "REGULAR", Instant.now());
+        rejectInBatch(e2);
+
+        publisher.publishAll(List.of(e1, e2));
+
+        ArgumentCaptor<Message<PolicyRequestStatusChangedEvent>> cap = ArgumentCaptor.forClass(Message.class);
+        verify(sqsTemplate).send(eq("orders-queue-test"), cap.capture());
+        assertThat(cap.getValue().getPayload()).isSameAs(e2);
+    }
+
+    @Test
+    @DisplayName("publishAll() falha quando o evento recusado no lote também não é aceito no reenvio")
+    @SuppressWarnings("unchecked")
+    void publishAll_partialFailure_resendFails_throws() {
+        AppProps props = propsWithQueue("orders-queue-test");
+        PolicyRequestPublisher publisher = new SqsPolicyRequestPublisher(sqsTemplate, props, new SimpleMeterRegistry());
+
+        UUID id = UUID.randomUUID();
+        var e1 = new PolicyRequestStatusChangedEvent(id, null, null, "VALIDATED", "REGULAR", Instant.now());
+        var e2 = new PolicyRequestStatusChangedEvent(id, null, null, "PENDING", "REGULAR", Instant.now());
+        rejectInBatch(e2);
+        when(sqsTemplate.send(eq("orders-queue-test"), any(Message.class))).thenThrow(new RuntimeException("sqs down"));
+
+        assertThatThrownBy(() -> publisher.publishAll(List.of(e1, e2)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("1 de 2");
+    }
+
+    @Test
+    @DisplayName("Com batching habilitado, publishAll() aguarda o envio via sendManyAsync do SqsBatchingSender")
+    @SuppressWarnings("unchecked")
+    void publishAll_batching_usesSender() throws InterruptedException {
+        AppProps props = propsWithQueue("orders-queue-test");
+        when(props.sqs().batching()).thenReturn(new AppProps.Sqs.Batching(true, 10, Duration.ofMillis(20), 4, 1,
+                Duration.ofMillis(1), 100, Duration.ofSeconds(2)));
+        var publisher = new SqsPolicyRequestPublisher(sqsTemplate, props, new SimpleMeterRegistry());
+
+        UUID id = UUID.randomUUID();
+        var validated = new PolicyRequestStatusChangedEvent(id, null, null, "VALIDATED", "REGULAR", Instant.now());
+        var pending = new PolicyRequestStatusChangedEvent(id, null, null, "PENDING", "REGULAR", Instant.now());
+        SendResult.Batch<Object> batch = mock(SendResult.Batch.class);
+        when(batch.failed()).thenReturn(List.of());
+        when(sqsTemplate.sendManyAsync(eq("orders-queue-test"), any(Collection.class)))
+                .thenReturn(CompletableFuture.completedFuture(batch));
+
+        try {
+            publisher.publishAll(List.of(validated, pending));
+        } finally {
+            publisher.shutdown();
+        }
+
+        ArgumentCaptor<Collection<Message<Object>>> cap = ArgumentCaptor.forClass(Collection.class);
+        verify(sqsTemplate).sendManyAsync(eq("orders-queue-test"), cap.capture());
+        assertThat(cap.getValue()).extracting(Message::getPayload).containsExactly(validated, pending);
+        verify(sqsTemplate, never()).send(any(Consumer.class));
+    }
+}
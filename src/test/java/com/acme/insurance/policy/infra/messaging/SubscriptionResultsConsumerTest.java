@@ -4,13 +4,14 @@ import com.acme.insurance.policy.app.dto.integration.SubscriptionResultEvent;
 import com.acme.insurance.policy.application.PolicyStateMachine;
 import com.acme.insurance.policy.domain.model.Policy;
 import com.acme.insurance.policy.domain.model.PolicyStatus;
+import com.acme.insurance.policy.domain.ports.out.CorrelationStore;
 import com.acme.insurance.policy.domain.ports.out.PolicyRepository;
-import com.acme.insurance.policy.infra.memory.InMemoryCorrelationStore;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
@@ -29,11 +30,19 @@ class SubscriptionResultsConsumerTest {
     PolicyStateMachine policyStateMachine;
 
     @Mock
-    InMemoryCorrelationStore inMemoryCorrelationStore;
+    CorrelationStore correlationStore;
+
+    @Spy
+    OrderedDispatcher dispatcher = OrderedDispatcher.inline();
 
-    @InjectMocks
     SubscriptionResultsConsumer consumer;
 
+    @BeforeEach
+    void setUp() {
+        consumer = new SubscriptionResultsConsumer(policyRepository,
+                new SubscriptionResultHandler(policyStateMachine, correlationStore), dispatcher);
+    }
+
     private SubscriptionResultEvent evt(UUID id, String status) {
         var e = mock(SubscriptionResultEvent.class);
         when(e.requestId()).thenReturn(id);
@@ -60,8 +69,8 @@ class SubscriptionResultsConsumerTest {
 
         verify(policyStateMachine).onSubscriptionDenied(p);
         verify(policyStateMachine, never()).onSubscriptionAuthorized(any());
-        verify(inMemoryCorrelationStore, never()).markSubscription(any(), any());
-        verify(inMemoryCorrelationStore, never()).clear(any());
+        verify(correlationStore, never()).markSubscription(any(), any());
+        verify(correlationStore, never()).clear(any());
     }
 
     @Test
@@ -77,9 +86,9 @@ class SubscriptionResultsConsumerTest {
 
         consumer.onSubscription(e);
 
-        verify(inMemoryCorrelationStore).markSubscription(id, at);
+        verify(correlationStore).markSubscription(id, at);
         verify(policyStateMachine).onSubscriptionAuthorized(p);
-        verify(inMemoryCorrelationStore, never()).clear(any());
+        verify(correlationStore, never()).clear(any());
         verify(policyStateMachine, never()).onSubscriptionDenied(any());
     }
 
@@ -95,8 +104,8 @@ class SubscriptionResultsConsumerTest {
 
         consumer.onSubscription(e);
 
-        verify(inMemoryCorrelationStore).clear(id);
-        verify(inMemoryCorrelationStore, never()).markSubscription(any(), any());
+        verify(correlationStore).clear(id);
+        verify(correlationStore, never()).markSubscription(any(), any());
         verify(policyStateMachine, never()).onSubscriptionAuthorized(any());
         verify(policyStateMachine, never()).onSubscriptionDenied(any());
     }
@@ -113,8 +122,8 @@ class SubscriptionResultsConsumerTest {
         consumer.onSubscription(e);
 
         verifyNoInteractions(policyStateMachine);
-        verify(inMemoryCorrelationStore, never()).markSubscription(any(), any());
-        verify(inMemoryCorrelationStore, never()).clear(any());
+        verify(correlationStore, never()).markSubscription(any(), any());
+        verify(correlationStore, never()).clear(any());
     }
 
     @Test
@@ -127,6 +136,6 @@ class SubscriptionResultsConsumerTest {
 
         consumer.onSubscription(e);
 
-        verifyNoInteractions(policyStateMachine, inMemoryCorrelationStore);
+        verifyNoInteractions(policyStateMachine, correlationStore);
     }
 }
\ No newline at end of file
@@ -51,6 +51,7 @@ public abstract class AwsIntegrationBase {
     private   static final String POLICY_PK      = "policyId";
     private   static final String CUSTOMER_ATTR  = "customerId";
     private   static final String CUSTOMER_GSI   = "gsi_customer";
+    private   static final String RECEIVED_GSI   = "gsi_received";
 
     @DynamicPropertySource
     static void awsProps(DynamicPropertyRegistry r) {
@@ -150,13 +151,22 @@ public abstract class AwsIntegrationBase {
                 .tableName(POLICY_TABLE)
                 .attributeDefinitions(
                         AttributeDefinition.builder().attributeName(POLICY_PK).attributeType(ScalarAttributeType.S).build(),
-                        AttributeDefinition.builder().attributeName(CUSTOMER_ATTR).attributeType(ScalarAttributeType.S).build()
+                        AttributeDefinition.builder().attributeName(CUSTOMER_ATTR).attributeType(ScalarAttributeType.S).build(),
+                        AttributeDefinition.builder().attributeName("status").attributeType(ScalarAttributeType.S).build(),
+                        AttributeDefinition.builder().attributeName("receivedAt").attributeType(ScalarAttributeType.N).build()
                 )
                 .keySchema(KeySchemaElement.builder().attributeName(POLICY_PK).keyType(KeyType.HASH).build())
                 .globalSecondaryIndexes(GlobalSecondaryIndex.builder()
                         .indexName(CUSTOMER_GSI)
                         .keySchema(KeySchemaElement.builder().attributeName(CUSTOMER_ATTR).keyType(KeyType.HASH).build())
                         .projection(Projection.builder().projectionType(ProjectionType.ALL).build())
+                        .build(),
+                        GlobalSecondaryIndex.builder()
+                        .indexName(RECEIVED_GSI)
+                        .keySchema(
+                                KeySchemaElement.builder().attributeName("status").keyType(KeyType.HASH).build(),
+                                KeySchemaElement.builder().attributeName("receivedAt").keyType(KeyType.RANGE).build())
+                        .projection(Projection.builder().projectionType(ProjectionType.KEYS_ONLY).build())
                         .build())
                 .billingMode(BillingMode.PAY_PER_REQUEST)
                 .build());
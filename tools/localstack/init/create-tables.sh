@@ -6,6 +6,8 @@ awslocal dynamodb create-table \
   --attribute-definitions \
       AttributeName=policyId,AttributeType=S \
       AttributeName=customerId,AttributeType=S \
+      AttributeName=status,AttributeType=S \
+      AttributeName=receivedAt,AttributeType=N \
   --key-schema \
       AttributeName=policyId,KeyType=HASH \
   --billing-mode PAY_PER_REQUEST \
@@ -14,5 +16,47 @@ awslocal dynamodb create-table \
         "IndexName": "gsi_customer",
         "KeySchema": [{"AttributeName": "customerId", "KeyType": "HASH"}],
         "Projection": {"ProjectionType": "ALL"}
+      },
+      {
+        "IndexName": "gsi_received",
+        "KeySchema": [
+          {"AttributeName": "status", "KeyType": "HASH"},
+          {"AttributeName": "receivedAt", "KeyType": "RANGE"}
+        ],
+        "Projection": {"ProjectionType": "KEYS_ONLY"}
       }
   ]'
+
+awslocal dynamodb create-table \
+  --table-name PolicyOutbox \
+  --attribute-definitions \
+      AttributeName=shard,AttributeType=S \
+      AttributeName=eventKey,AttributeType=S \
+  --key-schema \
+      AttributeName=shard,KeyType=HASH \
+      AttributeName=eventKey,KeyType=RANGE \
+  --billing-mode PAY_PER_REQUEST
+
+awslocal dynamodb create-table \
+  --table-name PolicyCorrelation \
+  --attribute-definitions \
+      AttributeName=policyId,AttributeType=S \
+  --key-schema \
+      AttributeName=policyId,KeyType=HASH \
+  --billing-mode PAY_PER_REQUEST
+
+awslocal dynamodb update-time-to-live \
+  --table-name PolicyCorrelation \
+  --time-to-live-specification Enabled=true,AttributeName=expiresAt
+
+awslocal dynamodb create-table \
+  --table-name PolicyIdempotency \
+  --attribute-definitions \
+      AttributeName=idempotencyKey,AttributeType=S \
+  --key-schema \
+      AttributeName=idempotencyKey,KeyType=HASH \
+  --billing-mode PAY_PER_REQUEST
+
+awslocal dynamodb update-time-to-live \
+  --table-name PolicyIdempotency \
+  --time-to-live-specification Enabled=true,AttributeName=expiresAt
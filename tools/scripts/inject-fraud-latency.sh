@@ -0,0 +1,21 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+# Injeta latência global no WireMock da API de fraudes (todas as mappings).
+#   DELAY_MS=3000 ./inject-fraud-latency.sh   -> aplica 3s de atraso fixo
+#   ./inject-fraud-latency.sh reset           -> remove o atraso
+# Para atingir só alguns clientes, use customer_id com prefixo 5104e000- (lento) ou fa11fa11- (503).
+
+WIREMOCK_URL="${WIREMOCK_URL:-http://localhost:8089}"
+DELAY_MS="${DELAY_MS:-3000}"
+
+if [[ "${1:-}" == "reset" ]]; then
+  curl -sS -X POST "$WIREMOCK_URL/__admin/settings" \
+    -H 'Content-Type: application/json' -d '{"fixedDelay": 0}'
+  echo "Latência removida"
+  exit 0
+fi
+
+curl -sS -X POST "$WIREMOCK_URL/__admin/settings" \
+  -H 'Content-Type: application/json' -d "{\"fixedDelay\": $DELAY_MS}"
+echo "Latência global de ${DELAY_MS}ms aplicada em $WIREMOCK_URL"
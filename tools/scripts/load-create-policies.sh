@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+# Dispara POST /policies concorrentes e imprime vazão e threads da JVM antes/depois.
+# Compare o modo padrão com o profile "virtual-threads" (SPRING_PROFILES_ACTIVE=virtual-threads).
+
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+TOTAL="${TOTAL:-2000}"
+CONCURRENCY="${CONCURRENCY:-200}"
+
+jvm_metric() {
+  curl -sS "$BASE_URL/actuator/metrics/$1" | sed -E 's/.*"value":([0-9.E]+).*/\1/'
+}
+
+payload() {
+  local customer
+  customer="$(uuidgen 2>/dev/null || cat /proc/sys/kernel/random/uuid)"
+  printf '%s' "{
+  \"customer_id\": \"$customer\",
+  \"product_id\": \"1b2da7cc-b367-4196-8a78-9cfeec21f587\",
+  \"category\": \"AUTO\",
+  \"salesChannel\": \"MOBILE\",
+  \"paymentMethod\": \"CREDIT_CARD\",
+  \"total_monthly_premium_amount\": 75.25,
+  \"insured_amount\": 275000.50,
+  \"coverages\": { \"Roubo\": 100000.25 },
+  \"assistances\": [ \"Guincho até 250km\" ]
+}"
+}
+export -f payload
+export BASE_URL
+
+echo "Threads vivas (antes): $(jvm_metric jvm.threads.live)"
+
+START="$(date +%s.%N)"
+seq "$TOTAL" | xargs -P "$CONCURRENCY" -I{} bash -c \
+  'curl -sS -o /dev/null -w "%{http_code} %{time_total}\n" -X POST "$BASE_URL/policies" \
+     -H "Content-Type: application/json" -d "$(payload)"' > /tmp/load-create-policies.out
+END="$(date +%s.%N)"
+
+echo "Threads vivas (pico):  $(jvm_metric jvm.threads.peak)"
+echo "Threads vivas (depois): $(jvm_metric jvm.threads.live)"
+
+awk -v total="$TOTAL" -v elapsed="$(echo "$END - $START" | bc)" '
+  { codes[$1]++; lat[NR]=$2 }
+  END {
+    n = asort(lat)
+    printf "Requests: %d em %.2fs (%.1f req/s)\n", total, elapsed, total / elapsed
+    printf "Latência p50=%.3fs p99=%.3fs\n", lat[int(n*0.50)], lat[int(n*0.99)]
+    for (c in codes) printf "HTTP %s: %d\n", c, codes[c]
+  }' /tmp/load-create-policies.out